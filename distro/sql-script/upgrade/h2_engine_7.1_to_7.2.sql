@@ -186,3 +186,47 @@ create table ACT_RU_FILTER (
   PROPERTIES_ CLOB,
   primary key (ID_)
 );
+
+-- add correlation key hash column to event subscription table --
+ALTER TABLE ACT_RU_EVENT_SUBSCR
+  ADD CORRELATION_KEY_HASH_ varchar(64);
+
+create index ACT_IDX_EVENT_SUBSCR_CORR_KEY on ACT_RU_EVENT_SUBSCR(EVENT_NAME_, CORRELATION_KEY_HASH_);
+
+-- existing message event subscriptions of executions have no declared correlation keys --
+UPDATE ACT_RU_EVENT_SUBSCR
+  SET CORRELATION_KEY_HASH_ = 'da39a3ee5e6b4b0d:'
+  WHERE EVENT_TYPE_ = 'message' AND EXECUTION_ID_ IS NOT NULL;
+
+-- create activity metrics table --
+
+create table ACT_RU_ACT_METRICS (
+  ID_ varchar(64) not null,
+  PROC_DEF_ID_ varchar(64),
+  ACT_ID_ varchar(255),
+  START_COUNT_ bigint,
+  END_COUNT_ bigint,
+  EXEC_COUNT_ bigint,
+  EXEC_TIME_ bigint,
+  MAX_EXEC_TIME_ bigint,
+  TIMESTAMP_ timestamp,
+  primary key (ID_)
+);
+
+create index ACT_IDX_ACT_METRICS_PROCDEF on ACT_RU_ACT_METRICS(PROC_DEF_ID_);
+
+-- create task change log table --
+
+create table ACT_RU_TASK_CHANGE (
+  ID_ varchar(64) not null,
+  SEQ_ bigint not null,
+  TASK_ID_ varchar(64),
+  TYPE_ varchar(32),
+  TIMESTAMP_ timestamp,
+  primary key (ID_)
+);
+
+create index ACT_IDX_TASK_CHANGE_SEQ on ACT_RU_TASK_CHANGE(SEQ_);
+
+INSERT INTO ACT_GE_PROPERTY
+  VALUES ('task.change.sequence', '0', 1);
@@ -196,3 +196,47 @@ create table ACT_RU_FILTER (
   PROPERTIES_ nvarchar(max),
   primary key (ID_)
 );
+
+-- add correlation key hash column to event subscription table --
+ALTER TABLE ACT_RU_EVENT_SUBSCR
+  ADD CORRELATION_KEY_HASH_ nvarchar(64);
+
+create index ACT_IDX_EVENT_SUBSCR_CORR_KEY on ACT_RU_EVENT_SUBSCR(EVENT_NAME_, CORRELATION_KEY_HASH_);
+
+-- existing message event subscriptions of executions have no declared correlation keys --
+UPDATE ACT_RU_EVENT_SUBSCR
+  SET CORRELATION_KEY_HASH_ = 'da39a3ee5e6b4b0d:'
+  WHERE EVENT_TYPE_ = 'message' AND EXECUTION_ID_ IS NOT NULL;
+
+-- create activity metrics table --
+
+create table ACT_RU_ACT_METRICS (
+  ID_ nvarchar(64) not null,
+  PROC_DEF_ID_ nvarchar(64),
+  ACT_ID_ nvarchar(255),
+  START_COUNT_ numeric(19,0),
+  END_COUNT_ numeric(19,0),
+  EXEC_COUNT_ numeric(19,0),
+  EXEC_TIME_ numeric(19,0),
+  MAX_EXEC_TIME_ numeric(19,0),
+  TIMESTAMP_ datetime2,
+  primary key (ID_)
+);
+
+create index ACT_IDX_ACT_METRICS_PROCDEF on ACT_RU_ACT_METRICS(PROC_DEF_ID_);
+
+-- create task change log table --
+
+create table ACT_RU_TASK_CHANGE (
+  ID_ nvarchar(64) not null,
+  SEQ_ numeric(19,0) not null,
+  TASK_ID_ nvarchar(64),
+  TYPE_ nvarchar(32),
+  TIMESTAMP_ datetime2,
+  primary key (ID_)
+);
+
+create index ACT_IDX_TASK_CHANGE_SEQ on ACT_RU_TASK_CHANGE(SEQ_);
+
+INSERT INTO ACT_GE_PROPERTY
+  VALUES ('task.change.sequence', '0', 1);
@@ -12,12 +12,16 @@
  */
 package org.camunda.bpm.engine.rest;
 
+import java.util.List;
+
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationResultDto;
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationsDto;
 import org.camunda.bpm.engine.rest.dto.message.CorrelationMessageDto;
 
 @Path(MessageRestService.PATH)
@@ -29,4 +33,16 @@ public interface MessageRestService {
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   void deliverMessage(CorrelationMessageDto messageDto);
+
+  /**
+   * Correlates each message of the operations like {@link #deliverMessage(CorrelationMessageDto)}.
+   * The operations are executed in transactions of <code>chunkSize</code> operations.
+   *
+   * @return the result of each operation in the order of the operations
+   */
+  @POST
+  @Path("/bulk")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<BulkOperationResultDto> deliverMessages(BulkOperationsDto<CorrelationMessageDto> bulkOperations);
 }
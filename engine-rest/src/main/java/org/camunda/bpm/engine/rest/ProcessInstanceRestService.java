@@ -27,6 +27,9 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationResultDto;
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationsDto;
+import org.camunda.bpm.engine.rest.dto.bulk.ProcessInstanceOperationDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceSuspensionStateDto;
@@ -89,4 +92,16 @@ public interface ProcessInstanceRestService {
   @Consumes(MediaType.APPLICATION_JSON)
   void updateSuspensionState(ProcessInstanceSuspensionStateDto dto);
 
+  /**
+   * Sets the variables of each operation on its process instance.
+   * The operations are executed in transactions of <code>chunkSize</code> operations.
+   *
+   * @return the result of each operation in the order of the operations
+   */
+  @POST
+  @Path("/bulk/variables")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<BulkOperationResultDto> setProcessInstanceVariables(BulkOperationsDto<ProcessInstanceOperationDto> bulkOperations);
+
 }
@@ -28,6 +28,10 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationResultDto;
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationsDto;
+import org.camunda.bpm.engine.rest.dto.bulk.TaskOperationDto;
+import org.camunda.bpm.engine.rest.dto.task.TaskChangesDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskQueryDto;
 import org.camunda.bpm.engine.rest.hal.task.HalTaskList;
@@ -42,29 +46,47 @@ public interface TaskRestService {
   @Path("/{id}")
   TaskResource getTask(@PathParam("id") String id);
 
+  /**
+   * @param firstResult the index of the first task to return (offset pagination)
+   * @param maxResults the maximum number of tasks to return
+   * @param afterId the id of the last task of the previous page (keyset pagination),
+   *  cannot be combined with <code>firstResult</code>
+   * @param afterSortValue the value of the sort property of the last task of the previous page,
+   *  required with <code>afterId</code> if the tasks are sorted by creation time or priority
+   */
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   List<TaskDto> getTasks(@Context UriInfo uriInfo,
-      @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
+      @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam("afterId") String afterId, @QueryParam("afterSortValue") String afterSortValue);
 
+  /**
+   * @param includeVariables comma separated names of variables to embed into the tasks
+   * @param includeIdentityLinks if true, the identity links of the tasks are embedded
+   */
   @GET
   @Produces(MEDIA_TYPE_HAL)
   HalTaskList getHalTasks(@Context UriInfo uriInfo,
-      @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
+      @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam("afterId") String afterId, @QueryParam("afterSortValue") String afterSortValue,
+      @QueryParam("includeVariables") String includeVariables, @QueryParam("includeIdentityLinks") boolean includeIdentityLinks);
 
   /**
-   * Expects the same parameters as {@link TaskRestService#getTasks(UriInfo, Integer, Integer)} (as
+   * Expects the same parameters as {@link TaskRestService#getTasks(UriInfo, Integer, Integer, String, String)} (as
    * JSON message body) and allows more than one variable check.
    * @param query
    * @param firstResult
    * @param maxResults
+   * @param afterId
+   * @param afterSortValue
    * @return
    */
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
   List<TaskDto> queryTasks(TaskQueryDto query,
-      @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
+      @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam("afterId") String afterId, @QueryParam("afterSortValue") String afterSortValue);
 
   @GET
   @Path("/count")
@@ -77,9 +99,42 @@ public interface TaskRestService {
   @Produces(MediaType.APPLICATION_JSON)
   CountResultDto queryTasksCount(TaskQueryDto query);
 
+  /**
+   * @param afterSequence the sequence returned by the previous request, omit it to get the current sequence
+   * @param maxResults the maximum number of changes to read, at most 1000
+   */
+  @GET
+  @Path("/changes")
+  @Produces(MediaType.APPLICATION_JSON)
+  TaskChangesDto getTaskChanges(@QueryParam("afterSequence") Long afterSequence, @QueryParam("maxResults") Integer maxResults);
+
   @POST
   @Path("/create")
   @Consumes(MediaType.APPLICATION_JSON)
   void createTask(TaskDto taskDto);
 
+  /**
+   * Completes the given tasks, passing the variables of each operation.
+   * The operations are executed in transactions of <code>chunkSize</code> operations.
+   *
+   * @return the result of each operation in the order of the operations
+   */
+  @POST
+  @Path("/bulk/complete")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<BulkOperationResultDto> completeTasks(BulkOperationsDto<TaskOperationDto> bulkOperations);
+
+  /**
+   * Sets the variables of each operation on its task.
+   * The operations are executed in transactions of <code>chunkSize</code> operations.
+   *
+   * @return the result of each operation in the order of the operations
+   */
+  @POST
+  @Path("/bulk/variables")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<BulkOperationResultDto> setTaskVariables(BulkOperationsDto<TaskOperationDto> bulkOperations);
+
 }
@@ -16,6 +16,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +26,7 @@ import javax.ws.rs.core.Response.Status;
 
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.rest.dto.converter.DateConverter;
 import org.camunda.bpm.engine.rest.dto.converter.StringToTypeConverter;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
@@ -85,6 +87,32 @@ public abstract class AbstractQueryDto<T extends Query<?, ?>> {
 
   protected abstract boolean isValidSortByValue(String value);
 
+  /**
+   * Converts the value of the sort property of the last result of a page (keyset pagination) to
+   * the type of that property. Returns the value unchanged by default.
+   */
+  public Object toKeysetSortValue(String sortValue) {
+    return sortValue;
+  }
+
+  /**
+   * Converts a date sort value for keyset pagination. Dates are returned at second precision, so
+   * a value without milliseconds is rounded up to the end of its second when sorting descending.
+   * This way no result of the same second is skipped, though such results may be returned again.
+   */
+  protected Date toKeysetDateValue(String sortValue) {
+    Date date;
+    try {
+      date = new DateConverter().convertQueryParameterToType(sortValue);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, "Cannot convert sort value '" + sortValue + "' to a date");
+    }
+    if (SORT_ORDER_DESC_VALUE.equals(sortOrder) && date.getTime() % 1000 == 0) {
+      date = new Date(date.getTime() + 999);
+    }
+    return date;
+  }
+
   protected boolean sortOptionsValid() {
     return (sortBy != null && sortOrder != null) || (sortBy == null && sortOrder == null);
   }
@@ -0,0 +1,62 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.bulk;
+
+/**
+ * The outcome of a single operation of a bulk request. <code>type</code> and
+ * <code>message</code> describe the exception of a failed operation.
+ */
+public class BulkOperationResultDto {
+
+  public static final String STATUS_SUCCESSFUL = "SUCCESSFUL";
+  public static final String STATUS_FAILED = "FAILED";
+  /** the operation succeeded but was rolled back because another operation of its chunk failed */
+  public static final String STATUS_ROLLED_BACK = "ROLLED_BACK";
+
+  protected String status;
+  protected String type;
+  protected String message;
+
+  public String getStatus() {
+    return status;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public static BulkOperationResultDto successful() {
+    BulkOperationResultDto dto = new BulkOperationResultDto();
+    dto.status = STATUS_SUCCESSFUL;
+    return dto;
+  }
+
+  public static BulkOperationResultDto rolledBack() {
+    BulkOperationResultDto dto = new BulkOperationResultDto();
+    dto.status = STATUS_ROLLED_BACK;
+    return dto;
+  }
+
+  public static BulkOperationResultDto failed(Exception e) {
+    BulkOperationResultDto dto = new BulkOperationResultDto();
+    dto.status = STATUS_FAILED;
+    dto.type = e.getClass().getSimpleName();
+    dto.message = e.getMessage();
+    return dto;
+  }
+
+}
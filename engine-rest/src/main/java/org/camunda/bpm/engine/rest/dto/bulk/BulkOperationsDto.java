@@ -0,0 +1,42 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.bulk;
+
+import java.util.List;
+
+/**
+ * A list of operations of the same kind that are executed in chunks. The operations
+ * of a chunk share one transaction.
+ */
+public class BulkOperationsDto<T> {
+
+  protected List<T> operations;
+  protected Integer chunkSize;
+
+  public List<T> getOperations() {
+    return operations;
+  }
+
+  public void setOperations(List<T> operations) {
+    this.operations = operations;
+  }
+
+  public Integer getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(Integer chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+}
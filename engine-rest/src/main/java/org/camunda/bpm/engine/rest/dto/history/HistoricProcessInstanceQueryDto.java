@@ -278,6 +278,14 @@ public class HistoricProcessInstanceQueryDto extends AbstractQueryDto<HistoricPr
     }
   }
 
+  @Override
+  public Object toKeysetSortValue(String sortValue) {
+    if (SORT_BY_PROCESS_INSTANCE_START_TIME_VALUE.equals(sortBy)) {
+      return toKeysetDateValue(sortValue);
+    }
+    return sortValue;
+  }
+
   @Override
   protected void applySortingOptions(HistoricProcessInstanceQuery query) {
     if (sortBy != null) {
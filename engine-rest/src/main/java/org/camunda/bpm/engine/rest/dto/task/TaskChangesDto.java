@@ -0,0 +1,61 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.task.TaskChanges;
+
+public class TaskChangesDto {
+
+  /** the default number of changes returned at once */
+  public static final int DEFAULT_MAX_RESULTS = 1000;
+
+  protected long sequence;
+  protected boolean resetRequired;
+  protected List<TaskDto> tasks;
+  protected List<String> removedTaskIds;
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public boolean isResetRequired() {
+    return resetRequired;
+  }
+
+  public List<TaskDto> getTasks() {
+    return tasks;
+  }
+
+  public List<String> getRemovedTaskIds() {
+    return removedTaskIds;
+  }
+
+  public static TaskChangesDto fromTaskChanges(TaskChanges taskChanges) {
+    TaskChangesDto dto = new TaskChangesDto();
+    dto.sequence = taskChanges.getSequence();
+    dto.resetRequired = taskChanges.isResetRequired();
+
+    dto.tasks = new ArrayList<TaskDto>();
+    for (Task task : taskChanges.getTasks()) {
+      dto.tasks.add(TaskDto.fromEntity(task));
+    }
+    dto.removedTaskIds = new ArrayList<String>(taskChanges.getRemovedTaskIds());
+
+    return dto;
+  }
+
+}
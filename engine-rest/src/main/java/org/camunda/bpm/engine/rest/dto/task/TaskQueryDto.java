@@ -1059,6 +1059,20 @@ public class TaskQueryDto extends AbstractQueryDto<TaskQuery> {
   }
 
 
+  @Override
+  public Object toKeysetSortValue(String sortValue) {
+    if (SORT_BY_CREATE_TIME_VALUE.equals(sortBy)) {
+      return toKeysetDateValue(sortValue);
+    } else if (SORT_BY_PRIORITY_VALUE.equals(sortBy)) {
+      try {
+        return new IntegerConverter().convertQueryParameterToType(sortValue);
+      } catch (NumberFormatException e) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, e, "Cannot convert sort value '" + sortValue + "' to a priority");
+      }
+    }
+    return sortValue;
+  }
+
   public static TaskQueryDto fromQuery(Query<?, ?> query) {
     TaskQueryImpl taskQuery = (TaskQueryImpl) query;
 
@@ -0,0 +1,257 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.filter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Enumeration;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * <p>Compresses response bodies with gzip if the client accepts it ("Accept-Encoding: gzip").
+ *
+ * <p>The compressed stream is opened when the first byte of the body is written, so responses
+ * without body (e.g. "204 No Content" or "304 Not Modified") are sent unchanged.
+ */
+public class GzipFilter implements Filter {
+
+  public static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+  public static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+  public static final String CONTENT_LENGTH_HEADER = "Content-Length";
+  public static final String VARY_HEADER = "Vary";
+  public static final String GZIP = "gzip";
+  public static final String X_GZIP = "x-gzip";
+  public static final String WILDCARD = "*";
+
+  public void init(FilterConfig filterConfig) throws ServletException {
+
+  }
+
+  public void doFilter(ServletRequest req, ServletResponse resp, FilterChain chain) throws IOException, ServletException {
+
+    final HttpServletRequest request = (HttpServletRequest) req;
+    final HttpServletResponse response = (HttpServletResponse) resp;
+
+    response.addHeader(VARY_HEADER, ACCEPT_ENCODING_HEADER);
+
+    if (acceptsGzip(request)) {
+      GzipResponseWrapper responseWrapper = new GzipResponseWrapper(response);
+      try {
+        chain.doFilter(req, responseWrapper);
+      } finally {
+        responseWrapper.finish();
+      }
+    } else {
+      chain.doFilter(req, resp);
+    }
+  }
+
+  public void destroy() {
+
+  }
+
+  /**
+   * @return true if the Accept-Encoding header lists gzip, or the wildcard without listing
+   *  gzip, with a quality value greater than 0
+   */
+  @SuppressWarnings("unchecked")
+  protected boolean acceptsGzip(HttpServletRequest request) {
+    Enumeration<String> acceptEncodingHeaders = request.getHeaders(ACCEPT_ENCODING_HEADER);
+    if (acceptEncodingHeaders == null) {
+      return false;
+    }
+
+    Double gzipQuality = null;
+    Double wildcardQuality = null;
+    while (acceptEncodingHeaders.hasMoreElements()) {
+      for (String coding : acceptEncodingHeaders.nextElement().split(",")) {
+        String[] parameters = coding.split(";");
+        String name = parameters[0].trim().toLowerCase();
+        if (GZIP.equals(name) || X_GZIP.equals(name)) {
+          gzipQuality = getQuality(parameters);
+        } else if (WILDCARD.equals(name)) {
+          wildcardQuality = getQuality(parameters);
+        }
+      }
+    }
+
+    if (gzipQuality != null) {
+      return gzipQuality > 0;
+    } else {
+      return wildcardQuality != null && wildcardQuality > 0;
+    }
+  }
+
+  /**
+   * @return the quality value of a content coding, 1 if it has none and 0 if it cannot be parsed
+   */
+  protected double getQuality(String[] parameters) {
+    for (int i = 1; i < parameters.length; i++) {
+      String parameter = parameters[i].trim();
+      if (parameter.length() > 1 && Character.toLowerCase(parameter.charAt(0)) == 'q' && parameter.charAt(1) == '=') {
+        try {
+          return Double.parseDouble(parameter.substring(2).trim());
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  /**
+   * Response wrapper which compresses everything written to its output stream or writer.
+   * The content length of the uncompressed body is not passed on to the response.
+   */
+  protected static class GzipResponseWrapper extends HttpServletResponseWrapper {
+
+    protected GzipServletOutputStream outputStream;
+    protected PrintWriter writer;
+
+    public GzipResponseWrapper(HttpServletResponse response) {
+      super(response);
+    }
+
+    public ServletOutputStream getOutputStream() throws IOException {
+      if (writer != null) {
+        throw new IllegalStateException("getWriter() has already been called on this response");
+      }
+      return getGzipOutputStream();
+    }
+
+    public PrintWriter getWriter() throws IOException {
+      if (writer == null) {
+        if (outputStream != null) {
+          throw new IllegalStateException("getOutputStream() has already been called on this response");
+        }
+        writer = new PrintWriter(new OutputStreamWriter(getGzipOutputStream(), getCharacterEncoding()));
+      }
+      return writer;
+    }
+
+    protected GzipServletOutputStream getGzipOutputStream() {
+      if (outputStream == null) {
+        outputStream = new GzipServletOutputStream((HttpServletResponse) getResponse());
+      }
+      return outputStream;
+    }
+
+    public void setContentLength(int len) {
+      // the length of the compressed body differs
+    }
+
+    public void setHeader(String name, String value) {
+      if (!CONTENT_LENGTH_HEADER.equalsIgnoreCase(name)) {
+        super.setHeader(name, value);
+      }
+    }
+
+    public void addHeader(String name, String value) {
+      if (!CONTENT_LENGTH_HEADER.equalsIgnoreCase(name)) {
+        super.addHeader(name, value);
+      }
+    }
+
+    public void setIntHeader(String name, int value) {
+      if (!CONTENT_LENGTH_HEADER.equalsIgnoreCase(name)) {
+        super.setIntHeader(name, value);
+      }
+    }
+
+    public void addIntHeader(String name, int value) {
+      if (!CONTENT_LENGTH_HEADER.equalsIgnoreCase(name)) {
+        super.addIntHeader(name, value);
+      }
+    }
+
+    public void flushBuffer() throws IOException {
+      if (writer != null) {
+        writer.flush();
+      }
+      if (outputStream != null) {
+        outputStream.flush();
+      }
+      super.flushBuffer();
+    }
+
+    public void finish() throws IOException {
+      if (writer != null) {
+        writer.flush();
+      }
+      if (outputStream != null) {
+        outputStream.finish();
+      }
+    }
+  }
+
+  /**
+   * Output stream which opens the gzip stream on the first write.
+   */
+  protected static class GzipServletOutputStream extends ServletOutputStream {
+
+    protected final HttpServletResponse response;
+    protected GZIPOutputStream gzipStream;
+
+    public GzipServletOutputStream(HttpServletResponse response) {
+      this.response = response;
+    }
+
+    protected GZIPOutputStream getGzipStream() throws IOException {
+      if (gzipStream == null) {
+        response.setHeader(CONTENT_ENCODING_HEADER, GZIP);
+        gzipStream = new GZIPOutputStream(response.getOutputStream());
+      }
+      return gzipStream;
+    }
+
+    public void write(int b) throws IOException {
+      getGzipStream().write(b);
+    }
+
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (len > 0) {
+        getGzipStream().write(b, off, len);
+      }
+    }
+
+    public void flush() throws IOException {
+      if (gzipStream != null) {
+        gzipStream.flush();
+      }
+    }
+
+    public void close() throws IOException {
+      finish();
+    }
+
+    public void finish() throws IOException {
+      if (gzipStream != null) {
+        gzipStream.finish();
+        gzipStream.flush();
+      }
+    }
+  }
+
+}
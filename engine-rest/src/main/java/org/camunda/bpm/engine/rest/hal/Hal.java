@@ -13,10 +13,19 @@
 package org.camunda.bpm.engine.rest.hal;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.rest.ProcessDefinitionRestService;
 import org.camunda.bpm.engine.rest.UserRestService;
+import org.camunda.bpm.engine.rest.hal.cache.HalRelationCache;
+import org.camunda.bpm.engine.rest.hal.cache.HalRelationCacheConfiguration;
 import org.camunda.bpm.engine.rest.hal.processDefinition.HalProcessDefinitionResolver;
 import org.camunda.bpm.engine.rest.hal.user.HalUserResolver;
 
@@ -32,6 +41,12 @@ public class Hal {
 
   protected Map<Class<?>, HalLinkResolver> halLinkResolvers = new HashMap<Class<?>, HalLinkResolver>();
 
+  /** cache configurations by HAL resource class; resources of other classes are not cached */
+  protected Map<Class<?>, HalRelationCacheConfiguration> cacheConfigurations = new ConcurrentHashMap<Class<?>, HalRelationCacheConfiguration>();
+
+  /** caches by HAL resource class, process engine name and authentication */
+  protected ConcurrentMap<HalRelationCacheKey, HalRelationCache> caches = new ConcurrentHashMap<HalRelationCacheKey, HalRelationCache>();
+
   public Hal() {
     // register the built-in resolvers
     halLinkResolvers.put(UserRestService.class, new HalUserResolver());
@@ -50,4 +65,124 @@ public class Hal {
     return halLinkResolvers.get(resourceClass);
   }
 
+  /**
+   * Enables caching of resolved resources of the given HAL resource class.
+   * Existing caches for the class are discarded.
+   */
+  public synchronized void setHalRelationCacheConfiguration(Class<?> halResourceClass, HalRelationCacheConfiguration configuration) {
+    cacheConfigurations.put(halResourceClass, configuration);
+    removeCaches(halResourceClass);
+  }
+
+  /**
+   * Disables caching of resolved resources of the given HAL resource class.
+   */
+  public synchronized void removeHalRelationCacheConfiguration(Class<?> halResourceClass) {
+    cacheConfigurations.remove(halResourceClass);
+    removeCaches(halResourceClass);
+  }
+
+  /**
+   * @return the cache for resources of the given class resolved by the given process engine
+   *   for its current authentication or null if caching is not configured for the class.
+   *   Resolving a resource is subject to the authorizations of the current user, therefore
+   *   resources resolved for one user are never served to another one.
+   */
+  public HalRelationCache getHalRelationCache(Class<?> halResourceClass, ProcessEngine processEngine) {
+    HalRelationCacheConfiguration configuration = cacheConfigurations.get(halResourceClass);
+    if (configuration == null) {
+      return null;
+    }
+
+    Authentication authentication = processEngine.getIdentityService().getCurrentAuthentication();
+    HalRelationCacheKey cacheKey = new HalRelationCacheKey(halResourceClass, processEngine.getName(), authentication);
+
+    HalRelationCache cache = caches.get(cacheKey);
+    if (cache == null) {
+      HalRelationCache newCache = new HalRelationCache(configuration);
+      cache = caches.putIfAbsent(cacheKey, newCache);
+      if (cache == null) {
+        cache = newCache;
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * Removes a resource from all caches of the given process engine, if present.
+   * Should be called when the resource is modified or deleted.
+   */
+  public void evictFromHalRelationCache(Class<?> halResourceClass, ProcessEngine processEngine, String id) {
+    for (Map.Entry<HalRelationCacheKey, HalRelationCache> cache : caches.entrySet()) {
+      if (cache.getKey().matches(halResourceClass, processEngine.getName())) {
+        cache.getValue().remove(id);
+      }
+    }
+  }
+
+  protected void removeCaches(Class<?> halResourceClass) {
+    Iterator<HalRelationCacheKey> cacheKeys = caches.keySet().iterator();
+    while (cacheKeys.hasNext()) {
+      if (cacheKeys.next().matches(halResourceClass, null)) {
+        cacheKeys.remove();
+      }
+    }
+  }
+
+  /**
+   * Identifies the cache of a HAL resource class for a process engine and an authentication.
+   */
+  protected static class HalRelationCacheKey {
+
+    protected final String halResourceClassName;
+    protected final String processEngineName;
+    protected final String userId;
+    protected final Set<String> groupIds;
+
+    public HalRelationCacheKey(Class<?> halResourceClass, String processEngineName, Authentication authentication) {
+      this.halResourceClassName = halResourceClass.getName();
+      this.processEngineName = processEngineName;
+      this.groupIds = new HashSet<String>();
+      if (authentication != null) {
+        this.userId = authentication.getUserId();
+        if (authentication.getGroupIds() != null) {
+          groupIds.addAll(authentication.getGroupIds());
+        }
+      }
+      else {
+        this.userId = null;
+      }
+    }
+
+    /**
+     * @param processEngineName the name of the process engine or null to match all process engines
+     */
+    public boolean matches(Class<?> halResourceClass, String processEngineName) {
+      return halResourceClassName.equals(halResourceClass.getName())
+          && (processEngineName == null || processEngineName.equals(this.processEngineName));
+    }
+
+    public int hashCode() {
+      int result = halResourceClassName.hashCode();
+      result = 31 * result + (processEngineName == null ? 0 : processEngineName.hashCode());
+      result = 31 * result + (userId == null ? 0 : userId.hashCode());
+      result = 31 * result + groupIds.hashCode();
+      return result;
+    }
+
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof HalRelationCacheKey)) {
+        return false;
+      }
+      HalRelationCacheKey other = (HalRelationCacheKey) obj;
+      return halResourceClassName.equals(other.halResourceClassName)
+          && (processEngineName == null ? other.processEngineName == null : processEngineName.equals(other.processEngineName))
+          && (userId == null ? other.userId == null : userId.equals(other.userId))
+          && groupIds.equals(other.groupIds);
+    }
+  }
+
 }
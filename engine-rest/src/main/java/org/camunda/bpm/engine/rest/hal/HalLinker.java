@@ -116,7 +116,8 @@ public class HalLinker {
       if(linkedIdSet != null) {
         linkedIdSet.addAll(linkentry.getValue());
       }else {
-        linkedResources.put(linkentry.getKey(), linkentry.getValue());
+        // copy the set: the embedded resource may be cached and shared between requests
+        linkedResources.put(linkentry.getKey(), new HashSet<String>(linkentry.getValue()));
       }
     }
   }
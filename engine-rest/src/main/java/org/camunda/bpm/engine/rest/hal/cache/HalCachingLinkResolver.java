@@ -0,0 +1,80 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.hal.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.rest.hal.Hal;
+import org.camunda.bpm.engine.rest.hal.HalLinkResolver;
+import org.camunda.bpm.engine.rest.hal.HalResource;
+
+/**
+ * A {@link HalLinkResolver} which looks up linked resources in the {@link HalRelationCache}
+ * of the process engine and the current authentication first and resolves only the
+ * remaining ids with a single query.
+ *
+ * <p>If no cache is configured for the resource type, all ids are resolved by query.</p>
+ */
+public abstract class HalCachingLinkResolver implements HalLinkResolver {
+
+  protected final Comparator<HalResource<?>> idComparator = new Comparator<HalResource<?>>() {
+    public int compare(HalResource<?> o1, HalResource<?> o2) {
+      return String.valueOf(getResourceId(o1)).compareTo(String.valueOf(getResourceId(o2)));
+    }
+  };
+
+  public List<HalResource<?>> resolveLinks(String[] linkedIds, ProcessEngine processEngine) {
+    HalRelationCache cache = Hal.getInstance().getHalRelationCache(getHalResourceClass(), processEngine);
+
+    if (cache == null) {
+      return resolveNotCachedLinks(linkedIds, processEngine);
+    }
+
+    List<HalResource<?>> resolved = new ArrayList<HalResource<?>>();
+    List<String> notCachedIds = cache.getAll(Arrays.asList(linkedIds), resolved);
+
+    if (!notCachedIds.isEmpty()) {
+      List<HalResource<?>> fetched = resolveNotCachedLinks(notCachedIds.toArray(new String[notCachedIds.size()]), processEngine);
+      for (HalResource<?> resource : fetched) {
+        cache.put(getResourceId(resource), resource);
+      }
+      resolved.addAll(fetched);
+    }
+
+    // keep a stable order independent of which resources were cached
+    Collections.sort(resolved, idComparator);
+
+    return resolved;
+  }
+
+  /**
+   * @return the class of the resources resolved by this resolver, used to look up the cache
+   */
+  protected abstract Class<?> getHalResourceClass();
+
+  /**
+   * @return the id of a resolved resource under which it is cached
+   */
+  protected abstract String getResourceId(HalResource<?> resource);
+
+  /**
+   * Resolves the given ids by querying the process engine.
+   */
+  protected abstract List<HalResource<?>> resolveNotCachedLinks(String[] linkedIds, ProcessEngine processEngine);
+
+}
@@ -0,0 +1,145 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.hal.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.rest.hal.HalResource;
+
+/**
+ * A bounded cache for resolved HAL resources. Entries are evicted in least
+ * recently used order once the capacity is exceeded and expire after
+ * the configured time to live.
+ *
+ * <p>The cache is thread safe. Cached resources are shared between requests and
+ * must therefore not be modified after they were put into the cache.</p>
+ */
+public class HalRelationCache {
+
+  protected final int capacity;
+  protected final long millisToLive;
+
+  protected final Map<String, CacheEntry> entries;
+
+  protected long hitCount;
+  protected long missCount;
+
+  public HalRelationCache(int capacity, long secondsToLive) {
+    this.capacity = capacity;
+    this.millisToLive = secondsToLive * 1000;
+    this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+      protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+        return size() > HalRelationCache.this.capacity;
+      }
+    };
+  }
+
+  public HalRelationCache(HalRelationCacheConfiguration configuration) {
+    this(configuration.getCapacity(), configuration.getSecondsToLive());
+  }
+
+  /**
+   * @return the cached resource or null if the resource is not cached or expired
+   */
+  public synchronized HalResource<?> get(String id) {
+    CacheEntry entry = entries.get(id);
+    if (entry != null) {
+      if (entry.isExpired(ClockUtil.getCurrentTime().getTime())) {
+        entries.remove(id);
+      }
+      else {
+        hitCount++;
+        return entry.resource;
+      }
+    }
+    missCount++;
+    return null;
+  }
+
+  /**
+   * Looks up all given ids.
+   *
+   * @param ids the ids to look up
+   * @param resolved collects the cached resources
+   * @return the ids which are not cached
+   */
+  public synchronized List<String> getAll(Collection<String> ids, List<HalResource<?>> resolved) {
+    List<String> notCachedIds = new ArrayList<String>();
+    for (String id : ids) {
+      HalResource<?> resource = get(id);
+      if (resource != null) {
+        resolved.add(resource);
+      }
+      else {
+        notCachedIds.add(id);
+      }
+    }
+    return notCachedIds;
+  }
+
+  public synchronized void put(String id, HalResource<?> resource) {
+    if (id != null && resource != null) {
+      entries.put(id, new CacheEntry(resource, ClockUtil.getCurrentTime().getTime() + millisToLive));
+    }
+  }
+
+  public synchronized void remove(String id) {
+    entries.remove(id);
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getSecondsToLive() {
+    return millisToLive / 1000;
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  protected static class CacheEntry {
+
+    protected final HalResource<?> resource;
+    protected final long expiresAt;
+
+    public CacheEntry(HalResource<?> resource, long expiresAt) {
+      this.resource = resource;
+      this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(long now) {
+      return now >= expiresAt;
+    }
+  }
+
+}
@@ -0,0 +1,82 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.hal.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+import org.camunda.bpm.engine.rest.hal.Hal;
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+
+/**
+ * <p>
+ * Servlet context listener to enable caching of resolved HAL relations.
+ * </p>
+ *
+ * <p>The context-param {@value #CONTEXT_PARAM_NAME} maps HAL resource classes to
+ * cache bounds, e.g.:</p>
+ *
+ * <pre>
+ * {
+ *   "org.camunda.bpm.engine.rest.hal.user.HalUser": { "capacity": 500, "secondsToLive": 300 },
+ *   "org.camunda.bpm.engine.rest.hal.processDefinition.HalProcessDefinition": { "capacity": 100, "secondsToLive": 3600 }
+ * }
+ * </pre>
+ */
+public class HalRelationCacheBootstrap implements ServletContextListener {
+
+  public static final String CONTEXT_PARAM_NAME = "org.camunda.bpm.engine.rest.hal.cache.config";
+
+  protected List<Class<?>> configuredClasses = new ArrayList<Class<?>>();
+
+  public void contextInitialized(ServletContextEvent sce) {
+    String config = sce.getServletContext().getInitParameter(CONTEXT_PARAM_NAME);
+    if (config != null) {
+      configure(config);
+    }
+  }
+
+  public void contextDestroyed(ServletContextEvent sce) {
+    for (Class<?> halResourceClass : configuredClasses) {
+      Hal.getInstance().removeHalRelationCacheConfiguration(halResourceClass);
+    }
+    configuredClasses.clear();
+  }
+
+  public void configure(String config) {
+    ObjectMapper objectMapper = new ObjectMapper();
+    try {
+      JsonNode root = objectMapper.readTree(config);
+      Iterator<Entry<String, JsonNode>> fields = root.getFields();
+      while (fields.hasNext()) {
+        Entry<String, JsonNode> field = fields.next();
+        Class<?> halResourceClass = Class.forName(field.getKey());
+        HalRelationCacheConfiguration configuration = objectMapper.readValue(field.getValue(), HalRelationCacheConfiguration.class);
+
+        Hal.getInstance().setHalRelationCacheConfiguration(halResourceClass, configuration);
+        configuredClasses.add(halResourceClass);
+      }
+    } catch (ClassNotFoundException e) {
+      throw new RuntimeException("Cannot configure HAL relation cache: HAL resource class not found", e);
+    } catch (Exception e) {
+      throw new RuntimeException("Cannot configure HAL relation cache: invalid configuration '" + config + "'", e);
+    }
+  }
+
+}
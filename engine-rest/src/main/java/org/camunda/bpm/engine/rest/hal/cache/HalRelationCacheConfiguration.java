@@ -0,0 +1,50 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.hal.cache;
+
+/**
+ * Bounds of a {@link HalRelationCache}.
+ */
+public class HalRelationCacheConfiguration {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+  public static final long DEFAULT_SECONDS_TO_LIVE = 60;
+
+  protected int capacity = DEFAULT_CAPACITY;
+  protected long secondsToLive = DEFAULT_SECONDS_TO_LIVE;
+
+  public HalRelationCacheConfiguration() {
+  }
+
+  public HalRelationCacheConfiguration(int capacity, long secondsToLive) {
+    this.capacity = capacity;
+    this.secondsToLive = secondsToLive;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public void setCapacity(int capacity) {
+    this.capacity = capacity;
+  }
+
+  public long getSecondsToLive() {
+    return secondsToLive;
+  }
+
+  public void setSecondsToLive(long secondsToLive) {
+    this.secondsToLive = secondsToLive;
+  }
+
+}
@@ -19,15 +19,23 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.rest.hal.HalResource;
-import org.camunda.bpm.engine.rest.hal.HalLinkResolver;
+import org.camunda.bpm.engine.rest.hal.cache.HalCachingLinkResolver;
 
 /**
  * @author Daniel Meyer
  *
  */
-public class HalProcessDefinitionResolver implements HalLinkResolver {
+public class HalProcessDefinitionResolver extends HalCachingLinkResolver {
 
-  public List<HalResource<?>> resolveLinks(String[] linkedIds, ProcessEngine processEngine) {
+  protected Class<?> getHalResourceClass() {
+    return HalProcessDefinition.class;
+  }
+
+  protected String getResourceId(HalResource<?> resource) {
+    return ((HalProcessDefinition) resource).getId();
+  }
+
+  protected List<HalResource<?>> resolveNotCachedLinks(String[] linkedIds, ProcessEngine processEngine) {
 
     RepositoryService repositoryService = processEngine.getRepositoryService();
 
@@ -0,0 +1,175 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.hal.task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.rest.dto.converter.StringListConverter;
+import org.camunda.bpm.engine.rest.hal.HalResource;
+import org.camunda.bpm.engine.rest.hal.HalVariableValue;
+import org.camunda.bpm.engine.rest.hal.identitylink.HalIdentityLink;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.task.IdentityLink;
+
+/**
+ * Embeds the variables and identity links of a list of {@link HalTask}s. The resources
+ * of all tasks are loaded with one query per kind, so the number of queries does not
+ * depend on the number of tasks.
+ */
+public class HalTaskEmbedder {
+
+  public static final String EMBEDDED_VARIABLE = "variable";
+  public static final String EMBEDDED_IDENTITY_LINK = "identityLink";
+
+  protected ProcessEngine processEngine;
+
+  public HalTaskEmbedder(ProcessEngine processEngine) {
+    this.processEngine = processEngine;
+  }
+
+  /**
+   * Embeds the variables with the given names which are visible from the tasks. A variable
+   * of the task shadows variables with the same name of its execution, process instance,
+   * case execution and case instance.
+   */
+  public void embedVariables(List<HalTask> halTasks, Collection<String> variableNames) {
+    if (halTasks.isEmpty() || variableNames == null || variableNames.isEmpty()) {
+      return;
+    }
+
+    LinkedHashSet<String> variableScopeIds = getVariableScopeIds(halTasks.toArray(new HalTask[halTasks.size()]));
+    Map<String, List<VariableInstance>> variableInstances = getSortedVariableInstances(variableNames, variableScopeIds);
+
+    for (HalTask halTask : halTasks) {
+      halTask.addEmbedded(EMBEDDED_VARIABLE, getVariableValuesForTask(halTask, variableInstances));
+    }
+  }
+
+  /**
+   * Embeds the stored identity links of the tasks, i.e. the candidate users and groups.
+   */
+  public void embedIdentityLinks(List<HalTask> halTasks) {
+    if (halTasks.isEmpty()) {
+      return;
+    }
+
+    List<String> taskIds = new ArrayList<String>();
+    Map<String, List<HalResource<?>>> identityLinksByTask = new HashMap<String, List<HalResource<?>>>();
+    for (HalTask halTask : halTasks) {
+      taskIds.add(halTask.getId());
+      identityLinksByTask.put(halTask.getId(), new ArrayList<HalResource<?>>());
+    }
+
+    List<IdentityLink> identityLinks = processEngine.getTaskService().getIdentityLinksForTasks(taskIds);
+    for (IdentityLink identityLink : identityLinks) {
+      List<HalResource<?>> taskIdentityLinks = identityLinksByTask.get(identityLink.getTaskId());
+      if (taskIdentityLinks != null) {
+        taskIdentityLinks.add(HalIdentityLink.fromIdentityLink(identityLink));
+      }
+    }
+
+    for (HalTask halTask : halTasks) {
+      halTask.addEmbedded(EMBEDDED_IDENTITY_LINK, identityLinksByTask.get(halTask.getId()));
+    }
+  }
+
+  /**
+   * @return the variable names of a comma separated request parameter
+   */
+  public static List<String> parseVariableNames(String variableNames) {
+    List<String> parsedVariableNames = new ArrayList<String>();
+    if (variableNames != null) {
+      for (String variableName : new StringListConverter().convertQueryParameterToType(variableNames)) {
+        if (variableName.trim().length() > 0) {
+          parsedVariableNames.add(variableName.trim());
+        }
+      }
+    }
+    return parsedVariableNames;
+  }
+
+  protected List<HalResource<?>> getVariableValuesForTask(HalTask halTask, Map<String, List<VariableInstance>> variableInstances) {
+    // converted variables values
+    List<HalResource<?>> variableValues = new ArrayList<HalResource<?>>();
+
+    // variable scope ids to check, ordered by visibility
+    LinkedHashSet<String> variableScopeIds = getVariableScopeIds(halTask);
+
+    // names of already converted variables
+    Set<String> knownVariableNames = new HashSet<String>();
+
+    for (String variableScopeId : variableScopeIds) {
+      if (variableInstances.containsKey(variableScopeId)) {
+        for (VariableInstance variableInstance : variableInstances.get(variableScopeId)) {
+          if (!knownVariableNames.contains(variableInstance.getName())) {
+            variableValues.add(HalVariableValue.generateVariableValue(variableInstance, variableScopeId));
+            knownVariableNames.add(variableInstance.getName());
+          }
+        }
+      }
+    }
+
+    return variableValues;
+  }
+
+  protected LinkedHashSet<String> getVariableScopeIds(HalTask... halTasks) {
+    // collect scope ids
+    // the ordering is important because it specifies which variables are visible from a single task
+    LinkedHashSet<String> variableScopeIds = new LinkedHashSet<String>();
+    if (halTasks != null && halTasks.length > 0) {
+      for (HalTask halTask : halTasks) {
+        variableScopeIds.add(halTask.getId());
+        variableScopeIds.add(halTask.getExecutionId());
+        variableScopeIds.add(halTask.getProcessInstanceId());
+        variableScopeIds.add(halTask.getCaseExecutionId());
+        variableScopeIds.add(halTask.getCaseInstanceId());
+      }
+    }
+
+    // remove null from set which was probably added due an unset id
+    variableScopeIds.remove(null);
+
+    return variableScopeIds;
+  }
+
+  protected Map<String, List<VariableInstance>> getSortedVariableInstances(Collection<String> variableNames, Collection<String> variableScopeIds) {
+    List<VariableInstance> variableInstances = queryVariablesInstancesByVariableScopeIds(variableNames, variableScopeIds);
+    Map<String, List<VariableInstance>> sortedVariableInstances = new HashMap<String, List<VariableInstance>>();
+    for (VariableInstance variableInstance : variableInstances) {
+      String variableScopeId = ((VariableInstanceEntity) variableInstance).getVariableScope();
+      if (!sortedVariableInstances.containsKey(variableScopeId)) {
+        sortedVariableInstances.put(variableScopeId, new ArrayList<VariableInstance>());
+      }
+      sortedVariableInstances.get(variableScopeId).add(variableInstance);
+    }
+    return sortedVariableInstances;
+  }
+
+  protected List<VariableInstance> queryVariablesInstancesByVariableScopeIds(Collection<String> variableNames, Collection<String> variableScopeIds) {
+    return processEngine.getRuntimeService()
+      .createVariableInstanceQuery()
+      .variableNameIn(variableNames.toArray(new String[variableNames.size()]))
+      .variableScopeIdIn(variableScopeIds.toArray(new String[variableScopeIds.size()]))
+      .list();
+  }
+
+}
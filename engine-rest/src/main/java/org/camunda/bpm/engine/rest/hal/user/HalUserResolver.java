@@ -19,15 +19,23 @@ import org.camunda.bpm.engine.IdentityService;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.identity.User;
 import org.camunda.bpm.engine.rest.hal.HalResource;
-import org.camunda.bpm.engine.rest.hal.HalLinkResolver;
+import org.camunda.bpm.engine.rest.hal.cache.HalCachingLinkResolver;
 
 /**
  * @author Daniel Meyer
  *
  */
-public class HalUserResolver implements HalLinkResolver {
+public class HalUserResolver extends HalCachingLinkResolver {
 
-  public List<HalResource<?>> resolveLinks(String[] linkedIds, ProcessEngine processEngine) {
+  protected Class<?> getHalResourceClass() {
+    return HalUser.class;
+  }
+
+  protected String getResourceId(HalResource<?> resource) {
+    return ((HalUser) resource).getId();
+  }
+
+  protected List<HalResource<?>> resolveNotCachedLinks(String[] linkedIds, ProcessEngine processEngine) {
 
     IdentityService identityService = processEngine.getIdentityService();
 
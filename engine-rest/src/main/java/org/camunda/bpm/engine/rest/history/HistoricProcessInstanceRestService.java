@@ -46,24 +46,32 @@ public interface HistoricProcessInstanceRestService {
    * @param query
    * @param firstResult
    * @param maxResults
+   * @param afterId the id of the last instance of the previous page (keyset pagination),
+   *  cannot be combined with <code>firstResult</code>
+   * @param afterSortValue the value of the sort property of the last instance of the previous page,
+   *  required with <code>afterId</code> if the instances are sorted by start time or definition id
    * @return
    */
   @GET
   @Produces(MediaType.APPLICATION_JSON)
   List<HistoricProcessInstanceDto> getHistoricProcessInstances(@Context UriInfo uriInfo, @QueryParam("firstResult") Integer firstResult,
-      @QueryParam("maxResults") Integer maxResults);
+      @QueryParam("maxResults") Integer maxResults, @QueryParam("afterId") String afterId,
+      @QueryParam("afterSortValue") String afterSortValue);
 
   /**
    * @param query
    * @param firstResult
    * @param maxResults
+   * @param afterId
+   * @param afterSortValue
    * @return
    */
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
   List<HistoricProcessInstanceDto> queryHistoricProcessInstances(HistoricProcessInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
-      @QueryParam("maxResults") Integer maxResults);
+      @QueryParam("maxResults") Integer maxResults, @QueryParam("afterId") String afterId,
+      @QueryParam("afterSortValue") String afterSortValue);
 
   @GET
   @Path("/count")
@@ -12,8 +12,6 @@
  */
 package org.camunda.bpm.engine.rest.history;
 
-import java.util.List;
-
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
@@ -23,6 +21,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
@@ -46,23 +45,25 @@ public interface HistoricVariableInstanceRestService {
    * @param query
    * @param firstResult
    * @param maxResults
-   * @return
+   * @return the matching variable instances as JSON array of {@link HistoricVariableInstanceDto}. Without
+   *   pagination, the results are streamed to the response instead of being collected in a list.
    */
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  List<HistoricVariableInstanceDto> getHistoricVariableInstances(@Context UriInfo uriInfo, @QueryParam("firstResult") Integer firstResult,
+  StreamingOutput getHistoricVariableInstances(@Context UriInfo uriInfo, @QueryParam("firstResult") Integer firstResult,
       @QueryParam("maxResults") Integer maxResults);
 
   /**
    * @param query
    * @param firstResult
    * @param maxResults
-   * @return
+   * @return the matching variable instances as JSON array of {@link HistoricVariableInstanceDto}. Without
+   *   pagination, the results are streamed to the response instead of being collected in a list.
    */
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  List<HistoricVariableInstanceDto> queryHistoricVariableInstances(HistoricVariableInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
+  StreamingOutput queryHistoricVariableInstances(HistoricVariableInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
       @QueryParam("maxResults") Integer maxResults);
 
   @GET
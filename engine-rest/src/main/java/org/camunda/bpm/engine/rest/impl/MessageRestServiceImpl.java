@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.rest.impl;
 
 import java.text.ParseException;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -21,9 +22,12 @@ import javax.ws.rs.core.Response.Status;
 import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.rest.MessageRestService;
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationResultDto;
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationsDto;
 import org.camunda.bpm.engine.rest.dto.message.CorrelationMessageDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
+import org.camunda.bpm.engine.rest.util.BulkOperationExecutor;
 import org.camunda.bpm.engine.rest.util.DtoUtil;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
 
@@ -44,30 +48,8 @@ public class MessageRestServiceImpl extends AbstractRestProcessEngineAware imple
       throw new InvalidRequestException(Status.BAD_REQUEST, "No message name supplied");
     }
 
-    RuntimeService runtimeService = processEngine.getRuntimeService();
-
     try {
-      Map<String, Object> correlationKeys = DtoUtil.toMap(messageDto.getCorrelationKeys());
-      Map<String, Object> processVariables = DtoUtil.toMap(messageDto.getProcessVariables());
-
-      MessageCorrelationBuilder correlation = runtimeService
-          .createMessageCorrelation(messageDto.getMessageName())
-          .setVariables(processVariables)
-          .processInstanceBusinessKey(messageDto.getBusinessKey());
-
-      if (correlationKeys != null && !correlationKeys.isEmpty()) {
-        for (Entry<String, Object> correlationKey : correlationKeys.entrySet()) {
-          String name = correlationKey.getKey();
-          Object value = correlationKey.getValue();
-          correlation.processInstanceVariableEquals(name, value);
-        }
-      }
-
-      if (!messageDto.isAll()) {
-        correlation.correlate();
-      } else {
-        correlation.correlateAll();
-      }
+      correlate(messageDto);
 
     } catch (MismatchingMessageCorrelationException e) {
       throw new RestException(Status.BAD_REQUEST, e);
@@ -87,4 +69,49 @@ public class MessageRestServiceImpl extends AbstractRestProcessEngineAware imple
 
   }
 
+  @Override
+  public List<BulkOperationResultDto> deliverMessages(BulkOperationsDto<CorrelationMessageDto> bulkOperations) {
+    return new BulkOperationExecutor<CorrelationMessageDto>(processEngine) {
+      protected void executeOperation(CorrelationMessageDto messageDto) {
+        if (messageDto.getMessageName() == null) {
+          throw new InvalidRequestException(Status.BAD_REQUEST, "No message name supplied");
+        }
+
+        try {
+          correlate(messageDto);
+
+        } catch (ParseException e) {
+          String errorMessage = String.format("Cannot deliver a message due to parse exception: %s", e.getMessage());
+          throw new InvalidRequestException(Status.BAD_REQUEST, e, errorMessage);
+        }
+      }
+    }.execute(bulkOperations);
+  }
+
+  protected void correlate(CorrelationMessageDto messageDto) throws ParseException {
+    RuntimeService runtimeService = processEngine.getRuntimeService();
+
+    Map<String, Object> correlationKeys = DtoUtil.toMap(messageDto.getCorrelationKeys());
+    Map<String, Object> processVariables = DtoUtil.toMap(messageDto.getProcessVariables());
+
+    MessageCorrelationBuilder correlation = runtimeService
+        .createMessageCorrelation(messageDto.getMessageName())
+        .setVariables(processVariables)
+        .processInstanceBusinessKey(messageDto.getBusinessKey());
+
+    if (correlationKeys != null && !correlationKeys.isEmpty()) {
+      for (Entry<String, Object> correlationKey : correlationKeys.entrySet()) {
+        String name = correlationKey.getKey();
+        Object value = correlationKey.getValue();
+        correlation.processInstanceVariableEquals(name, value);
+      }
+    }
+
+    if (!messageDto.isAll()) {
+      correlation.correlate();
+    } else {
+      correlation.correlateAll();
+    }
+  }
+
 }
@@ -19,14 +19,19 @@ import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.core.Response.Status;
 
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.rest.ProcessInstanceRestService;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationResultDto;
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationsDto;
+import org.camunda.bpm.engine.rest.dto.bulk.ProcessInstanceOperationDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceSuspensionStateDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.sub.runtime.ProcessInstanceResource;
 import org.camunda.bpm.engine.rest.sub.runtime.impl.ProcessInstanceResourceImpl;
+import org.camunda.bpm.engine.rest.util.BulkOperationExecutor;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
 
@@ -112,4 +117,15 @@ public class ProcessInstanceRestServiceImpl extends AbstractRestProcessEngineAwa
     dto.updateSuspensionState(getProcessEngine());
   }
 
+  public List<BulkOperationResultDto> setProcessInstanceVariables(BulkOperationsDto<ProcessInstanceOperationDto> bulkOperations) {
+    ProcessEngine engine = getProcessEngine();
+    final RuntimeService runtimeService = engine.getRuntimeService();
+
+    return new BulkOperationExecutor<ProcessInstanceOperationDto>(engine) {
+      protected void executeOperation(ProcessInstanceOperationDto operation) {
+        runtimeService.setVariables(operation.getProcessInstanceId(), toVariables(operation.getVariables()));
+      }
+    }.execute(bulkOperations);
+  }
+
 }
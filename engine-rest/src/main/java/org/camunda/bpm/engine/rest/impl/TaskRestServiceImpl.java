@@ -14,17 +14,28 @@ package org.camunda.bpm.engine.rest.impl;
 
 import java.util.ArrayList;
 import java.util.List;
+import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.rest.TaskRestService;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationResultDto;
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationsDto;
+import org.camunda.bpm.engine.rest.dto.bulk.TaskOperationDto;
+import org.camunda.bpm.engine.rest.dto.task.TaskChangesDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskQueryDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
+import org.camunda.bpm.engine.rest.hal.task.HalTask;
+import org.camunda.bpm.engine.rest.hal.task.HalTaskEmbedder;
 import org.camunda.bpm.engine.rest.hal.task.HalTaskList;
 import org.camunda.bpm.engine.rest.sub.task.TaskResource;
 import org.camunda.bpm.engine.rest.sub.task.impl.TaskResourceImpl;
+import org.camunda.bpm.engine.rest.util.BulkOperationExecutor;
 import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.task.TaskChanges;
 import org.camunda.bpm.engine.task.TaskQuery;
 
 public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implements TaskRestService {
@@ -38,34 +49,48 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
   }
 
   @Override
-  public List<TaskDto> getTasks(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+  public List<TaskDto> getTasks(UriInfo uriInfo, Integer firstResult, Integer maxResults, String afterId, String afterSortValue) {
     TaskQueryDto queryDto = new TaskQueryDto(uriInfo.getQueryParameters());
-    return queryTasks(queryDto, firstResult, maxResults);
+    return queryTasks(queryDto, firstResult, maxResults, afterId, afterSortValue);
   }
 
   @Override
-  public HalTaskList getHalTasks(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+  @SuppressWarnings("unchecked")
+  public HalTaskList getHalTasks(UriInfo uriInfo, Integer firstResult, Integer maxResults, String afterId,
+      String afterSortValue, String includeVariables, boolean includeIdentityLinks) {
     TaskQueryDto queryDto = new TaskQueryDto(uriInfo.getQueryParameters());
 
     ProcessEngine engine = getProcessEngine();
     TaskQuery query = queryDto.toQuery(engine);
 
     // get list of tasks
-    List<Task> matchingTasks = executeTaskQuery(firstResult, maxResults, query);
+    Object lastSortValue = afterSortValue != null ? queryDto.toKeysetSortValue(afterSortValue) : null;
+    List<Task> matchingTasks = executeTaskQuery(firstResult, maxResults, afterId, lastSortValue, query);
 
     // get total count
     long count = query.count();
 
-    return HalTaskList.generate(matchingTasks, count, engine);
+    HalTaskList halTasks = HalTaskList.generate(matchingTasks, count, engine);
+
+    // embed the requested resources of all tasks with one query per kind
+    List<HalTask> embeddedTasks = (List<HalTask>) halTasks.getEmbedded("task");
+    HalTaskEmbedder embedder = new HalTaskEmbedder(engine);
+    embedder.embedVariables(embeddedTasks, HalTaskEmbedder.parseVariableNames(includeVariables));
+    if (includeIdentityLinks) {
+      embedder.embedIdentityLinks(embeddedTasks);
+    }
+
+    return halTasks;
   }
 
   @Override
   public List<TaskDto> queryTasks(TaskQueryDto queryDto, Integer firstResult,
-      Integer maxResults) {
+      Integer maxResults, String afterId, String afterSortValue) {
     ProcessEngine engine = getProcessEngine();
     TaskQuery query = queryDto.toQuery(engine);
 
-    List<Task> matchingTasks = executeTaskQuery(firstResult, maxResults, query);
+    Object lastSortValue = afterSortValue != null ? queryDto.toKeysetSortValue(afterSortValue) : null;
+    List<Task> matchingTasks = executeTaskQuery(firstResult, maxResults, afterId, lastSortValue, query);
 
     List<TaskDto> tasks = new ArrayList<TaskDto>();
     for (Task task : matchingTasks) {
@@ -76,13 +101,15 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     return tasks;
   }
 
-  protected List<Task> executeTaskQuery(Integer firstResult, Integer maxResults, TaskQuery query) {
+  protected List<Task> executeTaskQuery(Integer firstResult, Integer maxResults, String afterId, Object lastSortValue, TaskQuery query) {
 
     // enable initialization of form key:
     query.initializeFormKeys();
 
     List<Task> matchingTasks;
-    if (firstResult != null || maxResults != null) {
+    if (afterId != null) {
+      matchingTasks = executeKeysetPaginatedQuery(query, firstResult, maxResults, afterId, lastSortValue);
+    } else if (firstResult != null || maxResults != null) {
       matchingTasks = executePaginatedQuery(query, firstResult, maxResults);
     } else {
       matchingTasks = query.list();
@@ -100,6 +127,22 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     return query.listPage(firstResult, maxResults);
   }
 
+  protected List<Task> executeKeysetPaginatedQuery(TaskQuery query, Integer firstResult, Integer maxResults, String afterId, Object lastSortValue) {
+    if (firstResult != null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "Parameters 'firstResult' and 'afterId' cannot be combined");
+    }
+    if (maxResults == null) {
+      maxResults = Integer.MAX_VALUE;
+    }
+
+    // the last task is not loaded, it may have been completed or deleted in the meantime
+    try {
+      return query.listPageAfter(afterId, lastSortValue, maxResults);
+    } catch (NotValidException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, e.getMessage());
+    }
+  }
+
   @Override
   public CountResultDto getTasksCount(UriInfo uriInfo) {
     TaskQueryDto queryDto = new TaskQueryDto(uriInfo.getQueryParameters());
@@ -118,6 +161,19 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     return result;
   }
 
+  public TaskChangesDto getTaskChanges(Long afterSequence, Integer maxResults) {
+    long sequence = afterSequence != null ? afterSequence : -1;
+    int changes = maxResults != null ? maxResults : TaskChangesDto.DEFAULT_MAX_RESULTS;
+
+    try {
+      TaskChanges taskChanges = getProcessEngine().getTaskService().getTaskChanges(sequence, changes);
+      return TaskChangesDto.fromTaskChanges(taskChanges);
+    }
+    catch (NotValidException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, e.getMessage());
+    }
+  }
+
   @Override
   public TaskResource getTask(String id) {
     return new TaskResourceImpl(getProcessEngine(), id, relativeRootResourcePath);
@@ -132,4 +188,26 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     taskService.saveTask(newTask);
 
   }
+
+  public List<BulkOperationResultDto> completeTasks(BulkOperationsDto<TaskOperationDto> bulkOperations) {
+    ProcessEngine engine = getProcessEngine();
+    final TaskService taskService = engine.getTaskService();
+
+    return new BulkOperationExecutor<TaskOperationDto>(engine) {
+      protected void executeOperation(TaskOperationDto operation) {
+        taskService.complete(operation.getTaskId(), toVariables(operation.getVariables()));
+      }
+    }.execute(bulkOperations);
+  }
+
+  public List<BulkOperationResultDto> setTaskVariables(BulkOperationsDto<TaskOperationDto> bulkOperations) {
+    ProcessEngine engine = getProcessEngine();
+    final TaskService taskService = engine.getTaskService();
+
+    return new BulkOperationExecutor<TaskOperationDto>(engine) {
+      protected void executeOperation(TaskOperationDto operation) {
+        taskService.setVariables(operation.getTaskId(), toVariables(operation.getVariables()));
+      }
+    }.execute(bulkOperations);
+  }
 }
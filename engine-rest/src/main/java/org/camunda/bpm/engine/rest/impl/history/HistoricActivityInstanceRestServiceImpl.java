@@ -12,9 +12,7 @@
  */
 package org.camunda.bpm.engine.rest.impl.history;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.ProcessEngine;
@@ -24,6 +22,7 @@ import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricActivityInstanceDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricActivityInstanceQueryDto;
 import org.camunda.bpm.engine.rest.history.HistoricActivityInstanceRestService;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 
 public class HistoricActivityInstanceRestServiceImpl implements HistoricActivityInstanceRestService {
 
@@ -34,38 +33,20 @@ public class HistoricActivityInstanceRestServiceImpl implements HistoricActivity
   }
 
   @Override
-  public List<HistoricActivityInstanceDto> getHistoricActivityInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+  public StreamingOutput getHistoricActivityInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
     HistoricActivityInstanceQueryDto queryHistoricActivityInstanceDto = new HistoricActivityInstanceQueryDto(uriInfo.getQueryParameters());
     return queryHistoricActivityInstances(queryHistoricActivityInstanceDto, firstResult, maxResults);
   }
 
   @Override
-  public List<HistoricActivityInstanceDto> queryHistoricActivityInstances(HistoricActivityInstanceQueryDto queryDto, Integer firstResult, Integer maxResults) {
-    HistoricActivityInstanceQuery query = queryDto.toQuery(processEngine);
-
-    List<HistoricActivityInstance> matchingHistoricActivityInstances;
-    if (firstResult != null || maxResults != null) {
-      matchingHistoricActivityInstances = executePaginatedQuery(query, firstResult, maxResults);
-    } else {
-      matchingHistoricActivityInstances = query.list();
-    }
-
-    List<HistoricActivityInstanceDto> historicActivityInstanceResults = new ArrayList<HistoricActivityInstanceDto>();
-    for (HistoricActivityInstance historicActivityInstance : matchingHistoricActivityInstances) {
-      HistoricActivityInstanceDto resultHistoricActivityInstance = HistoricActivityInstanceDto.fromHistoricActivityInstance(historicActivityInstance);
-      historicActivityInstanceResults.add(resultHistoricActivityInstance);
-    }
-    return historicActivityInstanceResults;
-  }
+  public StreamingOutput queryHistoricActivityInstances(HistoricActivityInstanceQueryDto queryDto, Integer firstResult, Integer maxResults) {
+    HistoricActivityInstanceQuery activityInstanceQuery = queryDto.toQuery(processEngine);
 
-  private List<HistoricActivityInstance> executePaginatedQuery(HistoricActivityInstanceQuery query, Integer firstResult, Integer maxResults) {
-    if (firstResult == null) {
-      firstResult = 0;
-    }
-    if (maxResults == null) {
-      maxResults = Integer.MAX_VALUE;
-    }
-    return query.listPage(firstResult, maxResults);
+    return new QueryResultStreamingOutput<HistoricActivityInstance>(activityInstanceQuery, firstResult, maxResults) {
+      protected Object toDto(HistoricActivityInstance historicActivityInstance) {
+        return HistoricActivityInstanceDto.fromHistoricActivityInstance(historicActivityInstance);
+      }
+    }.executeFirstBatch();
   }
 
   @Override
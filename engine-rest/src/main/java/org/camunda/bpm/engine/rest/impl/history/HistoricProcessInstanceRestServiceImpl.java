@@ -15,14 +15,17 @@ package org.camunda.bpm.engine.rest.impl.history;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.history.HistoricProcessInstanceRestService;
 import org.camunda.bpm.engine.rest.sub.history.HistoricProcessInstanceResource;
 import org.camunda.bpm.engine.rest.sub.history.impl.HistoricProcessInstanceResourceImpl;
@@ -41,17 +44,20 @@ public class HistoricProcessInstanceRestServiceImpl implements HistoricProcessIn
   }
 
   @Override
-  public List<HistoricProcessInstanceDto> getHistoricProcessInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+  public List<HistoricProcessInstanceDto> getHistoricProcessInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults, String afterId, String afterSortValue) {
     HistoricProcessInstanceQueryDto queryHistoriProcessInstanceDto = new HistoricProcessInstanceQueryDto(uriInfo.getQueryParameters());
-    return queryHistoricProcessInstances(queryHistoriProcessInstanceDto, firstResult, maxResults);
+    return queryHistoricProcessInstances(queryHistoriProcessInstanceDto, firstResult, maxResults, afterId, afterSortValue);
   }
 
   @Override
-  public List<HistoricProcessInstanceDto> queryHistoricProcessInstances(HistoricProcessInstanceQueryDto queryDto, Integer firstResult, Integer maxResults) {
+  public List<HistoricProcessInstanceDto> queryHistoricProcessInstances(HistoricProcessInstanceQueryDto queryDto, Integer firstResult, Integer maxResults, String afterId, String afterSortValue) {
     HistoricProcessInstanceQuery query = queryDto.toQuery(processEngine);
 
     List<HistoricProcessInstance> matchingHistoricProcessInstances;
-    if (firstResult != null || maxResults != null) {
+    if (afterId != null) {
+      Object lastSortValue = afterSortValue != null ? queryDto.toKeysetSortValue(afterSortValue) : null;
+      matchingHistoricProcessInstances = executeKeysetPaginatedQuery(query, firstResult, maxResults, afterId, lastSortValue);
+    } else if (firstResult != null || maxResults != null) {
       matchingHistoricProcessInstances = executePaginatedQuery(query, firstResult, maxResults);
     } else {
       matchingHistoricProcessInstances = query.list();
@@ -75,6 +81,22 @@ public class HistoricProcessInstanceRestServiceImpl implements HistoricProcessIn
     return query.listPage(firstResult, maxResults);
   }
 
+  protected List<HistoricProcessInstance> executeKeysetPaginatedQuery(HistoricProcessInstanceQuery query, Integer firstResult, Integer maxResults, String afterId, Object lastSortValue) {
+    if (firstResult != null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "Parameters 'firstResult' and 'afterId' cannot be combined");
+    }
+    if (maxResults == null) {
+      maxResults = Integer.MAX_VALUE;
+    }
+
+    // the last instance is not loaded, it may have been deleted in the meantime
+    try {
+      return query.listPageAfter(afterId, lastSortValue, maxResults);
+    } catch (NotValidException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, e.getMessage());
+    }
+  }
+
   @Override
   public CountResultDto getHistoricProcessInstancesCount(UriInfo uriInfo) {
     HistoricProcessInstanceQueryDto queryDto = new HistoricProcessInstanceQueryDto(uriInfo.getQueryParameters());
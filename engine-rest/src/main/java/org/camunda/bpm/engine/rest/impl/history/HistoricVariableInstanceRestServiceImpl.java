@@ -12,9 +12,7 @@
  */
 package org.camunda.bpm.engine.rest.impl.history;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.ProcessEngine;
@@ -26,6 +24,7 @@ import org.camunda.bpm.engine.rest.dto.history.HistoricVariableInstanceQueryDto;
 import org.camunda.bpm.engine.rest.history.HistoricVariableInstanceRestService;
 import org.camunda.bpm.engine.rest.sub.history.HistoricVariableInstanceResource;
 import org.camunda.bpm.engine.rest.sub.history.impl.HistoricVariableInstanceResourceImpl;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 
 public class HistoricVariableInstanceRestServiceImpl implements HistoricVariableInstanceRestService {
 
@@ -40,41 +39,23 @@ public class HistoricVariableInstanceRestServiceImpl implements HistoricVariable
   }
 
   @Override
-  public List<HistoricVariableInstanceDto> getHistoricVariableInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+  public StreamingOutput getHistoricVariableInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
     HistoricVariableInstanceQueryDto queryDto = new HistoricVariableInstanceQueryDto(uriInfo.getQueryParameters());
     return queryHistoricVariableInstances(queryDto, firstResult, maxResults);
   }
 
   @Override
-  public List<HistoricVariableInstanceDto> queryHistoricVariableInstances(HistoricVariableInstanceQueryDto queryDto, Integer firstResult, Integer maxResults) {
-    HistoricVariableInstanceQuery query = queryDto.toQuery(processEngine);
-    query.disableBinaryFetching();
+  public StreamingOutput queryHistoricVariableInstances(HistoricVariableInstanceQueryDto queryDto, Integer firstResult, Integer maxResults) {
+    HistoricVariableInstanceQuery variableInstanceQuery = queryDto.toQuery(processEngine);
+    variableInstanceQuery.disableBinaryFetching();
     // variables of type Serializable have to be deserialized to not break existing API
 //    query.disableCustomObjectDeserialization();
 
-    List<HistoricVariableInstance> matchingHistoricVariableInstances;
-    if (firstResult != null || maxResults != null) {
-      matchingHistoricVariableInstances = executePaginatedQuery(query, firstResult, maxResults);
-    } else {
-      matchingHistoricVariableInstances = query.list();
-    }
-
-    List<HistoricVariableInstanceDto> historicVariableInstanceDtoResults = new ArrayList<HistoricVariableInstanceDto>();
-    for (HistoricVariableInstance historicVariableInstance : matchingHistoricVariableInstances) {
-      HistoricVariableInstanceDto resultHistoricVariableInstance = HistoricVariableInstanceDto.fromHistoricVariableInstance(historicVariableInstance);
-      historicVariableInstanceDtoResults.add(resultHistoricVariableInstance);
-    }
-    return historicVariableInstanceDtoResults;
-  }
-
-  private List<HistoricVariableInstance> executePaginatedQuery(HistoricVariableInstanceQuery query, Integer firstResult, Integer maxResults) {
-    if (firstResult == null) {
-      firstResult = 0;
-    }
-    if (maxResults == null) {
-      maxResults = Integer.MAX_VALUE;
-    }
-    return query.listPage(firstResult, maxResults);
+    return new QueryResultStreamingOutput<HistoricVariableInstance>(variableInstanceQuery, firstResult, maxResults) {
+      protected Object toDto(HistoricVariableInstance historicVariableInstance) {
+        return HistoricVariableInstanceDto.fromHistoricVariableInstance(historicVariableInstance);
+      }
+    }.executeFirstBatch();
   }
 
   @Override
@@ -31,6 +31,8 @@ import org.camunda.bpm.engine.rest.dto.ResourceOptionsDto;
 import org.camunda.bpm.engine.rest.dto.identity.UserCredentialsDto;
 import org.camunda.bpm.engine.rest.dto.identity.UserProfileDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
+import org.camunda.bpm.engine.rest.hal.Hal;
+import org.camunda.bpm.engine.rest.hal.user.HalUser;
 import org.camunda.bpm.engine.rest.sub.identity.UserResource;
 
 /**
@@ -84,6 +86,7 @@ public class UserResourceImpl extends AbstractIdentityResource implements UserRe
   public void deleteUser() {
     ensureNotReadOnly();
     identityService.deleteUser(resourceId);
+    evictCachedUser();
   }
 
   public void updateCredentials(UserCredentialsDto account) {
@@ -117,6 +120,11 @@ public class UserResourceImpl extends AbstractIdentityResource implements UserRe
     profile.update(dbUser);
 
     identityService.saveUser(dbUser);
+    evictCachedUser();
+  }
+
+  protected void evictCachedUser() {
+    Hal.getInstance().evictFromHalRelationCache(HalUser.class, processEngine, resourceId);
   }
 
   protected User findUserObject() {
@@ -19,8 +19,10 @@ import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
-import java.io.InputStream;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import java.util.List;
 
 /**
@@ -37,9 +39,13 @@ public interface DeploymentResourcesResource {
   @Produces(MediaType.APPLICATION_JSON)
   DeploymentResourceDto getDeploymentResource(@PathParam("resourceId") String resourceId);
 
+  /**
+   * Returns the resource data with the resource id as entity tag,
+   * or "304 Not Modified" if the request carries a matching "If-None-Match" header.
+   */
   @GET
   @Path("/{resourceId}/data")
   @Produces(MediaType.APPLICATION_OCTET_STREAM)
-  InputStream getDeploymentResourceData(@PathParam("resourceId") String resourceId);
+  Response getDeploymentResourceData(@PathParam("resourceId") String resourceId, @Context Request request);
 
 }
@@ -23,6 +23,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -41,14 +42,22 @@ public interface ProcessDefinitionResource {
   @Produces(MediaType.APPLICATION_JSON)
   ProcessDefinitionDto getProcessDefinition();
 
+  /**
+   * Returns a {@link ProcessDefinitionDiagramDto} with the process definition id as entity tag,
+   * or "304 Not Modified" if the request carries a matching "If-None-Match" header.
+   */
   @GET
   @Path("/xml")
   @Produces(MediaType.APPLICATION_JSON)
-  ProcessDefinitionDiagramDto getProcessDefinitionBpmn20Xml();
+  Response getProcessDefinitionBpmn20Xml(@Context Request request);
 
+  /**
+   * Returns the diagram with the process definition id as entity tag,
+   * or "304 Not Modified" if the request carries a matching "If-None-Match" header.
+   */
   @GET
   @Path("/diagram")
-  Response getProcessDefinitionDiagram();
+  Response getProcessDefinitionDiagram(@Context Request request);
 
   @POST
   @Path("/start")
@@ -14,6 +14,7 @@
 package org.camunda.bpm.engine.rest.sub.repository.impl;
 
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.repository.Resource;
 import org.camunda.bpm.engine.rest.dto.repository.DeploymentResourceDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
@@ -23,6 +24,11 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+
 import static javax.ws.rs.core.Response.Status;
 
 /**
@@ -67,11 +73,19 @@ public class DeploymentResourcesResourceImpl implements DeploymentResourcesResou
       "Deployment resource with resource id '" + resourceId + "' for deployment id '" + deploymentId + "' does not exist.");
   }
 
-  public InputStream getDeploymentResourceData(String resourceId) {
+  public Response getDeploymentResourceData(String resourceId, Request request) {
     InputStream resourceAsStream = engine.getRepositoryService().getResourceAsStreamById(deploymentId, resourceId);
 
     if (resourceAsStream != null) {
-      return resourceAsStream;
+      // deployment resources are never changed, so the id identifies the data
+      EntityTag entityTag = new EntityTag(resourceId);
+      ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+      if (notModified != null) {
+        IoUtil.closeSilently(resourceAsStream);
+        return notModified.tag(entityTag).build();
+      }
+
+      return Response.ok(resourceAsStream).tag(entityTag).build();
     }
     else {
       throw new InvalidRequestException(Status.NOT_FOUND,
@@ -21,7 +21,10 @@ import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
@@ -201,12 +204,22 @@ public class ProcessDefinitionResourceImpl implements ProcessDefinitionResource
   }
 
   @Override
-  public ProcessDefinitionDiagramDto getProcessDefinitionBpmn20Xml() {
+  public Response getProcessDefinitionBpmn20Xml(Request request) {
     InputStream processModelIn = null;
     try {
+      // ensure that the definition exists before the client is told that its copy is up to date
+      engine.getRepositoryService().getProcessDefinition(processDefinitionId);
+
+      EntityTag entityTag = getEntityTag();
+      ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+      if (notModified != null) {
+        return notModified.tag(entityTag).build();
+      }
+
       processModelIn = engine.getRepositoryService().getProcessModel(processDefinitionId);
       byte[] processModel = IoUtil.readInputStream(processModelIn, "processModelBpmn20Xml");
-      return ProcessDefinitionDiagramDto.create(processDefinitionId, new String(processModel, "UTF-8"));
+      ProcessDefinitionDiagramDto processDefinitionDiagram = ProcessDefinitionDiagramDto.create(processDefinitionId, new String(processModel, "UTF-8"));
+      return Response.ok(processDefinitionDiagram).tag(entityTag).build();
     } catch (ProcessEngineException e) {
       throw new InvalidRequestException(Status.BAD_REQUEST, e, "No matching definition with id " + processDefinitionId);
     } catch (UnsupportedEncodingException e) {
@@ -217,8 +230,15 @@ public class ProcessDefinitionResourceImpl implements ProcessDefinitionResource
   }
 
   @Override
-  public Response getProcessDefinitionDiagram() {
+  public Response getProcessDefinitionDiagram(Request request) {
     ProcessDefinition definition = engine.getRepositoryService().getProcessDefinition(processDefinitionId);
+
+    EntityTag entityTag = getEntityTag();
+    ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+    if (notModified != null) {
+      return notModified.tag(entityTag).build();
+    }
+
     InputStream processDiagram = engine.getRepositoryService().getProcessDiagram(processDefinitionId);
     if (processDiagram == null) {
       return Response.noContent().build();
@@ -226,10 +246,18 @@ public class ProcessDefinitionResourceImpl implements ProcessDefinitionResource
       String fileName = definition.getDiagramResourceName();
       return Response.ok(processDiagram)
           .header("Content-Disposition", "attachment; filename=" + fileName)
-          .type(getMediaTypeForFileSuffix(fileName)).build();
+          .type(getMediaTypeForFileSuffix(fileName))
+          .tag(entityTag).build();
     }
   }
 
+  /**
+   * A deployed process definition never changes, so its id identifies its xml and diagram.
+   */
+  protected EntityTag getEntityTag() {
+    return new EntityTag(processDefinitionId);
+  }
+
   /**
    * Determines an IANA media type based on the file suffix.
    * Hint: as of Java 7 the method Files.probeContentType() provides an implementation based on file type detection.
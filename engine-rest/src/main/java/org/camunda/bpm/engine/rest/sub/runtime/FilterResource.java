@@ -26,11 +26,14 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.ResourceOptionsDto;
 import org.camunda.bpm.engine.rest.dto.runtime.FilterDto;
+import org.camunda.bpm.engine.rest.dto.task.TaskChangesDto;
 import org.camunda.bpm.engine.rest.hal.Hal;
 import org.camunda.bpm.engine.rest.hal.HalResource;
 
@@ -72,15 +75,27 @@ public interface FilterResource {
   @Consumes(MediaType.APPLICATION_JSON)
   HalResource queryHalSingleResult(String extendingQuery);
 
+  /**
+   * Returns the filter result with a hash of its content as entity tag,
+   * or "304 Not Modified" if the request carries a matching "If-None-Match" header.
+   */
   @GET
   @Path("/list")
   @Produces(MediaType.APPLICATION_JSON)
-  List<Object> executeList(@QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
-
+  Response executeList(@Context Request request, @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
+
+  /**
+   * Returns the filter result with a hash of its content as entity tag,
+   * or "304 Not Modified" if the request carries a matching "If-None-Match" header.
+   *
+   * @param includeVariables comma separated names of variables to embed in addition to the variables of the filter properties
+   * @param includeIdentityLinks if true, the identity links of the tasks are embedded
+   */
   @GET
   @Path("/list")
   @Produces(Hal.MEDIA_TYPE_HAL)
-  HalResource executeHalList(@QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
+  Response executeHalList(@Context Request request, @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam("includeVariables") String includeVariables, @QueryParam("includeIdentityLinks") boolean includeIdentityLinks);
 
   @POST
   @Path("/list")
@@ -92,12 +107,13 @@ public interface FilterResource {
   @Path("/list")
   @Produces(Hal.MEDIA_TYPE_HAL)
   @Consumes(MediaType.APPLICATION_JSON)
-  HalResource queryHalList(String extendingQuery, @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
+  HalResource queryHalList(String extendingQuery, @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam("includeVariables") String includeVariables, @QueryParam("includeIdentityLinks") boolean includeIdentityLinks);
 
   @GET
   @Path("/count")
   @Produces(MediaType.APPLICATION_JSON)
-  CountResultDto executeCount();
+  CountResultDto executeCount(@QueryParam("maxCount") Integer maxCount);
 
   @POST
   @Path("/count")
@@ -105,6 +121,11 @@ public interface FilterResource {
   @Consumes(MediaType.APPLICATION_JSON)
   CountResultDto queryCount(String extendingQuery);
 
+  @GET
+  @Path("/changes")
+  @Produces(MediaType.APPLICATION_JSON)
+  TaskChangesDto getTaskChanges(@QueryParam("afterSequence") Long afterSequence, @QueryParam("maxResults") Integer maxResults);
+
   @OPTIONS
   @Produces(MediaType.APPLICATION_JSON)
   ResourceOptionsDto availableOperations(@Context UriInfo context);
@@ -20,17 +20,20 @@ import static org.camunda.bpm.engine.authorization.Resources.FILTER;
 
 import java.io.IOException;
 import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
@@ -41,26 +44,26 @@ import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.filter.Filter;
-import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.rest.FilterRestService;
 import org.camunda.bpm.engine.rest.dto.AbstractQueryDto;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.ResourceOptionsDto;
 import org.camunda.bpm.engine.rest.dto.runtime.FilterDto;
+import org.camunda.bpm.engine.rest.dto.task.TaskChangesDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskQueryDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
+import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.hal.EmptyHalCollection;
 import org.camunda.bpm.engine.rest.hal.EmptyHalResource;
 import org.camunda.bpm.engine.rest.hal.HalCollectionResource;
 import org.camunda.bpm.engine.rest.hal.HalResource;
-import org.camunda.bpm.engine.rest.hal.HalVariableValue;
 import org.camunda.bpm.engine.rest.hal.task.HalTask;
+import org.camunda.bpm.engine.rest.hal.task.HalTaskEmbedder;
 import org.camunda.bpm.engine.rest.hal.task.HalTaskList;
 import org.camunda.bpm.engine.rest.impl.AbstractAuthorizedRestResource;
 import org.camunda.bpm.engine.rest.sub.runtime.FilterResource;
-import org.camunda.bpm.engine.runtime.VariableInstance;
 import org.camunda.bpm.engine.task.Task;
 import org.codehaus.jackson.map.ObjectMapper;
 
@@ -172,8 +175,8 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
     }
   }
 
-  public List<Object> executeList(Integer firstResult, Integer maxResults) {
-    return queryList(null, firstResult, maxResults);
+  public Response executeList(Request request, Integer firstResult, Integer maxResults) {
+    return createConditionalResponse(request, queryList(null, firstResult, maxResults));
   }
 
   public List<Object> queryList(String extendingQuery, Integer firstResult, Integer maxResults) {
@@ -187,21 +190,55 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
     }
   }
 
-  public HalResource executeHalList(Integer firstResult, Integer maxResults) {
-    return queryHalList(null, firstResult, maxResults);
+  public Response executeHalList(Request request, Integer firstResult, Integer maxResults, String includeVariables, boolean includeIdentityLinks) {
+    return createConditionalResponse(request, queryHalList(null, firstResult, maxResults, includeVariables, includeIdentityLinks));
   }
 
-  public HalResource queryHalList(String extendingQuery, Integer firstResult, Integer maxResults) {
+  public HalResource queryHalList(String extendingQuery, Integer firstResult, Integer maxResults, String includeVariables, boolean includeIdentityLinks) {
     List<?> entities = executeFilterList(extendingQuery, firstResult, maxResults);
 
     if (entities != null && !entities.isEmpty()) {
-      return convertToHalCollection(entities);
+      return convertToHalCollection(entities, includeVariables, includeIdentityLinks);
     }
     else {
       return EmptyHalCollection.INSTANCE;
     }
   }
 
+  /**
+   * Serializes the result and tags it with a hash of the serialized content. Clients which
+   * poll an unchanged filter result get "304 Not Modified" without body.
+   */
+  protected Response createConditionalResponse(Request request, Object result) {
+    byte[] content;
+    try {
+      content = objectMapper.writeValueAsBytes(result);
+    } catch (IOException e) {
+      throw new RestException(Status.INTERNAL_SERVER_ERROR, e, "Cannot serialize result of filter with id '" + resourceId + "'");
+    }
+
+    EntityTag entityTag = new EntityTag(hash(content));
+    ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+    if (notModified != null) {
+      return notModified.tag(entityTag).build();
+    }
+
+    return Response.ok(content).tag(entityTag).build();
+  }
+
+  protected String hash(byte[] content) {
+    try {
+      byte[] digest = MessageDigest.getInstance("MD5").digest(content);
+      StringBuilder hash = new StringBuilder();
+      for (byte b : digest) {
+        hash.append(Integer.toHexString((b & 0xff) | 0x100).substring(1));
+      }
+      return hash.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new RestException(Status.INTERNAL_SERVER_ERROR, e);
+    }
+  }
+
   protected List<?> executeFilterList(String extendingQueryString, Integer firstResult, Integer maxResults) {
     Query<?, ?> extendingQuery = convertQuery(extendingQueryString);
     try {
@@ -225,8 +262,20 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
     }
   }
 
-  public CountResultDto executeCount() {
-    return queryCount(null);
+  public CountResultDto executeCount(Integer maxCount) {
+    if (maxCount == null) {
+      return queryCount(null);
+    }
+
+    try {
+      return new CountResultDto(filterService.countUpTo(resourceId, maxCount));
+    }
+    catch (NullValueException e) {
+      throw filterNotFound(e);
+    }
+    catch (NotValidException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, "Parameter 'maxCount' must be greater than 0");
+    }
   }
 
   public CountResultDto queryCount(String extendingQuery) {
@@ -245,6 +294,21 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
     }
   }
 
+  public TaskChangesDto getTaskChanges(Long afterSequence, Integer maxResults) {
+    long sequence = afterSequence != null ? afterSequence : -1;
+    int changes = maxResults != null ? maxResults : TaskChangesDto.DEFAULT_MAX_RESULTS;
+
+    try {
+      return TaskChangesDto.fromTaskChanges(filterService.getTaskChanges(resourceId, sequence, changes));
+    }
+    catch (NullValueException e) {
+      throw filterNotFound(e);
+    }
+    catch (NotValidException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, e.getMessage());
+    }
+  }
+
   public ResourceOptionsDto availableOperations(UriInfo context) {
 
     ResourceOptionsDto dto = new ResourceOptionsDto();
@@ -324,22 +388,18 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
     }
   }
 
-  @SuppressWarnings("unchecked")
   protected HalTask convertToHalTask(Task task) {
     HalTask halTask = HalTask.generate(task, getProcessEngine());
-    Map<String, List<VariableInstance>> variableInstances = getVariableInstancesForTasks(halTask);
-    if (variableInstances != null) {
-      embedVariableValuesInHalTask(halTask, variableInstances);
-    }
+    new HalTaskEmbedder(getProcessEngine()).embedVariables(Collections.singletonList(halTask), getFilterVariableNames());
     return halTask;
   }
 
   @SuppressWarnings("unchecked")
-  protected HalCollectionResource<HalTaskList> convertToHalCollection(List<?> entities) {
+  protected HalCollectionResource<HalTaskList> convertToHalCollection(List<?> entities, String includeVariables, boolean includeIdentityLinks) {
     long count = executeFilterCount(null);
 
     if (isEntityOfClass(entities.get(0), Task.class)) {
-      return convertToHalTaskList((List<Task>) entities, count);
+      return convertToHalTaskList((List<Task>) entities, count, includeVariables, includeIdentityLinks);
     }
     else {
       throw unsupportedEntityClass(entities.get(0));
@@ -347,22 +407,18 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
   }
 
   @SuppressWarnings("unchecked")
-  protected HalTaskList convertToHalTaskList(List<Task> tasks, long count) {
+  protected HalTaskList convertToHalTaskList(List<Task> tasks, long count, String includeVariables, boolean includeIdentityLinks) {
     HalTaskList halTasks = HalTaskList.generate(tasks, count, getProcessEngine());
-    Map<String, List<VariableInstance>> variableInstances = getVariableInstancesForTasks(halTasks);
-    if (variableInstances != null) {
-      for (HalTask halTask : (List<HalTask>) halTasks.getEmbedded("task")) {
-        embedVariableValuesInHalTask(halTask, variableInstances);
-      }
+    List<HalTask> embeddedTasks = (List<HalTask>) halTasks.getEmbedded("task");
+
+    HalTaskEmbedder embedder = new HalTaskEmbedder(getProcessEngine());
+    embedder.embedVariables(embeddedTasks, getVariableNames(includeVariables));
+    if (includeIdentityLinks) {
+      embedder.embedIdentityLinks(embeddedTasks);
     }
     return halTasks;
   }
 
-  protected void embedVariableValuesInHalTask( HalTask halTask, Map<String, List<VariableInstance>> variableInstances) {
-    List<HalResource<?>> variableValues = getVariableValuesForTask(halTask, variableInstances);
-    halTask.addEmbedded("variable", variableValues);
-  }
-
   protected AbstractQueryDto<?> getQueryDtoForQuery(String queryString, String resourceType) {
     try {
       if (EntityTypes.TASK.equals(resourceType)) {
@@ -375,45 +431,20 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
     }
   }
 
-  protected List<HalResource<?>> getVariableValuesForTask(HalTask halTask, Map<String, List<VariableInstance>> variableInstances) {
-    // converted variables values
-    List<HalResource<?>> variableValues = new ArrayList<HalResource<?>>();
+  /**
+   * @return the variables defined in the filter properties and the additionally requested variables
+   */
+  protected Set<String> getVariableNames(String includeVariables) {
+    Set<String> variableNames = new LinkedHashSet<String>();
 
-    // variable scope ids to check, ordered by visibility
-    LinkedHashSet<String> variableScopeIds = getVariableScopeIds(halTask);
-
-    // names of already converted variables
-    Set<String> knownVariableNames = new HashSet<String>();
-
-    for (String variableScopeId : variableScopeIds) {
-      if (variableInstances.containsKey(variableScopeId)) {
-        for (VariableInstance variableInstance : variableInstances.get(variableScopeId)) {
-          if (!knownVariableNames.contains(variableInstance.getName())) {
-            variableValues.add(HalVariableValue.generateVariableValue(variableInstance, variableScopeId));
-            knownVariableNames.add(variableInstance.getName());
-          }
-        }
-      }
+    List<String> filterVariableNames = getFilterVariableNames();
+    if (filterVariableNames != null) {
+      variableNames.addAll(filterVariableNames);
     }
 
-    return variableValues;
-  }
-
-  @SuppressWarnings("unchecked")
-  protected Map<String, List<VariableInstance>> getVariableInstancesForTasks(HalTaskList halTaskList) {
-    List<HalTask> halTasks = (List<HalTask>) halTaskList.getEmbedded("task");
-    return getVariableInstancesForTasks(halTasks.toArray(new HalTask[halTasks.size()]));
-  }
+    variableNames.addAll(HalTaskEmbedder.parseVariableNames(includeVariables));
 
-  protected Map<String, List<VariableInstance>> getVariableInstancesForTasks(HalTask... halTasks) {
-    if (halTasks != null && halTasks.length > 0) {
-      List<String> variableNames = getFilterVariableNames();
-      if (variableNames != null && !variableNames.isEmpty()) {
-        LinkedHashSet<String> variableScopeIds = getVariableScopeIds(halTasks);
-        return getSortedVariableInstances(variableNames, variableScopeIds);
-      }
-    }
-    return null;
+    return variableNames;
   }
 
   @SuppressWarnings("unchecked")
@@ -446,47 +477,6 @@ public class FilterResourceImpl extends AbstractAuthorizedRestResource implement
     }
   }
 
-  protected LinkedHashSet<String> getVariableScopeIds(HalTask... halTasks) {
-    // collect scope ids
-    // the ordering is important because it specifies which variables are visible from a single task
-    LinkedHashSet<String> variableScopeIds = new LinkedHashSet<String>();
-    if (halTasks != null && halTasks.length > 0) {
-      for (HalTask halTask : halTasks) {
-        variableScopeIds.add(halTask.getId());
-        variableScopeIds.add(halTask.getExecutionId());
-        variableScopeIds.add(halTask.getProcessInstanceId());
-        variableScopeIds.add(halTask.getCaseExecutionId());
-        variableScopeIds.add(halTask.getCaseInstanceId());
-      }
-    }
-
-    // remove null from set which was probably added due an unset id
-    variableScopeIds.remove(null);
-
-    return variableScopeIds;
-  }
-
-  protected Map<String, List<VariableInstance>> getSortedVariableInstances(Collection<String> variableNames, Collection<String> variableScopeIds) {
-    List<VariableInstance> variableInstances = queryVariablesInstancesByVariableScopeIds(variableNames, variableScopeIds);
-    Map<String, List<VariableInstance>> sortedVariableInstances = new HashMap<String, List<VariableInstance>>();
-    for (VariableInstance variableInstance : variableInstances) {
-      String variableScopeId = ((VariableInstanceEntity) variableInstance).getVariableScope();
-      if (!sortedVariableInstances.containsKey(variableScopeId)) {
-        sortedVariableInstances.put(variableScopeId, new ArrayList<VariableInstance>());
-      }
-      sortedVariableInstances.get(variableScopeId).add(variableInstance);
-    }
-    return sortedVariableInstances;
-  }
-
-  protected List<VariableInstance> queryVariablesInstancesByVariableScopeIds(Collection<String> variableNames, Collection<String> variableScopeIds) {
-    return getProcessEngine().getRuntimeService()
-      .createVariableInstanceQuery()
-      .variableNameIn(variableNames.toArray(new String[variableNames.size()]))
-      .variableScopeIdIn(variableScopeIds.toArray(new String[variableScopeIds.size()]))
-      .list();
-  }
-
   protected boolean isEntityOfClass(Object entity, Class<?> entityClass) {
     return entityClass.isAssignableFrom(entity.getClass());
   }
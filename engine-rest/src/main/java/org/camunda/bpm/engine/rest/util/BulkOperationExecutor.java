@@ -0,0 +1,136 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.util;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.ws.rs.core.Response.Status;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationResultDto;
+import org.camunda.bpm.engine.rest.dto.bulk.BulkOperationsDto;
+import org.camunda.bpm.engine.rest.dto.runtime.VariableValueDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
+
+/**
+ * Executes the operations of a bulk request in chunks. Each chunk is executed in one
+ * transaction, see {@link org.camunda.bpm.engine.ManagementService#executeInTransaction(Callable)}.
+ * If an operation fails, it is reported as failed and the other operations of its chunk
+ * are reported as rolled back; the remaining chunks are executed nevertheless.
+ * If the transaction of a chunk cannot be committed, all of its operations are reported as failed.
+ */
+public abstract class BulkOperationExecutor<T> {
+
+  /** by default, every operation is executed in its own transaction */
+  public static final int DEFAULT_CHUNK_SIZE = 1;
+
+  protected ProcessEngine processEngine;
+
+  public BulkOperationExecutor(ProcessEngine processEngine) {
+    this.processEngine = processEngine;
+  }
+
+  public List<BulkOperationResultDto> execute(BulkOperationsDto<T> bulkOperations) {
+    if (bulkOperations == null || bulkOperations.getOperations() == null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "No operations supplied");
+    }
+
+    int chunkSize = DEFAULT_CHUNK_SIZE;
+    if (bulkOperations.getChunkSize() != null) {
+      chunkSize = bulkOperations.getChunkSize();
+      if (chunkSize < 1) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "chunkSize must be greater than 0");
+      }
+    }
+
+    List<T> operations = bulkOperations.getOperations();
+    List<BulkOperationResultDto> results = new ArrayList<BulkOperationResultDto>(operations.size());
+
+    for (int chunkStart = 0; chunkStart < operations.size(); chunkStart += chunkSize) {
+      int chunkEnd = Math.min(chunkStart + chunkSize, operations.size());
+      results.addAll(executeChunk(operations.subList(chunkStart, chunkEnd)));
+    }
+
+    return results;
+  }
+
+  protected List<BulkOperationResultDto> executeChunk(List<T> chunk) {
+    ChunkExecution chunkExecution = new ChunkExecution(chunk);
+    List<BulkOperationResultDto> results = new ArrayList<BulkOperationResultDto>(chunk.size());
+
+    try {
+      processEngine.getManagementService().executeInTransaction(chunkExecution);
+
+      for (int i = 0; i < chunk.size(); i++) {
+        results.add(BulkOperationResultDto.successful());
+      }
+
+    } catch (RuntimeException e) {
+      int failedOperation = chunkExecution.getCurrentOperation();
+
+      for (int i = 0; i < chunk.size(); i++) {
+        if (failedOperation == -1 || failedOperation == i) {
+          results.add(BulkOperationResultDto.failed(e));
+        } else {
+          results.add(BulkOperationResultDto.rolledBack());
+        }
+      }
+    }
+
+    return results;
+  }
+
+  /**
+   * Executes a single operation using the process engine API.
+   */
+  protected abstract void executeOperation(T operation);
+
+  protected Map<String, Object> toVariables(Map<String, VariableValueDto> variables) {
+    try {
+      return DtoUtil.toMap(variables);
+
+    } catch (ParseException e) {
+      String errorMessage = String.format("Cannot convert variables due to parse exception: %s", e.getMessage());
+      throw new InvalidRequestException(Status.BAD_REQUEST, e, errorMessage);
+    }
+  }
+
+  protected class ChunkExecution implements Callable<Void> {
+
+    protected List<T> chunk;
+
+    /** the index of the operation being executed, -1 before and after the execution of all operations */
+    protected int currentOperation = -1;
+
+    public ChunkExecution(List<T> chunk) {
+      this.chunk = chunk;
+    }
+
+    public Void call() {
+      for (currentOperation = 0; currentOperation < chunk.size(); currentOperation++) {
+        executeOperation(chunk.get(currentOperation));
+      }
+      currentOperation = -1;
+      return null;
+    }
+
+    public int getCurrentOperation() {
+      return currentOperation;
+    }
+  }
+
+}
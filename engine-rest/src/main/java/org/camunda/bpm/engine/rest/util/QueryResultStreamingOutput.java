@@ -0,0 +1,121 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.rest.mapper.JacksonConfigurator;
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonGenerator;
+
+/**
+ * Writes the results of a query as a JSON array directly to the response.
+ *
+ * <p>The results are read in batches of at most {@link #DEFAULT_BATCH_SIZE} results with
+ * {@link Query#listPage(int, int)} and each batch is serialized before the next one is read, so
+ * neither all entities nor their DTOs are collected in a list. Each batch is read by a command
+ * of its own, so no command, and thus no database connection or transaction, is held while the
+ * response is written to a slow client.</p>
+ *
+ * <p>The first batch is read by {@link #executeFirstBatch()} before the resource method returns,
+ * so that invalid queries and engine exceptions (e.g. missing authorizations) are mapped to an error
+ * response. An exception while reading a later batch can only abort the response, which has been
+ * committed with status 200 then.</p>
+ *
+ * <p>Since the batches are separate reads, they do not form a consistent snapshot: results which are
+ * inserted or deleted while the response is written may shift the offsets of the following batches.
+ * The results should therefore be ordered by a unique property, which is the case by default. Deep
+ * batches also require the database to skip over the preceding rows.</p>
+ *
+ * @param <U> the type of the query results
+ */
+public abstract class QueryResultStreamingOutput<U> implements StreamingOutput {
+
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  protected final Query<?, U> query;
+  protected final int firstResult;
+  protected final int maxResults;
+  protected final int batchSize;
+
+  protected List<U> firstBatch;
+
+  public QueryResultStreamingOutput(Query<?, U> query, Integer firstResult, Integer maxResults) {
+    this(query, firstResult, maxResults, DEFAULT_BATCH_SIZE);
+  }
+
+  public QueryResultStreamingOutput(Query<?, U> query, Integer firstResult, Integer maxResults, int batchSize) {
+    this.query = query;
+    this.firstResult = firstResult != null ? firstResult : 0;
+    this.maxResults = maxResults != null ? maxResults : Integer.MAX_VALUE;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Reads the first batch of results, so that it fails before the response is committed.
+   *
+   * @return this output
+   */
+  public QueryResultStreamingOutput<U> executeFirstBatch() {
+    firstBatch = query.listPage(firstResult, getBatchSize(maxResults));
+    return this;
+  }
+
+  public void write(OutputStream output) throws IOException {
+    JsonGenerator generator = JacksonConfigurator.OBJECT_MAPPER.getJsonFactory().createJsonGenerator(output, JsonEncoding.UTF8);
+    generator.writeStartArray();
+
+    if (firstBatch == null) {
+      executeFirstBatch();
+    }
+
+    List<U> batch = firstBatch;
+    firstBatch = null;
+    int remainingResults = maxResults;
+    int batchFirstResult = firstResult;
+
+    while (true) {
+      for (U result : batch) {
+        generator.writeObject(toDto(result));
+      }
+      // hand out the batch to the client before reading the next one
+      generator.flush();
+
+      int requestedResults = getBatchSize(remainingResults);
+      remainingResults -= batch.size();
+      batchFirstResult += batch.size();
+      if (batch.size() < requestedResults || remainingResults <= 0) {
+        break;
+      }
+      batch = query.listPage(batchFirstResult, getBatchSize(remainingResults));
+    }
+
+    generator.writeEndArray();
+    generator.flush();
+  }
+
+  protected int getBatchSize(int remainingResults) {
+    return Math.min(batchSize, remainingResults);
+  }
+
+  /**
+   * @return the DTO to serialize for a single result
+   */
+  protected abstract Object toDto(U result);
+
+}
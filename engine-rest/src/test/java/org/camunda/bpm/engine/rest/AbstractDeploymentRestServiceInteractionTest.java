@@ -199,6 +199,19 @@ public abstract class AbstractDeploymentRestServiceInteractionTest extends Abstr
 
     String responseContent = response.asString();
     assertTrue(responseContent.contains("<?xml"));
+    assertEquals("\"" + EXAMPLE_DEPLOYMENT_RESOURCE_ID + "\"", response.getHeader("ETag"));
+
+  }
+
+  @Test
+  public void testGetDeploymentResourceDataNotModified() {
+
+    given()
+        .pathParam("id", EXAMPLE_DEPLOYMENT_ID)
+        .pathParam("resourceId", EXAMPLE_DEPLOYMENT_RESOURCE_ID)
+        .header("If-None-Match", "\"" + EXAMPLE_DEPLOYMENT_RESOURCE_ID + "\"")
+      .then().expect().statusCode(Status.NOT_MODIFIED.getStatusCode())
+      .when().get(SINGLE_RESOURCE_DATA_URL);
 
   }
 
@@ -31,6 +31,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.anyVararg;
 import static org.mockito.Matchers.argThat;
@@ -57,6 +58,7 @@ import org.camunda.bpm.engine.FilterService;
 import org.camunda.bpm.engine.IdentityService;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.filter.Filter;
 import org.camunda.bpm.engine.filter.FilterQuery;
@@ -65,6 +67,7 @@ import org.camunda.bpm.engine.impl.IdentityServiceImpl;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.task.TaskChangesImpl;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.rest.dto.runtime.FilterDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskQueryDto;
@@ -72,6 +75,8 @@ import org.camunda.bpm.engine.rest.helper.MockProvider;
 import org.camunda.bpm.engine.rest.helper.MockTaskBuilder;
 import org.camunda.bpm.engine.runtime.VariableInstance;
 import org.camunda.bpm.engine.runtime.VariableInstanceQuery;
+import org.camunda.bpm.engine.task.IdentityLink;
+import org.camunda.bpm.engine.task.IdentityLinkType;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
 import org.junit.Before;
@@ -90,6 +95,7 @@ public abstract class AbstractFilterRestServiceInteractionTest extends AbstractR
   public static final String EXECUTE_SINGLE_RESULT_FILTER_URL = SINGLE_FILTER_URL + "/singleResult";
   public static final String EXECUTE_LIST_FILTER_URL = SINGLE_FILTER_URL + "/list";
   public static final String EXECUTE_COUNT_FILTER_URL = SINGLE_FILTER_URL + "/count";
+  public static final String TASK_CHANGES_FILTER_URL = SINGLE_FILTER_URL + "/changes";
 
   public static final TaskQuery extendingQuery = new TaskQueryImpl().taskName(MockProvider.EXAMPLE_TASK_NAME);
   public static final TaskQueryDto extendingQueryDto = TaskQueryDto.fromQuery(extendingQuery);
@@ -147,6 +153,8 @@ public abstract class AbstractFilterRestServiceInteractionTest extends AbstractR
       .thenReturn((long) 1);
     when(filterServiceMock.count(eq(EXAMPLE_FILTER_ID), any(Query.class)))
       .thenReturn((long) 1);
+    when(filterServiceMock.countUpTo(eq(EXAMPLE_FILTER_ID), anyInt()))
+      .thenReturn((long) 5);
 
     doThrow(new NullValueException("No filter found with given id"))
       .when(filterServiceMock).singleResult(eq(MockProvider.NON_EXISTING_ID));
@@ -164,8 +172,14 @@ public abstract class AbstractFilterRestServiceInteractionTest extends AbstractR
       .when(filterServiceMock).count(eq(MockProvider.NON_EXISTING_ID));
     doThrow(new NullValueException("No filter found with given id"))
       .when(filterServiceMock).count(eq(MockProvider.NON_EXISTING_ID), any(Query.class));
+    doThrow(new NullValueException("No filter found with given id"))
+      .when(filterServiceMock).countUpTo(eq(MockProvider.NON_EXISTING_ID), anyInt());
+    doThrow(new NotValidException("maxCount is not greater than 0"))
+      .when(filterServiceMock).countUpTo(eq(EXAMPLE_FILTER_ID), eq(0));
     doThrow(new NullValueException("No filter found with given id"))
       .when(filterServiceMock).deleteFilter(eq(MockProvider.NON_EXISTING_ID));
+    doThrow(new NullValueException("No filter found with given id"))
+      .when(filterServiceMock).getTaskChanges(eq(MockProvider.NON_EXISTING_ID), anyLong(), anyInt());
 
     authorizationServiceMock = mock(AuthorizationServiceImpl.class);
     identityServiceMock = mock(IdentityServiceImpl.class);
@@ -540,6 +554,65 @@ public abstract class AbstractFilterRestServiceInteractionTest extends AbstractR
     verify(filterServiceMock).list(eq(EXAMPLE_FILTER_ID), isNull(Query.class));
   }
 
+  @Test
+  public void testExecuteListNotModified() {
+    String entityTag = given()
+      .header(ACCEPT_JSON_HEADER)
+      .pathParam("id", EXAMPLE_FILTER_ID)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .header("ETag", notNullValue())
+    .when()
+      .get(EXECUTE_LIST_FILTER_URL)
+      .getHeader("ETag");
+
+    given()
+      .header(ACCEPT_JSON_HEADER)
+      .header("If-None-Match", entityTag)
+      .pathParam("id", EXAMPLE_FILTER_ID)
+    .then().expect()
+      .statusCode(Status.NOT_MODIFIED.getStatusCode())
+    .when()
+      .get(EXECUTE_LIST_FILTER_URL);
+
+    verify(filterServiceMock, times(2)).list(eq(EXAMPLE_FILTER_ID), isNull(Query.class));
+  }
+
+  @Test
+  public void testExecuteListModified() {
+    given()
+      .header(ACCEPT_JSON_HEADER)
+      .header("If-None-Match", "\"outdated\"")
+      .pathParam("id", EXAMPLE_FILTER_ID)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("$.size()", equalTo(1))
+    .when()
+      .get(EXECUTE_LIST_FILTER_URL);
+  }
+
+  @Test
+  public void testExecuteHalListNotModified() {
+    String entityTag = given()
+      .header(ACCEPT_HAL_HEADER)
+      .pathParam("id", EXAMPLE_FILTER_ID)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .header("ETag", notNullValue())
+    .when()
+      .get(EXECUTE_LIST_FILTER_URL)
+      .getHeader("ETag");
+
+    given()
+      .header(ACCEPT_HAL_HEADER)
+      .header("If-None-Match", entityTag)
+      .pathParam("id", EXAMPLE_FILTER_ID)
+    .then().expect()
+      .statusCode(Status.NOT_MODIFIED.getStatusCode())
+    .when()
+      .get(EXECUTE_LIST_FILTER_URL);
+  }
+
   @Test
   public void testExecuteListOfNonExistingFilter() {
     given()
@@ -693,6 +766,83 @@ public abstract class AbstractFilterRestServiceInteractionTest extends AbstractR
     verify(filterServiceMock).count(MockProvider.NON_EXISTING_ID, null);
   }
 
+  @Test
+  public void testExecuteCountWithMaxCount() {
+    given()
+      .header(ACCEPT_JSON_HEADER)
+      .pathParam("id", EXAMPLE_FILTER_ID)
+      .queryParam("maxCount", 5)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("count", equalTo(5))
+    .when()
+      .get(EXECUTE_COUNT_FILTER_URL);
+
+    verify(filterServiceMock).countUpTo(EXAMPLE_FILTER_ID, 5);
+    verify(filterServiceMock, never()).count(anyString(), any(Query.class));
+  }
+
+  @Test
+  public void testExecuteCountWithInvalidMaxCount() {
+    given()
+      .header(ACCEPT_JSON_HEADER)
+      .pathParam("id", EXAMPLE_FILTER_ID)
+      .queryParam("maxCount", 0)
+    .then().expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("message", equalTo("Parameter 'maxCount' must be greater than 0"))
+    .when()
+      .get(EXECUTE_COUNT_FILTER_URL);
+  }
+
+  @Test
+  public void testExecuteCountWithMaxCountOfNonExistingFilter() {
+    given()
+      .header(ACCEPT_JSON_HEADER)
+      .pathParam("id", MockProvider.NON_EXISTING_ID)
+      .queryParam("maxCount", 5)
+    .then().expect()
+      .statusCode(Status.NOT_FOUND.getStatusCode())
+    .when()
+      .get(EXECUTE_COUNT_FILTER_URL);
+  }
+
+  @Test
+  public void testGetTaskChanges() {
+    TaskChangesImpl taskChanges = new TaskChangesImpl(42, false);
+    taskChanges.setTasks(Collections.<Task>singletonList(new TaskEntity()));
+    taskChanges.setRemovedTaskIds(Collections.singletonList("aRemovedTaskId"));
+    when(filterServiceMock.getTaskChanges(EXAMPLE_FILTER_ID, 41, 10)).thenReturn(taskChanges);
+
+    given()
+      .header(ACCEPT_JSON_HEADER)
+      .pathParam("id", EXAMPLE_FILTER_ID)
+      .queryParam("afterSequence", 41)
+      .queryParam("maxResults", 10)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("sequence", equalTo(42))
+      .body("resetRequired", equalTo(false))
+      .body("tasks.size()", equalTo(1))
+      .body("removedTaskIds[0]", equalTo("aRemovedTaskId"))
+    .when()
+      .get(TASK_CHANGES_FILTER_URL);
+
+    verify(filterServiceMock).getTaskChanges(EXAMPLE_FILTER_ID, 41, 10);
+  }
+
+  @Test
+  public void testGetTaskChangesOfNonExistingFilter() {
+    given()
+      .header(ACCEPT_JSON_HEADER)
+      .pathParam("id", MockProvider.NON_EXISTING_ID)
+      .queryParam("afterSequence", 41)
+    .then().expect()
+      .statusCode(Status.NOT_FOUND.getStatusCode())
+    .when()
+      .get(TASK_CHANGES_FILTER_URL);
+  }
+
   @Test
   public void testExecuteCountAsPost() {
     given()
@@ -1175,6 +1325,68 @@ public abstract class AbstractFilterRestServiceInteractionTest extends AbstractR
 
   }
 
+  @Test
+  public void testHalTaskListQueryWithIncludedVariables() {
+    mockFilterWithVariableNames();
+
+    List<Task> tasks = Arrays.asList(
+      createTaskMock(TASK_A_ID, PROCESS_INSTANCE_A_ID, EXECUTION_A_ID, null, null)
+    );
+    when(filterServiceMock.list(eq(EXAMPLE_FILTER_ID), any(Query.class))).thenReturn(tasks);
+
+    List<VariableInstance> variableInstances = Arrays.asList(
+      createTaskVariableInstanceMock("baz", TASK_A_ID, TASK_A_ID)
+    );
+    when(variableInstanceQueryMock.list()).thenReturn(variableInstances);
+
+    given()
+      .pathParam("id", EXAMPLE_FILTER_ID)
+      .queryParam("includeVariables", "bar, baz")
+      .header(ACCEPT_HAL_HEADER)
+    .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("_embedded.task[0]._embedded.variable.size", equalTo(1))
+      .body("_embedded.task[0]._embedded.variable[0].name", equalTo("baz"))
+    .when()
+      .get(EXECUTE_LIST_FILTER_URL);
+
+    // the variables of all tasks are fetched with a single query
+    verify(variableInstanceQueryMock).variableNameIn("foo", "bar", "baz");
+    verify(variableInstanceQueryMock, times(1)).list();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testHalTaskListQueryWithIdentityLinks() {
+    List<Task> tasks = Arrays.asList(
+      createTaskMock(TASK_A_ID, null, null, null, null),
+      createTaskMock(TASK_B_ID, null, null, null, null)
+    );
+    when(filterServiceMock.list(eq(EXAMPLE_FILTER_ID), any(Query.class))).thenReturn(tasks);
+
+    IdentityLink identityLink = MockProvider.createMockCandidateGroupIdentityLink();
+    when(identityLink.getTaskId()).thenReturn(TASK_B_ID);
+    TaskService taskService = processEngine.getTaskService();
+    when(taskService.getIdentityLinksForTasks(any(List.class))).thenReturn(Collections.singletonList(identityLink));
+
+    given()
+      .pathParam("id", EXAMPLE_FILTER_ID)
+      .queryParam("includeIdentityLinks", true)
+      .header(ACCEPT_HAL_HEADER)
+    .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("_embedded.task[0]._embedded.identityLink.size", equalTo(0))
+      .body("_embedded.task[1]._embedded.identityLink.size", equalTo(1))
+      .body("_embedded.task[1]._embedded.identityLink[0].type", equalTo(IdentityLinkType.CANDIDATE))
+      .body("_embedded.task[1]._embedded.identityLink[0].groupId", equalTo(MockProvider.EXAMPLE_GROUP_ID))
+      .body("_embedded.task[1]._embedded.identityLink[0].taskId", equalTo(TASK_B_ID))
+    .when()
+      .get(EXECUTE_LIST_FILTER_URL);
+
+    // the identity links of all tasks are fetched with a single query
+    verify(taskService, times(1)).getIdentityLinksForTasks(Arrays.asList(TASK_A_ID, TASK_B_ID));
+  }
+
   @SuppressWarnings("unchecked")
   protected List<Map<String, Object>> getEmbeddedTaskVariables(Map<String, Object> task) {
     Map<String, Object> embedded = (Map<String, Object>) task.get("_embedded");
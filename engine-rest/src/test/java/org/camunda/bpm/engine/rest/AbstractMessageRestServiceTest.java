@@ -3,27 +3,33 @@ package org.camunda.bpm.engine.rest;
 import static com.jayway.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
 
 import javax.ws.rs.core.Response.Status;
 
+import org.camunda.bpm.engine.ManagementService;
 import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.helper.EqualsMap;
+import org.camunda.bpm.engine.rest.helper.ExecuteCallableAnswer;
 import org.camunda.bpm.engine.rest.util.VariablesBuilder;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
 import org.junit.Before;
@@ -35,6 +41,7 @@ import com.jayway.restassured.http.ContentType;
 public abstract class AbstractMessageRestServiceTest extends AbstractRestServiceTest {
 
   protected static final String MESSAGE_URL = TEST_RESOURCE_ROOT_PATH + "/message";
+  protected static final String BULK_MESSAGE_URL = MESSAGE_URL + "/bulk";
 
   private RuntimeService runtimeServiceMock;
   private MessageCorrelationBuilder messageCorrelationBuilderMock;
@@ -503,4 +510,64 @@ public abstract class AbstractMessageRestServiceTest extends AbstractRestService
     .body("message", equalTo("Cannot deliver a message: The value type 'X' is not supported."))
     .when().post(MESSAGE_URL);
   }
+
+  @Test
+  public void testBulkMessageCorrelation() {
+    ManagementService managementServiceMock = mock(ManagementService.class);
+    when(processEngine.getManagementService()).thenReturn(managementServiceMock);
+    when(managementServiceMock.executeInTransaction(any(Callable.class))).thenAnswer(new ExecuteCallableAnswer());
+
+    Map<String, Object> firstMessage = new HashMap<String, Object>();
+    firstMessage.put("messageName", "aMessageName");
+    firstMessage.put("businessKey", "aBusinessKey");
+
+    Map<String, Object> secondMessage = new HashMap<String, Object>();
+    secondMessage.put("messageName", "anotherMessageName");
+    secondMessage.put("all", true);
+
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("operations", Arrays.asList(firstMessage, secondMessage));
+    json.put("chunkSize", 2);
+
+    given().contentType(POST_JSON_CONTENT_TYPE).body(json)
+      .then().expect().statusCode(Status.OK.getStatusCode())
+      .body("size()", is(2))
+      .body("[0].status", equalTo("SUCCESSFUL"))
+      .body("[1].status", equalTo("SUCCESSFUL"))
+      .when().post(BULK_MESSAGE_URL);
+
+    verify(managementServiceMock).executeInTransaction(any(Callable.class));
+    verify(runtimeServiceMock).createMessageCorrelation(eq("aMessageName"));
+    verify(runtimeServiceMock).createMessageCorrelation(eq("anotherMessageName"));
+    verify(messageCorrelationBuilderMock).processInstanceBusinessKey(eq("aBusinessKey"));
+    verify(messageCorrelationBuilderMock).correlate();
+    verify(messageCorrelationBuilderMock).correlateAll();
+  }
+
+  @Test
+  public void testBulkMessageCorrelationWithoutMessageName() {
+    ManagementService managementServiceMock = mock(ManagementService.class);
+    when(processEngine.getManagementService()).thenReturn(managementServiceMock);
+    when(managementServiceMock.executeInTransaction(any(Callable.class))).thenAnswer(new ExecuteCallableAnswer());
+
+    Map<String, Object> firstMessage = new HashMap<String, Object>();
+    firstMessage.put("messageName", "aMessageName");
+
+    Map<String, Object> secondMessage = new HashMap<String, Object>();
+    secondMessage.put("businessKey", "aBusinessKey");
+
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("operations", Arrays.asList(firstMessage, secondMessage));
+
+    given().contentType(POST_JSON_CONTENT_TYPE).body(json)
+      .then().expect().statusCode(Status.OK.getStatusCode())
+      .body("[0].status", equalTo("SUCCESSFUL"))
+      .body("[1].status", equalTo("FAILED"))
+      .body("[1].type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("[1].message", equalTo("No message name supplied"))
+      .when().post(BULK_MESSAGE_URL);
+
+    verify(managementServiceMock, times(2)).executeInTransaction(any(Callable.class));
+    verify(messageCorrelationBuilderMock).correlate();
+  }
 }
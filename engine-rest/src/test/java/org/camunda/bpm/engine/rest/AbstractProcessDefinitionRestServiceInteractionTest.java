@@ -11,6 +11,7 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -188,6 +189,35 @@ public abstract class AbstractProcessDefinitionRestServiceInteractionTest extend
     String responseContent = response.asString();
     Assert.assertTrue(responseContent.contains(MockProvider.EXAMPLE_PROCESS_DEFINITION_ID));
     Assert.assertTrue(responseContent.contains("<?xml"));
+    Assert.assertEquals("\"" + MockProvider.EXAMPLE_PROCESS_DEFINITION_ID + "\"", response.getHeader("ETag"));
+  }
+
+  @Test
+  public void testProcessDefinitionBpmn20XmlNotModified() {
+    given()
+      .pathParam("id", MockProvider.EXAMPLE_PROCESS_DEFINITION_ID)
+      .header("If-None-Match", "\"" + MockProvider.EXAMPLE_PROCESS_DEFINITION_ID + "\"")
+    .then()
+      .expect()
+        .statusCode(Status.NOT_MODIFIED.getStatusCode())
+    .when().get(XML_DEFINITION_URL);
+
+    verify(repositoryServiceMock).getProcessDefinition(MockProvider.EXAMPLE_PROCESS_DEFINITION_ID);
+    verify(repositoryServiceMock, never()).getProcessModel(anyString());
+  }
+
+  @Test
+  public void testProcessDefinitionBpmn20XmlModified() {
+    given()
+      .pathParam("id", MockProvider.EXAMPLE_PROCESS_DEFINITION_ID)
+      .header("If-None-Match", "\"anotherProcessDefinitionId\"")
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header("ETag", "\"" + MockProvider.EXAMPLE_PROCESS_DEFINITION_ID + "\"")
+    .when().get(XML_DEFINITION_URL);
+
+    verify(repositoryServiceMock).getProcessModel(MockProvider.EXAMPLE_PROCESS_DEFINITION_ID);
   }
 
   @Test
@@ -215,6 +245,18 @@ public abstract class AbstractProcessDefinitionRestServiceInteractionTest extend
     Assert.assertArrayEquals(expected, actual);
   }
 
+  @Test
+  public void testProcessDiagramNotModified() {
+    given()
+      .pathParam("id", MockProvider.EXAMPLE_PROCESS_DEFINITION_ID)
+      .header("If-None-Match", "\"" + MockProvider.EXAMPLE_PROCESS_DEFINITION_ID + "\"")
+    .expect()
+      .statusCode(Status.NOT_MODIFIED.getStatusCode())
+    .when().get(DIAGRAM_DEFINITION_URL);
+
+    verify(repositoryServiceMock, never()).getProcessDiagram(anyString());
+  }
+
   @Test
   public void testProcessDiagramNullFilename() throws FileNotFoundException {
     // setup additional mock behavior
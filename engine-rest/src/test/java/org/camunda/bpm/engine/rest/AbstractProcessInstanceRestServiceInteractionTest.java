@@ -18,6 +18,7 @@ import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,13 +26,16 @@ import com.jayway.restassured.http.ContentType;
 import com.jayway.restassured.response.Response;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response.Status;
 import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.ManagementService;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.delegate.ProcessEngineVariableType;
 import org.camunda.bpm.engine.impl.RuntimeServiceImpl;
@@ -41,6 +45,7 @@ import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.helper.EqualsList;
 import org.camunda.bpm.engine.rest.helper.EqualsMap;
 import org.camunda.bpm.engine.rest.helper.ExampleVariableObject;
+import org.camunda.bpm.engine.rest.helper.ExecuteCallableAnswer;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
 import org.camunda.bpm.engine.rest.util.VariablesBuilder;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
@@ -63,6 +68,7 @@ public abstract class AbstractProcessInstanceRestServiceInteractionTest extends
   private static final String EXAMPLE_PROCESS_INSTANCE_ID_WITH_NULL_VALUE_AS_VARIABLE = "aProcessInstanceWithNullValueAsVariable";
   protected static final String SINGLE_PROCESS_INSTANCE_SUSPENDED_URL = SINGLE_PROCESS_INSTANCE_URL + "/suspended";
   protected static final String PROCESS_INSTANCE_SUSPENDED_URL = PROCESS_INSTANCE_URL + "/suspended";
+  protected static final String PROCESS_INSTANCE_BULK_VARIABLES_URL = PROCESS_INSTANCE_URL + "/bulk/variables";
 
   protected static final Map<String, Object> EXAMPLE_OBJECT_VARIABLES = new HashMap<String, Object>();
   static {
@@ -1253,4 +1259,68 @@ public abstract class AbstractProcessInstanceRestServiceInteractionTest extends
       .when()
         .put(PROCESS_INSTANCE_SUSPENDED_URL);
   }
+  @Test
+  public void testBulkSetProcessInstanceVariables() {
+    ManagementService managementServiceMock = mock(ManagementService.class);
+    when(processEngine.getManagementService()).thenReturn(managementServiceMock);
+    when(managementServiceMock.executeInTransaction(any(Callable.class))).thenAnswer(new ExecuteCallableAnswer());
+
+    Map<String, Object> variables = VariablesBuilder.create().variable("aVariable", "aStringValue").getVariables();
+
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("operations", Arrays.asList(
+        processInstanceOperation(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID, variables),
+        processInstanceOperation(MockProvider.ANOTHER_EXAMPLE_PROCESS_INSTANCE_ID, variables)));
+    json.put("chunkSize", 10);
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", is(2))
+      .body("[0].status", equalTo("SUCCESSFUL"))
+      .body("[1].status", equalTo("SUCCESSFUL"))
+    .when().post(PROCESS_INSTANCE_BULK_VARIABLES_URL);
+
+    Map<String, Object> expectedVariables = new HashMap<String, Object>();
+    expectedVariables.put("aVariable", "aStringValue");
+
+    verify(managementServiceMock, times(1)).executeInTransaction(any(Callable.class));
+    verify(runtimeServiceMock).setVariables(eq(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID), argThat(new EqualsMap(expectedVariables)));
+    verify(runtimeServiceMock).setVariables(eq(MockProvider.ANOTHER_EXAMPLE_PROCESS_INSTANCE_ID), argThat(new EqualsMap(expectedVariables)));
+  }
+
+  @Test
+  public void testBulkSetProcessInstanceVariablesWithFailingOperation() {
+    ManagementService managementServiceMock = mock(ManagementService.class);
+    when(processEngine.getManagementService()).thenReturn(managementServiceMock);
+    when(managementServiceMock.executeInTransaction(any(Callable.class))).thenAnswer(new ExecuteCallableAnswer());
+
+    doThrow(new ProcessEngineException("expected exception"))
+      .when(runtimeServiceMock).setVariables(eq(MockProvider.ANOTHER_EXAMPLE_PROCESS_INSTANCE_ID), any(Map.class));
+
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("operations", Arrays.asList(
+        processInstanceOperation(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID, null),
+        processInstanceOperation(MockProvider.ANOTHER_EXAMPLE_PROCESS_INSTANCE_ID, null)));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].status", equalTo("SUCCESSFUL"))
+      .body("[1].status", equalTo("FAILED"))
+      .body("[1].type", equalTo(ProcessEngineException.class.getSimpleName()))
+      .body("[1].message", equalTo("expected exception"))
+    .when().post(PROCESS_INSTANCE_BULK_VARIABLES_URL);
+
+    verify(managementServiceMock, times(2)).executeInTransaction(any(Callable.class));
+  }
+
+  protected Map<String, Object> processInstanceOperation(String processInstanceId, Map<String, Object> variables) {
+    Map<String, Object> operation = new HashMap<String, Object>();
+    operation.put("processInstanceId", processInstanceId);
+    operation.put("variables", variables);
+    return operation;
+  }
 }
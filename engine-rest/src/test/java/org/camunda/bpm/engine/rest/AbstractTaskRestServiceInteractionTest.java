@@ -54,6 +54,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.MediaType;
@@ -70,6 +71,7 @@ import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.delegate.ProcessEngineVariableType;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.form.TaskFormData;
 import org.camunda.bpm.engine.history.HistoricTaskInstance;
 import org.camunda.bpm.engine.history.HistoricTaskInstanceQuery;
@@ -78,6 +80,7 @@ import org.camunda.bpm.engine.identity.UserQuery;
 import org.camunda.bpm.engine.impl.TaskServiceImpl;
 import org.camunda.bpm.engine.impl.calendar.DateTimeUtil;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.task.TaskChangesImpl;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinitionQuery;
@@ -86,6 +89,7 @@ import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.hal.Hal;
 import org.camunda.bpm.engine.rest.helper.EqualsList;
 import org.camunda.bpm.engine.rest.helper.EqualsMap;
+import org.camunda.bpm.engine.rest.helper.ExecuteCallableAnswer;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
 import org.camunda.bpm.engine.rest.util.VariablesBuilder;
 import org.camunda.bpm.engine.runtime.VariableInstance;
@@ -145,6 +149,9 @@ public abstract class AbstractTaskRestServiceInteractionTest extends
   protected static final String SINGLE_TASK_MODIFY_VARIABLES_URL = SINGLE_TASK_VARIABLES_URL;
 
   protected static final String TASK_CREATE_URL = TASK_SERVICE_URL + "/create";
+  protected static final String TASK_CHANGES_URL = TASK_SERVICE_URL + "/changes";
+  protected static final String TASK_BULK_COMPLETE_URL = TASK_SERVICE_URL + "/bulk/complete";
+  protected static final String TASK_BULK_VARIABLES_URL = TASK_SERVICE_URL + "/bulk/variables";
 
   private Task mockTask;
   private TaskService taskServiceMock;
@@ -3047,6 +3054,61 @@ public abstract class AbstractTaskRestServiceInteractionTest extends
     verify(taskServiceMock).saveTask(mockTask);
   }
 
+  @Test
+  public void testGetTaskChanges() {
+    TaskChangesImpl taskChanges = new TaskChangesImpl(42, false);
+    taskChanges.setTasks(Collections.singletonList(mockTask));
+    taskChanges.setRemovedTaskIds(Collections.singletonList("aRemovedTaskId"));
+    when(taskServiceMock.getTaskChanges(41, 10)).thenReturn(taskChanges);
+
+    given()
+      .queryParam("afterSequence", 41)
+      .queryParam("maxResults", 10)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("sequence", equalTo(42))
+      .body("resetRequired", equalTo(false))
+      .body("tasks.size()", equalTo(1))
+      .body("tasks[0].id", equalTo(EXAMPLE_TASK_ID))
+      .body("removedTaskIds", hasItem("aRemovedTaskId"))
+    .when()
+      .get(TASK_CHANGES_URL);
+  }
+
+  @Test
+  public void testGetTaskChangesWithoutSequence() {
+    when(taskServiceMock.getTaskChanges(-1, 1000)).thenReturn(new TaskChangesImpl(42, true));
+
+    given()
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("sequence", equalTo(42))
+      .body("resetRequired", equalTo(true))
+      .body("tasks.size()", equalTo(0))
+    .when()
+      .get(TASK_CHANGES_URL);
+
+    verify(taskServiceMock).getTaskChanges(-1, 1000);
+  }
+
+  @Test
+  public void testGetTaskChangesWithInvalidMaxResults() {
+    when(taskServiceMock.getTaskChanges(0, 0)).thenThrow(new NotValidException("maxResults must be between 1 and 1000, but is 0"));
+
+    given()
+      .queryParam("afterSequence", 0)
+      .queryParam("maxResults", 0)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then().expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("maxResults must be between 1 and 1000, but is 0"))
+    .when()
+      .get(TASK_CHANGES_URL);
+  }
+
   @SuppressWarnings({ "rawtypes", "unchecked" })
   private void verifyTaskComments(List<Comment> mockTaskComments, Response response) {
     List list = response.as(List.class);
@@ -3161,4 +3223,172 @@ public abstract class AbstractTaskRestServiceInteractionTest extends
     assertEquals("self", returnedLink.get("rel"));
   }
 
+  @Test
+  public void testBulkCompleteTasks() {
+    when(managementServiceMock.executeInTransaction(any(Callable.class))).thenAnswer(new ExecuteCallableAnswer());
+
+    Map<String, Object> variables = VariablesBuilder.create().variable("aVariable", "aStringValue").getVariables();
+
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("operations", Arrays.asList(taskOperation(EXAMPLE_TASK_ID, variables), taskOperation("anotherTaskId", null)));
+    json.put("chunkSize", 2);
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", is(2))
+      .body("[0].status", equalTo("SUCCESSFUL"))
+      .body("[1].status", equalTo("SUCCESSFUL"))
+    .when().post(TASK_BULK_COMPLETE_URL);
+
+    Map<String, Object> expectedVariables = new HashMap<String, Object>();
+    expectedVariables.put("aVariable", "aStringValue");
+
+    verify(managementServiceMock).executeInTransaction(any(Callable.class));
+    verify(taskServiceMock).complete(eq(EXAMPLE_TASK_ID), argThat(new EqualsMap(expectedVariables)));
+    verify(taskServiceMock).complete("anotherTaskId", null);
+  }
+
+  @Test
+  public void testBulkCompleteTasksInSeparateTransactionsByDefault() {
+    when(managementServiceMock.executeInTransaction(any(Callable.class))).thenAnswer(new ExecuteCallableAnswer());
+
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("operations", Arrays.asList(taskOperation(EXAMPLE_TASK_ID, null), taskOperation("anotherTaskId", null)));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", is(2))
+    .when().post(TASK_BULK_COMPLETE_URL);
+
+    verify(managementServiceMock, times(2)).executeInTransaction(any(Callable.class));
+  }
+
+  @Test
+  public void testBulkCompleteTasksWithFailingOperation() {
+    when(managementServiceMock.executeInTransaction(any(Callable.class))).thenAnswer(new ExecuteCallableAnswer());
+    doThrow(new ProcessEngineException("expected exception")).when(taskServiceMock).complete("aFailingTaskId", null);
+
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("operations", Arrays.asList(
+        taskOperation(EXAMPLE_TASK_ID, null),
+        taskOperation("aFailingTaskId", null),
+        taskOperation("anotherTaskId", null)));
+    json.put("chunkSize", 2);
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", is(3))
+      .body("[0].status", equalTo("ROLLED_BACK"))
+      .body("[1].status", equalTo("FAILED"))
+      .body("[1].type", equalTo(ProcessEngineException.class.getSimpleName()))
+      .body("[1].message", equalTo("expected exception"))
+      .body("[2].status", equalTo("SUCCESSFUL"))
+    .when().post(TASK_BULK_COMPLETE_URL);
+
+    verify(managementServiceMock, times(2)).executeInTransaction(any(Callable.class));
+    verify(taskServiceMock).complete("anotherTaskId", null);
+  }
+
+  @Test
+  public void testBulkCompleteTasksWithFailingCommit() {
+    when(managementServiceMock.executeInTransaction(any(Callable.class))).thenThrow(new ProcessEngineException("expected exception"));
+
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("operations", Arrays.asList(taskOperation(EXAMPLE_TASK_ID, null), taskOperation("anotherTaskId", null)));
+    json.put("chunkSize", 2);
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].status", equalTo("FAILED"))
+      .body("[1].status", equalTo("FAILED"))
+      .body("[1].message", equalTo("expected exception"))
+    .when().post(TASK_BULK_COMPLETE_URL);
+  }
+
+  @Test
+  public void testBulkCompleteTasksWithInvalidChunkSize() {
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("operations", Arrays.asList(taskOperation(EXAMPLE_TASK_ID, null)));
+    json.put("chunkSize", 0);
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+    .then().expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("chunkSize must be greater than 0"))
+    .when().post(TASK_BULK_COMPLETE_URL);
+
+    verify(taskServiceMock, never()).complete(anyString(), any(Map.class));
+  }
+
+  @Test
+  public void testBulkCompleteTasksWithoutOperations() {
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(EMPTY_JSON_OBJECT)
+    .then().expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("No operations supplied"))
+    .when().post(TASK_BULK_COMPLETE_URL);
+  }
+
+  @Test
+  public void testBulkSetTaskVariables() {
+    when(managementServiceMock.executeInTransaction(any(Callable.class))).thenAnswer(new ExecuteCallableAnswer());
+
+    Map<String, Object> variables = VariablesBuilder.create().variable("aVariable", 42).getVariables();
+
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("operations", Arrays.asList(taskOperation(EXAMPLE_TASK_ID, variables)));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].status", equalTo("SUCCESSFUL"))
+    .when().post(TASK_BULK_VARIABLES_URL);
+
+    Map<String, Object> expectedVariables = new HashMap<String, Object>();
+    expectedVariables.put("aVariable", 42);
+
+    verify(taskServiceMock).setVariables(eq(EXAMPLE_TASK_ID), argThat(new EqualsMap(expectedVariables)));
+  }
+
+  @Test
+  public void testBulkSetTaskVariablesWithInvalidValue() {
+    when(managementServiceMock.executeInTransaction(any(Callable.class))).thenAnswer(new ExecuteCallableAnswer());
+
+    Map<String, Object> variables = VariablesBuilder.create().variable("aVariable", "notADate", "Date").getVariables();
+
+    Map<String, Object> json = new HashMap<String, Object>();
+    json.put("operations", Arrays.asList(taskOperation(EXAMPLE_TASK_ID, variables)));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE).body(json)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].status", equalTo("FAILED"))
+      .body("[0].type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("[0].message", containsString("Cannot convert variables due to parse exception"))
+    .when().post(TASK_BULK_VARIABLES_URL);
+
+    verify(taskServiceMock, never()).setVariables(anyString(), any(Map.class));
+  }
+
+  protected Map<String, Object> taskOperation(String taskId, Map<String, Object> variables) {
+    Map<String, Object> operation = new HashMap<String, Object>();
+    operation.put("taskId", taskId);
+    operation.put("variables", variables);
+    return operation;
+  }
+
 }
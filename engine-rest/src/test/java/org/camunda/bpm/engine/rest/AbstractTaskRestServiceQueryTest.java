@@ -8,6 +8,7 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -26,6 +27,7 @@ import org.camunda.bpm.ProcessApplicationService;
 import org.camunda.bpm.application.ProcessApplicationInfo;
 import org.camunda.bpm.container.RuntimeContainerDelegate;
 import org.camunda.bpm.engine.identity.User;
+import org.camunda.bpm.engine.impl.calendar.DateTimeUtil;
 import org.camunda.bpm.engine.identity.UserQuery;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinitionQuery;
@@ -663,6 +665,68 @@ public abstract class AbstractTaskRestServiceQueryTest extends AbstractRestServi
     verify(mockQuery).listPage(firstResult, maxResults);
   }
 
+  @Test
+  public void testKeysetPagination() {
+    int maxResults = 10;
+    given().queryParam("afterId", MockProvider.EXAMPLE_TASK_ID).queryParam("maxResults", maxResults)
+      .header("accept", MediaType.APPLICATION_JSON)
+      .then().expect().statusCode(Status.OK.getStatusCode())
+      .when().get(TASK_QUERY_URL);
+
+    // the last task is not loaded
+    verify(mockQuery).listPageAfter(MockProvider.EXAMPLE_TASK_ID, null, maxResults);
+    verify(mockQuery, never()).taskId(MockProvider.EXAMPLE_TASK_ID);
+  }
+
+  @Test
+  public void testKeysetPaginationWithSortValue() {
+    int maxResults = 10;
+    given().queryParam("sortBy", "priority").queryParam("sortOrder", "asc")
+      .queryParam("afterId", MockProvider.EXAMPLE_TASK_ID).queryParam("afterSortValue", "42")
+      .queryParam("maxResults", maxResults)
+      .header("accept", MediaType.APPLICATION_JSON)
+      .then().expect().statusCode(Status.OK.getStatusCode())
+      .when().get(TASK_QUERY_URL);
+
+    verify(mockQuery).listPageAfter(MockProvider.EXAMPLE_TASK_ID, 42, maxResults);
+  }
+
+  @Test
+  public void testKeysetPaginationWithDateSortValue() {
+    int maxResults = 10;
+    given().queryParam("sortBy", "created").queryParam("sortOrder", "desc")
+      .queryParam("afterId", MockProvider.EXAMPLE_TASK_ID).queryParam("afterSortValue", MockProvider.EXAMPLE_TASK_CREATE_TIME)
+      .queryParam("maxResults", maxResults)
+      .header("accept", MediaType.APPLICATION_JSON)
+      .then().expect().statusCode(Status.OK.getStatusCode())
+      .when().get(TASK_QUERY_URL);
+
+    // no task of the same second is skipped when sorting descending
+    Date createTime = DateTimeUtil.parseDate(MockProvider.EXAMPLE_TASK_CREATE_TIME);
+    verify(mockQuery).listPageAfter(MockProvider.EXAMPLE_TASK_ID, new Date(createTime.getTime() + 999), maxResults);
+  }
+
+  @Test
+  public void testKeysetPaginationWithInvalidSortValue() {
+    given().queryParam("sortBy", "priority").queryParam("sortOrder", "asc")
+      .queryParam("afterId", MockProvider.EXAMPLE_TASK_ID).queryParam("afterSortValue", "high")
+      .header("accept", MediaType.APPLICATION_JSON)
+      .then().expect().statusCode(Status.BAD_REQUEST.getStatusCode()).contentType(ContentType.JSON)
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("Cannot convert sort value 'high' to a priority"))
+      .when().get(TASK_QUERY_URL);
+  }
+
+  @Test
+  public void testKeysetPaginationWithFirstResult() {
+    given().queryParam("afterId", MockProvider.EXAMPLE_TASK_ID).queryParam("firstResult", 10)
+      .header("accept", MediaType.APPLICATION_JSON)
+      .then().expect().statusCode(Status.BAD_REQUEST.getStatusCode()).contentType(ContentType.JSON)
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("Parameters 'firstResult' and 'afterId' cannot be combined"))
+      .when().get(TASK_QUERY_URL);
+  }
+
   @Test
   public void testTaskVariableParameters() {
     // equals
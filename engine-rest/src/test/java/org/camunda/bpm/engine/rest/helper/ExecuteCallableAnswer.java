@@ -0,0 +1,30 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.helper;
+
+import java.util.concurrent.Callable;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Answers a mocked <code>executeInTransaction(Callable)</code> call by invoking the callable.
+ */
+public class ExecuteCallableAnswer implements Answer<Object> {
+
+  public Object answer(InvocationOnMock invocation) throws Throwable {
+    Callable<?> callable = (Callable<?>) invocation.getArguments()[0];
+    return callable.call();
+  }
+
+}
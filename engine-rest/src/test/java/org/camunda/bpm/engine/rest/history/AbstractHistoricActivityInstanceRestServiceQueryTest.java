@@ -2,11 +2,13 @@ package org.camunda.bpm.engine.rest.history;
 
 import com.jayway.restassured.http.ContentType;
 import com.jayway.restassured.response.Response;
+import org.camunda.bpm.engine.AuthorizationException;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
 import org.camunda.bpm.engine.impl.calendar.DateTimeUtil;
 import org.camunda.bpm.engine.rest.AbstractRestServiceTest;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -42,7 +44,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
 
   private HistoricActivityInstanceQuery setUpMockHistoricActivityInstanceQuery(List<HistoricActivityInstance> mockedHistoricActivityInstances) {
     HistoricActivityInstanceQuery mockedhistoricActivityInstanceQuery = mock(HistoricActivityInstanceQuery.class);
-    when(mockedhistoricActivityInstanceQuery.list()).thenReturn(mockedHistoricActivityInstances);
+    when(mockedhistoricActivityInstanceQuery.listPage(anyInt(), anyInt())).thenReturn(mockedHistoricActivityInstances);
     when(mockedhistoricActivityInstanceQuery.count()).thenReturn((long) mockedHistoricActivityInstances.size());
 
     when(processEngine.getHistoryService().createHistoricActivityInstanceQuery()).thenReturn(mockedhistoricActivityInstanceQuery);
@@ -69,7 +71,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
     .when()
       .get(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
 
-    verify(mockedQuery).list();
+    verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
     verifyNoMoreInteractions(mockedQuery);
   }
 
@@ -83,7 +85,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
     .when()
       .post(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
 
-    verify(mockedQuery).list();
+    verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
     verifyNoMoreInteractions(mockedQuery);
   }
 
@@ -279,7 +281,20 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
       .when()
         .get(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
 
-    verify(mockedQuery).listPage(firstResult, Integer.MAX_VALUE);
+    verify(mockedQuery).listPage(firstResult, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
+  }
+
+  @Test
+  public void testQueryFailureIsMappedToErrorResponse() {
+    when(mockedQuery.listPage(anyInt(), anyInt()))
+      .thenThrow(new AuthorizationException("someUser", "somePermission", "someResourceName", "someResourceId"));
+
+    expect()
+      .statusCode(Status.FORBIDDEN.getStatusCode())
+      .contentType(ContentType.JSON)
+      .body("type", equalTo(AuthorizationException.class.getSimpleName()))
+    .when()
+      .get(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
   }
 
   @Test
@@ -321,7 +336,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
 
     InOrder inOrder = inOrder(mockedQuery);
     inOrder.verify(mockedQuery).processInstanceId(processInstanceId);
-    inOrder.verify(mockedQuery).list();
+    inOrder.verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
 
     String content = response.asString();
     List<String> instances = from(content).getList("");
@@ -461,7 +476,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
     verify(mockedQuery).activityType(stringQueryParameters.get("activityType"));
     verify(mockedQuery).taskAssignee(stringQueryParameters.get("taskAssignee"));
 
-    verify(mockedQuery).list();
+    verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
   }
 
   private void verifyBooleanParameterQueryInvocations() {
@@ -476,7 +491,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
       verify(mockedQuery).completeScope();
     }
 
-    verify(mockedQuery).list();
+    verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
   }
 
   @Test
@@ -491,7 +506,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
 
     InOrder inOrder = inOrder(mockedQuery);
     inOrder.verify(mockedQuery).finished();
-    inOrder.verify(mockedQuery).list();
+    inOrder.verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
 
     String content = response.asString();
     List<String> instances = from(content).getList("");
@@ -523,7 +538,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
 
     InOrder inOrder = inOrder(mockedQuery);
     inOrder.verify(mockedQuery).finished();
-    inOrder.verify(mockedQuery).list();
+    inOrder.verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
 
     String content = response.asString();
     List<String> instances = from(content).getList("");
@@ -543,7 +558,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
   public void testUnfinishedHistoricActivityQuery() {
     List<HistoricActivityInstance> mockedHistoricActivityInstances = MockProvider.createMockRunningHistoricActivityInstances();
     HistoricActivityInstanceQuery mockedhistoricActivityInstanceQuery = mock(HistoricActivityInstanceQuery.class);
-    when(mockedhistoricActivityInstanceQuery.list()).thenReturn(mockedHistoricActivityInstances);
+    when(mockedhistoricActivityInstanceQuery.listPage(anyInt(), anyInt())).thenReturn(mockedHistoricActivityInstances);
     when(processEngine.getHistoryService().createHistoricActivityInstanceQuery()).thenReturn(mockedhistoricActivityInstanceQuery);
 
     Response response = given()
@@ -556,7 +571,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
 
     InOrder inOrder = inOrder(mockedhistoricActivityInstanceQuery);
     inOrder.verify(mockedhistoricActivityInstanceQuery).unfinished();
-    inOrder.verify(mockedhistoricActivityInstanceQuery).list();
+    inOrder.verify(mockedhistoricActivityInstanceQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
 
     String content = response.asString();
     List<String> instances = from(content).getList("");
@@ -574,7 +589,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
   public void testUnfinishedHistoricActivityQueryAsPost() {
     List<HistoricActivityInstance> mockedHistoricActivityInstances = MockProvider.createMockRunningHistoricActivityInstances();
     HistoricActivityInstanceQuery mockedhistoricActivityInstanceQuery = mock(HistoricActivityInstanceQuery.class);
-    when(mockedhistoricActivityInstanceQuery.list()).thenReturn(mockedHistoricActivityInstances);
+    when(mockedhistoricActivityInstanceQuery.listPage(anyInt(), anyInt())).thenReturn(mockedHistoricActivityInstances);
     when(processEngine.getHistoryService().createHistoricActivityInstanceQuery()).thenReturn(mockedhistoricActivityInstanceQuery);
 
     Map<String, Boolean> body = new HashMap<String, Boolean>();
@@ -591,7 +606,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
 
     InOrder inOrder = inOrder(mockedhistoricActivityInstanceQuery);
     inOrder.verify(mockedhistoricActivityInstanceQuery).unfinished();
-    inOrder.verify(mockedhistoricActivityInstanceQuery).list();
+    inOrder.verify(mockedhistoricActivityInstanceQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
 
     String content = response.asString();
     List<String> instances = from(content).getList("");
@@ -650,7 +665,7 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
     verify(mockedQuery).startedBefore(startDateParameters.get("startedBefore"));
     verify(mockedQuery).startedAfter(startDateParameters.get("startedAfter"));
 
-    verify(mockedQuery).list();
+    verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
   }
 
   @Test
@@ -698,6 +713,6 @@ public abstract class AbstractHistoricActivityInstanceRestServiceQueryTest exten
     verify(mockedQuery).finishedAfter(finishedDateParameters.get("finishedAfter"));
     verify(mockedQuery).finishedBefore(finishedDateParameters.get("finishedBefore"));
 
-    verify(mockedQuery).list();
+    verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
   }
 }
@@ -7,6 +7,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -255,6 +256,41 @@ public abstract class AbstractHistoricProcessInstanceRestServiceQueryTest extend
     verify(mockedQuery).listPage(firstResult, maxResults);
   }
 
+  @Test
+  public void testKeysetPagination() {
+    int maxResults = 10;
+
+    given()
+      .queryParam("sortBy", "startTime")
+      .queryParam("sortOrder", "asc")
+      .queryParam("afterId", MockProvider.EXAMPLE_PROCESS_INSTANCE_ID)
+      .queryParam("afterSortValue", MockProvider.EXAMPLE_HISTORIC_PROCESS_INSTANCE_START_TIME)
+      .queryParam("maxResults", maxResults)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+      .when()
+        .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+
+    // the last instance is not loaded, it may have been deleted
+    Date startTime = DateTimeUtil.parseDate(MockProvider.EXAMPLE_HISTORIC_PROCESS_INSTANCE_START_TIME);
+    verify(mockedQuery).listPageAfter(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID, startTime, maxResults);
+    verify(mockedQuery, never()).processInstanceId(MockProvider.EXAMPLE_PROCESS_INSTANCE_ID);
+  }
+
+  @Test
+  public void testKeysetPaginationWithFirstResult() {
+    given()
+      .queryParam("afterId", MockProvider.EXAMPLE_PROCESS_INSTANCE_ID)
+      .queryParam("firstResult", 10)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .body("message", equalTo("Parameters 'firstResult' and 'afterId' cannot be combined"))
+      .when()
+        .get(HISTORIC_PROCESS_INSTANCE_RESOURCE_URL);
+  }
+
   @Test
   public void testMissingFirstResultParameter() {
     int maxResults = 10;
@@ -5,6 +5,7 @@ import static com.jayway.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -27,6 +28,7 @@ import org.camunda.bpm.engine.rest.AbstractRestServiceTest;
 import org.camunda.bpm.engine.rest.helper.MockHistoricVariableInstanceBuilder;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
 import org.camunda.bpm.engine.rest.helper.MockSerializedValueBuilder;
+import org.camunda.bpm.engine.rest.util.QueryResultStreamingOutput;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -58,7 +60,7 @@ public abstract class AbstractHistoricVariableInstanceRestServiceQueryTest exten
   private HistoricVariableInstanceQuery setUpMockHistoricVariableInstanceQuery(List<HistoricVariableInstance> mockedHistoricVariableInstances) {
 
     HistoricVariableInstanceQuery mockedhistoricVariableInstanceQuery = mock(HistoricVariableInstanceQuery.class);
-    when(mockedhistoricVariableInstanceQuery.list()).thenReturn(mockedHistoricVariableInstances);
+    when(mockedhistoricVariableInstanceQuery.listPage(anyInt(), anyInt())).thenReturn(mockedHistoricVariableInstances);
     when(mockedhistoricVariableInstanceQuery.count()).thenReturn((long) mockedHistoricVariableInstances.size());
 
     when(processEngine.getHistoryService().createHistoricVariableInstanceQuery()).thenReturn(mockedhistoricVariableInstanceQuery);
@@ -85,7 +87,7 @@ public abstract class AbstractHistoricVariableInstanceRestServiceQueryTest exten
     .when()
       .get(HISTORIC_VARIABLE_INSTANCE_RESOURCE_URL);
 
-    verify(mockedQuery).list();
+    verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
     verify(mockedQuery).disableBinaryFetching();
     // In order to not break current API, we have to deserialize Serializable variables. should be:
     // verify(mockedQuery).disableCustomObjectDeserialization();
@@ -104,7 +106,7 @@ public abstract class AbstractHistoricVariableInstanceRestServiceQueryTest exten
     .when()
       .post(HISTORIC_VARIABLE_INSTANCE_RESOURCE_URL);
 
-    verify(mockedQuery).list();
+    verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
     verify(mockedQuery).disableBinaryFetching();
     // In order to not break current API, we have to deserialize Serializable variables. should be:
     // verify(mockedQuery).disableCustomObjectDeserialization();
@@ -214,7 +216,7 @@ public abstract class AbstractHistoricVariableInstanceRestServiceQueryTest exten
     .when()
       .get(HISTORIC_VARIABLE_INSTANCE_RESOURCE_URL);
 
-    verify(mockedQuery).listPage(firstResult, Integer.MAX_VALUE);
+    verify(mockedQuery).listPage(firstResult, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
   }
 
   @Test
@@ -255,7 +257,7 @@ public abstract class AbstractHistoricVariableInstanceRestServiceQueryTest exten
 
     InOrder inOrder = inOrder(mockedQuery);
     inOrder.verify(mockedQuery).variableNameLike(variableNameLike);
-    inOrder.verify(mockedQuery).list();
+    inOrder.verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
   }
 
   @Test
@@ -281,7 +283,7 @@ public abstract class AbstractHistoricVariableInstanceRestServiceQueryTest exten
 
     InOrder inOrder = inOrder(mockedQuery);
     inOrder.verify(mockedQuery).processInstanceId(processInstanceId);
-    inOrder.verify(mockedQuery).list();
+    inOrder.verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
   }
 
   @Test
@@ -364,7 +366,7 @@ public abstract class AbstractHistoricVariableInstanceRestServiceQueryTest exten
       .get(HISTORIC_VARIABLE_INSTANCE_RESOURCE_URL);
 
     verifyStringParameterQueryInvocations();
-    verify(mockedQuery).list();
+    verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
   }
 
   private Map<String, String> getCompleteStringQueryParameters() {
@@ -404,7 +406,7 @@ public abstract class AbstractHistoricVariableInstanceRestServiceQueryTest exten
 
     InOrder inOrder = inOrder(mockedQuery);
     inOrder.verify(mockedQuery).variableValueEquals(variableName, variableValue);
-    inOrder.verify(mockedQuery).list();
+    inOrder.verify(mockedQuery).listPage(0, QueryResultStreamingOutput.DEFAULT_BATCH_SIZE);
   }
 
   @Test
@@ -0,0 +1,159 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.standalone;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.rest.filter.GzipFilter;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class GzipFilterTest {
+
+  protected static final byte[] CONTENT = "{\"id\":\"aTaskId\",\"name\":\"aTaskName\"}".getBytes();
+
+  protected GzipFilter filter;
+  protected MockHttpServletRequest request;
+  protected MockHttpServletResponse response;
+
+  @Before
+  public void setUp() {
+    filter = new GzipFilter();
+    request = new MockHttpServletRequest("GET", "/task");
+    response = new MockHttpServletResponse();
+  }
+
+  @Test
+  public void testCompressResponse() throws IOException, ServletException {
+    request.addHeader("Accept-Encoding", "gzip, deflate");
+
+    filter.doFilter(request, response, new WritingFilterChain(CONTENT));
+
+    assertEquals("gzip", response.getHeader("Content-Encoding"));
+    assertEquals("Accept-Encoding", response.getHeader("Vary"));
+    assertNull(response.getHeader("Content-Length"));
+    assertArrayEquals(CONTENT, decompress(response.getContentAsByteArray()));
+  }
+
+  @Test
+  public void testCompressResponseWrittenWithWriter() throws IOException, ServletException {
+    request.addHeader("Accept-Encoding", "gzip");
+
+    filter.doFilter(request, response, new FilterChain() {
+      public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+        response.getWriter().write(new String(CONTENT));
+      }
+    });
+
+    assertEquals("gzip", response.getHeader("Content-Encoding"));
+    assertArrayEquals(CONTENT, decompress(response.getContentAsByteArray()));
+  }
+
+  @Test
+  public void testNoCompressionIfNotAccepted() throws IOException, ServletException {
+    filter.doFilter(request, response, new WritingFilterChain(CONTENT));
+
+    assertNull(response.getHeader("Content-Encoding"));
+    assertEquals("Accept-Encoding", response.getHeader("Vary"));
+    assertArrayEquals(CONTENT, response.getContentAsByteArray());
+  }
+
+  @Test
+  public void testNoCompressionIfRefused() throws IOException, ServletException {
+    request.addHeader("Accept-Encoding", "deflate, gzip;q=0");
+
+    filter.doFilter(request, response, new WritingFilterChain(CONTENT));
+
+    assertNull(response.getHeader("Content-Encoding"));
+    assertArrayEquals(CONTENT, response.getContentAsByteArray());
+  }
+
+  @Test
+  public void testNoCompressionIfRefusedDespiteWildcard() throws IOException, ServletException {
+    request.addHeader("Accept-Encoding", "*, gzip; q=0.0");
+
+    filter.doFilter(request, response, new WritingFilterChain(CONTENT));
+
+    assertNull(response.getHeader("Content-Encoding"));
+    assertArrayEquals(CONTENT, response.getContentAsByteArray());
+  }
+
+  @Test
+  public void testCompressResponseWithQualityValue() throws IOException, ServletException {
+    request.addHeader("Accept-Encoding", "deflate;q=1.0, GZIP;q=0.5");
+
+    filter.doFilter(request, response, new WritingFilterChain(CONTENT));
+
+    assertEquals("gzip", response.getHeader("Content-Encoding"));
+    assertArrayEquals(CONTENT, decompress(response.getContentAsByteArray()));
+  }
+
+  @Test
+  public void testCompressResponseIfWildcardAccepted() throws IOException, ServletException {
+    request.addHeader("Accept-Encoding", "*");
+
+    filter.doFilter(request, response, new WritingFilterChain(CONTENT));
+
+    assertEquals("gzip", response.getHeader("Content-Encoding"));
+    assertArrayEquals(CONTENT, decompress(response.getContentAsByteArray()));
+  }
+
+  @Test
+  public void testNoCompressionWithoutBody() throws IOException, ServletException {
+    request.addHeader("Accept-Encoding", "gzip");
+
+    filter.doFilter(request, response, new FilterChain() {
+      public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+        ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        response.getOutputStream();
+      }
+    });
+
+    assertNull(response.getHeader("Content-Encoding"));
+    assertEquals(0, response.getContentAsByteArray().length);
+  }
+
+  protected byte[] decompress(byte[] compressed) throws IOException {
+    return IoUtil.readInputStream(new GZIPInputStream(new ByteArrayInputStream(compressed)), "decompressed response");
+  }
+
+  protected static class WritingFilterChain implements FilterChain {
+
+    protected byte[] content;
+
+    public WritingFilterChain(byte[] content) {
+      this.content = content;
+    }
+
+    public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+      response.setContentLength(content.length);
+      response.getOutputStream().write(content);
+    }
+  }
+
+}
@@ -0,0 +1,231 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.standalone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.identity.User;
+import org.camunda.bpm.engine.identity.UserQuery;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.rest.hal.Hal;
+import org.camunda.bpm.engine.rest.hal.HalResource;
+import org.camunda.bpm.engine.rest.hal.cache.HalRelationCache;
+import org.camunda.bpm.engine.rest.hal.cache.HalRelationCacheConfiguration;
+import org.camunda.bpm.engine.rest.hal.user.HalUser;
+import org.camunda.bpm.engine.rest.hal.user.HalUserResolver;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HalRelationCacheTest {
+
+  protected ProcessEngine processEngine;
+  protected IdentityService identityService;
+  protected UserQuery userQuery;
+  protected HalUserResolver resolver;
+
+  @Before
+  public void setUp() {
+    processEngine = mock(ProcessEngine.class);
+    when(processEngine.getName()).thenReturn("default");
+
+    identityService = mock(IdentityService.class);
+    when(processEngine.getIdentityService()).thenReturn(identityService);
+
+    userQuery = mock(UserQuery.class);
+    when(identityService.createUserQuery()).thenReturn(userQuery);
+    when(userQuery.userIdIn(any(String[].class))).thenReturn(userQuery);
+
+    resolver = new HalUserResolver();
+  }
+
+  @After
+  public void tearDown() {
+    Hal.getInstance().removeHalRelationCacheConfiguration(HalUser.class);
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void testResolveWithoutCache() {
+    mockUsers("a");
+
+    resolver.resolveLinks(new String[] { "a" }, processEngine);
+    resolver.resolveLinks(new String[] { "a" }, processEngine);
+
+    assertNull(Hal.getInstance().getHalRelationCache(HalUser.class, processEngine));
+    verify(userQuery, times(2)).listPage(anyInt(), anyInt());
+  }
+
+  @Test
+  public void testResolveFromCache() {
+    Hal.getInstance().setHalRelationCacheConfiguration(HalUser.class, new HalRelationCacheConfiguration(10, 60));
+
+    mockUsers("a", "b");
+    List<HalResource<?>> resolved = resolver.resolveLinks(new String[] { "a", "b" }, processEngine);
+    assertEquals(2, resolved.size());
+
+    List<HalResource<?>> resolvedAgain = resolver.resolveLinks(new String[] { "b", "a" }, processEngine);
+    assertEquals(2, resolvedAgain.size());
+    assertSame(resolved.get(0), resolvedAgain.get(0));
+    assertSame(resolved.get(1), resolvedAgain.get(1));
+
+    verify(userQuery, times(1)).listPage(anyInt(), anyInt());
+  }
+
+  @Test
+  public void testResolveOnlyMisses() {
+    Hal.getInstance().setHalRelationCacheConfiguration(HalUser.class, new HalRelationCacheConfiguration(10, 60));
+
+    mockUsers("a");
+    resolver.resolveLinks(new String[] { "a" }, processEngine);
+
+    mockUsers("b");
+    List<HalResource<?>> resolved = resolver.resolveLinks(new String[] { "a", "b" }, processEngine);
+
+    assertEquals(2, resolved.size());
+    assertEquals("a", ((HalUser) resolved.get(0)).getId());
+    assertEquals("b", ((HalUser) resolved.get(1)).getId());
+
+    verify(userQuery).userIdIn(new String[] { "a" });
+    verify(userQuery).userIdIn(new String[] { "b" });
+    verify(userQuery, never()).userIdIn(new String[] { "a", "b" });
+  }
+
+  @Test
+  public void testCachePerProcessEngine() {
+    Hal.getInstance().setHalRelationCacheConfiguration(HalUser.class, new HalRelationCacheConfiguration(10, 60));
+
+    ProcessEngine otherProcessEngine = mock(ProcessEngine.class);
+    when(otherProcessEngine.getName()).thenReturn("other");
+    when(otherProcessEngine.getIdentityService()).thenReturn(identityService);
+
+    HalRelationCache cache = Hal.getInstance().getHalRelationCache(HalUser.class, processEngine);
+    HalRelationCache otherCache = Hal.getInstance().getHalRelationCache(HalUser.class, otherProcessEngine);
+
+    assertNotNull(cache);
+    assertNotNull(otherCache);
+    assertSame(cache, Hal.getInstance().getHalRelationCache(HalUser.class, processEngine));
+    assertNotSame(cache, otherCache);
+  }
+
+  @Test
+  public void testCachePerAuthentication() {
+    Hal.getInstance().setHalRelationCacheConfiguration(HalUser.class, new HalRelationCacheConfiguration(10, 60));
+
+    // alice is granted READ on user a
+    when(identityService.getCurrentAuthentication()).thenReturn(new Authentication("alice", Arrays.asList("sales")));
+    mockUsers("a");
+    List<HalResource<?>> resolvedForAlice = resolver.resolveLinks(new String[] { "a" }, processEngine);
+    assertEquals(1, resolvedForAlice.size());
+
+    // bob is not, so the user resolved for alice must not be served from the cache
+    when(identityService.getCurrentAuthentication()).thenReturn(new Authentication("bob", Arrays.asList("sales")));
+    mockUsers();
+    List<HalResource<?>> resolvedForBob = resolver.resolveLinks(new String[] { "a" }, processEngine);
+    assertEquals(0, resolvedForBob.size());
+
+    verify(userQuery, times(2)).listPage(anyInt(), anyInt());
+
+    // alice is still served from her cache
+    when(identityService.getCurrentAuthentication()).thenReturn(new Authentication("alice", Arrays.asList("sales")));
+    assertSame(resolvedForAlice.get(0), resolver.resolveLinks(new String[] { "a" }, processEngine).get(0));
+
+    verify(userQuery, times(2)).listPage(anyInt(), anyInt());
+  }
+
+  @Test
+  public void testEvictFromAllCaches() {
+    Hal.getInstance().setHalRelationCacheConfiguration(HalUser.class, new HalRelationCacheConfiguration(10, 60));
+
+    when(identityService.getCurrentAuthentication()).thenReturn(new Authentication("alice", null));
+    HalRelationCache aliceCache = Hal.getInstance().getHalRelationCache(HalUser.class, processEngine);
+    aliceCache.put("a", HalUser.fromUser(mockUser("a")));
+
+    when(identityService.getCurrentAuthentication()).thenReturn(new Authentication("bob", null));
+    HalRelationCache bobCache = Hal.getInstance().getHalRelationCache(HalUser.class, processEngine);
+    bobCache.put("a", HalUser.fromUser(mockUser("a")));
+
+    assertNotSame(aliceCache, bobCache);
+
+    Hal.getInstance().evictFromHalRelationCache(HalUser.class, processEngine, "a");
+
+    assertNull(aliceCache.get("a"));
+    assertNull(bobCache.get("a"));
+  }
+
+  @Test
+  public void testEntriesExpire() {
+    ClockUtil.setCurrentTime(new Date(0));
+    HalRelationCache cache = new HalRelationCache(10, 60);
+    HalUser user = HalUser.fromUser(mockUser("a"));
+
+    cache.put("a", user);
+    assertSame(user, cache.get("a"));
+
+    ClockUtil.setCurrentTime(new Date(59 * 1000));
+    assertSame(user, cache.get("a"));
+
+    ClockUtil.setCurrentTime(new Date(60 * 1000));
+    assertNull(cache.get("a"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEntryIsEvicted() {
+    HalRelationCache cache = new HalRelationCache(2, 60);
+
+    cache.put("a", HalUser.fromUser(mockUser("a")));
+    cache.put("b", HalUser.fromUser(mockUser("b")));
+    cache.get("a");
+    cache.put("c", HalUser.fromUser(mockUser("c")));
+
+    assertEquals(2, cache.size());
+    assertNotNull(cache.get("a"));
+    assertNull(cache.get("b"));
+    assertNotNull(cache.get("c"));
+  }
+
+  protected void mockUsers(String... ids) {
+    List<User> users = new ArrayList<User>();
+    for (String id : Arrays.asList(ids)) {
+      users.add(mockUser(id));
+    }
+    when(userQuery.listPage(anyInt(), anyInt())).thenReturn(users);
+  }
+
+  protected User mockUser(String id) {
+    User user = mock(User.class);
+    when(user.getId()).thenReturn(id);
+    return user;
+  }
+
+}
@@ -0,0 +1,94 @@
+package org.camunda.bpm.engine.rest.util;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.camunda.bpm.engine.query.Query;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+public class QueryResultStreamingOutputTest {
+
+  protected Query<?, String> query;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    query = mock(Query.class);
+  }
+
+  @Test
+  public void testWriteInBatches() throws Exception {
+    when(query.listPage(0, 2)).thenReturn(Arrays.asList("a", "b"));
+    when(query.listPage(2, 2)).thenReturn(Arrays.asList("c", "d"));
+    when(query.listPage(4, 2)).thenReturn(Arrays.asList("e"));
+
+    QueryResultStreamingOutput<String> output = createOutput(null, null).executeFirstBatch();
+
+    assertThat(write(output)).isEqualTo("[\"a\",\"b\",\"c\",\"d\",\"e\"]");
+
+    InOrder inOrder = inOrder(query);
+    inOrder.verify(query).listPage(0, 2);
+    inOrder.verify(query).listPage(2, 2);
+    inOrder.verify(query).listPage(4, 2);
+    verifyNoMoreInteractions(query);
+  }
+
+  @Test
+  public void testWriteExactlyFullBatches() throws Exception {
+    when(query.listPage(0, 2)).thenReturn(Arrays.asList("a", "b"));
+    when(query.listPage(2, 2)).thenReturn(Collections.<String>emptyList());
+
+    assertThat(write(createOutput(null, null).executeFirstBatch())).isEqualTo("[\"a\",\"b\"]");
+  }
+
+  @Test
+  public void testWritePageInBatches() throws Exception {
+    when(query.listPage(1, 2)).thenReturn(Arrays.asList("b", "c"));
+    when(query.listPage(3, 1)).thenReturn(Arrays.asList("d"));
+
+    QueryResultStreamingOutput<String> output = createOutput(1, 3).executeFirstBatch();
+
+    assertThat(write(output)).isEqualTo("[\"b\",\"c\",\"d\"]");
+
+    InOrder inOrder = inOrder(query);
+    inOrder.verify(query).listPage(1, 2);
+    inOrder.verify(query).listPage(3, 1);
+    verifyNoMoreInteractions(query);
+  }
+
+  @Test
+  public void testFirstBatchIsReadOnce() throws Exception {
+    when(query.listPage(0, 2)).thenReturn(Arrays.asList("a"));
+
+    QueryResultStreamingOutput<String> output = createOutput(null, null).executeFirstBatch();
+    assertThat(write(output)).isEqualTo("[\"a\"]");
+
+    InOrder inOrder = inOrder(query);
+    inOrder.verify(query).listPage(0, 2);
+    verifyNoMoreInteractions(query);
+  }
+
+  protected QueryResultStreamingOutput<String> createOutput(Integer firstResult, Integer maxResults) {
+    return new QueryResultStreamingOutput<String>(query, firstResult, maxResults, 2) {
+      protected Object toDto(String result) {
+        return result;
+      }
+    };
+  }
+
+  protected String write(QueryResultStreamingOutput<String> output) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    output.write(out);
+    return out.toString("UTF-8");
+  }
+
+}
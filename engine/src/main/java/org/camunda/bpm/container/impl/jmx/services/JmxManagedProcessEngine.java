@@ -12,13 +12,24 @@
  */
 package org.camunda.bpm.container.impl.jmx.services;
 
+import java.util.List;
 import java.util.Set;
 
+import javax.management.openmbean.ArrayType;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+
 import org.camunda.bpm.container.impl.jmx.MBeanServiceContainer;
 import org.camunda.bpm.container.impl.spi.PlatformService;
 import org.camunda.bpm.container.impl.spi.PlatformServiceContainer;
 import org.camunda.bpm.engine.ManagementService;
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.management.CommandMetrics;
 
 /**
  * <p>Represents a process engine managed by the {@link MBeanServiceContainer}</p>
@@ -28,6 +39,21 @@ import org.camunda.bpm.engine.ProcessEngine;
  */
 public class JmxManagedProcessEngine implements PlatformService<ProcessEngine>, JmxManagedProcessEngineMBean {
 
+  protected static final String[] COMMAND_METRICS_ITEMS = new String[] {
+    "commandName",
+    "invocationCount",
+    "errorCount",
+    "optimisticLockingFailureCount",
+    "totalDuration",
+    "maxDuration",
+    "averageDuration",
+    "durationHistogramBounds",
+    "durationHistogram"
+  };
+
+  /** the open type of the {@link CompositeData} returned by {@link #getCommandMetrics()} */
+  public static final CompositeType COMMAND_METRICS_TYPE = createCommandMetricsType();
+
   protected ProcessEngine processEngine;
 
   // for subclasses
@@ -73,4 +99,62 @@ public class JmxManagedProcessEngine implements PlatformService<ProcessEngine>,
     managementService.unregisterDeploymentForJobExecutor(deploymentId);
   }
 
+  public CompositeData[] getCommandMetrics() {
+    ManagementService managementService = processEngine.getManagementService();
+    List<CommandMetrics> commandMetrics = managementService.getCommandMetrics();
+
+    CompositeData[] result = new CompositeData[commandMetrics.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = toCompositeData(commandMetrics.get(i));
+    }
+    return result;
+  }
+
+  public void resetCommandMetrics() {
+    ManagementService managementService = processEngine.getManagementService();
+    managementService.resetCommandMetrics();
+  }
+
+  protected CompositeData toCompositeData(CommandMetrics metrics) {
+    Object[] values = new Object[] {
+      metrics.getCommandName(),
+      metrics.getInvocationCount(),
+      metrics.getErrorCount(),
+      metrics.getOptimisticLockingFailureCount(),
+      metrics.getTotalDuration(),
+      metrics.getMaxDuration(),
+      metrics.getAverageDuration(),
+      metrics.getDurationHistogramBounds(),
+      metrics.getDurationHistogram()
+    };
+
+    try {
+      return new CompositeDataSupport(COMMAND_METRICS_TYPE, COMMAND_METRICS_ITEMS, values);
+    } catch (OpenDataException e) {
+      throw new ProcessEngineException("Could not convert command metrics of '" + metrics.getCommandName() + "'", e);
+    }
+  }
+
+  protected static CompositeType createCommandMetricsType() {
+    try {
+      ArrayType<long[]> longArrayType = ArrayType.getPrimitiveArrayType(long[].class);
+      OpenType<?>[] itemTypes = new OpenType<?>[] {
+        SimpleType.STRING,
+        SimpleType.LONG,
+        SimpleType.LONG,
+        SimpleType.LONG,
+        SimpleType.LONG,
+        SimpleType.LONG,
+        SimpleType.LONG,
+        longArrayType,
+        longArrayType
+      };
+
+      return new CompositeType("CommandMetrics", "metrics of a command executed by the process engine",
+          COMMAND_METRICS_ITEMS, COMMAND_METRICS_ITEMS, itemTypes);
+    } catch (OpenDataException e) {
+      throw new ProcessEngineException("Could not create the open type of command metrics", e);
+    }
+  }
+
 }
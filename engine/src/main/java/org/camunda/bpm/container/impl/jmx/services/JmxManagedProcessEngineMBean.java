@@ -14,6 +14,8 @@ package org.camunda.bpm.container.impl.jmx.services;
 
 import java.util.Set;
 
+import javax.management.openmbean.CompositeData;
+
 import org.camunda.bpm.engine.ProcessEngine;
 
 /**
@@ -40,4 +42,14 @@ public interface JmxManagedProcessEngineMBean {
   public void registerDeployment(String deploymentId);
   
   public void unregisterDeployment(String deploymentId);
+
+  /**
+   * @return the invocation count, error count and latency of each command executed
+   * by this {@link ProcessEngine}, one {@link CompositeData} of type
+   * {@link JmxManagedProcessEngine#COMMAND_METRICS_TYPE} per command. Empty unless
+   * <code>commandMetricsEnabled</code> is set in the engine configuration.
+   */
+  public CompositeData[] getCommandMetrics();
+
+  public void resetCommandMetrics();
 }
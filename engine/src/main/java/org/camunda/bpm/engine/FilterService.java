@@ -19,6 +19,7 @@ import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.filter.Filter;
 import org.camunda.bpm.engine.filter.FilterQuery;
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.task.TaskChanges;
 
 
 /**
@@ -147,6 +148,7 @@ public interface FilterService {
 
   /**
    * Executes the query of the filter and returns the result count.
+   * If the filter count cache is enabled, the count may be served from the cache.
    *
    * @param filterId the the id of the filter
    * @return the result count
@@ -164,4 +166,33 @@ public interface FilterService {
    */
   Long count(String filterId, Query<?, ?> extendingQuery);
 
+  /**
+   * Executes the query of the filter and returns the result count but counts at most
+   * <code>maxCount</code> results. If the query has more results, <code>maxCount</code>
+   * is returned, which can be displayed as an approximation like "1000+". This avoids a
+   * full count of very large results. If the filter count cache is enabled, the count may
+   * be served from the cache.
+   *
+   * @param filterId the the id of the filter
+   * @param maxCount the maximum count, must be greater than 0
+   * @return the result count or <code>maxCount</code> if there are more results
+   * @throws AuthorizationException if the user has no {@link Permissions#READ} permissions on {@link Resources#FILTER}.
+   */
+  Long countUpTo(String filterId, int maxCount);
+
+  /**
+   * Returns the tasks which were created, updated or deleted after the given sequence
+   * number restricted to the tasks which match the query of the filter. Tasks which do
+   * not match the filter anymore are returned as removed. Requires the task change log
+   * to be enabled in the process engine configuration.
+   *
+   * @param filterId the id of a task filter
+   * @param afterSequence the sequence number returned by the previous call or a
+   *   number lower than 0 to get the current sequence number only
+   * @param maxResults the maximum number of changes to read, between 1 and 1000
+   * @return the changed tasks
+   * @throws AuthorizationException if the user has no {@link Permissions#READ} permissions on {@link Resources#FILTER}.
+   */
+  TaskChanges getTaskChanges(String filterId, long afterSequence, int maxResults);
+
 }
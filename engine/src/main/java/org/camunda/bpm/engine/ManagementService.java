@@ -14,13 +14,17 @@ package org.camunda.bpm.engine;
 
 import java.sql.Connection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.application.ProcessApplicationRegistration;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.management.ActivityMetrics;
 import org.camunda.bpm.engine.management.ActivityStatisticsQuery;
+import org.camunda.bpm.engine.management.CommandMetrics;
 import org.camunda.bpm.engine.management.DeploymentStatisticsQuery;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.management.JobDefinitionQuery;
@@ -595,4 +599,44 @@ public interface ManagementService {
    */
   int getHistoryLevel();
 
+  /**
+   * Get the invocation count, error count and latency of each command class executed
+   * by the process engine since it was started or the metrics were last reset.
+   * The metrics are only recorded if the engine configuration property
+   * <code>commandMetricsEnabled</code> is set, which is disabled by default.
+   *
+   * @return the metrics of all executed commands ordered by command name
+   */
+  List<CommandMetrics> getCommandMetrics();
+
+  /**
+   * Discards the recorded metrics of all commands.
+   */
+  void resetCommandMetrics();
+
+  /**
+   * Get the number of starts and ends and the execution time of each activity of
+   * the given process definition, aggregated over all intervals reported to the database.
+   * The metrics are only collected if the engine configuration property
+   * <code>activityMetricsEnabled</code> is set. They are written to the database
+   * periodically, as configured by <code>activityMetricsReportInterval</code>,
+   * and when the process engine is closed.
+   *
+   * @param processDefinitionId the id of the process definition, cannot be null
+   * @return the metrics of all reported activities ordered by activity id
+   */
+  List<ActivityMetrics> getActivityMetrics(String processDefinitionId);
+
+  /**
+   * Invokes the given callable within a single command context. All process engine
+   * API calls made by the callable share one transaction: if the callable throws an
+   * exception or the transaction cannot be committed, none of their changes are persisted.
+   *
+   * @param callable the work to execute, cannot be null
+   * @return the result of the callable
+   * @throws ProcessEngineException wrapping a checked exception thrown by the callable.
+   *  Runtime exceptions are rethrown unchanged.
+   */
+  <T> T executeInTransaction(Callable<T> callable);
+
 }
@@ -24,11 +24,15 @@ import org.camunda.bpm.engine.runtime.EventSubscriptionQuery;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.ExecutionQuery;
 import org.camunda.bpm.engine.runtime.IncidentQuery;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchBuilder;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
 import org.camunda.bpm.engine.runtime.NativeExecutionQuery;
 import org.camunda.bpm.engine.runtime.NativeProcessInstanceQuery;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstanceBulkOperationBuilder;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+import org.camunda.bpm.engine.runtime.ProcessInstantiationBatchBuilder;
+import org.camunda.bpm.engine.runtime.SignalBroadcastProgress;
 import org.camunda.bpm.engine.runtime.VariableInstanceQuery;
 
 
@@ -244,6 +248,15 @@ public interface RuntimeService {
    */
   ProcessInstance startProcessInstanceById(String processDefinitionId, String businessKey, Map<String, Object> variables);
 
+  /**
+   * Starts a large number of process instances in chunks using a fluent builder.
+   * Each chunk is started in a single transaction and the outcome of each process
+   * instance is reported individually.
+   *
+   * @return the fluent builder for defining the batch of process instances.
+   */
+  ProcessInstantiationBatchBuilder createProcessInstantiationBatch();
+
   /**
    * Starts a new process instance in the exactly specified version of the process definition with the given id.
    *
@@ -374,6 +387,15 @@ public interface RuntimeService {
    */
   void deleteProcessInstance(String processInstanceId, String deleteReason, boolean skipCustomListeners);
 
+  /**
+   * Deletes, suspends or activates all process instances matching the given query
+   * in chunks using a fluent builder. Each chunk is processed in a single transaction.
+   *
+   * @param processInstanceQuery the query selecting the process instances, cannot be null.
+   * @return the fluent builder for the bulk operation.
+   */
+  ProcessInstanceBulkOperationBuilder createProcessInstanceBulkOperation(ProcessInstanceQuery processInstanceQuery);
+
   /** Finds the activity ids for all executions that are waiting in activities.
    * This is a list because a single activity can be active multiple times.
    * @param executionId id of the process instance or the execution, cannot be null.
@@ -843,6 +865,34 @@ public interface RuntimeService {
    */
   void signalEventReceived(String signalName, String executionId, Map<String, Object> processVariables);
 
+  /**
+   * Notifies the process engine that a signal event of name 'signalName' has
+   * been received. This method delivers the signal to all executions waiting on
+   * the signal when the method is invoked.<p/>
+   *
+   * <strong>NOTE:</strong> The waiting executions are notified asynchronously by the
+   * job executor, in chunks of
+   * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#getSignalBroadcastChunkSize() signalBroadcastChunkSize}
+   * executions per job and transaction.
+   *
+   * @param signalName
+   *          the name of the signal event
+   * @param processVariables
+   *          a map of variables added to the execution(s), may be <code>null</code>.
+   *          The values must be serializable.
+   * @return the id of the broadcast which can be passed to {@link #getSignalBroadcastProgress(String)}
+   */
+  String signalEventReceivedAsync(String signalName, Map<String, Object> processVariables);
+
+  /**
+   * Returns the progress of an asynchronous signal broadcast.
+   *
+   * @param broadcastId
+   *          the id returned by {@link #signalEventReceivedAsync(String, Map)}
+   * @return the progress or <code>null</code> if the broadcast has completed
+   */
+  SignalBroadcastProgress getSignalBroadcastProgress(String broadcastId);
+
   /**
    * Notifies the process engine that a message event with name 'messageName' has
    * been received and has been correlated to an execution with id 'executionId'.
@@ -891,6 +941,14 @@ public interface RuntimeService {
    */
   MessageCorrelationBuilder createMessageCorrelation(String messageName);
 
+  /**
+   * Correlate a large number of messages in chunks using a fluent builder. The outcome of
+   * each message is reported individually.
+   *
+   * @return the fluent builder for defining the batch of messages.
+   */
+  MessageCorrelationBatchBuilder createMessageCorrelationBatch();
+
   /**
    * Correlates a message to either an execution that is waiting for this message or a process definition
    * that can be started by this message.
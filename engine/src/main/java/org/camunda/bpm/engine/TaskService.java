@@ -27,6 +27,7 @@ import org.camunda.bpm.engine.task.IdentityLink;
 import org.camunda.bpm.engine.task.IdentityLinkType;
 import org.camunda.bpm.engine.task.NativeTaskQuery;
 import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.task.TaskChanges;
 import org.camunda.bpm.engine.task.TaskQuery;
 
 /** Service which provides access to {@link Task} and form related operations.
@@ -225,6 +226,18 @@ public interface TaskService {
    */
   List<IdentityLink> getIdentityLinksForTask(String taskId);
 
+  /**
+   * Retrieves the {@link IdentityLink}s associated with the given tasks in one query,
+   * e.g. to display the candidates of all tasks of a task list page. In contrast to
+   * {@link #getIdentityLinksForTask(String)} the assignee and owner of the tasks are not
+   * returned as identity links since they are already part of the tasks.
+   *
+   * @param taskIds the ids of the tasks, cannot be null
+   * @return the identity links of all given tasks, use {@link IdentityLink#getTaskId()} to
+   *   assign them to the tasks
+   */
+  List<IdentityLink> getIdentityLinksForTasks(List<String> taskIds);
+
   /**
    * Convenience shorthand for {@link #addUserIdentityLink(String, String, String)}; with type {@link IdentityLinkType#CANDIDATE}
    * @param taskId id of the task, cannot be null.
@@ -483,4 +496,16 @@ public interface TaskService {
 
   /** The list of subtasks for this parent task */
   List<Task> getSubTasks(String parentTaskId);
+
+  /**
+   * Returns the tasks which were created, updated or deleted after the given sequence
+   * number. Requires the task change log to be enabled in the process engine configuration.
+   *
+   * @param afterSequence the sequence number returned by the previous call or a
+   *   number lower than 0 to get the current sequence number only
+   * @param maxResults the maximum number of changes to read, between 1 and 1000
+   * @throws org.camunda.bpm.engine.exception.NotValidException if maxResults is out of range
+   * @see TaskChanges
+   */
+  TaskChanges getTaskChanges(long afterSequence, int maxResults);
 }
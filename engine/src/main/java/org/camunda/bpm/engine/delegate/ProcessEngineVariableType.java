@@ -142,6 +142,15 @@ import org.camunda.bpm.engine.impl.core.variable.DefaultProcessEngineVariableTyp
  *   The serialized value corresponds to the serialization formats it offers
  *   and that the format that is configured in the process engine.</td>
  *   </tr>
+ *
+ *   <tr>
+ *   <td>compact-binary</td>
+ *   <td>&lt;Custom Class&gt;</td>
+ *   <td>byte[]</td>
+ *   <td>No configuration</td>
+ *   <td>Applies a compact, schema-less binary encoding which is
+ *   optionally compressed above a configured size</td>
+ *   </tr>
  * </table>
  *
  * @author Thorben Lindhauer
@@ -260,6 +269,15 @@ public interface ProcessEngineVariableType {
    */
   public static final ProcessEngineVariableType SPIN = new DefaultProcessEngineVariableType("spin-serialization");
 
+  /**
+   * <ul>
+   * <li>Name "compact-binary"</li>
+   * <li>Value is of type byte[]</li>
+   * <li>No configuration</li>
+   * </ul>
+   */
+  public static final ProcessEngineVariableType COMPACT_BINARY = new DefaultProcessEngineVariableType("compact-binary");
+
 
   /**
    * The name of the Spin data format that can handle the serialized input; String.
@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.history;
 import java.util.Date;
 
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -105,4 +106,11 @@ public interface HistoricActivityInstanceQuery extends Query<HistoricActivityIns
   /** Order by processDefinitionId (needs to be followed by {@link #asc()} or {@link #desc()}). */
   HistoricActivityInstanceQuery orderByProcessDefinitionId();
 
+  /**
+   * Executes the query and passes the activity instances one by one to the given handler while
+   * they are read from the database. The activity instances are not collected in a list and not
+   * retained by the engine, which allows exporting all activity instances in constant memory.
+   */
+  void iterate(QueryResultHandler<HistoricActivityInstance> resultHandler);
+
 }
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
 
@@ -193,6 +194,34 @@ public interface HistoricProcessInstanceQuery extends Query<HistoricProcessInsta
    */
   HistoricProcessInstanceQuery subProcessInstanceId(String subProcessInstanceId);
 
+  /**
+   * Executes the query and returns at most <code>maxResults</code> historic process instances
+   * which follow the given instance in the ordering of the query. In contrast to {@link #listPage(int, int)},
+   * the database does not have to skip all preceding instances, so iterating over a large
+   * result set costs the same for every page.
+   *
+   * <p>Keyset pagination requires the query to be ordered by at most one of
+   * {@link #orderByProcessInstanceId()}, {@link #orderByProcessInstanceStartTime()} or
+   * {@link #orderByProcessDefinitionId()}. Instances with the same sort key are ordered by their id.</p>
+   *
+   * @param lastResult the last instance of the previous page or <code>null</code> to fetch the first page
+   * @throws NotValidException if the query is ordered differently
+   */
+  List<HistoricProcessInstance> listPageAfter(HistoricProcessInstance lastResult, int maxResults);
+
+  /**
+   * Executes the query and returns at most <code>maxResults</code> historic process instances which
+   * follow the given sort key and id in the ordering of the query (see {@link #listPageAfter(HistoricProcessInstance, int)}).
+   * In contrast to passing the last instance, the last instance of the previous page does not have to
+   * exist anymore, e.g. because it was deleted in the meantime.
+   *
+   * @param lastId the id of the last instance of the previous page or <code>null</code> to fetch the first page
+   * @param lastSortValue the start time ({@link java.util.Date}) or the process definition id ({@link String})
+   *  of the last instance, depending on the ordering of the query; ignored if the query is ordered by id
+   * @throws NotValidException if the query is ordered differently or the sort value is missing
+   */
+  List<HistoricProcessInstance> listPageAfter(String lastId, Object lastSortValue, int maxResults);
+
   // below is deprecated and should be removed in 5.12
 
   /** Only select historic process instances that were started as of the provided
@@ -14,6 +14,7 @@
 package org.camunda.bpm.engine.history;
 
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -71,4 +72,11 @@ public interface HistoricVariableInstanceQuery extends Query<HistoricVariableIns
    */
   HistoricVariableInstanceQuery disableCustomObjectDeserialization();
 
+  /**
+   * Executes the query and passes the variable instances one by one to the given handler while
+   * they are read from the database. The variable instances are not collected in a list and not
+   * retained by the engine, which allows exporting all variable instances in constant memory.
+   */
+  void iterate(QueryResultHandler<HistoricVariableInstance> resultHandler);
+
 }
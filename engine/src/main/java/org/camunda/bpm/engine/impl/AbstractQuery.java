@@ -31,6 +31,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.query.QueryProperty;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.joda.time.DateTime;
 
 
@@ -46,17 +47,28 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
   public static final String SORTORDER_ASC = "asc";
   public static final String SORTORDER_DESC = "desc";
 
+  /** the column used to break ties between results with the same sort key in keyset pagination */
+  public static final String KEYSET_ID_COLUMN = "RES.ID_";
+
   private static enum ResultType {
-    LIST, LIST_PAGE, SINGLE_RESULT, COUNT
+    LIST, LIST_PAGE, SINGLE_RESULT, COUNT, ITERATE
   }
   protected transient CommandExecutor commandExecutor;
   protected transient CommandContext commandContext;
   protected String orderBy;
   protected ResultType resultType;
   protected QueryProperty orderProperty;
+  protected transient QueryResultHandler<U> resultHandler;
 
   protected Map<String, String> expressions = new HashMap<String, String>();
 
+  // keyset pagination: the page continues after the result with the given sort key and id
+  protected String keysetColumn;
+  protected String keysetOperator;
+  protected Object keysetValue;
+  protected String keysetId;
+  protected String keysetOrderBy;
+
   protected AbstractQuery() {
   }
 
@@ -130,6 +142,198 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return evaluateExpressionsAndExecuteList(Context.getCommandContext(), new Page(firstResult, maxResults));
   }
 
+  /**
+   * Executes the query as a keyset (seek) page: returns at most <code>maxResults</code> results
+   * following the given result in the ordering of the query. Instead of skipping all preceding rows,
+   * the database continues directly after the sort key and the id of the last result, so that
+   * deep pages are as cheap as the first one.
+   *
+   * @param lastResult the last result of the previous page or null to fetch the first page
+   * @throws NotValidException if the query is ordered by more than one property or by a property
+   *  which is not supported by keyset pagination
+   */
+  protected List<U> executeKeysetPage(U lastResult, int maxResults) {
+    checkQueryOk();
+    configureKeyset(lastResult);
+    return executeKeysetPage(maxResults);
+  }
+
+  /**
+   * Executes the query as a keyset (seek) page like {@link #executeKeysetPage(Object, int)}, but
+   * continues after the given sort key and id instead of a result. The last result of the previous
+   * page does not have to exist anymore.
+   *
+   * @param lastId the id of the last result of the previous page or null to fetch the first page
+   * @param lastSortValue the value of the sort property of the last result, ignored if the query is
+   *  ordered by id
+   * @throws NotValidException if the query is ordered by more than one property or by a property
+   *  which is not supported by keyset pagination, or if the sort value is missing
+   */
+  protected List<U> executeKeysetPage(String lastId, Object lastSortValue, int maxResults) {
+    checkQueryOk();
+    configureKeyset(lastId, lastSortValue);
+    return executeKeysetPage(maxResults);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<U> executeKeysetPage(int maxResults) {
+    this.firstResult = 0;
+    this.maxResults = maxResults;
+    this.resultType = ResultType.LIST_PAGE;
+    try {
+      if (commandExecutor!=null) {
+        return (List<U>) commandExecutor.execute(this);
+      }
+      return evaluateExpressionsAndExecuteList(Context.getCommandContext(), new Page(firstResult, maxResults));
+
+    } finally {
+      // the query may be reused for a count or a regular list
+      resetKeyset();
+    }
+  }
+
+  protected void resetKeyset() {
+    keysetColumn = null;
+    keysetOperator = null;
+    keysetValue = null;
+    keysetId = null;
+    keysetOrderBy = null;
+  }
+
+  /**
+   * @return true if the query is ordered by a single property which is supported by keyset pagination
+   */
+  protected boolean isKeysetOrdered() {
+    String ordering = getOrderBy();
+    if (ordering.indexOf(',') != -1) {
+      return false;
+    }
+    String column = ordering.trim().split("\\s+")[0];
+    return isKeysetIdColumn(column) || isKeysetColumn(column);
+  }
+
+  protected void configureKeyset(U lastResult) {
+    String column = configureKeysetOrdering();
+    if (lastResult != null) {
+      boolean isIdColumn = isKeysetIdColumn(column);
+      configureKeysetPosition(column, getKeysetId(lastResult), isIdColumn ? null : getKeysetValue(lastResult, column));
+    }
+  }
+
+  protected void configureKeyset(String lastId, Object lastSortValue) {
+    String column = configureKeysetOrdering();
+    if (lastId != null) {
+      configureKeysetPosition(column, lastId, lastSortValue);
+    }
+  }
+
+  /**
+   * Derives the keyset ordering from the ordering of the query.
+   *
+   * @return the column of the sort key
+   */
+  protected String configureKeysetOrdering() {
+    String ordering = getOrderBy();
+    if (ordering.indexOf(',') != -1) {
+      throw new NotValidException("Keyset pagination requires the query to be ordered by at most one property but it is ordered by '" + ordering + "'");
+    }
+
+    String[] columnAndDirection = ordering.trim().split("\\s+");
+    String column = columnAndDirection[0];
+    String direction = columnAndDirection.length > 1 ? columnAndDirection[1] : SORTORDER_ASC;
+    boolean isIdColumn = isKeysetIdColumn(column);
+
+    if (!isIdColumn && !isKeysetColumn(column)) {
+      throw new NotValidException("Keyset pagination is not supported when ordering by '" + column + "'");
+    }
+
+    keysetOperator = SORTORDER_DESC.equalsIgnoreCase(direction) ? "<" : ">";
+    if (isIdColumn) {
+      keysetOrderBy = column + " " + direction;
+    } else {
+      keysetOrderBy = column + " " + direction + ", " + KEYSET_ID_COLUMN + " " + direction;
+    }
+    return column;
+  }
+
+  protected void configureKeysetPosition(String column, String lastId, Object lastSortValue) {
+    keysetId = lastId;
+    ensureNotNull(NotValidException.class, "Last result has no id", "id", keysetId);
+
+    if (!isKeysetIdColumn(column)) {
+      keysetValue = lastSortValue;
+      ensureNotNull(NotValidException.class, "Last result has no value for sort key '" + column + "'", "value", keysetValue);
+      keysetColumn = column.startsWith("RES.") ? column.substring(4) : column;
+    }
+  }
+
+  /**
+   * @return true if the given order column holds the id of the results
+   */
+  protected boolean isKeysetIdColumn(String column) {
+    return KEYSET_ID_COLUMN.equals(column);
+  }
+
+  /**
+   * @return true if the given order column can be used as sort key in keyset pagination.
+   * The column must not be nullable.
+   */
+  protected boolean isKeysetColumn(String column) {
+    return false;
+  }
+
+  protected String getKeysetId(U result) {
+    throw new ProcessEngineException("Keyset pagination is not supported by query type '" + getClass().getCanonicalName() + "'");
+  }
+
+  protected Object getKeysetValue(U result, String column) {
+    throw new ProcessEngineException("Keyset pagination is not supported by query type '" + getClass().getCanonicalName() + "'");
+  }
+
+  public String getKeysetColumn() {
+    return keysetColumn;
+  }
+
+  public String getKeysetOperator() {
+    return keysetOperator;
+  }
+
+  public Object getKeysetValue() {
+    return keysetValue;
+  }
+
+  public String getKeysetId() {
+    return keysetId;
+  }
+
+  /**
+   * Executes the query and passes the results one by one to the given handler while they are
+   * read from the database instead of collecting them in a list. The results are not added to the
+   * entity cache of the command, so that large result sets are processed in constant memory. They
+   * must be treated as read-only: changes to them are not flushed.
+   *
+   * @throws ProcessEngineException if the query type does not support streaming
+   */
+  public void iterate(QueryResultHandler<U> resultHandler) {
+    ensureNotNull("resultHandler", resultHandler);
+    checkQueryOk();
+
+    this.firstResult = 0;
+    this.maxResults = Integer.MAX_VALUE;
+    this.resultType = ResultType.ITERATE;
+    this.resultHandler = resultHandler;
+    try {
+      if (commandExecutor!=null) {
+        commandExecutor.execute(this);
+      } else {
+        evaluateExpressionsAndExecuteIterate(Context.getCommandContext(), resultHandler);
+      }
+
+    } finally {
+      this.resultHandler = null;
+    }
+  }
+
   public long count() {
     this.resultType = ResultType.COUNT;
     if (commandExecutor!=null) {
@@ -145,6 +349,9 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
       return executeSingleResult(commandContext);
     } else if (resultType==ResultType.LIST_PAGE) {
       return evaluateExpressionsAndExecuteList(commandContext, null);
+    } else if (resultType==ResultType.ITERATE) {
+      evaluateExpressionsAndExecuteIterate(commandContext, resultHandler);
+      return null;
     } else {
       return evaluateExpressionsAndExecuteCount(commandContext);
     }
@@ -157,6 +364,27 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
 
   public abstract long executeCount(CommandContext commandContext);
 
+  public long evaluateExpressionsAndExecuteCountUpTo(CommandContext commandContext, int maxCount) {
+    evaluateExpressions();
+    this.firstResult = 0;
+    this.maxResults = maxCount;
+    try {
+      return executeCountUpTo(commandContext, maxCount);
+
+    } finally {
+      this.maxResults = Integer.MAX_VALUE;
+    }
+  }
+
+  /**
+   * Counts the results up to the given maximum count, so that the database can stop
+   * after <code>maxCount</code> results. Query types override this method with a count
+   * on the database; by default the first <code>maxCount</code> results are selected.
+   */
+  protected long executeCountUpTo(CommandContext commandContext, int maxCount) {
+    return executeList(commandContext, new Page(0, maxCount)).size();
+  }
+
   public List<U> evaluateExpressionsAndExecuteList(CommandContext commandContext, Page page) {
     evaluateExpressions();
     return executeList(commandContext, page);
@@ -168,6 +396,135 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
    */
   public abstract List<U> executeList(CommandContext commandContext, Page page);
 
+  public void evaluateExpressionsAndExecuteIterate(CommandContext commandContext, QueryResultHandler<U> resultHandler) {
+    evaluateExpressions();
+    executeIterate(commandContext, resultHandler);
+  }
+
+  /**
+   * Executes the actual query and passes the results to the given handler while they are read.
+   * Query types which support streaming override this method.
+   */
+  protected void executeIterate(CommandContext commandContext, QueryResultHandler<U> resultHandler) {
+    throw new ProcessEngineException("Streaming results is not supported by query type '" + getClass().getCanonicalName() + "'");
+  }
+
+  /**
+   * Streams the results in batches of {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#getStreamingQueryBatchSize()}
+   * results for query types whose results must be initialized with further selects (e.g. to load a
+   * byte array). Each batch is read completely and its result set is closed before the batch is
+   * {@link #handleBatch(CommandContext, List, QueryResultHandler) handled}, since some drivers do not
+   * allow other statements while a result set is streamed (e.g. MySQL with a fetch size of
+   * {@link Integer#MIN_VALUE}). Each batch continues after the sort key and the id of the last result
+   * of the previous batch (see {@link #executeKeysetPage(Object, int)}), so that reading all results
+   * does not skip over the preceding rows again for every batch.
+   */
+  protected void executeIterateInBatches(CommandContext commandContext, QueryResultHandler<U> resultHandler) {
+    if (!isKeysetOrdered()) {
+      executeIterateInOffsetBatches(commandContext, resultHandler);
+      return;
+    }
+
+    int batchSize = Context.getProcessEngineConfiguration().getStreamingQueryBatchSize();
+    try {
+      U lastResult = null;
+      List<U> batch;
+      do {
+        configureKeyset(lastResult);
+        firstResult = 0;
+        maxResults = batchSize;
+
+        batch = new ArrayList<U>();
+        executeIterateBatch(commandContext, new CollectingResultHandler<U>(batch));
+
+        if (!handleBatch(commandContext, batch, resultHandler)) {
+          return;
+        }
+        if (!batch.isEmpty()) {
+          lastResult = batch.get(batch.size() - 1);
+        }
+      } while (batch.size() == batchSize);
+
+    } finally {
+      resetKeyset();
+      firstResult = 0;
+      maxResults = Integer.MAX_VALUE;
+    }
+  }
+
+  /**
+   * Reads the batches with offsets, ordered by the id of the results in addition to the ordering
+   * of the query. Only used if the query is ordered by several properties or by a property which
+   * is not supported by keyset pagination.
+   */
+  protected void executeIterateInOffsetBatches(CommandContext commandContext, QueryResultHandler<U> resultHandler) {
+    int batchSize = Context.getProcessEngineConfiguration().getStreamingQueryBatchSize();
+    String queryOrderBy = orderBy;
+    if (!getOrderBy().contains(KEYSET_ID_COLUMN)) {
+      orderBy = getOrderBy() + ", " + KEYSET_ID_COLUMN + " " + SORTORDER_ASC;
+    }
+
+    try {
+      int batchFirstResult = 0;
+      List<U> batch;
+      do {
+        firstResult = batchFirstResult;
+        maxResults = batchSize;
+
+        batch = new ArrayList<U>();
+        executeIterateBatch(commandContext, new CollectingResultHandler<U>(batch));
+
+        if (!handleBatch(commandContext, batch, resultHandler)) {
+          return;
+        }
+        batchFirstResult += batchSize;
+      } while (batch.size() == batchSize);
+
+    } finally {
+      orderBy = queryOrderBy;
+      firstResult = 0;
+      maxResults = Integer.MAX_VALUE;
+    }
+  }
+
+  /**
+   * Streams the results of the current batch (see {@link #executeIterateInBatches(CommandContext, QueryResultHandler)})
+   * to the given handler. Must not execute any further select.
+   */
+  protected void executeIterateBatch(CommandContext commandContext, QueryResultHandler<U> resultHandler) {
+    throw new ProcessEngineException("Streaming results in batches is not supported by query type '" + getClass().getCanonicalName() + "'");
+  }
+
+  /**
+   * Passes the results of a completely read batch to the handler. Query types override this
+   * method to initialize the results before.
+   *
+   * @return false if the handler stopped the iteration
+   */
+  protected boolean handleBatch(CommandContext commandContext, List<U> batch, QueryResultHandler<U> resultHandler) {
+    for (U result : batch) {
+      if (!resultHandler.handleResult(result)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected static class CollectingResultHandler<U> implements QueryResultHandler<U> {
+
+    protected List<U> results;
+
+    public CollectingResultHandler(List<U> results) {
+      this.results = results;
+    }
+
+    public boolean handleResult(U result) {
+      results.add(result);
+      return true;
+    }
+
+  }
+
   public U executeSingleResult(CommandContext commandContext) {
     List<U> results = evaluateExpressionsAndExecuteList(commandContext, null);
     if (results.size() == 1) {
@@ -188,7 +545,9 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
   }
 
   public String getOrderBy() {
-    if(orderBy == null) {
+    if(keysetOrderBy != null) {
+      return keysetOrderBy;
+    } else if(orderBy == null) {
       return super.getOrderBy();
     } else {
       return orderBy;
@@ -12,12 +12,15 @@
  */
 package org.camunda.bpm.engine.impl;
 
+import java.lang.reflect.InvocationTargetException;
+
 import org.camunda.bpm.engine.ArtifactFactory;
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.util.ReflectionCache;
 
 /**
  * Default ArtifactService implementation.
- * This version uses Class.newInstance() to create
+ * This version uses the no-argument constructor to create
  * new Artifacts.
  * This is the default behaviour like has been in old
  * camunda/activity versions.
@@ -29,7 +32,9 @@ public class DefaultArtifactFactory implements ArtifactFactory {
   @Override
   public <T> T getArtifact(Class<T> clazz) {
     try {
-      return clazz.newInstance();
+      return ReflectionCache.getConstructor(clazz).newInstance();
+    } catch (InvocationTargetException e) {
+      throw new ProcessEngineException("couldn't instantiate class " + clazz.getName(), e.getCause());
     } catch (Exception e) {
       throw new ProcessEngineException("couldn't instantiate class " + clazz.getName(), e);
     }
@@ -25,9 +25,11 @@ import org.camunda.bpm.engine.impl.cmd.ExecuteFilterListCmd;
 import org.camunda.bpm.engine.impl.cmd.ExecuteFilterListPageCmd;
 import org.camunda.bpm.engine.impl.cmd.ExecuteFilterSingleResultCmd;
 import org.camunda.bpm.engine.impl.cmd.GetFilterCmd;
+import org.camunda.bpm.engine.impl.cmd.GetTaskChangesCmd;
 import org.camunda.bpm.engine.impl.cmd.SaveFilterCmd;
 import org.camunda.bpm.engine.impl.filter.FilterQueryImpl;
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.task.TaskChanges;
 
 
 /**
@@ -101,4 +103,12 @@ public class FilterServiceImpl extends ServiceImpl implements FilterService {
     return commandExecutor.execute(new ExecuteFilterCountCmd(filterId, extendingQuery));
   }
 
+  public Long countUpTo(String filterId, int maxCount) {
+    return commandExecutor.execute(new ExecuteFilterCountCmd(filterId, maxCount));
+  }
+
+  public TaskChanges getTaskChanges(String filterId, long afterSequence, int maxResults) {
+    return commandExecutor.execute(new GetTaskChangesCmd(filterId, afterSequence, maxResults));
+  }
+
 }
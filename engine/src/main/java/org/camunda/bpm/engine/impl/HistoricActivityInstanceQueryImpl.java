@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.pvm.runtime.ActivityInstanceState;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 
 /**
@@ -74,6 +75,13 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
       .findHistoricActivityInstancesByQueryCriteria(this, page);
   }
 
+  protected void executeIterate(CommandContext commandContext, QueryResultHandler<HistoricActivityInstance> resultHandler) {
+    checkQueryOk();
+    commandContext
+      .getHistoricActivityInstanceManager()
+      .iterateHistoricActivityInstancesByQueryCriteria(this, resultHandler);
+  }
+
   public HistoricActivityInstanceQueryImpl processInstanceId(String processInstanceId) {
     this.processInstanceId = processInstanceId;
     return this;
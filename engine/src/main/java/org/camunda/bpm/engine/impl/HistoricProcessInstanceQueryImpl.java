@@ -188,6 +188,36 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return orderBy(HistoricProcessInstanceQueryProperty.PROCESS_INSTANCE_ID_);
   }
 
+  public List<HistoricProcessInstance> listPageAfter(HistoricProcessInstance lastResult, int maxResults) {
+    return executeKeysetPage(lastResult, maxResults);
+  }
+
+  public List<HistoricProcessInstance> listPageAfter(String lastId, Object lastSortValue, int maxResults) {
+    return executeKeysetPage(lastId, lastSortValue, maxResults);
+  }
+
+  protected boolean isKeysetIdColumn(String column) {
+    return super.isKeysetIdColumn(column)
+        || HistoricProcessInstanceQueryProperty.PROCESS_INSTANCE_ID_.getName().equals(column);
+  }
+
+  protected boolean isKeysetColumn(String column) {
+    return HistoricProcessInstanceQueryProperty.START_TIME.getName().equals(column)
+        || HistoricProcessInstanceQueryProperty.PROCESS_DEFINITION_ID.getName().equals(column);
+  }
+
+  protected String getKeysetId(HistoricProcessInstance historicProcessInstance) {
+    return historicProcessInstance.getId();
+  }
+
+  protected Object getKeysetValue(HistoricProcessInstance historicProcessInstance, String column) {
+    if (HistoricProcessInstanceQueryProperty.START_TIME.getName().equals(column)) {
+      return historicProcessInstance.getStartTime();
+    } else {
+      return historicProcessInstance.getProcessDefinitionId();
+    }
+  }
+
   public long executeCount(CommandContext commandContext) {
     checkQueryOk();
     ensureVariablesInitialized();
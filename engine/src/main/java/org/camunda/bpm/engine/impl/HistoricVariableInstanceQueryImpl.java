@@ -13,6 +13,7 @@
 
 package org.camunda.bpm.engine.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -21,10 +22,13 @@ import org.camunda.bpm.engine.delegate.ProcessEngineVariableType;
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstanceQuery;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
 import org.camunda.bpm.engine.impl.variable.VariableTypes;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
@@ -142,26 +146,79 @@ public class HistoricVariableInstanceQueryImpl extends AbstractQuery<HistoricVar
 
     if (historicVariableInstances!=null) {
       for (HistoricVariableInstance historicVariableInstance: historicVariableInstances) {
+        fetchValue((HistoricVariableInstanceEntity) historicVariableInstance);
+      }
+    }
+    return historicVariableInstances;
+  }
+
+  protected void executeIterate(CommandContext commandContext, QueryResultHandler<HistoricVariableInstance> resultHandler) {
+    checkQueryOk();
+    ensureVariablesInitialized();
+    // fetching the values may select byte arrays
+    executeIterateInBatches(commandContext, resultHandler);
+  }
+
+  protected boolean isKeysetColumn(String column) {
+    return HistoricVariableInstanceQueryProperty.VARIABLE_NAME.getName().equals(column);
+  }
+
+  protected String getKeysetId(HistoricVariableInstance historicVariableInstance) {
+    return historicVariableInstance.getId();
+  }
+
+  protected Object getKeysetValue(HistoricVariableInstance historicVariableInstance, String column) {
+    return historicVariableInstance.getName();
+  }
 
-        HistoricVariableInstanceEntity variableInstanceEntity = (HistoricVariableInstanceEntity) historicVariableInstance;
+  protected void executeIterateBatch(CommandContext commandContext, QueryResultHandler<HistoricVariableInstance> resultHandler) {
+    commandContext
+      .getHistoricVariableInstanceManager()
+      .iterateHistoricVariableInstancesByQueryCriteria(this, resultHandler);
+  }
 
-        if (shouldFetchSerializedValueFor(variableInstanceEntity)) {
-          try {
-            variableInstanceEntity.getSerializedValue();
+  protected boolean handleBatch(CommandContext commandContext, List<HistoricVariableInstance> batch, QueryResultHandler<HistoricVariableInstance> resultHandler) {
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+    List<String> loadedByteArrayIds = new ArrayList<String>();
 
-            if (shouldFetchValueFor(variableInstanceEntity)) {
-              variableInstanceEntity.getValue();
-            }
+    for (HistoricVariableInstance historicVariableInstance : batch) {
+      HistoricVariableInstanceEntity variableInstanceEntity = (HistoricVariableInstanceEntity) historicVariableInstance;
 
-          } catch(Exception t) {
-            // do not fail if one of the variables fails to load
-            LOGGER.log(Level.FINE, "Exception while getting value for variable", t);
-          }
+      String byteArrayId = variableInstanceEntity.getByteArrayId();
+      if (byteArrayId != null && dbEntityManager.getCachedEntity(ByteArrayEntity.class, byteArrayId) == null) {
+        loadedByteArrayIds.add(byteArrayId);
+      }
+      fetchValue(variableInstanceEntity);
+    }
+
+    try {
+      return super.handleBatch(commandContext, batch, resultHandler);
+
+    } finally {
+      // the byte arrays were only loaded for this batch, do not keep them in the entity cache
+      for (String byteArrayId : loadedByteArrayIds) {
+        ByteArrayEntity byteArray = dbEntityManager.getCachedEntity(ByteArrayEntity.class, byteArrayId);
+        if (byteArray != null) {
+          dbEntityManager.getDbEntityCache().remove(byteArray);
         }
+      }
+    }
+  }
+
+  protected void fetchValue(HistoricVariableInstanceEntity variableInstanceEntity) {
+    if (shouldFetchSerializedValueFor(variableInstanceEntity)) {
+      try {
+        variableInstanceEntity.getSerializedValue();
 
+        if (shouldFetchValueFor(variableInstanceEntity)) {
+          variableInstanceEntity.getValue();
+        }
+
+      } catch(Exception t) {
+        // do not fail if one of the variables fails to load
+        LOGGER.log(Level.FINE, "Exception while getting value for variable", t);
       }
     }
-    return historicVariableInstances;
   }
 
   /**
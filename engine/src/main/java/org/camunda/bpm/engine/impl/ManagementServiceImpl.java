@@ -15,8 +15,10 @@ package org.camunda.bpm.engine.impl;
 import java.sql.Connection;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.application.ProcessApplicationRegistration;
@@ -274,4 +276,20 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
     return commandExecutor.execute(new GetHistoryLevelCmd());
   }
 
+  public List<CommandMetrics> getCommandMetrics() {
+    return commandExecutor.execute(new GetCommandMetricsCmd());
+  }
+
+  public void resetCommandMetrics() {
+    commandExecutor.execute(new ResetCommandMetricsCmd());
+  }
+
+  public List<ActivityMetrics> getActivityMetrics(String processDefinitionId) {
+    return commandExecutor.execute(new GetActivityMetricsCmd(processDefinitionId));
+  }
+
+  public <T> T executeInTransaction(Callable<T> callable) {
+    return commandExecutor.execute(new ExecuteInTransactionCmd<T>(callable));
+  }
+
 }
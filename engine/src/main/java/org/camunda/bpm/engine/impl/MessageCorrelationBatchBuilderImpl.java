@@ -0,0 +1,110 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cmd.CorrelateMessageBatchCmd;
+import org.camunda.bpm.engine.impl.cmd.CorrelateMessageCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationOutcomeImpl;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationOutcome;
+
+public class MessageCorrelationBatchBuilderImpl implements MessageCorrelationBatchBuilder {
+
+  private final static Logger LOGGER = Logger.getLogger(MessageCorrelationBatchBuilderImpl.class.getName());
+
+  public static final int DEFAULT_CHUNK_SIZE = 100;
+
+  protected CommandExecutor commandExecutor;
+
+  protected List<CorrelateMessageCmd> messages = new ArrayList<CorrelateMessageCmd>();
+  protected int chunkSize = DEFAULT_CHUNK_SIZE;
+
+  public MessageCorrelationBatchBuilderImpl(CommandExecutor commandExecutor) {
+    ensureNotNull("commandExecutor", commandExecutor);
+    this.commandExecutor = commandExecutor;
+  }
+
+  public MessageCorrelationBatchBuilder message(String messageName, String businessKey,
+      Map<String, Object> correlationKeys, Map<String, Object> processVariables) {
+    ensureNotNull("messageName", messageName);
+    messages.add(new CorrelateMessageCmd(messageName, businessKey, correlationKeys, processVariables));
+    return this;
+  }
+
+  public MessageCorrelationBatchBuilder chunkSize(int chunkSize) {
+    if (chunkSize < 1) {
+      throw new ProcessEngineException("chunkSize must be positive, but was " + chunkSize);
+    }
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  public List<MessageCorrelationOutcome> correlate() {
+    List<MessageCorrelationOutcome> outcomes = new ArrayList<MessageCorrelationOutcome>(messages.size());
+
+    int index = 0;
+    while (index < messages.size()) {
+      List<CorrelateMessageCmd> chunk = new ArrayList<CorrelateMessageCmd>(messages.subList(index, Math.min(index + chunkSize, messages.size())));
+
+      List<MessageCorrelationOutcome> chunkOutcomes;
+      try {
+        chunkOutcomes = commandExecutor.execute(new CorrelateMessageBatchCmd(chunk));
+      } catch (RuntimeException e) {
+        LOGGER.log(Level.FINE, "Correlation of message chunk failed, correlating its messages one by one", e);
+        chunkOutcomes = correlateIndividually(chunk);
+      }
+
+      outcomes.addAll(chunkOutcomes);
+      index += chunkOutcomes.size();
+    }
+
+    return outcomes;
+  }
+
+  /**
+   * Correlates each message in its own transaction to isolate the ones which fail.
+   */
+  protected List<MessageCorrelationOutcome> correlateIndividually(List<CorrelateMessageCmd> chunk) {
+    List<MessageCorrelationOutcome> outcomes = new ArrayList<MessageCorrelationOutcome>(chunk.size());
+    for (CorrelateMessageCmd message : chunk) {
+      try {
+        outcomes.addAll(commandExecutor.execute(new CorrelateMessageBatchCmd(Collections.singletonList(message))));
+      } catch (RuntimeException e) {
+        outcomes.add(MessageCorrelationOutcomeImpl.failed(message, e.getMessage()));
+      }
+    }
+    return outcomes;
+  }
+
+  // getters //////////////////////////////////
+
+  public List<CorrelateMessageCmd> getMessages() {
+    return messages;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+}
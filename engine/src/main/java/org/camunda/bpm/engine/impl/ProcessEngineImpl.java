@@ -87,6 +87,10 @@ public class ProcessEngineImpl implements ProcessEngine {
       // register process engine with Job Executor
       jobExecutor.registerProcessEngine(this);
     }
+
+    if (processEngineConfiguration.getActivityMetricsReporter() != null) {
+      processEngineConfiguration.getActivityMetricsReporter().start();
+    }
   }
 
   protected void executeSchemaOperations() {
@@ -102,6 +106,10 @@ public class ProcessEngineImpl implements ProcessEngine {
       jobExecutor.unregisterProcessEngine(this);
     }
 
+    if (processEngineConfiguration.getActivityMetricsReporter() != null) {
+      processEngineConfiguration.getActivityMetricsReporter().stop();
+    }
+
     commandExecutorSchemaOperations.execute(new SchemaOperationProcessEngineClose());
   }
 
@@ -0,0 +1,112 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cmd.DeleteProcessInstancesBulkCmd;
+import org.camunda.bpm.engine.impl.cmd.SetProcessInstancesSuspensionStateBulkCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
+import org.camunda.bpm.engine.runtime.ProcessInstanceBulkOperationBuilder;
+import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+
+public class ProcessInstanceBulkOperationBuilderImpl implements ProcessInstanceBulkOperationBuilder {
+
+  public static final int DEFAULT_CHUNK_SIZE = 100;
+
+  /** The process instance ids of a chunk are passed as IN list, which is limited to 1000 elements by some databases. */
+  public static final int MAX_CHUNK_SIZE = 1000;
+
+  protected CommandExecutor commandExecutor;
+
+  protected ProcessInstanceQueryImpl processInstanceQuery;
+  protected int chunkSize = DEFAULT_CHUNK_SIZE;
+  protected boolean skipCustomListeners;
+  protected boolean skipHistory;
+
+  public ProcessInstanceBulkOperationBuilderImpl(CommandExecutor commandExecutor, ProcessInstanceQuery processInstanceQuery) {
+    ensureNotNull("commandExecutor", commandExecutor);
+    ensureNotNull("processInstanceQuery", processInstanceQuery);
+    this.commandExecutor = commandExecutor;
+    this.processInstanceQuery = (ProcessInstanceQueryImpl) processInstanceQuery;
+  }
+
+  public ProcessInstanceBulkOperationBuilder chunkSize(int chunkSize) {
+    if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+      throw new ProcessEngineException("chunkSize must be between 1 and " + MAX_CHUNK_SIZE + ", but was " + chunkSize);
+    }
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  public ProcessInstanceBulkOperationBuilder skipCustomListeners() {
+    this.skipCustomListeners = true;
+    return this;
+  }
+
+  public ProcessInstanceBulkOperationBuilder skipHistory() {
+    this.skipHistory = true;
+    return this;
+  }
+
+  public int delete(String deleteReason) {
+    if (skipHistory && !skipCustomListeners) {
+      // deleting one by one notifies the history listeners
+      throw new ProcessEngineException("skipHistory() can only be used together with skipCustomListeners()");
+    }
+    return executeInChunks(new DeleteProcessInstancesBulkCmd(processInstanceQuery, chunkSize, deleteReason, skipCustomListeners, skipHistory));
+  }
+
+  public int suspend() {
+    return executeInChunks(new SetProcessInstancesSuspensionStateBulkCmd(processInstanceQuery, chunkSize, SuspensionState.SUSPENDED));
+  }
+
+  public int activate() {
+    return executeInChunks(new SetProcessInstancesSuspensionStateBulkCmd(processInstanceQuery, chunkSize, SuspensionState.ACTIVE));
+  }
+
+  /**
+   * Executes the chunk command in separate transactions until a chunk is not full anymore.
+   */
+  protected int executeInChunks(Command<Integer> chunkCommand) {
+    int processed = 0;
+    int chunkProcessed;
+    do {
+      chunkProcessed = commandExecutor.execute(chunkCommand);
+      processed += chunkProcessed;
+    } while (chunkProcessed == chunkSize);
+    return processed;
+  }
+
+  // getters //////////////////////////////////
+
+  public ProcessInstanceQueryImpl getProcessInstanceQuery() {
+    return processInstanceQuery;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public boolean isSkipCustomListeners() {
+    return skipCustomListeners;
+  }
+
+  public boolean isSkipHistory() {
+    return skipHistory;
+  }
+
+}
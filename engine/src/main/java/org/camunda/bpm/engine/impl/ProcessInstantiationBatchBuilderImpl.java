@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceBatchCmd;
+import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.runtime.ProcessInstantiationOutcomeImpl;
+import org.camunda.bpm.engine.runtime.ProcessInstantiationBatchBuilder;
+import org.camunda.bpm.engine.runtime.ProcessInstantiationOutcome;
+
+public class ProcessInstantiationBatchBuilderImpl implements ProcessInstantiationBatchBuilder {
+
+  private final static Logger LOGGER = Logger.getLogger(ProcessInstantiationBatchBuilderImpl.class.getName());
+
+  public static final int DEFAULT_CHUNK_SIZE = 100;
+
+  protected CommandExecutor commandExecutor;
+
+  protected List<StartProcessInstanceCmd> requests = new ArrayList<StartProcessInstanceCmd>();
+  protected int chunkSize = DEFAULT_CHUNK_SIZE;
+
+  public ProcessInstantiationBatchBuilderImpl(CommandExecutor commandExecutor) {
+    ensureNotNull("commandExecutor", commandExecutor);
+    this.commandExecutor = commandExecutor;
+  }
+
+  public ProcessInstantiationBatchBuilder processInstance(String processDefinitionKey, String businessKey, Map<String, Object> variables) {
+    ensureNotNull("processDefinitionKey", processDefinitionKey);
+    requests.add(new StartProcessInstanceCmd(processDefinitionKey, null, businessKey, null, variables));
+    return this;
+  }
+
+  public ProcessInstantiationBatchBuilder chunkSize(int chunkSize) {
+    if (chunkSize < 1) {
+      throw new ProcessEngineException("chunkSize must be positive, but was " + chunkSize);
+    }
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  public List<ProcessInstantiationOutcome> start() {
+    List<ProcessInstantiationOutcome> outcomes = new ArrayList<ProcessInstantiationOutcome>(requests.size());
+
+    for (int index = 0; index < requests.size(); index += chunkSize) {
+      List<StartProcessInstanceCmd> chunk = new ArrayList<StartProcessInstanceCmd>(requests.subList(index, Math.min(index + chunkSize, requests.size())));
+
+      try {
+        outcomes.addAll(commandExecutor.execute(new StartProcessInstanceBatchCmd(chunk)));
+      } catch (RuntimeException e) {
+        LOGGER.log(Level.FINE, "Starting chunk of process instances failed, starting them one by one", e);
+        outcomes.addAll(startIndividually(chunk));
+      }
+    }
+
+    return outcomes;
+  }
+
+  /**
+   * Starts each process instance in its own transaction to isolate the ones which fail.
+   */
+  protected List<ProcessInstantiationOutcome> startIndividually(List<StartProcessInstanceCmd> chunk) {
+    List<ProcessInstantiationOutcome> outcomes = new ArrayList<ProcessInstantiationOutcome>(chunk.size());
+    for (StartProcessInstanceCmd request : chunk) {
+      try {
+        outcomes.addAll(commandExecutor.execute(new StartProcessInstanceBatchCmd(Collections.singletonList(request))));
+      } catch (RuntimeException e) {
+        outcomes.add(ProcessInstantiationOutcomeImpl.failed(request, e.getMessage()));
+      }
+    }
+    return outcomes;
+  }
+
+  // getters //////////////////////////////////
+
+  public List<StartProcessInstanceCmd> getRequests() {
+    return requests;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+}
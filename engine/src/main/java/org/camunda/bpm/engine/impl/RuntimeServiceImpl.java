@@ -29,6 +29,7 @@ import org.camunda.bpm.engine.impl.cmd.FindActiveActivityIdsCmd;
 import org.camunda.bpm.engine.impl.cmd.GetActivityInstanceCmd;
 import org.camunda.bpm.engine.impl.cmd.GetExecutionVariableCmd;
 import org.camunda.bpm.engine.impl.cmd.GetExecutionVariablesCmd;
+import org.camunda.bpm.engine.impl.cmd.GetSignalBroadcastProgressCmd;
 import org.camunda.bpm.engine.impl.cmd.GetStartFormCmd;
 import org.camunda.bpm.engine.impl.cmd.MessageEventReceivedCmd;
 import org.camunda.bpm.engine.impl.cmd.PatchExecutionVariablesCmd;
@@ -36,6 +37,7 @@ import org.camunda.bpm.engine.impl.cmd.RemoveExecutionVariablesCmd;
 import org.camunda.bpm.engine.impl.cmd.SetExecutionVariableFromSerializedCmd;
 import org.camunda.bpm.engine.impl.cmd.SetExecutionVariablesCmd;
 import org.camunda.bpm.engine.impl.cmd.SignalCmd;
+import org.camunda.bpm.engine.impl.cmd.SignalEventReceivedAsyncCmd;
 import org.camunda.bpm.engine.impl.cmd.SignalEventReceivedCmd;
 import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceByMessageCmd;
 import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceCmd;
@@ -44,11 +46,15 @@ import org.camunda.bpm.engine.runtime.ActivityInstance;
 import org.camunda.bpm.engine.runtime.EventSubscriptionQuery;
 import org.camunda.bpm.engine.runtime.ExecutionQuery;
 import org.camunda.bpm.engine.runtime.IncidentQuery;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchBuilder;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
 import org.camunda.bpm.engine.runtime.NativeExecutionQuery;
 import org.camunda.bpm.engine.runtime.NativeProcessInstanceQuery;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstanceBulkOperationBuilder;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+import org.camunda.bpm.engine.runtime.ProcessInstantiationBatchBuilder;
+import org.camunda.bpm.engine.runtime.SignalBroadcastProgress;
 import org.camunda.bpm.engine.runtime.VariableInstanceQuery;
 
 /**
@@ -101,6 +107,10 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     return commandExecutor.execute(new StartProcessInstanceCmd(null, processDefinitionId, businessKey, null, variables));
   }
 
+  public ProcessInstantiationBatchBuilder createProcessInstantiationBatch() {
+    return new ProcessInstantiationBatchBuilderImpl(commandExecutor);
+  }
+
   public ProcessInstance startProcessInstanceById(String processDefinitionId, String businessKey, String caseInstanceId, Map<String, Object> variables) {
     return commandExecutor.execute(new StartProcessInstanceCmd(null, processDefinitionId, businessKey, caseInstanceId, variables));
   }
@@ -113,6 +123,10 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     commandExecutor.execute(new DeleteProcessInstanceCmd(processInstanceId, deleteReason, skipCustomListeners));
   }
 
+  public ProcessInstanceBulkOperationBuilder createProcessInstanceBulkOperation(ProcessInstanceQuery processInstanceQuery) {
+    return new ProcessInstanceBulkOperationBuilderImpl(commandExecutor, processInstanceQuery);
+  }
+
   public ExecutionQuery createExecutionQuery() {
     return new ExecutionQueryImpl(commandExecutor);
   }
@@ -313,6 +327,14 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     commandExecutor.execute(new SignalEventReceivedCmd(signalName, executionId, processVariables));
   }
 
+  public String signalEventReceivedAsync(String signalName, Map<String, Object> processVariables) {
+    return commandExecutor.execute(new SignalEventReceivedAsyncCmd(signalName, processVariables));
+  }
+
+  public SignalBroadcastProgress getSignalBroadcastProgress(String broadcastId) {
+    return commandExecutor.execute(new GetSignalBroadcastProgressCmd(broadcastId));
+  }
+
   public void messageEventReceived(String messageName, String executionId) {
     commandExecutor.execute(new MessageEventReceivedCmd(messageName, executionId, null));
   }
@@ -325,6 +347,10 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     return new MessageCorrelationBuilderImpl(commandExecutor, messageName);
   }
 
+  public MessageCorrelationBatchBuilder createMessageCorrelationBatch() {
+    return new MessageCorrelationBatchBuilderImpl(commandExecutor);
+  }
+
   public void correlateMessage(String messageName, Map<String, Object> correlationKeys, Map<String, Object> processVariables) {
     commandExecutor.execute(new CorrelateMessageCmd(messageName, null, correlationKeys, processVariables));
   }
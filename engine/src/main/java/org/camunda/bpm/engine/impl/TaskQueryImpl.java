@@ -30,6 +30,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.camunda.bpm.engine.impl.variable.VariableTypes;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.task.DelegationState;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
@@ -43,6 +44,7 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
 
   private static final long serialVersionUID = 1L;
   protected String taskId;
+  protected String[] taskIdIn;
   protected String name;
   protected String nameLike;
   protected String description;
@@ -113,6 +115,16 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
     return this;
   }
 
+  /**
+   * Only select tasks with one of the given ids. Used internally to refresh
+   * the tasks of a task change feed, the ids are not exposed by the public API.
+   */
+  public TaskQueryImpl taskIdIn(String... taskIds) {
+    ensureNotNull("Task ids", (Object[]) taskIds);
+    this.taskIdIn = taskIds;
+    return this;
+  }
+
   public TaskQueryImpl taskName(String name) {
     this.name = name;
     return this;
@@ -756,6 +768,33 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
     return orderBy(TaskQueryProperty.FOLLOW_UP_DATE);
   }
 
+  //keyset pagination //////////////////////////////////////////////////////
+
+  public List<Task> listPageAfter(Task lastResult, int maxResults) {
+    return executeKeysetPage(lastResult, maxResults);
+  }
+
+  public List<Task> listPageAfter(String lastId, Object lastSortValue, int maxResults) {
+    return executeKeysetPage(lastId, lastSortValue, maxResults);
+  }
+
+  protected boolean isKeysetColumn(String column) {
+    return TaskQueryProperty.CREATE_TIME.getName().equals(column)
+        || TaskQueryProperty.PRIORITY.getName().equals(column);
+  }
+
+  protected String getKeysetId(Task task) {
+    return task.getId();
+  }
+
+  protected Object getKeysetValue(Task task, String column) {
+    if (TaskQueryProperty.CREATE_TIME.getName().equals(column)) {
+      return task.getCreateTime();
+    } else {
+      return task.getPriority();
+    }
+  }
+
   //results ////////////////////////////////////////////////////////////////
 
   public List<Task> executeList(CommandContext commandContext, Page page) {
@@ -775,6 +814,35 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
     return taskList;
   }
 
+  protected void executeIterate(CommandContext commandContext, QueryResultHandler<Task> resultHandler) {
+    ensureVariablesInitialized();
+    checkQueryOk();
+
+    if(initializeFormKeys) {
+      // initializing the form keys may select the deployed process definitions
+      executeIterateInBatches(commandContext, resultHandler);
+
+    } else {
+      commandContext
+        .getTaskManager()
+        .iterateTasksByQueryCriteria(this, resultHandler);
+    }
+  }
+
+  protected void executeIterateBatch(CommandContext commandContext, QueryResultHandler<Task> resultHandler) {
+    commandContext
+      .getTaskManager()
+      .iterateTasksByQueryCriteria(this, resultHandler);
+  }
+
+  protected boolean handleBatch(CommandContext commandContext, List<Task> batch, QueryResultHandler<Task> resultHandler) {
+    for (Task task : batch) {
+      // initialize the form keys of the tasks
+      ((TaskEntity) task).initializeFormKey();
+    }
+    return super.handleBatch(commandContext, batch, resultHandler);
+  }
+
   public long executeCount(CommandContext commandContext) {
     ensureVariablesInitialized();
     checkQueryOk();
@@ -783,6 +851,14 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
       .findTaskCountByQueryCriteria(this);
   }
 
+  protected long executeCountUpTo(CommandContext commandContext, int maxCount) {
+    ensureVariablesInitialized();
+    checkQueryOk();
+    return commandContext
+      .getTaskManager()
+      .findTaskCountUpToByQueryCriteria(this);
+  }
+
   //getters ////////////////////////////////////////////////////////////////
 
   public String getName() {
@@ -858,6 +934,10 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
     return taskId;
   }
 
+  public String[] getTaskIdIn() {
+    return taskIdIn;
+  }
+
   public String getDescription() {
     return description;
   }
@@ -1093,6 +1173,13 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
       extendedQuery.taskId(this.getTaskId());
     }
 
+    if (extendingQuery.getTaskIdIn() != null) {
+      extendedQuery.taskIdIn(extendingQuery.getTaskIdIn());
+    }
+    else if (this.getTaskIdIn() != null) {
+      extendedQuery.taskIdIn(this.getTaskIdIn());
+    }
+
     if (extendingQuery.getDescription() != null) {
       extendedQuery.taskDescription(extendingQuery.getDescription());
     }
@@ -303,4 +303,12 @@ public class TaskServiceImpl extends ServiceImpl implements TaskService {
     return commandExecutor.execute(new GetSubTasksCmd(parentTaskId));
   }
 
+  public TaskChanges getTaskChanges(long afterSequence, int maxResults) {
+    return commandExecutor.execute(new GetTaskChangesCmd(afterSequence, maxResults));
+  }
+
+  public List<IdentityLink> getIdentityLinksForTasks(List<String> taskIds) {
+    return commandExecutor.execute(new GetIdentityLinksForTasksCmd(taskIds));
+  }
+
 }
@@ -14,6 +14,7 @@ package org.camunda.bpm.engine.impl.application;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -23,16 +24,19 @@ import java.util.logging.Logger;
 
 import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.application.ProcessApplicationRegistration;
+import org.camunda.bpm.application.ProcessApplicationUnavailableException;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.ProcessDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentFailListener;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.ReflectionCache;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 
@@ -66,6 +70,7 @@ public class ProcessApplicationManager {
 
   public synchronized void unregisterProcessApplicationForDeployments(Set<String> deploymentIds, boolean removeProcessesFromCache) {
     removeJobExecutorRegistrations(deploymentIds);
+    purgeReflectionCaches(deploymentIds);
     removeProcessApplicationRegistration(deploymentIds, removeProcessesFromCache);
   }
 
@@ -99,6 +104,35 @@ public class ProcessApplicationManager {
     }
   }
 
+  /**
+   * Removes cached reflection metadata of the classes of the process applications which are unregistered,
+   * so that their class loaders can be garbage collected and redeployed classes are introspected again.
+   */
+  protected void purgeReflectionCaches(Set<String> deploymentIds) {
+    Set<ClassLoader> classLoaders = new HashSet<ClassLoader>();
+    for (String deploymentId : deploymentIds) {
+      DefaultProcessApplicationRegistration registration = registrationsByDeploymentId.get(deploymentId);
+      if (registration != null) {
+        try {
+          ClassLoader classLoader = registration.getReference().getProcessApplication().getProcessApplicationClassloader();
+          if (classLoader != null) {
+            classLoaders.add(classLoader);
+          }
+        } catch (ProcessApplicationUnavailableException e) {
+          LOGGER.log(Level.FINE, "process application unavailable, cannot purge reflection caches for its class loader", e);
+        }
+      }
+    }
+
+    ExpressionManager expressionManager = Context.getProcessEngineConfiguration().getExpressionManager();
+    for (ClassLoader classLoader : classLoaders) {
+      ReflectionCache.purge(classLoader);
+      if (expressionManager != null) {
+        expressionManager.purgeBeanClasses(classLoader);
+      }
+    }
+  }
+
   protected void createJobExecutorRegistrations(Set<String> deploymentIds) {
     try {
       Context.getCommandContext()
@@ -13,10 +13,13 @@
 
 package org.camunda.bpm.engine.impl.bpmn.behavior;
 
+import java.util.concurrent.Callable;
+
 import org.camunda.bpm.engine.impl.bpmn.helper.ScopeUtil;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.pvm.delegate.ActivityExecution;
 import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.runtime.PvmExecutionImpl;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
@@ -31,26 +34,33 @@ public class CancelEndEventActivityBehavior extends FlowNodeActivityBehavior {
   public void execute(ActivityExecution execution) throws Exception {
 
     // find cancel boundary event:
-    ActivityImpl cancelBoundaryEvent = ScopeUtil
+    final ActivityImpl cancelBoundaryEvent = ScopeUtil
       .findInParentScopesByBehaviorType((ActivityImpl) execution.getActivity(), CancelBoundaryEventActivityBehavior.class);
 
     ensureNotNull("Could not find cancel boundary event for cancel end event " + execution.getActivity(), "cancelBoundaryEvent", cancelBoundaryEvent);
 
-    ActivityExecution scopeExecution = ScopeUtil.findScopeExecutionForScope((ExecutionEntity) execution, cancelBoundaryEvent.getParentActivity());
+    final ActivityExecution scopeExecution = ScopeUtil.findScopeExecutionForScope((ExecutionEntity) execution, cancelBoundaryEvent.getParentActivity());
 
     // end all executions and process instances in the scope of the transaction
     scopeExecution.cancelScope("cancel end event fired");
-    scopeExecution.interruptScope("cancel end event fired");
 
-    // the scope execution executes the boundary event
-    ActivityExecution outgoingExecution = scopeExecution;
-    outgoingExecution.setActivity(cancelBoundaryEvent);
-    outgoingExecution.setActive(true);
+    // the scope must have been cancelled before it executes the boundary event
+    ((PvmExecutionImpl) scopeExecution).continueAfterQueuedOperations(new Callable<Void>() {
+      public Void call() throws Exception {
+        scopeExecution.interruptScope("cancel end event fired");
+
+        // the scope execution executes the boundary event
+        ActivityExecution outgoingExecution = scopeExecution;
+        outgoingExecution.setActivity(cancelBoundaryEvent);
+        outgoingExecution.setActive(true);
 
-    // execute the boundary
-    cancelBoundaryEvent
-      .getActivityBehavior()
-      .execute(outgoingExecution);
+        // execute the boundary
+        cancelBoundaryEvent
+          .getActivityBehavior()
+          .execute(outgoingExecution);
+        return null;
+      }
+    });
   }
 
 }
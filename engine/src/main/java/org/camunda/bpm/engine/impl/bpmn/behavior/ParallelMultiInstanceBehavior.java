@@ -14,17 +14,20 @@ package org.camunda.bpm.engine.impl.bpmn.behavior;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
 import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
 import org.camunda.bpm.engine.impl.core.mapping.IoMapping;
 import org.camunda.bpm.engine.impl.core.variable.CoreVariableScope;
+import org.camunda.bpm.engine.impl.jobexecutor.MultiInstanceBatchJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.pvm.delegate.ActivityBehavior;
 import org.camunda.bpm.engine.impl.pvm.delegate.ActivityExecution;
 import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.runtime.PvmExecutionImpl;
 
 
 /**
@@ -32,6 +35,9 @@ import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
  */
 public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior {
 
+  /** number of instances created per transaction, 0 creates all instances at once */
+  protected int asyncBatchSize = 0;
+
   public ParallelMultiInstanceBehavior(ActivityImpl activity, AbstractBpmnActivityBehavior originalActivityBehavior) {
     super(activity, originalActivityBehavior);
   }
@@ -39,6 +45,8 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
   /**
    * Handles the parallel case of spawning the instances.
    * Will create child executions accordingly for every instance needed.
+   * If an async batch size is set, only the first batch of instances is
+   * created right away and a job is scheduled to create the next one.
    */
    protected void createInstances(ActivityExecution execution, int nrOfInstances) throws Exception {
 
@@ -48,8 +56,92 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
 
     fixMiRootActivityInstanceId(execution);
 
+    int batchEnd = nrOfInstances;
+    if (asyncBatchSize > 0 && asyncBatchSize < nrOfInstances) {
+      batchEnd = asyncBatchSize;
+      MultiInstanceBatchJobHandler.scheduleBatch((ExecutionEntity) execution, batchEnd);
+    }
+
+    List<ActivityExecution> concurrentExecutions = createConcurrentExecutions(execution, 0, batchEnd, nrOfInstances);
+
+    // Before the activities are executed, all executions MUST be created up front
+    // Do not try to merge this loop with the previous one, as it will lead to bugs,
+    // due to possible child execution pruning.
+    for (int loopCounter=0; loopCounter<concurrentExecutions.size(); loopCounter++) {
+      final ActivityExecution concurrentExecution = concurrentExecutions.get(loopCounter);
+      final int instanceLoopCounter = loopCounter;
+      // the previous instances may complete the multi instance activity
+      ((PvmExecutionImpl) execution).continueAfterQueuedOperations(new Callable<Void>() {
+        public Void call() throws Exception {
+          // executions can be inactive, if instances are all automatics (no-waitstate)
+          // and completionCondition has been met in the meantime
+          if (concurrentExecution.isActive() && !concurrentExecution.isEnded()
+                  && concurrentExecution.getParent().isActive()
+                  && !concurrentExecution.getParent().isEnded()) {
+
+            setLoopVariable(concurrentExecution, LOOP_COUNTER, instanceLoopCounter);
+            executeOriginalBehavior(concurrentExecution, instanceLoopCounter);
+          }
+          return null;
+        }
+      });
+    }
+
+    if (!concurrentExecutions.isEmpty()) {
+      final ActivityExecution miRootExecution = execution;
+      ((PvmExecutionImpl) execution).continueAfterQueuedOperations(new Callable<Void>() {
+        public Void call() {
+          miRootExecution.inactivate();
+          return null;
+        }
+      });
+    }
+
+  }
+
+  /**
+   * Creates and starts the instances from <code>firstLoopCounter</code> on for the
+   * next batch and schedules a job for the batch after that if there are instances left.
+   * Called by the {@link MultiInstanceBatchJobHandler} with the (inactive) execution
+   * of the multi-instance scope.
+   */
+  public void createInstanceBatch(final ActivityExecution execution, int firstLoopCounter) throws Exception {
+    int nrOfInstances = getLoopVariable(execution, NUMBER_OF_INSTANCES);
+
+    int batchEnd = Math.min(firstLoopCounter + Math.max(asyncBatchSize, 1), nrOfInstances);
+    if (batchEnd < nrOfInstances) {
+      MultiInstanceBatchJobHandler.scheduleBatch((ExecutionEntity) execution, batchEnd);
+    }
+
+    fixMiRootActivityInstanceId(execution);
+
+    List<ActivityExecution> concurrentExecutions = createConcurrentExecutions(execution, firstLoopCounter, batchEnd, nrOfInstances);
+
+    for (int i=0; i<concurrentExecutions.size(); i++) {
+      final ActivityExecution concurrentExecution = concurrentExecutions.get(i);
+      final int loopCounter = firstLoopCounter + i;
+      ((PvmExecutionImpl) execution).continueAfterQueuedOperations(new Callable<Void>() {
+        public Void call() throws Exception {
+          // the multi instance activity may have been completed by
+          // an instance of this batch (completionCondition)
+          if (concurrentExecution.isActive() && !concurrentExecution.isEnded() && !execution.isEnded()) {
+            setLoopVariable(concurrentExecution, LOOP_COUNTER, loopCounter);
+            executeOriginalBehavior(concurrentExecution, loopCounter);
+          }
+          return null;
+        }
+      });
+    }
+  }
+
+  /**
+   * Creates the concurrent child executions for the instances with a loop
+   * counter from <code>firstLoopCounter</code> (inclusive) to <code>lastLoopCounter</code>
+   * (exclusive) without starting them.
+   */
+  protected List<ActivityExecution> createConcurrentExecutions(ActivityExecution execution, int firstLoopCounter, int lastLoopCounter, int nrOfInstances) {
     List<ActivityExecution> concurrentExecutions = new ArrayList<ActivityExecution>();
-    for (int loopCounter=0; loopCounter<nrOfInstances; loopCounter++) {
+    for (int loopCounter=firstLoopCounter; loopCounter<lastLoopCounter; loopCounter++) {
       ActivityExecution concurrentExecution = execution.createExecution(loopCounter != 0);
       concurrentExecution.setActive(true);
       concurrentExecution.setConcurrent(true);
@@ -86,27 +178,7 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
       concurrentExecutions.add(concurrentExecution);
       logLoopDetails(concurrentExecution, "initialized", loopCounter, 0, nrOfInstances, nrOfInstances);
     }
-
-    // Before the activities are executed, all executions MUST be created up front
-    // Do not try to merge this loop with the previous one, as it will lead to bugs,
-    // due to possible child execution pruning.
-    for (int loopCounter=0; loopCounter<nrOfInstances; loopCounter++) {
-      ActivityExecution concurrentExecution = concurrentExecutions.get(loopCounter);
-      // executions can be inactive, if instances are all automatics (no-waitstate)
-      // and completionCondition has been met in the meantime
-      if (concurrentExecution.isActive() && !concurrentExecution.isEnded()
-              && concurrentExecution.getParent().isActive()
-              && !concurrentExecution.getParent().isEnded()) {
-
-        setLoopVariable(concurrentExecution, LOOP_COUNTER, loopCounter);
-        executeOriginalBehavior(concurrentExecution, loopCounter);
-      }
-    }
-
-    if (!concurrentExecutions.isEmpty()) {
-      execution.inactivate();
-    }
-
+    return concurrentExecutions;
   }
 
   /**
@@ -187,5 +259,13 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
     miRoot.setActivityInstanceId(miEnteringExecution.getActivityInstanceId());
   }
 
+  public int getAsyncBatchSize() {
+    return asyncBatchSize;
+  }
+
+  public void setAsyncBatchSize(int asyncBatchSize) {
+    this.asyncBatchSize = asyncBatchSize;
+  }
+
 
 }
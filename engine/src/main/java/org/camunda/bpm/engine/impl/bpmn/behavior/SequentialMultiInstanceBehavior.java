@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.impl.bpmn.behavior;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.delegate.BpmnError;
@@ -25,6 +26,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.pvm.delegate.ActivityBehavior;
 import org.camunda.bpm.engine.impl.pvm.delegate.ActivityExecution;
 import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.runtime.PvmExecutionImpl;
 
 
 /**
@@ -107,14 +109,19 @@ public class SequentialMultiInstanceBehavior extends MultiInstanceActivityBehavi
   }
 
   @Override
-  public void execute(ActivityExecution execution) throws Exception {
+  public void execute(final ActivityExecution execution) throws Exception {
     super.execute(execution);
 
     if(innerActivityBehavior instanceof SubProcessActivityBehavior) {
-      // ACT-1185: end-event in subprocess may have inactivated execution
-      if(!execution.isActive() && execution.isEnded() && (execution.getExecutions() == null || execution.getExecutions().size() == 0)) {
-        execution.setActive(true);
-      }
+      ((PvmExecutionImpl) execution).continueAfterQueuedOperations(new Callable<Void>() {
+        public Void call() {
+          // ACT-1185: end-event in subprocess may have inactivated execution
+          if(!execution.isActive() && execution.isEnded() && (execution.getExecutions() == null || execution.getExecutions().size() == 0)) {
+            execution.setActive(true);
+          }
+          return null;
+        }
+      });
     }
   }
 
@@ -20,8 +20,10 @@ import java.text.StringCharacterIterator;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -165,6 +167,7 @@ public class BpmnParse extends Parse {
   public static final String PROPERTYNAME_IS_FOR_COMPENSATION = "isForCompensation";
   public static final String PROPERTYNAME_ERROR_EVENT_DEFINITIONS = "errorEventDefinitions";
   public static final String PROPERTYNAME_EVENT_SUBSCRIPTION_DECLARATION = "eventDefinitions";
+  public static final String PROPERTYNAME_CORRELATION_KEYS = "correlationKeys";
   public static final String PROPERTYNAME_TRIGGERED_BY_EVENT = "triggeredByEvent";
   public static final String PROPERTYNAME_TYPE = "type";
 
@@ -173,6 +176,8 @@ public class BpmnParse extends Parse {
   protected static final String CANDIDATE_STARTER_USERS_EXTENSION = "candidateStarterUsers";
   protected static final String CANDIDATE_STARTER_GROUPS_EXTENSION = "candidateStarterGroups";
 
+  protected static final String CORRELATION_KEYS_EXTENSION = "correlationKeys";
+
   protected static final String ATTRIBUTEVALUE_T_FORMAL_EXPRESSION = BpmnParser.BPMN20_NS + ":tFormalExpression";
 
   /** The deployment to which the parsed process definitions will be added. */
@@ -360,6 +365,12 @@ public class BpmnParse extends Parse {
       String name = messageElement.attribute("name");
 
       MessageDefinition messageDefinition = new MessageDefinition(this.targetNamespace + ":" + id, name);
+
+      String correlationKeys = messageElement.attributeNS(BpmnParser.ACTIVITI_BPMN_EXTENSIONS_NS, CORRELATION_KEYS_EXTENSION);
+      if (correlationKeys != null) {
+        messageDefinition.setCorrelationKeys(parseCommaSeparatedList(correlationKeys));
+      }
+
       this.messages.put(messageDefinition.getId(), messageDefinition);
     }
   }
@@ -914,7 +925,9 @@ public class BpmnParse extends Parse {
       addError("Invalid 'messageRef': no message with id '"+messageRef+"' found.", messageEventDefinition);
     }
 
-    return new EventSubscriptionDeclaration(messageDefinition.getName(), MessageEventHandler.EVENT_HANDLER_TYPE);
+    EventSubscriptionDeclaration declaration = new EventSubscriptionDeclaration(messageDefinition.getName(), MessageEventHandler.EVENT_HANDLER_TYPE);
+    declaration.setCorrelationKeys(messageDefinition.getCorrelationKeys());
+    return declaration;
   }
 
   @SuppressWarnings("unchecked")
@@ -942,6 +955,15 @@ public class BpmnParse extends Parse {
       }
     }
     eventDefinitions.add(subscription);
+
+    if (subscription.getCorrelationKeys() != null) {
+      Set<String> correlationKeys = (Set<String>) scope.getProcessDefinition().getProperty(PROPERTYNAME_CORRELATION_KEYS);
+      if (correlationKeys == null) {
+        correlationKeys = new HashSet<String>();
+        scope.getProcessDefinition().setProperty(PROPERTYNAME_CORRELATION_KEYS, correlationKeys);
+      }
+      correlationKeys.addAll(subscription.getCorrelationKeys());
+    }
   }
 
   /**
@@ -1369,6 +1391,24 @@ public class BpmnParse extends Parse {
         miActivityBehavior.setCollectionElementVariable(inputDataItemName);
       }
 
+      // activiti:asyncBatchSize
+      String asyncBatchSize = miLoopCharacteristics.attributeNS(BpmnParser.ACTIVITI_BPMN_EXTENSIONS_NS, "asyncBatchSize");
+      if (asyncBatchSize != null) {
+        if (isSequential) {
+          addError("asyncBatchSize can only be set for a parallel multiInstanceLoopCharacteristics definition", miLoopCharacteristics);
+        } else {
+          try {
+            int batchSize = Integer.parseInt(asyncBatchSize);
+            if (batchSize <= 0) {
+              addError("asyncBatchSize must be a positive integer value, but was " + asyncBatchSize, miLoopCharacteristics);
+            }
+            ((ParallelMultiInstanceBehavior) miActivityBehavior).setAsyncBatchSize(batchSize);
+          } catch (NumberFormatException e) {
+            addError("asyncBatchSize must be a positive integer value, but was " + asyncBatchSize, miLoopCharacteristics);
+          }
+        }
+      }
+
       // Validation
       if (miActivityBehavior.getLoopCardinalityExpression() == null && miActivityBehavior.getCollectionExpression() == null
               && miActivityBehavior.getCollectionVariable() == null) {
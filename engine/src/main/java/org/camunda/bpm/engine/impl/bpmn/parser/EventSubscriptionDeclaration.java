@@ -15,7 +15,9 @@ package org.camunda.bpm.engine.impl.bpmn.parser;
 
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.bpmn.behavior.ParallelMultiInstanceBehavior;
@@ -27,6 +29,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.MessageEventSubscriptionEn
 import org.camunda.bpm.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
 import org.camunda.bpm.engine.impl.pvm.PvmScope;
 import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.runtime.CorrelationKeyHash;
 
 
 /**
@@ -46,6 +49,7 @@ public class EventSubscriptionDeclaration implements Serializable {
   protected String eventScopeActivityId = null;
   protected boolean isStartEvent;
   protected Boolean isParallelMultiInstance = null;
+  protected List<String> correlationKeys;
 
   public EventSubscriptionDeclaration(String eventName, String eventType) {
     this.eventName = eventName;
@@ -104,6 +108,18 @@ public class EventSubscriptionDeclaration implements Serializable {
     return eventType;
   }
 
+  public List<String> getCorrelationKeys() {
+    return correlationKeys;
+  }
+
+  /**
+   * @param correlationKeys the names of the process variables whose values are stored
+   *   as a hash with the created message event subscriptions
+   */
+  public void setCorrelationKeys(List<String> correlationKeys) {
+    this.correlationKeys = correlationKeys;
+  }
+
   public EventSubscriptionEntity createSubscription(ExecutionEntity execution) {
     if (isStartEvent() || isParallelMultiInstance(execution)) {
       return null;
@@ -140,11 +156,35 @@ public class EventSubscriptionDeclaration implements Serializable {
       ActivityImpl activity = execution.getProcessDefinition().findActivity(activityId);
       eventSubscriptionEntity.setActivity(activity);
     }
+    if (eventSubscriptionEntity instanceof MessageEventSubscriptionEntity) {
+      eventSubscriptionEntity.setCorrelationKeyHash(hashCorrelationKeys(execution));
+    }
 
     eventSubscriptionEntity.insert();
     return eventSubscriptionEntity;
   }
 
+  /**
+   * @return the hash of the current values of the correlation keys in the process instance or
+   * the {@link CorrelationKeyHash#unhashed(java.util.Collection) unhashed value} of the key set if
+   * no keys are declared, one of them is not set or cannot be hashed.
+   */
+  public String hashCorrelationKeys(ExecutionEntity execution) {
+    List<String> keys = correlationKeys != null ? correlationKeys : Collections.<String>emptyList();
+
+    ExecutionEntity processInstance = execution.getProcessInstance();
+    Map<String, Object> correlationKeyValues = new HashMap<String, Object>();
+    for (String correlationKey : keys) {
+      if (!processInstance.hasVariableLocal(correlationKey)) {
+        return CorrelationKeyHash.unhashed(keys);
+      }
+      correlationKeyValues.put(correlationKey, processInstance.getVariableLocal(correlationKey));
+    }
+
+    String hash = CorrelationKeyHash.hash(correlationKeyValues);
+    return hash != null ? hash : CorrelationKeyHash.unhashed(keys);
+  }
+
   @SuppressWarnings("unchecked")
   public static List<EventSubscriptionDeclaration> getDeclarationsForScope(PvmScope scope) {
     Object result = scope.getProperty(BpmnParse.PROPERTYNAME_EVENT_SUBSCRIPTION_DECLARATION);
@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine.impl.bpmn.parser;
 
+import java.util.List;
 
 /**
  * Implementation of the BPMN 2.0 'message'
@@ -23,6 +24,8 @@ public class MessageDefinition {
   protected String id;
   
   protected String name;
+
+  protected List<String> correlationKeys;
   
   public MessageDefinition(String id, String name) {
     this.id = id;
@@ -40,4 +43,16 @@ public class MessageDefinition {
   public void setName(String name) {
     this.name = name;
   }
+
+  /**
+   * @return the names of the process variables which are declared as correlation keys
+   * of this message or <code>null</code> if none are declared
+   */
+  public List<String> getCorrelationKeys() {
+    return correlationKeys;
+  }
+
+  public void setCorrelationKeys(List<String> correlationKeys) {
+    this.correlationKeys = correlationKeys;
+  }
 }
@@ -30,6 +30,7 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.naming.InitialContext;
@@ -96,22 +97,26 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformFactory;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTranformFactory;
 import org.camunda.bpm.engine.impl.connector.Connectors;
+import org.camunda.bpm.engine.impl.db.AuthorizationCache;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
 import org.camunda.bpm.engine.impl.db.IbatisVariableTypeHandler;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.db.sql.FetchSizeInterceptor;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
 import org.camunda.bpm.engine.impl.digest.PasswordEncryptor;
 import org.camunda.bpm.engine.impl.digest.ShaHashDigest;
 import org.camunda.bpm.engine.impl.el.CommandContextFunctionMapper;
 import org.camunda.bpm.engine.impl.el.DateTimeFunctionMapper;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.el.ExpressionTreeCache;
 import org.camunda.bpm.engine.impl.event.CompensationEventHandler;
 import org.camunda.bpm.engine.impl.event.EventHandler;
 import org.camunda.bpm.engine.impl.event.MessageEventHandler;
 import org.camunda.bpm.engine.impl.event.SignalEventHandler;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.form.engine.FormEngine;
 import org.camunda.bpm.engine.impl.form.engine.HtmlFormEngine;
 import org.camunda.bpm.engine.impl.form.engine.JuelFormEngine;
@@ -143,6 +148,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContextFactory;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutorImpl;
 import org.camunda.bpm.engine.impl.interceptor.CommandInterceptor;
+import org.camunda.bpm.engine.impl.interceptor.CommandMetricsInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.DelegateInterceptor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
@@ -152,7 +158,9 @@ import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.FailedJobCommandFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.MultiInstanceBatchJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.SignalBroadcastJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerActivateJobDefinitionHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
@@ -162,9 +170,15 @@ import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventSubprocessJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerSuspendJobDefinitionHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler;
+import org.camunda.bpm.engine.impl.metrics.ActivityMetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.ActivityMetricsReporter;
+import org.camunda.bpm.engine.impl.metrics.ActivityTimingSessionFactory;
+import org.camunda.bpm.engine.impl.metrics.CommandMetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.parser.ActivityMetricsParseListener;
 import org.camunda.bpm.engine.impl.persistence.GenericManagerFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ActivityMetricsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
@@ -190,6 +204,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.StatisticsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TableDataManager;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskChangeManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
@@ -208,6 +223,8 @@ import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 import org.camunda.bpm.engine.impl.variable.BooleanType;
 import org.camunda.bpm.engine.impl.variable.ByteArrayType;
+import org.camunda.bpm.engine.impl.variable.CompactBinarySerializationType;
+import org.camunda.bpm.engine.impl.variable.CompactBinarySerializationTypeResolver;
 import org.camunda.bpm.engine.impl.variable.DateType;
 import org.camunda.bpm.engine.impl.variable.DefaultVariableTypes;
 import org.camunda.bpm.engine.impl.variable.DeserializedObjectsSessionFactory;
@@ -284,6 +301,45 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   /** Separate command executor to be used for db schema operations. Must always use NON-JTA transactions */
   protected CommandExecutor commandExecutorSchemaOperations;
 
+  /** if true, the invocation count, error count and duration of each command are recorded in the {@link #commandMetricsRegistry} */
+  protected boolean isCommandMetricsEnabled = false;
+  protected CommandMetricsRegistry commandMetricsRegistry;
+
+  /** if true, the effective permissions of users are evaluated once per resource type and cached in the {@link #authorizationCache} */
+  protected boolean isAuthorizationCacheEnabled = false;
+  /** the maximum number of cached permissions */
+  protected int authorizationCacheCapacity = AuthorizationCache.DEFAULT_CAPACITY;
+  /** the time in milliseconds after which cached permissions expire */
+  protected long authorizationCacheTimeToLive = AuthorizationCache.DEFAULT_TIME_TO_LIVE;
+  protected AuthorizationCache authorizationCache;
+
+  /** if true, the starts, ends and execution times of all activities are counted in the {@link #activityMetricsRegistry} */
+  protected boolean isActivityMetricsEnabled = false;
+  /** the interval in seconds in which the {@link #activityMetricsReporter} writes the activity metrics to the database */
+  protected int activityMetricsReportInterval = 5 * 60;
+  /** the number of days after which reported activity metrics are deleted, 0 keeps them forever */
+  protected int activityMetricsTimeToLive = 30;
+  protected ActivityMetricsRegistry activityMetricsRegistry;
+  protected ActivityMetricsReporter activityMetricsReporter;
+
+  /** if true, the results of {@link org.camunda.bpm.engine.FilterService#count(String)} are cached in the {@link #filterCountCache} */
+  protected boolean isFilterCountCacheEnabled = false;
+  /** the maximum number of cached filter counts */
+  protected int filterCountCacheCapacity = FilterCountCache.DEFAULT_CAPACITY;
+  /** the time in milliseconds after which a cached filter count expires */
+  protected long filterCountCacheTimeToLive = FilterCountCache.DEFAULT_TIME_TO_LIVE;
+  protected FilterCountCache filterCountCache;
+
+  /** if true, all creations, updates and deletions of tasks are recorded in the task change log (see {@link org.camunda.bpm.engine.TaskService#getTaskChanges(long, int)}) */
+  protected boolean isTaskChangeLogEnabled = false;
+  /** the number of task changes which are at least retained in the task change log, older changes are deleted */
+  protected long taskChangeLogSize = TaskChangeManager.DEFAULT_LOG_SIZE;
+
+  /** the number of rows fetched at once by streaming queries (see {@link org.camunda.bpm.engine.task.TaskQuery#iterate}), 0 uses the default of the JDBC driver */
+  protected int streamingQueryFetchSize = 1000;
+  /** the number of results read before they are initialized by streaming queries whose results require further selects */
+  protected int streamingQueryBatchSize = 1000;
+
   // SESSION FACTORIES ////////////////////////////////////////////////////////
 
   protected List<SessionFactory> customSessionFactories;
@@ -302,6 +358,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<JobHandler> customJobHandlers;
   protected Map<String, JobHandler> jobHandlers;
   protected JobExecutor jobExecutor;
+  /** maximum number of subscriptions a single job of an asynchronous signal broadcast delivers the signal to */
+  protected int signalBroadcastChunkSize = SignalBroadcastJobHandler.DEFAULT_CHUNK_SIZE;
 
   // MYBATIS SQL SESSION FACTORY //////////////////////////////////////////////
 
@@ -333,8 +391,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<VariableType> customPostVariableTypes;
   protected VariableTypes variableTypes;
   protected String defaultSerializationFormat;
+  /** the size in bytes above which values in the compact binary serialization format are compressed, -1 disables compression */
+  protected int compactBinaryCompressionThreshold = 4096;
 
   protected ExpressionManager expressionManager;
+  /** maximum number of parsed expression trees cached by the default expression manager */
+  protected int expressionCacheSize = ExpressionTreeCache.DEFAULT_CAPACITY;
+  /** evaluate simple expressions by specialised evaluators instead of the JUEL interpreter */
+  protected boolean enableExpressionCompilation = false;
+  /** perform atomic operations from a queue instead of recursively */
+  protected boolean enableAtomicOperationQueue = false;
   protected List<String> customScriptingEngineClasses;
   protected ScriptingEngines scriptingEngines;
   protected List<ResolverFactory> resolverFactories;
@@ -410,6 +476,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean isExecutionTreePrefetchEnabled = true;
 
+  /** If true, prefetching the execution tree also prefetches the variables,
+   * event subscriptions and tasks of all executions in the tree, using a single
+   * query per entity type.
+   */
+  protected boolean isExecutionTreeRelatedEntitiesPrefetchEnabled = false;
+
   /** If true the process engine will attempt to acquire an exclusive lock before
    * creating a deployment.
    */
@@ -463,6 +535,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initCommandExecutors();
     initServices();
     initIdGenerator();
+    initActivityMetrics();
+    initAuthorizationCache();
+    initFilterCountCache();
     initDeployers();
     initJobExecutor();
     initDataSource();
@@ -542,6 +617,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected abstract Collection< ? extends CommandInterceptor> getDefaultCommandInterceptorsTxRequiresNew();
 
   protected void initCommandExecutors() {
+    initCommandMetricsRegistry();
     initActualCommandExecutor();
     initCommandInterceptorsTxRequired();
     initCommandExecutorTxRequired();
@@ -550,6 +626,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initCommandExecutorDbSchemaOperations();
   }
 
+  // authorization cache ////////////////////////////////////////////////////
+
+  protected void initAuthorizationCache() {
+    if (isAuthorizationCacheEnabled && authorizationCache == null) {
+      authorizationCache = new AuthorizationCache(authorizationCacheCapacity, authorizationCacheTimeToLive);
+    }
+  }
+
+  // filter count cache ///////////////////////////////////////////////////////
+
+  protected void initFilterCountCache() {
+    if (isFilterCountCacheEnabled && filterCountCache == null) {
+      filterCountCache = new FilterCountCache(filterCountCacheCapacity, filterCountCacheTimeToLive);
+    }
+  }
+
+  // activity metrics ///////////////////////////////////////////////////////
+
+  protected void initActivityMetrics() {
+    if (isActivityMetricsEnabled) {
+      if (activityMetricsRegistry == null) {
+        activityMetricsRegistry = new ActivityMetricsRegistry();
+      }
+      if (activityMetricsReporter == null) {
+        activityMetricsReporter = new ActivityMetricsReporter(activityMetricsRegistry, commandExecutorTxRequired,
+            activityMetricsReportInterval * 1000L, TimeUnit.DAYS.toMillis(activityMetricsTimeToLive));
+      }
+    }
+  }
+
+  protected void initCommandMetricsRegistry() {
+    if (isCommandMetricsEnabled && commandMetricsRegistry == null) {
+      commandMetricsRegistry = new CommandMetricsRegistry();
+    }
+  }
+
   protected void initActualCommandExecutor() {
     actualCommandExecutor = new CommandExecutorImpl();
   }
@@ -561,6 +673,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       } else {
         commandInterceptorsTxRequired = new ArrayList<CommandInterceptor>();
       }
+      if (isCommandMetricsEnabled) {
+        commandInterceptorsTxRequired.add(new CommandMetricsInterceptor(commandMetricsRegistry));
+      }
       commandInterceptorsTxRequired.addAll(getDefaultCommandInterceptorsTxRequired());
       if (customPostCommandInterceptorsTxRequired!=null) {
         commandInterceptorsTxRequired.addAll(customPostCommandInterceptorsTxRequired);
@@ -576,6 +691,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       } else {
         commandInterceptorsTxRequiresNew = new ArrayList<CommandInterceptor>();
       }
+      if (isCommandMetricsEnabled) {
+        commandInterceptorsTxRequiresNew.add(new CommandMetricsInterceptor(commandMetricsRegistry));
+      }
       commandInterceptorsTxRequiresNew.addAll(getDefaultCommandInterceptorsTxRequiresNew());
       if (customPostCommandInterceptorsTxRequiresNew!=null) {
         commandInterceptorsTxRequiresNew.addAll(customPostCommandInterceptorsTxRequiresNew);
@@ -800,6 +918,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         configuration.setEnvironment(environment);
         configuration.getTypeHandlerRegistry().register(VariableType.class, JdbcType.VARCHAR, new IbatisVariableTypeHandler());
         configuration = parser.parse();
+        configuration.addInterceptor(new FetchSizeInterceptor());
 
         sqlSessionFactory = new DefaultSqlSessionFactory(configuration);
 
@@ -859,12 +978,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(IncidentManager.class));
       addSessionFactory(new GenericManagerFactory(AuthorizationManager.class));
       addSessionFactory(new GenericManagerFactory(FilterManager.class));
+      addSessionFactory(new GenericManagerFactory(ActivityMetricsManager.class));
+      addSessionFactory(new GenericManagerFactory(TaskChangeManager.class));
 
       addSessionFactory(new GenericManagerFactory(CaseDefinitionManager.class));
       addSessionFactory(new GenericManagerFactory(CaseExecutionManager.class));
       addSessionFactory(new GenericManagerFactory(CaseSentryPartManager.class));
 
       addSessionFactory(new DeserializedObjectsSessionFactory());
+      addSessionFactory(new ActivityTimingSessionFactory());
 
       sessionFactories.put(ReadOnlyIdentityProvider.class, identityProviderSessionFactory);
 
@@ -971,6 +1093,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (historyLevel>=ProcessEngineConfigurationImpl.HISTORYLEVEL_ACTIVITY) {
       defaultListeners.add(new HistoryParseListener(historyLevel, historyEventProducer));
     }
+    if (isActivityMetricsEnabled) {
+      defaultListeners.add(new ActivityMetricsParseListener(activityMetricsRegistry));
+    }
     return defaultListeners;
   }
 
@@ -1034,6 +1159,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     TimerActivateJobDefinitionHandler activateJobDefinitionHandler = new TimerActivateJobDefinitionHandler();
     jobHandlers.put(activateJobDefinitionHandler.getType(), activateJobDefinitionHandler);
 
+    SignalBroadcastJobHandler signalBroadcastJobHandler = new SignalBroadcastJobHandler();
+    jobHandlers.put(signalBroadcastJobHandler.getType(), signalBroadcastJobHandler);
+
+    MultiInstanceBatchJobHandler multiInstanceBatchJobHandler = new MultiInstanceBatchJobHandler();
+    jobHandlers.put(multiInstanceBatchJobHandler.getType(), multiInstanceBatchJobHandler);
+
     // if we have custom job handlers, register them
     if (getCustomJobHandlers()!=null) {
       for (JobHandler customJobHandler : getCustomJobHandlers()) {
@@ -1119,6 +1250,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initSerializationTypeResolvers() {
     serializationTypeResolvers.add(new SerializableTypeResolver());
+    serializationTypeResolvers.add(new CompactBinarySerializationTypeResolver(compactBinaryCompressionThreshold));
   }
 
   protected void initVariableTypes() {
@@ -1152,6 +1284,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
         if (serializationType != null) {
           variableTypes.addType(serializationType);
+          if (serializationType instanceof CompactBinarySerializationType) {
+            // values the compact binary format cannot write, e.g. a sorted collection whose comparator
+            // has no no-argument constructor, fall back to java serialization
+            variableTypes.addType(new SerializableType());
+          }
         } else {
           throw new ProcessEngineException("Cannot find a VariableType that serializes objects"
               + " for the default format '" + defaultSerializationFormat + "'");
@@ -1171,6 +1308,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
           variableTypes.addType(customVariableType);
         }
       }
+
+      // values in the compact binary format can always be read, regardless of the default format,
+      // but new values are only stored in this format if it is the default format
+      if (variableTypes.getVariableType(ProcessEngineVariableType.COMPACT_BINARY.getName()) == null) {
+        variableTypes.addType(new CompactBinarySerializationType(compactBinaryCompressionThreshold, false));
+      }
     }
   }
 
@@ -1272,7 +1415,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initExpressionManager() {
     if (expressionManager==null) {
-      expressionManager = new ExpressionManager(beans);
+      expressionManager = new ExpressionManager(beans, expressionCacheSize);
+      expressionManager.setExpressionCompilationEnabled(enableExpressionCompilation);
       // add function mapper for command context (eg currentUser(), currentUserGroups())
       expressionManager.addFunctionMapper(new CommandContextFunctionMapper());
       // add function mapper for date time (eg now(), dateTime())
@@ -1494,6 +1638,207 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isCommandMetricsEnabled() {
+    return isCommandMetricsEnabled;
+  }
+
+  /**
+   * Enables recording the invocation count, error count and duration of each command,
+   * see {@link org.camunda.bpm.engine.ManagementService#getCommandMetrics()}. Disabled by default,
+   * since the recording is performed for every command, including the ones executed by other commands.
+   */
+  public ProcessEngineConfigurationImpl setCommandMetricsEnabled(boolean isCommandMetricsEnabled) {
+    this.isCommandMetricsEnabled = isCommandMetricsEnabled;
+    return this;
+  }
+
+  public CommandMetricsRegistry getCommandMetricsRegistry() {
+    return commandMetricsRegistry;
+  }
+
+  public ProcessEngineConfigurationImpl setCommandMetricsRegistry(CommandMetricsRegistry commandMetricsRegistry) {
+    this.commandMetricsRegistry = commandMetricsRegistry;
+    return this;
+  }
+
+  public boolean isAuthorizationCacheEnabled() {
+    return isAuthorizationCacheEnabled;
+  }
+
+  /**
+   * Enables caching the effective permissions of users across commands. Disabled by default.
+   *
+   * <p>The cache is only invalidated by changes of authorizations made through this process
+   * engine. In a cluster, a grant revoked on another node remains effective on this node until
+   * the cached permissions expire after the {@link #setAuthorizationCacheTimeToLive(long) time to live}.</p>
+   */
+  public ProcessEngineConfigurationImpl setAuthorizationCacheEnabled(boolean isAuthorizationCacheEnabled) {
+    this.isAuthorizationCacheEnabled = isAuthorizationCacheEnabled;
+    return this;
+  }
+
+  public int getAuthorizationCacheCapacity() {
+    return authorizationCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationCacheCapacity(int authorizationCacheCapacity) {
+    this.authorizationCacheCapacity = authorizationCacheCapacity;
+    return this;
+  }
+
+  public long getAuthorizationCacheTimeToLive() {
+    return authorizationCacheTimeToLive;
+  }
+
+  /**
+   * Sets the time in milliseconds after which cached permissions expire. This bounds the time
+   * a change of an authorization made by another process engine of a cluster is not visible.
+   */
+  public ProcessEngineConfigurationImpl setAuthorizationCacheTimeToLive(long authorizationCacheTimeToLive) {
+    this.authorizationCacheTimeToLive = authorizationCacheTimeToLive;
+    return this;
+  }
+
+  public boolean isFilterCountCacheEnabled() {
+    return isFilterCountCacheEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCacheEnabled(boolean isFilterCountCacheEnabled) {
+    this.isFilterCountCacheEnabled = isFilterCountCacheEnabled;
+    return this;
+  }
+
+  public int getFilterCountCacheCapacity() {
+    return filterCountCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCacheCapacity(int filterCountCacheCapacity) {
+    this.filterCountCacheCapacity = filterCountCacheCapacity;
+    return this;
+  }
+
+  public long getFilterCountCacheTimeToLive() {
+    return filterCountCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCacheTimeToLive(long filterCountCacheTimeToLive) {
+    this.filterCountCacheTimeToLive = filterCountCacheTimeToLive;
+    return this;
+  }
+
+  public FilterCountCache getFilterCountCache() {
+    return filterCountCache;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCache(FilterCountCache filterCountCache) {
+    this.filterCountCache = filterCountCache;
+    return this;
+  }
+
+  public boolean isTaskChangeLogEnabled() {
+    return isTaskChangeLogEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setTaskChangeLogEnabled(boolean isTaskChangeLogEnabled) {
+    this.isTaskChangeLogEnabled = isTaskChangeLogEnabled;
+    return this;
+  }
+
+  public long getTaskChangeLogSize() {
+    return taskChangeLogSize;
+  }
+
+  public ProcessEngineConfigurationImpl setTaskChangeLogSize(long taskChangeLogSize) {
+    this.taskChangeLogSize = taskChangeLogSize;
+    return this;
+  }
+
+  public int getStreamingQueryFetchSize() {
+    return streamingQueryFetchSize;
+  }
+
+  /**
+   * Sets the JDBC fetch size of streaming queries. Some drivers need a specific value to
+   * actually stream result sets, e.g. MySQL Connector/J requires {@link Integer#MIN_VALUE}.
+   */
+  public ProcessEngineConfigurationImpl setStreamingQueryFetchSize(int streamingQueryFetchSize) {
+    this.streamingQueryFetchSize = streamingQueryFetchSize;
+    return this;
+  }
+
+  public int getStreamingQueryBatchSize() {
+    return streamingQueryBatchSize;
+  }
+
+  /**
+   * Sets the number of results which streaming queries read completely before executing further
+   * selects to initialize them, e.g. to load the byte arrays of historic variable instances.
+   */
+  public ProcessEngineConfigurationImpl setStreamingQueryBatchSize(int streamingQueryBatchSize) {
+    this.streamingQueryBatchSize = streamingQueryBatchSize;
+    return this;
+  }
+
+  public AuthorizationCache getAuthorizationCache() {
+    return authorizationCache;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationCache(AuthorizationCache authorizationCache) {
+    this.authorizationCache = authorizationCache;
+    return this;
+  }
+
+  public boolean isActivityMetricsEnabled() {
+    return isActivityMetricsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setActivityMetricsEnabled(boolean isActivityMetricsEnabled) {
+    this.isActivityMetricsEnabled = isActivityMetricsEnabled;
+    return this;
+  }
+
+  public int getActivityMetricsReportInterval() {
+    return activityMetricsReportInterval;
+  }
+
+  public ProcessEngineConfigurationImpl setActivityMetricsReportInterval(int activityMetricsReportInterval) {
+    this.activityMetricsReportInterval = activityMetricsReportInterval;
+    return this;
+  }
+
+  public int getActivityMetricsTimeToLive() {
+    return activityMetricsTimeToLive;
+  }
+
+  /**
+   * Sets the number of days after which the reported activity metrics are deleted
+   * from the database. The expired metrics are deleted with each report. If set to 0,
+   * the metrics are kept until the deployment of their process definition is deleted
+   * with cascade.
+   */
+  public ProcessEngineConfigurationImpl setActivityMetricsTimeToLive(int activityMetricsTimeToLive) {
+    this.activityMetricsTimeToLive = activityMetricsTimeToLive;
+    return this;
+  }
+
+  public ActivityMetricsRegistry getActivityMetricsRegistry() {
+    return activityMetricsRegistry;
+  }
+
+  public ProcessEngineConfigurationImpl setActivityMetricsRegistry(ActivityMetricsRegistry activityMetricsRegistry) {
+    this.activityMetricsRegistry = activityMetricsRegistry;
+    return this;
+  }
+
+  public ActivityMetricsReporter getActivityMetricsReporter() {
+    return activityMetricsReporter;
+  }
+
+  public ProcessEngineConfigurationImpl setActivityMetricsReporter(ActivityMetricsReporter activityMetricsReporter) {
+    this.activityMetricsReporter = activityMetricsReporter;
+    return this;
+  }
+
   public RepositoryService getRepositoryService() {
     return repositoryService;
   }
@@ -2295,6 +2640,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isExecutionTreePrefetchEnabled = isExecutionTreePrefetchingEnabled;
   }
 
+  public boolean isExecutionTreeRelatedEntitiesPrefetchEnabled() {
+    return isExecutionTreeRelatedEntitiesPrefetchEnabled;
+  }
+
+  public void setExecutionTreeRelatedEntitiesPrefetchEnabled(boolean isExecutionTreeRelatedEntitiesPrefetchEnabled) {
+    this.isExecutionTreeRelatedEntitiesPrefetchEnabled = isExecutionTreeRelatedEntitiesPrefetchEnabled;
+  }
+
   public ProcessEngineImpl getProcessEngine() {
     return processEngine;
   }
@@ -2430,4 +2783,64 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getCompactBinaryCompressionThreshold() {
+    return compactBinaryCompressionThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setCompactBinaryCompressionThreshold(int compactBinaryCompressionThreshold) {
+    this.compactBinaryCompressionThreshold = compactBinaryCompressionThreshold;
+    return this;
+  }
+
+  public int getExpressionCacheSize() {
+    return expressionCacheSize;
+  }
+
+  public ProcessEngineConfigurationImpl setExpressionCacheSize(int expressionCacheSize) {
+    this.expressionCacheSize = expressionCacheSize;
+    return this;
+  }
+
+  public boolean isEnableExpressionCompilation() {
+    return enableExpressionCompilation;
+  }
+
+  /**
+   * If set to true, simple expressions such as <code>${amount > 1000 && approved}</code> are
+   * evaluated directly against the variables of the current scope instead of by the JUEL
+   * interpreter. Only applies to the default expression manager.
+   */
+  public ProcessEngineConfigurationImpl setEnableExpressionCompilation(boolean enableExpressionCompilation) {
+    this.enableExpressionCompilation = enableExpressionCompilation;
+    return this;
+  }
+
+  public int getSignalBroadcastChunkSize() {
+    return signalBroadcastChunkSize;
+  }
+
+  public ProcessEngineConfigurationImpl setSignalBroadcastChunkSize(int signalBroadcastChunkSize) {
+    this.signalBroadcastChunkSize = signalBroadcastChunkSize;
+    return this;
+  }
+
+  public boolean isEnableAtomicOperationQueue() {
+    return enableAtomicOperationQueue;
+  }
+
+  /**
+   * If set to true, the atomic operations of a command are performed one after the other from a
+   * queue instead of recursively, so that the stack depth stays the same no matter how many
+   * activities a command executes. An operation triggered by an activity behavior or listener is
+   * then only performed after the behavior or listener has returned, but before any operation
+   * triggered earlier. Custom behaviors which inspect the state of an execution right after leaving
+   * it must do so in a continuation passed to
+   * {@link org.camunda.bpm.engine.impl.pvm.runtime.PvmExecutionImpl#continueAfterQueuedOperations(java.util.concurrent.Callable)}.
+   * The engine test suite runs with the queue enabled in the <code>cfgatomicoperationqueue</code> profile.
+   */
+  public ProcessEngineConfigurationImpl setEnableAtomicOperationQueue(boolean enableAtomicOperationQueue) {
+    this.enableAtomicOperationQueue = enableAtomicOperationQueue;
+    return this;
+  }
+
 }
@@ -0,0 +1,119 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
+import org.camunda.bpm.engine.impl.runtime.CorrelationKeyHash;
+import org.camunda.bpm.engine.impl.runtime.DefaultCorrelationHandler;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationOutcomeImpl;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationOutcome;
+
+/**
+ * <p>Correlates a chunk of messages in a single transaction.</p>
+ *
+ * <p>Since the changes made by a message only become visible to correlation queries once they
+ * are flushed, the command stops before a message whose correlation may depend on a previous
+ * message of the chunk: a message that matches nothing (or too much) or that matches a process
+ * instance which has already been triggered. The outcomes returned cover the correlated prefix
+ * of the chunk, the remaining messages have to be correlated in a new transaction.</p>
+ */
+public class CorrelateMessageBatchCmd implements Command<List<MessageCorrelationOutcome>> {
+
+  protected final List<CorrelateMessageCmd> messages;
+
+  public CorrelateMessageBatchCmd(List<CorrelateMessageCmd> messages) {
+    this.messages = messages;
+  }
+
+  public List<MessageCorrelationOutcome> execute(CommandContext commandContext) {
+    prefetchEventSubscriptions(commandContext);
+
+    List<MessageCorrelationOutcome> outcomes = new ArrayList<MessageCorrelationOutcome>();
+    Set<String> triggeredProcessInstanceIds = new HashSet<String>();
+
+    for (CorrelateMessageCmd message : messages) {
+      boolean isFirst = outcomes.isEmpty();
+
+      MessageCorrelationResult correlationResult;
+      try {
+        correlationResult = message.correlate(commandContext);
+      } catch (MismatchingMessageCorrelationException e) {
+        if (!isFirst) {
+          break;
+        }
+        outcomes.add(MessageCorrelationOutcomeImpl.mismatched(message, e.getMessage()));
+        continue;
+      }
+
+      if (correlationResult == null) {
+        if (!isFirst) {
+          break;
+        }
+        outcomes.add(MessageCorrelationOutcomeImpl.mismatched(message, "No process definition or execution matches the parameters"));
+        continue;
+      }
+
+      if (MessageCorrelationResult.TYPE_EXECUTION.equals(correlationResult.getResultType())) {
+        String processInstanceId = correlationResult.getExecutionEntity().getProcessInstanceId();
+        if (!triggeredProcessInstanceIds.add(processInstanceId)) {
+          break;
+        }
+      }
+
+      message.apply(commandContext, correlationResult);
+      outcomes.add(MessageCorrelationOutcomeImpl.correlated(message));
+    }
+
+    return outcomes;
+  }
+
+  /**
+   * Selects the subscriptions of all messages correlated by correlation keys with one query per message name.
+   */
+  protected void prefetchEventSubscriptions(CommandContext commandContext) {
+    if (!(Context.getProcessEngineConfiguration().getCorrelationHandler() instanceof DefaultCorrelationHandler)) {
+      return;
+    }
+
+    Map<String, List<String>> correlationKeyHashes = new HashMap<String, List<String>>();
+    for (CorrelateMessageCmd message : messages) {
+      String correlationKeyHash = CorrelationKeyHash.hash(message.getCorrelationKeys());
+      if (correlationKeyHash != null && message.getMessageName() != null) {
+        List<String> hashes = correlationKeyHashes.get(message.getMessageName());
+        if (hashes == null) {
+          hashes = new ArrayList<String>();
+          correlationKeyHashes.put(message.getMessageName(), hashes);
+        }
+        hashes.add(correlationKeyHash);
+      }
+    }
+
+    EventSubscriptionManager eventSubscriptionManager = commandContext.getEventSubscriptionManager();
+    for (Map.Entry<String, List<String>> entry : correlationKeyHashes.entrySet()) {
+      eventSubscriptionManager.prefetchMessageEventSubscriptionsByCorrelationKeyHashes(entry.getKey(), entry.getValue());
+    }
+  }
+
+}
@@ -46,24 +46,56 @@ public class CorrelateMessageCmd extends AbstractCorrelateMessageCmd {
   }
 
   public Void execute(CommandContext commandContext) {
+    MessageCorrelationResult correlationResult = correlate(commandContext);
+
+    if (correlationResult == null) {
+      throw new MismatchingMessageCorrelationException(messageName, "No process definition or execution matches the parameters");
+    }
+
+    apply(commandContext, correlationResult);
+
+    return null;
+  }
+
+  /**
+   * Determines the execution or process definition the message correlates to
+   * without changing any state.
+   *
+   * @return the correlation result or <code>null</code> if nothing matches
+   * @throws MismatchingMessageCorrelationException if more than one execution matches
+   */
+  public MessageCorrelationResult correlate(CommandContext commandContext) {
     ensureNotNull("messageName", messageName);
 
     CorrelationHandler correlationHandler = Context.getProcessEngineConfiguration().getCorrelationHandler();
 
     CorrelationSet correlationSet = new CorrelationSet(businessKey, processInstanceId, correlationKeys);
-    MessageCorrelationResult correlationResult = correlationHandler.correlateMessage(commandContext, messageName, correlationSet);
-
-    if (correlationResult == null) {
-      throw new MismatchingMessageCorrelationException(messageName, "No process definition or execution matches the parameters");
+    return correlationHandler.correlateMessage(commandContext, messageName, correlationSet);
+  }
 
-    } else if (MessageCorrelationResult.TYPE_EXECUTION.equals(correlationResult.getResultType())) {
+  /**
+   * Triggers the execution or instantiates the process definition of the given correlation result.
+   */
+  public void apply(CommandContext commandContext, MessageCorrelationResult correlationResult) {
+    if (MessageCorrelationResult.TYPE_EXECUTION.equals(correlationResult.getResultType())) {
       triggerExecution(commandContext, correlationResult);
 
     } else {
       instantiateProcess(commandContext, correlationResult);
 
     }
+  }
 
-    return null;
+  public String getMessageName() {
+    return messageName;
+  }
+
+  public String getBusinessKey() {
+    return businessKey;
   }
+
+  public Map<String, Object> getCorrelationKeys() {
+    return correlationKeys;
+  }
+
 }
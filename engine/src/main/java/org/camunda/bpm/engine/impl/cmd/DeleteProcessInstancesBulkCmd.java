@@ -0,0 +1,139 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionManager;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+
+/**
+ * <p>Deletes a single chunk of the process instances matching a query and returns
+ * the number of process instances in the chunk.</p>
+ *
+ * <p>If neither custom listeners nor history have to be considered, the process
+ * instances are deleted using set-based statements without loading their execution
+ * trees. Process instances which call or are called by other process or case
+ * instances are always deleted one by one since the deletion cascades to them.</p>
+ */
+public class DeleteProcessInstancesBulkCmd implements Command<Integer> {
+
+  /** The maximum number of byte arrays deleted by a single statement. */
+  protected static final int BYTE_ARRAY_CHUNK_SIZE = 500;
+
+  protected ProcessInstanceQueryImpl processInstanceQuery;
+  protected int chunkSize;
+  protected String deleteReason;
+  protected boolean skipCustomListeners;
+  protected boolean skipHistory;
+
+  public DeleteProcessInstancesBulkCmd(ProcessInstanceQueryImpl processInstanceQuery, int chunkSize, String deleteReason,
+      boolean skipCustomListeners, boolean skipHistory) {
+    this.processInstanceQuery = processInstanceQuery;
+    this.chunkSize = chunkSize;
+    this.deleteReason = deleteReason;
+    this.skipCustomListeners = skipCustomListeners;
+    this.skipHistory = skipHistory;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    ensureNotNull("processInstanceQuery", processInstanceQuery);
+
+    // the deleted process instances do not match the query anymore, so the first page is always the next chunk
+    List<ProcessInstance> processInstances = processInstanceQuery.executeList(commandContext, new Page(0, chunkSize));
+    if (processInstances.isEmpty()) {
+      return 0;
+    }
+
+    List<String> processInstanceIds = new ArrayList<String>();
+    for (ProcessInstance processInstance : processInstances) {
+      processInstanceIds.add(processInstance.getId());
+    }
+
+    ExecutionManager executionManager = commandContext.getExecutionManager();
+
+    Set<String> cascadingProcessInstanceIds;
+    if (isSetBasedDeletionApplicable()) {
+      cascadingProcessInstanceIds = new HashSet<String>(executionManager.findProcessInstanceIdsWithSuperOrSubInstance(processInstanceIds));
+    } else {
+      cascadingProcessInstanceIds = new HashSet<String>(processInstanceIds);
+    }
+
+    List<String> setBasedProcessInstanceIds = new ArrayList<String>();
+    for (ProcessInstance processInstance : processInstances) {
+      String processInstanceId = processInstance.getId();
+
+      if (!cascadingProcessInstanceIds.contains(processInstanceId)) {
+        setBasedProcessInstanceIds.add(processInstanceId);
+      } else if (!commandContext.getDbEntityManager().isDeleted((ExecutionEntity) processInstance)) {
+        // a process instance of this chunk may already be deleted as sub process instance of another one
+        executionManager.deleteProcessInstance(processInstanceId, deleteReason, false, skipCustomListeners);
+      }
+    }
+
+    if (!setBasedProcessInstanceIds.isEmpty()) {
+      deleteProcessInstancesSetBased(commandContext, setBasedProcessInstanceIds);
+    }
+
+    for (String processInstanceId : processInstanceIds) {
+      commandContext.getOperationLogManager()
+        .logProcessInstanceOperation(UserOperationLogEntry.OPERATION_TYPE_DELETE, processInstanceId,
+            null, null, PropertyChange.EMPTY_CHANGE);
+    }
+
+    return processInstances.size();
+  }
+
+  /**
+   * The set-based deletion does not invoke any listeners and does not produce history.
+   */
+  protected boolean isSetBasedDeletionApplicable() {
+    int historyLevel = Context.getProcessEngineConfiguration().getHistoryLevel();
+    return skipCustomListeners && (skipHistory || historyLevel == ProcessEngineConfigurationImpl.HISTORYLEVEL_NONE);
+  }
+
+  protected void deleteProcessInstancesSetBased(CommandContext commandContext, List<String> processInstanceIds) {
+    // the byte arrays are not referenced by process instance, so their ids have to be selected before
+    ByteArrayManager byteArrayManager = commandContext.getByteArrayManager();
+    List<String> byteArrayIds = byteArrayManager.findByteArrayIdsByProcessInstanceIds(processInstanceIds);
+
+    commandContext.getIdentityLinkManager().deleteIdentityLinksByTaskProcessInstanceIds(processInstanceIds);
+    commandContext.getVariableInstanceManager().deleteVariableInstancesByProcessInstanceIds(processInstanceIds);
+    commandContext.getEventSubscriptionManager().deleteEventSubscriptionsByProcessInstanceIds(processInstanceIds);
+    commandContext.getJobManager().deleteJobsByProcessInstanceIds(processInstanceIds);
+    commandContext.getIncidentManager().deleteIncidentsByProcessInstanceIds(processInstanceIds);
+
+    for (int index = 0; index < byteArrayIds.size(); index += BYTE_ARRAY_CHUNK_SIZE) {
+      byteArrayManager.deleteByteArraysByIds(byteArrayIds.subList(index, Math.min(index + BYTE_ARRAY_CHUNK_SIZE, byteArrayIds.size())));
+    }
+
+    commandContext.getTaskManager().deleteTasksByProcessInstanceIds(processInstanceIds);
+    commandContext.getExecutionManager().deleteExecutionsByProcessInstanceIds(processInstanceIds);
+  }
+
+}
@@ -13,7 +13,16 @@
 
 package org.camunda.bpm.engine.impl.cmd;
 
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensurePositive;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.filter.Filter;
+import org.camunda.bpm.engine.impl.AbstractQuery;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
+import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.query.Query;
@@ -25,6 +34,9 @@ public class ExecuteFilterCountCmd extends AbstractExecuteFilterCmd implements C
 
   private static final long serialVersionUID = 1L;
 
+  /** the maximum count of an approximate count or 0 for an exact count */
+  protected int maxCount = 0;
+
   public ExecuteFilterCountCmd(String filterId) {
     super(filterId);
   }
@@ -33,9 +45,42 @@ public class ExecuteFilterCountCmd extends AbstractExecuteFilterCmd implements C
     super(filterId, extendingQuery);
   }
 
+  public ExecuteFilterCountCmd(String filterId, int maxCount) {
+    super(filterId);
+    ensurePositive(NotValidException.class, "maxCount", maxCount);
+    this.maxCount = maxCount;
+  }
+
   public Long execute(CommandContext commandContext) {
     Filter filter = getFilter(commandContext);
-    return filter.getQuery().count();
+
+    FilterCountCache filterCountCache = Context.getProcessEngineConfiguration().getFilterCountCache();
+    if (filterCountCache == null || extendingQuery != null) {
+      return count(filter);
+    }
+
+    // filter queries may depend on the current user
+    Authentication authentication = commandContext.getAuthentication();
+    String userId = authentication != null ? authentication.getUserId() : null;
+    List<String> groupIds = authentication != null ? authentication.getGroupIds() : null;
+
+    Long count = filterCountCache.get(filterId, userId, groupIds, maxCount);
+    if (count == null) {
+      long generation = filterCountCache.getGeneration();
+      count = count(filter);
+      filterCountCache.put(filterId, userId, groupIds, maxCount, generation, count);
+    }
+    return count;
+  }
+
+  protected long count(Filter filter) {
+    if (maxCount == 0) {
+      return filter.getQuery().count();
+    }
+
+    // let the database stop counting as soon as the maximum count is reached
+    AbstractQuery<?, ?> query = filter.getQuery();
+    return query.evaluateExpressionsAndExecuteCountUpTo(Context.getCommandContext(), maxCount);
   }
 
 }
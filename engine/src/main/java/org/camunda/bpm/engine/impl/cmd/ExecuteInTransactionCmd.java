@@ -0,0 +1,50 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Invokes a callable inside the command context of this command. Process engine
+ * API calls made by the callable reuse the command context and therefore
+ * share its transaction.
+ */
+public class ExecuteInTransactionCmd<T> implements Command<T> {
+
+  protected Callable<T> callable;
+
+  public ExecuteInTransactionCmd(Callable<T> callable) {
+    this.callable = callable;
+  }
+
+  public T execute(CommandContext commandContext) {
+    ensureNotNull("callable", callable);
+
+    try {
+      return callable.call();
+
+    } catch (RuntimeException e) {
+      throw e;
+
+    } catch (Exception e) {
+      throw new ProcessEngineException("Exception while executing callable in transaction: " + e.getMessage(), e);
+    }
+  }
+
+}
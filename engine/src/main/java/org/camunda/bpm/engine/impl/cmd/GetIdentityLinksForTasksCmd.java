@@ -0,0 +1,50 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.task.IdentityLink;
+
+/**
+ * Loads the stored identity links of several tasks with a single query.
+ */
+public class GetIdentityLinksForTasksCmd implements Command<List<IdentityLink>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected List<String> taskIds;
+
+  public GetIdentityLinksForTasksCmd(List<String> taskIds) {
+    this.taskIds = taskIds;
+  }
+
+  public List<IdentityLink> execute(CommandContext commandContext) {
+    ensureNotNull("taskIds", taskIds);
+
+    if (taskIds.isEmpty()) {
+      return new ArrayList<IdentityLink>();
+    }
+
+    return new ArrayList<IdentityLink>(commandContext
+      .getIdentityLinkManager()
+      .findIdentityLinksByTaskIds(taskIds));
+  }
+
+}
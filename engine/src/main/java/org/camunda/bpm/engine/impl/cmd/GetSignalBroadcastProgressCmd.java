@@ -0,0 +1,54 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.SignalBroadcastJobHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.runtime.SignalBroadcastProgressImpl;
+import org.camunda.bpm.engine.impl.util.json.JSONObject;
+import org.camunda.bpm.engine.runtime.SignalBroadcastProgress;
+
+/**
+ * Determines the progress of a signal broadcast from its pending job.
+ */
+public class GetSignalBroadcastProgressCmd implements Command<SignalBroadcastProgress> {
+
+  protected final String broadcastId;
+
+  public GetSignalBroadcastProgressCmd(String broadcastId) {
+    this.broadcastId = broadcastId;
+  }
+
+  public SignalBroadcastProgress execute(CommandContext commandContext) {
+    ensureNotNull("broadcastId", broadcastId);
+
+    List<JobEntity> jobs = commandContext.getJobManager().findJobsByHandlerType(SignalBroadcastJobHandler.TYPE);
+    for (JobEntity job : jobs) {
+      JSONObject config = new JSONObject(job.getJobHandlerConfiguration());
+      if (broadcastId.equals(SignalBroadcastJobHandler.getBroadcastId(config))) {
+        return new SignalBroadcastProgressImpl(broadcastId, SignalBroadcastJobHandler.getSignalName(config),
+            SignalBroadcastJobHandler.getDelivered(config), job.getId(), job.getRetries());
+      }
+    }
+
+    // the broadcast has completed or does not exist
+    return null;
+  }
+
+}
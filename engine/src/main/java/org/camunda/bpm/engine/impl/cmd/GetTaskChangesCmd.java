@@ -0,0 +1,134 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskChangeEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskChangeManager;
+import org.camunda.bpm.engine.impl.task.TaskChangesImpl;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.task.TaskChanges;
+
+/**
+ * Reads the task change log after a sequence number and returns the changed tasks,
+ * optionally restricted to the tasks which match a filter.
+ */
+public class GetTaskChangesCmd implements Command<TaskChanges>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /** the maximum number of changes which can be requested at once */
+  public static final int MAX_RESULTS_LIMIT = 1000;
+
+  protected String filterId;
+  protected long afterSequence;
+  protected int maxResults;
+
+  public GetTaskChangesCmd(long afterSequence, int maxResults) {
+    this(null, afterSequence, maxResults);
+  }
+
+  public GetTaskChangesCmd(String filterId, long afterSequence, int maxResults) {
+    if (maxResults <= 0 || maxResults > MAX_RESULTS_LIMIT) {
+      throw new NotValidException("maxResults must be between 1 and " + MAX_RESULTS_LIMIT + ", but is " + maxResults);
+    }
+    this.filterId = filterId;
+    this.afterSequence = afterSequence;
+    this.maxResults = maxResults;
+  }
+
+  public TaskChanges execute(CommandContext commandContext) {
+    TaskChangeManager taskChangeManager = commandContext.getTaskChangeManager();
+
+    long currentSequence = taskChangeManager.findCurrentTaskChangeSequence();
+    if (afterSequence < 0 || afterSequence > currentSequence) {
+      return new TaskChangesImpl(currentSequence, true);
+    }
+    if (afterSequence == currentSequence) {
+      return new TaskChangesImpl(currentSequence, false);
+    }
+
+    // the changes directly following the sequence must not be deleted yet
+    Long minSequence = taskChangeManager.findMinTaskChangeSequence();
+    if (minSequence == null || minSequence > afterSequence + 1) {
+      return new TaskChangesImpl(currentSequence, true);
+    }
+
+    List<TaskChangeEntity> taskChanges = taskChangeManager.findTaskChangesAfterSequence(afterSequence, maxResults);
+    long sequence = afterSequence;
+
+    // only the last change of a task is relevant
+    Map<String, String> changeTypes = new LinkedHashMap<String, String>();
+    for (TaskChangeEntity taskChange : taskChanges) {
+      changeTypes.remove(taskChange.getTaskId());
+      changeTypes.put(taskChange.getTaskId(), taskChange.getType());
+      sequence = taskChange.getSequence();
+    }
+
+    List<String> changedTaskIds = new ArrayList<String>();
+    List<String> removedTaskIds = new ArrayList<String>();
+    for (Map.Entry<String, String> changeType : changeTypes.entrySet()) {
+      if (TaskChangeEntity.TYPE_DELETE.equals(changeType.getValue())) {
+        removedTaskIds.add(changeType.getKey());
+      }
+      else {
+        changedTaskIds.add(changeType.getKey());
+      }
+    }
+
+    TaskChangesImpl result = new TaskChangesImpl(sequence, false);
+    if (!changedTaskIds.isEmpty()) {
+      List<Task> tasks = findTasks(commandContext, changedTaskIds);
+
+      // the remaining tasks were deleted later on or do not match the filter anymore
+      Set<String> foundTaskIds = new HashSet<String>();
+      for (Task task : tasks) {
+        foundTaskIds.add(task.getId());
+      }
+      for (String changedTaskId : changedTaskIds) {
+        if (!foundTaskIds.contains(changedTaskId)) {
+          removedTaskIds.add(changedTaskId);
+        }
+      }
+      result.setTasks(tasks);
+    }
+    result.setRemovedTaskIds(removedTaskIds);
+
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<Task> findTasks(CommandContext commandContext, List<String> taskIds) {
+    TaskQueryImpl taskQuery = new TaskQueryImpl();
+    taskQuery.taskIdIn(taskIds.toArray(new String[taskIds.size()]));
+
+    if (filterId != null) {
+      return (List<Task>) new ExecuteFilterListCmd(filterId, taskQuery).execute(commandContext);
+    }
+    else {
+      return taskQuery.list();
+    }
+  }
+
+}
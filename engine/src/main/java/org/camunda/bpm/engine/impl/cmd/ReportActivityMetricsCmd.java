@@ -0,0 +1,56 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ActivityMetricsEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ActivityMetricsManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Inserts the given activity metrics, one row per activity which was started,
+ * ended or executed since the last report, and deletes the metrics which are
+ * older than the time to live. The metrics are drained from the registry by the
+ * {@link org.camunda.bpm.engine.impl.metrics.ActivityMetricsReporter}.
+ */
+public class ReportActivityMetricsCmd implements Command<Void> {
+
+  protected List<ActivityMetricsEntity> activityMetrics;
+  protected long timeToLive;
+
+  public ReportActivityMetricsCmd(List<ActivityMetricsEntity> activityMetrics, long timeToLive) {
+    this.activityMetrics = activityMetrics;
+    this.timeToLive = timeToLive;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    ActivityMetricsManager activityMetricsManager = commandContext.getActivityMetricsManager();
+    Date timestamp = ClockUtil.getCurrentTime();
+
+    for (ActivityMetricsEntity metrics : activityMetrics) {
+      metrics.setTimestamp(timestamp);
+      activityMetricsManager.insertActivityMetrics(metrics);
+    }
+
+    if (timeToLive > 0) {
+      activityMetricsManager.deleteActivityMetricsBefore(new Date(timestamp.getTime() - timeToLive));
+    }
+
+    return null;
+  }
+
+}
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
+import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+
+/**
+ * <p>Suspends or activates a single chunk of the process instances matching a query
+ * and returns the number of process instances in the chunk.</p>
+ *
+ * <p>The executions, tasks and jobs of the chunk are updated using set-based
+ * statements.</p>
+ */
+public class SetProcessInstancesSuspensionStateBulkCmd implements Command<Integer> {
+
+  protected static final String SUSPENSION_STATE_PROPERTY = "suspensionState";
+
+  protected ProcessInstanceQueryImpl processInstanceQuery;
+  protected int chunkSize;
+  protected SuspensionState suspensionState;
+
+  public SetProcessInstancesSuspensionStateBulkCmd(ProcessInstanceQueryImpl processInstanceQuery, int chunkSize, SuspensionState suspensionState) {
+    this.processInstanceQuery = processInstanceQuery;
+    this.chunkSize = chunkSize;
+    this.suspensionState = suspensionState;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    ensureNotNull("processInstanceQuery", processInstanceQuery);
+    ensureNotNull("suspensionState", suspensionState);
+
+    SuspensionState querySuspensionState = processInstanceQuery.getSuspensionState();
+    if (suspensionState.equals(querySuspensionState)) {
+      // the matching process instances are already in the requested state
+      return 0;
+    }
+
+    // only select the process instances in the opposite state, so that the updated
+    // process instances do not match the query anymore and the first page is always the next chunk
+    List<ProcessInstance> processInstances;
+    processInstanceQuery.setSuspensionState(getOppositeSuspensionState());
+    try {
+      processInstances = processInstanceQuery.executeList(commandContext, new Page(0, chunkSize));
+    } finally {
+      processInstanceQuery.setSuspensionState(querySuspensionState);
+    }
+
+    if (processInstances.isEmpty()) {
+      return 0;
+    }
+
+    List<String> processInstanceIds = new ArrayList<String>();
+    for (ProcessInstance processInstance : processInstances) {
+      processInstanceIds.add(processInstance.getId());
+    }
+
+    commandContext.getExecutionManager().updateExecutionSuspensionStateByProcessInstanceIds(processInstanceIds, suspensionState);
+    commandContext.getTaskManager().updateTaskSuspensionStateByProcessInstanceIds(processInstanceIds, suspensionState);
+    commandContext.getJobManager().updateJobSuspensionStateByProcessInstanceIds(processInstanceIds, suspensionState);
+
+    PropertyChange propertyChange = new PropertyChange(SUSPENSION_STATE_PROPERTY, null, suspensionState.getName());
+    for (String processInstanceId : processInstanceIds) {
+      commandContext.getOperationLogManager()
+        .logProcessInstanceOperation(getLogEntryOperation(), processInstanceId, null, null, propertyChange);
+    }
+
+    return processInstances.size();
+  }
+
+  protected SuspensionState getOppositeSuspensionState() {
+    if (SuspensionState.SUSPENDED.equals(suspensionState)) {
+      return SuspensionState.ACTIVE;
+    } else {
+      return SuspensionState.SUSPENDED;
+    }
+  }
+
+  protected String getLogEntryOperation() {
+    if (SuspensionState.SUSPENDED.equals(suspensionState)) {
+      return UserOperationLogEntry.OPERATION_TYPE_SUSPEND;
+    } else {
+      return UserOperationLogEntry.OPERATION_TYPE_ACTIVATE;
+    }
+  }
+
+}
@@ -0,0 +1,41 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.SignalBroadcastJobHandler;
+
+/**
+ * Starts an asynchronous broadcast of a signal, see {@link SignalBroadcastJobHandler}.
+ */
+public class SignalEventReceivedAsyncCmd implements Command<String> {
+
+  protected final String eventName;
+  protected final Map<String, Object> variables;
+
+  public SignalEventReceivedAsyncCmd(String eventName, Map<String, Object> variables) {
+    this.eventName = eventName;
+    this.variables = variables;
+  }
+
+  public String execute(CommandContext commandContext) {
+    ensureNotNull("signalName", eventName);
+    return SignalBroadcastJobHandler.startBroadcast(eventName, variables, commandContext);
+  }
+
+}
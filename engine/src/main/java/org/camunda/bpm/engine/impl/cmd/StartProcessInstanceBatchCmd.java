@@ -0,0 +1,60 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.runtime.ProcessInstantiationOutcomeImpl;
+import org.camunda.bpm.engine.runtime.ProcessInstantiationOutcome;
+
+/**
+ * <p>Starts a chunk of process instances in a single transaction.</p>
+ *
+ * <p>The process definition of each key is resolved once for the whole chunk and
+ * all process instances are flushed together when the command completes. If one
+ * of the process instances fails to start, the whole chunk is rolled back.</p>
+ */
+public class StartProcessInstanceBatchCmd implements Command<List<ProcessInstantiationOutcome>> {
+
+  protected final List<StartProcessInstanceCmd> requests;
+
+  public StartProcessInstanceBatchCmd(List<StartProcessInstanceCmd> requests) {
+    this.requests = requests;
+  }
+
+  public List<ProcessInstantiationOutcome> execute(CommandContext commandContext) {
+    List<ProcessInstantiationOutcome> outcomes = new ArrayList<ProcessInstantiationOutcome>(requests.size());
+    Map<String, ProcessDefinitionEntity> processDefinitionsByKey = new HashMap<String, ProcessDefinitionEntity>();
+
+    for (StartProcessInstanceCmd request : requests) {
+      ProcessDefinitionEntity processDefinition = processDefinitionsByKey.get(request.getProcessDefinitionKey());
+      if (processDefinition == null) {
+        processDefinition = request.findProcessDefinition(commandContext);
+        processDefinitionsByKey.put(request.getProcessDefinitionKey(), processDefinition);
+      }
+
+      ExecutionEntity processInstance = request.start(processDefinition);
+      outcomes.add(ProcessInstantiationOutcomeImpl.started(request, processInstance.getId()));
+    }
+
+    return outcomes;
+  }
+
+}
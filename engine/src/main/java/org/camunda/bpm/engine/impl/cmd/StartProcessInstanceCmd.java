@@ -49,6 +49,11 @@ public class StartProcessInstanceCmd implements Command<ProcessInstance>, Serial
   }
 
   public ProcessInstance execute(CommandContext commandContext) {
+    ProcessDefinitionEntity processDefinition = findProcessDefinition(commandContext);
+    return start(processDefinition);
+  }
+
+  public ProcessDefinitionEntity findProcessDefinition(CommandContext commandContext) {
     DeploymentCache deploymentCache = Context
       .getProcessEngineConfiguration()
       .getDeploymentCache();
@@ -64,10 +69,28 @@ public class StartProcessInstanceCmd implements Command<ProcessInstance>, Serial
     } else {
       throw new ProcessEngineException("processDefinitionKey and processDefinitionId are null");
     }
+    return processDefinition;
+  }
 
-    // Start the process instance
+  /**
+   * Starts the process instance using a process definition which has already been resolved.
+   */
+  public ExecutionEntity start(ProcessDefinitionEntity processDefinition) {
     ExecutionEntity processInstance = processDefinition.createProcessInstance(businessKey, caseInstanceId);
     processInstance.start(variables);
     return processInstance;
   }
+
+  public String getProcessDefinitionKey() {
+    return processDefinitionKey;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public String getBusinessKey() {
+    return businessKey;
+  }
+
 }
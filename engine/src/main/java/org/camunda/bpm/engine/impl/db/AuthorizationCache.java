@@ -0,0 +1,170 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Bounded (thread-safe) LRU cache of the {@link ResourcePermissions} of users, shared across
+ * commands of a process engine.</p>
+ *
+ * <p>Entries are keyed by the user id, its group ids, the resource type and the checked permission(s).
+ * Since the group ids are part of the key, changes of group memberships never lead to stale
+ * entries. Any change of an authorization {@link #invalidate() invalidates} the whole cache.</p>
+ *
+ * <p>Invalidation is local to this process engine: changes of authorizations made by another
+ * process engine of a cluster only become visible once the cached entries expire after the
+ * configured time to live.</p>
+ *
+ * <p>Invalidation increments a generation counter: permissions which were evaluated while
+ * an invalidation happened are not {@link #put(String, List, int, int, long, ResourcePermissions) put}
+ * into the cache since they may reflect a state of the authorizations which is no longer valid.</p>
+ */
+public class AuthorizationCache {
+
+  public static final int DEFAULT_CAPACITY = 1000;
+  public static final long DEFAULT_TIME_TO_LIVE = 10000;
+
+  protected final Map<String, CachedPermissions> cache;
+  protected final long timeToLive;
+
+  protected final AtomicLong generation = new AtomicLong();
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+
+  public AuthorizationCache() {
+    this(DEFAULT_CAPACITY, DEFAULT_TIME_TO_LIVE);
+  }
+
+  /**
+   * @param capacity the maximum number of cached permissions
+   * @param timeToLive the time in milliseconds after which cached permissions expire
+   */
+  @SuppressWarnings("serial")
+  public AuthorizationCache(final int capacity, long timeToLive) {
+    this.timeToLive = timeToLive;
+    this.cache = Collections.synchronizedMap(new LinkedHashMap<String, CachedPermissions>(16, 0.75f, true) {
+      protected boolean removeEldestEntry(Entry<String, CachedPermissions> eldest) {
+        return size() > capacity;
+      }
+    });
+  }
+
+  /**
+   * Returns the cached permissions or null if there are none or they are expired.
+   */
+  public ResourcePermissions get(String userId, List<String> groupIds, int resourceType, int perms) {
+    String key = getKey(userId, groupIds, resourceType, perms);
+    CachedPermissions cachedPermissions = cache.get(key);
+
+    if (cachedPermissions != null && cachedPermissions.expirationTime <= ClockUtil.getCurrentTime().getTime()) {
+      cache.remove(key);
+      cachedPermissions = null;
+    }
+
+    if (cachedPermissions != null) {
+      hitCount.incrementAndGet();
+      return cachedPermissions.permissions;
+    } else {
+      missCount.incrementAndGet();
+      return null;
+    }
+  }
+
+  /**
+   * @return the current generation which must be passed to
+   *  {@link #put(String, List, int, int, long, ResourcePermissions)} after the
+   *  permissions were evaluated
+   */
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  /**
+   * Caches the permissions unless the cache was invalidated since the given generation.
+   */
+  public void put(String userId, List<String> groupIds, int resourceType, int perms, long generation, ResourcePermissions permissions) {
+    String key = getKey(userId, groupIds, resourceType, perms);
+    CachedPermissions cachedPermissions = new CachedPermissions(permissions, ClockUtil.getCurrentTime().getTime() + timeToLive);
+    synchronized (cache) {
+      if (this.generation.get() == generation) {
+        cache.put(key, cachedPermissions);
+      }
+    }
+  }
+
+  /**
+   * Removes all cached permissions. Must be called whenever an authorization is
+   * created, updated or deleted.
+   */
+  public void invalidate() {
+    synchronized (cache) {
+      generation.incrementAndGet();
+      cache.clear();
+    }
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  protected String getKey(String userId, List<String> groupIds, int resourceType, int perms) {
+    StringBuilder key = new StringBuilder()
+      .append(resourceType).append(':')
+      .append(perms).append(':')
+      .append(userId);
+
+    if (groupIds != null && !groupIds.isEmpty()) {
+      List<String> sortedGroupIds = new ArrayList<String>(groupIds);
+      Collections.sort(sortedGroupIds);
+      for (String groupId : sortedGroupIds) {
+        key.append('\u0000').append(groupId);
+      }
+    }
+
+    return key.toString();
+  }
+
+  protected static class CachedPermissions {
+
+    protected final ResourcePermissions permissions;
+    protected final long expirationTime;
+
+    public CachedPermissions(ResourcePermissions permissions, long expirationTime) {
+      this.permissions = permissions;
+      this.expirationTime = expirationTime;
+    }
+
+  }
+
+}
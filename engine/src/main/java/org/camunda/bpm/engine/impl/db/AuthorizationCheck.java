@@ -53,6 +53,16 @@ public class AuthorizationCheck implements Serializable {
   /** query parameter for resaource Id. Is injected as RAW parameter into the query */
   protected String authResourceIdQueryParam;
   
+  /**
+   * the ids of the resources on which the permission(s) are granted, evaluated
+   * upfront from the cached {@link ResourcePermissions} of the user. If set, queries
+   * use this list instead of evaluating the authorizations for each row.
+   */
+  protected List<String> authResourceIds;
+
+  /** if true, the permission(s) are granted on all resources except {@link #authResourceIds} */
+  protected boolean isAuthResourceIdsExcluded = false;
+
   /** the default permissions to use if no matching authorization 
    * can be found.*/
   protected int authDefaultPerm = Permissions.ALL.getValue();
@@ -122,4 +132,20 @@ public class AuthorizationCheck implements Serializable {
   public void setAuthResourceIdQueryParam(String authResourceIdQueryParam) {
     this.authResourceIdQueryParam = authResourceIdQueryParam;
   }
+
+  public List<String> getAuthResourceIds() {
+    return authResourceIds;
+  }
+
+  public void setAuthResourceIds(List<String> authResourceIds) {
+    this.authResourceIds = authResourceIds;
+  }
+
+  public boolean isAuthResourceIdsExcluded() {
+    return isAuthResourceIdsExcluded;
+  }
+
+  public void setAuthResourceIdsExcluded(boolean isAuthResourceIdsExcluded) {
+    this.isAuthResourceIdsExcluded = isAuthResourceIdsExcluded;
+  }
 }
@@ -28,6 +28,7 @@ public class ListQueryParameterObject extends AuthorizationCheck {
   protected String orderBy;
   protected Object parameter;
   protected String databaseType;
+  protected int fetchSize = 0;
 
   public ListQueryParameterObject() {
   }
@@ -57,6 +58,18 @@ public class ListQueryParameterObject extends AuthorizationCheck {
     return maxResults;
   }
 
+  /**
+   * @return the number of rows the JDBC driver should fetch from the database at once
+   * or 0 to use the driver default
+   */
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  public void setFetchSize(int fetchSize) {
+    this.fetchSize = fetchSize;
+  }
+
   public Object getParameter() {
     return parameter;
   }
@@ -14,6 +14,8 @@ package org.camunda.bpm.engine.impl.db;
 
 import java.util.List;
 
+import org.apache.ibatis.session.ResultHandler;
+
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 
@@ -30,6 +32,12 @@ public interface PersistenceSession extends Session {
 
   List<?> selectList(String statement, Object parameter);
 
+  /**
+   * Executes the select statement and passes the results to the given handler while
+   * they are read instead of collecting them in a list.
+   */
+  void selectWithResultHandler(String statement, Object parameter, ResultHandler resultHandler);
+
   <T extends DbEntity> T selectById(Class<T> type, String id);
 
   Object selectOne(String statement, Object parameter);
@@ -0,0 +1,143 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationEntity;
+
+/**
+ * <p>The effective permission of a user (and its groups) on all resources of a resource type,
+ * evaluated once from the authorizations which apply to the user.</p>
+ *
+ * <p>The result is either a finite set of resource ids on which the permission is granted, or,
+ * if the permission is granted on any resource ({@link Authorization#ANY}), the finite set of
+ * resource ids on which it is revoked. Both representations can be checked in memory and
+ * injected into queries as a simple <code>IN</code> / <code>NOT IN</code> list.</p>
+ *
+ * <p>The evaluation follows the precedence of the SQL authorization check:
+ * user grants, user revokes, group revokes, group grants and finally global grants.
+ * Within each level an authorization for a specific resource id is considered before an
+ * authorization for any resource.</p>
+ */
+public class ResourcePermissions {
+
+  protected final boolean isGrantedForAny;
+
+  /** granted resource ids if not {@link #isGrantedForAny}, revoked resource ids otherwise */
+  protected final Set<String> resourceIds;
+
+  public ResourcePermissions(boolean isGrantedForAny, Set<String> resourceIds) {
+    this.isGrantedForAny = isGrantedForAny;
+    this.resourceIds = Collections.unmodifiableSet(resourceIds);
+  }
+
+  /**
+   * Evaluates the given permission(s) against the authorizations which apply to a user.
+   *
+   * @param authorizations all authorizations of the resource type which are either
+   *  user authorizations of the user, group authorizations of its groups or global authorizations
+   */
+  public static ResourcePermissions evaluate(List<AuthorizationEntity> authorizations, int perms) {
+    Set<String> userGrants = new HashSet<String>();
+    Set<String> userRevokes = new HashSet<String>();
+    Set<String> groupGrants = new HashSet<String>();
+    Set<String> groupRevokes = new HashSet<String>();
+    Set<String> globalGrants = new HashSet<String>();
+
+    for (AuthorizationEntity authorization : authorizations) {
+      boolean isPermissionGranted = (authorization.getPermissions() & perms) == perms;
+      String resourceId = authorization.getResourceId();
+
+      switch (authorization.getAuthorizationType()) {
+      case Authorization.AUTH_TYPE_GLOBAL:
+        if (isPermissionGranted) {
+          globalGrants.add(resourceId);
+        }
+        break;
+
+      case Authorization.AUTH_TYPE_GRANT:
+        if (isPermissionGranted) {
+          (authorization.getUserId() != null ? userGrants : groupGrants).add(resourceId);
+        }
+        break;
+
+      case Authorization.AUTH_TYPE_REVOKE:
+        if (!isPermissionGranted) {
+          (authorization.getUserId() != null ? userRevokes : groupRevokes).add(resourceId);
+        }
+        break;
+      }
+    }
+
+    if (userGrants.contains(Authorization.ANY)) {
+      return new ResourcePermissions(true, new HashSet<String>());
+    }
+
+    if (userRevokes.contains(Authorization.ANY) || groupRevokes.contains(Authorization.ANY)) {
+      return new ResourcePermissions(false, userGrants);
+    }
+
+    Set<String> revoked = new HashSet<String>(userRevokes);
+    revoked.addAll(groupRevokes);
+
+    if (groupGrants.contains(Authorization.ANY) || globalGrants.contains(Authorization.ANY)) {
+      revoked.removeAll(userGrants);
+      return new ResourcePermissions(true, revoked);
+    }
+
+    Set<String> granted = new HashSet<String>(groupGrants);
+    granted.addAll(globalGrants);
+    granted.removeAll(revoked);
+    granted.addAll(userGrants);
+    return new ResourcePermissions(false, granted);
+  }
+
+  /**
+   * @param resourceId the id of the resource or <code>null</code> / {@link Authorization#ANY}
+   *  to check the permission on any resource of the resource type
+   */
+  public boolean isAuthorized(String resourceId) {
+    if (resourceId == null || Authorization.ANY.equals(resourceId)) {
+      return isGrantedForAny;
+    } else {
+      return isGrantedForAny != resourceIds.contains(resourceId);
+    }
+  }
+
+  /**
+   * @return true if the permission is granted on any resource except {@link #getResourceIds()}
+   */
+  public boolean isGrantedForAny() {
+    return isGrantedForAny;
+  }
+
+  public Set<String> getResourceIds() {
+    return resourceIds;
+  }
+
+  /**
+   * Configures the given check to restrict a query to the resources on which
+   * the permission is granted.
+   */
+  public void applyTo(AuthorizationCheck authorizationCheck) {
+    authorizationCheck.setAuthResourceIds(new ArrayList<String>(resourceIds));
+    authorizationCheck.setAuthResourceIdsExcluded(isGrantedForAny);
+  }
+
+}
@@ -31,6 +31,8 @@ import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.DeploymentQueryImpl;
@@ -66,6 +68,7 @@ import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 /**
  *
@@ -163,6 +166,56 @@ public class DbEntityManager implements Session {
     return filterLoadedObjects(loadedObjects);
   }
 
+  /**
+   * Executes the select statement and passes the results one by one to the given handler while
+   * they are read from the database. In contrast to {@link #selectList(String, ListQueryParameterObject)},
+   * loaded entities are not added to the entity cache so that arbitrarily large result sets can be
+   * processed in constant memory. Entities which are already cached are passed to the handler in
+   * their cached state.
+   *
+   * A runtime exception thrown by the handler stops the select and is rethrown as is, instead of
+   * being wrapped by MyBatis.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> void selectStream(String statement, ListQueryParameterObject parameter, final QueryResultHandler<T> handler) {
+    if(parameter.getFirstResult() == -1 ||  parameter.getMaxResults()==-1) {
+      return;
+    }
+
+    int fetchSize = Context.getProcessEngineConfiguration().getStreamingQueryFetchSize();
+    parameter.setFetchSize(fetchSize);
+    final RuntimeException[] handlerException = new RuntimeException[1];
+    try {
+      persistenceSession.selectWithResultHandler(statement, parameter, new ResultHandler() {
+        public void handleResult(ResultContext context) {
+          Object result = context.getResultObject();
+          if (result instanceof DbEntity) {
+            DbEntity loadedObject = (DbEntity) result;
+            DbEntity cachedObject = dbEntityCache.get(loadedObject.getClass(), loadedObject.getId());
+            if (cachedObject != null) {
+              result = cachedObject;
+            }
+          }
+          try {
+            if (!handler.handleResult((T) result)) {
+              context.stop();
+            }
+          } catch (RuntimeException e) {
+            handlerException[0] = e;
+            context.stop();
+          }
+        }
+      });
+
+    } finally {
+      parameter.setFetchSize(0);
+    }
+
+    if (handlerException[0] != null) {
+      throw handlerException[0];
+    }
+  }
+
   public Object selectOne(String statement, Object parameter) {
     Object result = persistenceSession.selectOne(statement, parameter);
     if (result instanceof DbEntity) {
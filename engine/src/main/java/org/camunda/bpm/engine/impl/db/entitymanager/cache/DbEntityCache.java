@@ -96,7 +96,7 @@ public class DbEntityCache {
           // if the cacheKey of this type differs from the actual type,
           // not all cached entites with the key should be returned.
           // Then we only add those entities whose type matches the argument type.
-          if (type.isAssignableFrom(cachedEntity.getClass())) {
+          if (type.isAssignableFrom(cachedEntity.getEntity().getClass())) {
             result.add((T) cachedEntity.getEntity());
           }
         } else {
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.SqlSession;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -80,6 +81,17 @@ public class DbSqlSession extends AbstractPersistenceSession {
     return sqlSession.selectList(statement, parameter);
   }
 
+  public void selectWithResultHandler(String statement, Object parameter, ResultHandler resultHandler) {
+    statement = dbSqlSessionFactory.mapStatement(statement);
+    try {
+      sqlSession.select(statement, parameter, resultHandler);
+    } finally {
+      // the local cache holds an empty result for the streamed select which
+      // would be returned by a subsequent selectList with the same parameter
+      sqlSession.clearCache();
+    }
+  }
+
   public <T extends DbEntity> T selectById(Class<T> type, String id) {
     String selectStatement = dbSqlSessionFactory.getSelectStatement(type);
     selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
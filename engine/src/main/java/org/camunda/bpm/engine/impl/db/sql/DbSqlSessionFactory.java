@@ -186,6 +186,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificTrueConstant.put(ORACLE, "1");
     databaseSpecificFalseConstant.put(ORACLE, "0");
     addDatabaseSpecificStatement(ORACLE, "selectExclusiveJobsToExecute", "selectExclusiveJobsToExecute_integerBoolean");
+    addDatabaseSpecificStatement(ORACLE, "selectTaskCountUpToByQueryCriteria", "selectTaskCountUpToByQueryCriteria_oracle");
 
     constants = new HashMap<String, String>();
     constants.put("constant.event", "cast('event' as nvarchar2(255))");
@@ -215,6 +216,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(DB2, "selectHistoricProcessInstanceByNativeQuery", "selectHistoricProcessInstanceByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(DB2, "selectHistoricTaskInstanceByNativeQuery", "selectHistoricTaskInstanceByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(DB2, "selectTaskByNativeQuery", "selectTaskByNativeQuery_mssql_or_db2");
+    addDatabaseSpecificStatement(DB2, "selectTaskCountUpToByQueryCriteria", "selectTaskCountUpToByQueryCriteria_db2");
 
     constants = new HashMap<String, String>();
     constants.put("constant.event", "'event'");
@@ -245,6 +247,8 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(MSSQL, "selectHistoricTaskInstanceByNativeQuery", "selectHistoricTaskInstanceByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(MSSQL, "selectTaskByNativeQuery", "selectTaskByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(MSSQL, "lockDeploymentLockProperty", "lockDeploymentLockProperty_mssql");
+    addDatabaseSpecificStatement(MSSQL, "selectTaskChangeSequencePropertyForUpdate", "selectTaskChangeSequencePropertyForUpdate_mssql");
+    addDatabaseSpecificStatement(MSSQL, "selectTaskCountUpToByQueryCriteria", "selectTaskCountUpToByQueryCriteria_mssql");
 
     constants = new HashMap<String, String>();
     constants.put("constant.event", "'event'");
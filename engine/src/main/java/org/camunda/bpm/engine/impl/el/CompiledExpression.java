@@ -0,0 +1,219 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import java.math.BigDecimal;
+
+import org.camunda.bpm.engine.delegate.CoreVariableInstance;
+import org.camunda.bpm.engine.delegate.PersistentVariableInstance;
+import org.camunda.bpm.engine.impl.core.variable.CoreVariableScope;
+import org.camunda.bpm.engine.impl.juel.BooleanOperations;
+import org.camunda.bpm.engine.impl.juel.TypeConverter;
+
+/**
+ * <p>Specialised evaluator for a simple expression, as produced by the {@link ExpressionCompiler}.
+ * Evaluates variable lookups, literals, comparisons and boolean operators directly against a
+ * {@link CoreVariableScope} without going through the EL resolver chain.</p>
+ *
+ * <p>If a value cannot be resolved on the fast path (e.g. the variable does not exist or holds a
+ * custom object which must be deserialized in the context of its process application),
+ * {@link #UNRESOLVED} is returned and the caller falls back to the regular JUEL evaluation.</p>
+ */
+public abstract class CompiledExpression {
+
+  /** marker returned if the expression cannot be evaluated on the fast path */
+  public static final Object UNRESOLVED = new Object();
+
+  protected static final TypeConverter CONVERTER = TypeConverter.DEFAULT;
+
+  public abstract Object evaluate(CoreVariableScope<?> variableScope);
+
+  protected static Object toBoolean(Object value) {
+    if (value == UNRESOLVED || value instanceof Boolean) {
+      return value;
+    }
+    return CONVERTER.convert(value, Boolean.class);
+  }
+
+  protected static boolean isIntegral(Object value) {
+    return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+  }
+
+  protected static boolean isFloatingPoint(Object value) {
+    return value instanceof Double || value instanceof Float;
+  }
+
+  // leaves //////////////////////////////////////////////////////////////////
+
+  public static class Literal extends CompiledExpression {
+
+    protected final Object value;
+
+    public Literal(Object value) {
+      this.value = value;
+    }
+
+    public Object evaluate(CoreVariableScope<?> variableScope) {
+      return value;
+    }
+  }
+
+  public static class Variable extends CompiledExpression {
+
+    protected final String name;
+
+    public Variable(String name) {
+      this.name = name;
+    }
+
+    public Object evaluate(CoreVariableScope<?> variableScope) {
+      CoreVariableInstance variableInstance = variableScope.getVariableInstance(name);
+      if (variableInstance == null) {
+        // may still be resolved by a bean or process application resolver
+        return UNRESOLVED;
+      }
+      if (variableInstance instanceof PersistentVariableInstance
+          && ((PersistentVariableInstance) variableInstance).storesCustomObjects()) {
+        // deserialization requires the process application context
+        return UNRESOLVED;
+      }
+      return variableInstance.getValue();
+    }
+  }
+
+  // boolean operators ///////////////////////////////////////////////////////
+
+  public static class Not extends CompiledExpression {
+
+    protected final CompiledExpression operand;
+
+    public Not(CompiledExpression operand) {
+      this.operand = operand;
+    }
+
+    public Object evaluate(CoreVariableScope<?> variableScope) {
+      Object value = toBoolean(operand.evaluate(variableScope));
+      if (value == UNRESOLVED) {
+        return UNRESOLVED;
+      }
+      return !(Boolean) value;
+    }
+  }
+
+  public static class And extends CompiledExpression {
+
+    protected final CompiledExpression left;
+    protected final CompiledExpression right;
+
+    public And(CompiledExpression left, CompiledExpression right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    public Object evaluate(CoreVariableScope<?> variableScope) {
+      Object leftValue = toBoolean(left.evaluate(variableScope));
+      if (leftValue == UNRESOLVED || Boolean.FALSE.equals(leftValue)) {
+        return leftValue;
+      }
+      return toBoolean(right.evaluate(variableScope));
+    }
+  }
+
+  public static class Or extends CompiledExpression {
+
+    protected final CompiledExpression left;
+    protected final CompiledExpression right;
+
+    public Or(CompiledExpression left, CompiledExpression right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    public Object evaluate(CoreVariableScope<?> variableScope) {
+      Object leftValue = toBoolean(left.evaluate(variableScope));
+      if (leftValue == UNRESOLVED || Boolean.TRUE.equals(leftValue)) {
+        return leftValue;
+      }
+      return toBoolean(right.evaluate(variableScope));
+    }
+  }
+
+  // comparisons /////////////////////////////////////////////////////////////
+
+  public enum Comparison { EQ, NE, LT, LE, GT, GE }
+
+  public static class Compare extends CompiledExpression {
+
+    protected final Comparison comparison;
+    protected final CompiledExpression left;
+    protected final CompiledExpression right;
+
+    public Compare(Comparison comparison, CompiledExpression left, CompiledExpression right) {
+      this.comparison = comparison;
+      this.left = left;
+      this.right = right;
+    }
+
+    public Object evaluate(CoreVariableScope<?> variableScope) {
+      Object leftValue = left.evaluate(variableScope);
+      if (leftValue == UNRESOLVED) {
+        return UNRESOLVED;
+      }
+      Object rightValue = right.evaluate(variableScope);
+      if (rightValue == UNRESOLVED) {
+        return UNRESOLVED;
+      }
+
+      if (isIntegral(leftValue) && isIntegral(rightValue)) {
+        return compare(((Number) leftValue).longValue(), ((Number) rightValue).longValue());
+      }
+      if (comparison != Comparison.EQ && comparison != Comparison.NE
+          && (isFloatingPoint(leftValue) || isFloatingPoint(rightValue))
+          && leftValue instanceof Number && rightValue instanceof Number
+          && !(leftValue instanceof BigDecimal) && !(rightValue instanceof BigDecimal)) {
+        return compare(((Number) leftValue).doubleValue(), ((Number) rightValue).doubleValue());
+      }
+
+      switch (comparison) {
+        case EQ: return BooleanOperations.eq(CONVERTER, leftValue, rightValue);
+        case NE: return BooleanOperations.ne(CONVERTER, leftValue, rightValue);
+        case LT: return BooleanOperations.lt(CONVERTER, leftValue, rightValue);
+        case LE: return BooleanOperations.le(CONVERTER, leftValue, rightValue);
+        case GT: return BooleanOperations.gt(CONVERTER, leftValue, rightValue);
+        default: return BooleanOperations.ge(CONVERTER, leftValue, rightValue);
+      }
+    }
+
+    protected Boolean compare(long leftValue, long rightValue) {
+      switch (comparison) {
+        case EQ: return leftValue == rightValue;
+        case NE: return leftValue != rightValue;
+        case LT: return leftValue < rightValue;
+        case LE: return leftValue <= rightValue;
+        case GT: return leftValue > rightValue;
+        default: return leftValue >= rightValue;
+      }
+    }
+
+    protected Boolean compare(double leftValue, double rightValue) {
+      // same semantics as BooleanOperations, also for NaN
+      switch (comparison) {
+        case LT: return leftValue < rightValue;
+        case LE: return !(leftValue > rightValue);
+        case GT: return leftValue > rightValue;
+        default: return !(leftValue < rightValue);
+      }
+    }
+  }
+
+}
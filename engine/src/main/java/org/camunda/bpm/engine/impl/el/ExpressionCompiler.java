@@ -0,0 +1,129 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.el.CompiledExpression.Comparison;
+import org.camunda.bpm.engine.impl.juel.AstBinary;
+import org.camunda.bpm.engine.impl.juel.AstBoolean;
+import org.camunda.bpm.engine.impl.juel.AstEval;
+import org.camunda.bpm.engine.impl.juel.AstIdentifier;
+import org.camunda.bpm.engine.impl.juel.AstNested;
+import org.camunda.bpm.engine.impl.juel.AstNode;
+import org.camunda.bpm.engine.impl.juel.AstNull;
+import org.camunda.bpm.engine.impl.juel.AstNumber;
+import org.camunda.bpm.engine.impl.juel.AstString;
+import org.camunda.bpm.engine.impl.juel.AstUnary;
+import org.camunda.bpm.engine.impl.juel.ExpressionNode;
+import org.camunda.bpm.engine.impl.juel.Tree;
+
+/**
+ * <p>Translates the parsed tree of a simple expression into a {@link CompiledExpression}.</p>
+ *
+ * <p>Only single <code>${...}</code> expressions consisting of variable names, literals,
+ * the comparison operators <code>== != &lt; &lt;= &gt; &gt;=</code> and the boolean operators
+ * <code>&amp;&amp; || !</code> are compiled, which covers the typical sequence flow condition.
+ * For all other expressions <code>null</code> is returned and they are evaluated by JUEL.</p>
+ */
+public class ExpressionCompiler {
+
+  /** names which are resolved to engine objects rather than variables by the {@link VariableScopeElResolver} */
+  protected static final Set<String> RESERVED_NAMES = new HashSet<String>(Arrays.asList(
+      VariableScopeElResolver.EXECUTION_KEY,
+      VariableScopeElResolver.CASE_EXECUTION_KEY,
+      VariableScopeElResolver.TASK_KEY,
+      VariableScopeElResolver.LOGGED_IN_USER_KEY));
+
+  /**
+   * @return the compiled expression or <code>null</code> if the expression is not simple enough.
+   */
+  public CompiledExpression compile(Tree tree) {
+    return compile(tree.getRoot());
+  }
+
+  /**
+   * @return the compiled expression or <code>null</code> if the expression is not simple enough.
+   */
+  public CompiledExpression compile(ExpressionNode root) {
+    if (!(root instanceof AstEval)) {
+      return null;
+    }
+    CompiledExpression compiledExpression = compile(((AstEval) root).getChild(0));
+    if (compiledExpression instanceof CompiledExpression.Literal
+        || compiledExpression instanceof CompiledExpression.Variable) {
+      // nothing to gain over the interpreted evaluation
+      return null;
+    }
+    return compiledExpression;
+  }
+
+  protected CompiledExpression compile(AstNode node) {
+    if (node instanceof AstNested) {
+      return compile(((AstNested) node).getChild(0));
+    }
+    if (node instanceof AstIdentifier) {
+      String name = ((AstIdentifier) node).getName();
+      return RESERVED_NAMES.contains(name) ? null : new CompiledExpression.Variable(name);
+    }
+    if (node instanceof AstNumber || node instanceof AstBoolean || node instanceof AstString || node instanceof AstNull) {
+      return new CompiledExpression.Literal(node.eval(null, null));
+    }
+    if (node instanceof AstUnary) {
+      AstUnary unary = (AstUnary) node;
+      if (unary.getOperator() != AstUnary.NOT) {
+        return null;
+      }
+      CompiledExpression operand = compile(unary.getChild(0));
+      return operand != null ? new CompiledExpression.Not(operand) : null;
+    }
+    if (node instanceof AstBinary) {
+      return compileBinary((AstBinary) node);
+    }
+    return null;
+  }
+
+  protected CompiledExpression compileBinary(AstBinary binary) {
+    CompiledExpression left = compile(binary.getChild(0));
+    if (left == null) {
+      return null;
+    }
+    CompiledExpression right = compile(binary.getChild(1));
+    if (right == null) {
+      return null;
+    }
+
+    AstBinary.Operator operator = binary.getOperator();
+    if (operator == AstBinary.AND) {
+      return new CompiledExpression.And(left, right);
+    } else if (operator == AstBinary.OR) {
+      return new CompiledExpression.Or(left, right);
+    } else if (operator == AstBinary.EQ) {
+      return new CompiledExpression.Compare(Comparison.EQ, left, right);
+    } else if (operator == AstBinary.NE) {
+      return new CompiledExpression.Compare(Comparison.NE, left, right);
+    } else if (operator == AstBinary.LT) {
+      return new CompiledExpression.Compare(Comparison.LT, left, right);
+    } else if (operator == AstBinary.LE) {
+      return new CompiledExpression.Compare(Comparison.LE, left, right);
+    } else if (operator == AstBinary.GT) {
+      return new CompiledExpression.Compare(Comparison.GT, left, right);
+    } else if (operator == AstBinary.GE) {
+      return new CompiledExpression.Compare(Comparison.GE, left, right);
+    }
+    return null;
+  }
+
+}
@@ -30,6 +30,7 @@ import org.camunda.bpm.engine.impl.javax.el.ListELResolver;
 import org.camunda.bpm.engine.impl.javax.el.MapELResolver;
 import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
 import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.TreeValueExpression;
 
 
 /**
@@ -57,6 +58,12 @@ public class ExpressionManager {
   // Default implementation (does nothing)
   protected ELContext parsingElContext = new ProcessEngineElContext(functionMappers);
   protected Map<Object, Object> beans;
+  // parsed expression trees, shared by all expressions with the same expression string
+  protected ExpressionTreeCache expressionTreeCache;
+  // compiles simple expressions into specialised evaluators, if enabled
+  protected ExpressionCompiler expressionCompiler;
+  // shared by all el contexts so that introspected bean properties and methods are cached
+  protected BeanELResolver beanElResolver = new BeanELResolver();
 
 
   public ExpressionManager() {
@@ -64,8 +71,14 @@ public class ExpressionManager {
   }
 
   public ExpressionManager(Map<Object, Object> beans) {
+    this(beans, ExpressionTreeCache.DEFAULT_CAPACITY);
+  }
+
+  public ExpressionManager(Map<Object, Object> beans, int expressionCacheSize) {
     // Use the ExpressionFactoryImpl built-in version of juel, with parametrised method expressions enabled
-    expressionFactory = new ExpressionFactoryImpl();
+    expressionTreeCache = new ExpressionTreeCache(expressionCacheSize);
+    // configured like the default factory (el.properties, type converter), only the cache is replaced
+    expressionFactory = new ExpressionFactoryImpl(ExpressionFactoryImpl.Profile.JEE6, expressionTreeCache);
     this.beans = beans;
   }
 
@@ -73,13 +86,40 @@ public class ExpressionManager {
 
   public Expression createExpression(String expression) {
     ValueExpression valueExpression = expressionFactory.createValueExpression(parsingElContext, expression, Object.class);
-    return new JuelExpression(valueExpression, this, expression);
+    CompiledExpression compiledExpression = null;
+    if (expressionCompiler != null && valueExpression instanceof TreeValueExpression) {
+      // reuse the tree of the value expression rather than looking it up in the cache again
+      compiledExpression = expressionCompiler.compile(((TreeValueExpression) valueExpression).getRoot());
+    }
+    return new JuelExpression(valueExpression, this, expression, compiledExpression);
   }
 
   public void setExpressionFactory(ExpressionFactory expressionFactory) {
     this.expressionFactory = expressionFactory;
   }
 
+  /**
+   * @return the cache of parsed expression trees, e.g. for inspecting its statistics.
+   * Not used if a custom {@link #setExpressionFactory(ExpressionFactory) expression factory} is set.
+   */
+  public ExpressionTreeCache getExpressionTreeCache() {
+    return expressionTreeCache;
+  }
+
+  public boolean isExpressionCompilationEnabled() {
+    return expressionCompiler != null;
+  }
+
+  /**
+   * Enables the evaluation of simple expressions (variables, literals, comparisons and
+   * boolean operators) by specialised evaluators, see {@link ExpressionCompiler}. These
+   * resolve identifiers against the variables of the current scope first, like the default
+   * resolver chain does; expressions which cannot be evaluated that way are still evaluated by JUEL.
+   */
+  public void setExpressionCompilationEnabled(boolean expressionCompilationEnabled) {
+    expressionCompiler = expressionCompilationEnabled ? new ExpressionCompiler() : null;
+  }
+
   public ELContext getElContext(VariableScope<?> variableScope) {
     ELContext elContext = null;
     if (variableScope instanceof CoreVariableScope) {
@@ -117,10 +157,18 @@ public class ExpressionManager {
     elResolver.add(new ArrayELResolver());
     elResolver.add(new ListELResolver());
     elResolver.add(new MapELResolver());
-    elResolver.add(new BeanELResolver());
+    elResolver.add(beanElResolver);
     return elResolver;
   }
 
+  /**
+   * Removes the cached reflection metadata of classes loaded by the given class loader,
+   * e.g. when a process application is undeployed.
+   */
+  public void purgeBeanClasses(ClassLoader classLoader) {
+    beanElResolver.purgeBeanClasses(classLoader);
+  }
+
   /**
    * @param elFunctionMapper
    */
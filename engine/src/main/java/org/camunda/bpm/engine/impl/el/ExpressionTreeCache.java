@@ -0,0 +1,146 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.camunda.bpm.engine.impl.juel.TreeCache;
+
+/**
+ * <p>Concurrent, size-bounded cache of parsed expression trees shared by all
+ * expressions created through an {@link ExpressionManager}.</p>
+ *
+ * <p>Lookups do not lock. Once the cache exceeds its capacity, the least recently used
+ * entries are evicted in a batch, so that the cost of eviction is amortized over many
+ * insertions and frequently used expressions are never parsed again.</p>
+ */
+public class ExpressionTreeCache implements TreeCache {
+
+  public static final int DEFAULT_CAPACITY = 10000;
+
+  /** fraction of the capacity which is evicted at once */
+  protected static final double EVICTION_RATIO = 0.1;
+
+  protected final int capacity;
+  protected final Map<String, CachedTree> trees = new ConcurrentHashMap<String, CachedTree>();
+
+  protected final AtomicLong clock = new AtomicLong();
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+  protected final AtomicLong evictionCount = new AtomicLong();
+
+  public ExpressionTreeCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public ExpressionTreeCache(int capacity) {
+    this.capacity = capacity;
+  }
+
+  public Tree get(String expression) {
+    CachedTree cachedTree = trees.get(expression);
+    if (cachedTree != null) {
+      cachedTree.lastAccess = clock.incrementAndGet();
+      hitCount.incrementAndGet();
+      return cachedTree.tree;
+    } else {
+      missCount.incrementAndGet();
+      return null;
+    }
+  }
+
+  public void put(String expression, Tree tree) {
+    trees.put(expression, new CachedTree(tree, clock.incrementAndGet()));
+    if (trees.size() > capacity) {
+      evict();
+    }
+  }
+
+  protected synchronized void evict() {
+    int size = trees.size();
+    if (size <= capacity) {
+      // another thread evicted already
+      return;
+    }
+
+    // snapshot access times, they may change concurrently while sorting
+    List<EvictionCandidate> candidates = new ArrayList<EvictionCandidate>(size);
+    for (Map.Entry<String, CachedTree> entry : trees.entrySet()) {
+      candidates.add(new EvictionCandidate(entry.getKey(), entry.getValue().lastAccess));
+    }
+    Collections.sort(candidates);
+
+    int toEvict = Math.min(candidates.size(), size - capacity + (int) (capacity * EVICTION_RATIO));
+    for (int i = 0; i < toEvict; i++) {
+      trees.remove(candidates.get(i).expression);
+    }
+    evictionCount.addAndGet(toEvict);
+  }
+
+  public void clear() {
+    trees.clear();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public int size() {
+    return trees.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  protected static class CachedTree {
+
+    protected final Tree tree;
+    protected volatile long lastAccess;
+
+    public CachedTree(Tree tree, long lastAccess) {
+      this.tree = tree;
+      this.lastAccess = lastAccess;
+    }
+  }
+
+  protected static class EvictionCandidate implements Comparable<EvictionCandidate> {
+
+    protected final String expression;
+    protected final long lastAccess;
+
+    public EvictionCandidate(String expression, long lastAccess) {
+      this.expression = expression;
+      this.lastAccess = lastAccess;
+    }
+
+    public int compareTo(EvictionCandidate other) {
+      return lastAccess < other.lastAccess ? -1 : (lastAccess == other.lastAccess ? 0 : 1);
+    }
+  }
+
+}
@@ -16,6 +16,7 @@ package org.camunda.bpm.engine.impl.el;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.core.variable.CoreVariableScope;
 import org.camunda.bpm.engine.impl.delegate.ExpressionGetInvocation;
 import org.camunda.bpm.engine.impl.delegate.ExpressionSetInvocation;
 import org.camunda.bpm.engine.impl.javax.el.ELContext;
@@ -36,14 +37,27 @@ public class JuelExpression implements Expression {
   protected String expressionText;
   protected ValueExpression valueExpression;
   protected ExpressionManager expressionManager;
+  protected CompiledExpression compiledExpression;
 
   public JuelExpression(ValueExpression valueExpression, ExpressionManager expressionManager, String expressionText) {
+    this(valueExpression, expressionManager, expressionText, null);
+  }
+
+  public JuelExpression(ValueExpression valueExpression, ExpressionManager expressionManager, String expressionText, CompiledExpression compiledExpression) {
     this.valueExpression = valueExpression;
     this.expressionManager = expressionManager;
     this.expressionText = expressionText;
+    this.compiledExpression = compiledExpression;
   }
 
   public Object getValue(VariableScope<?> variableScope) {
+    if (compiledExpression != null && variableScope instanceof CoreVariableScope) {
+      Object value = evaluateCompiled((CoreVariableScope<?>) variableScope);
+      if (value != CompiledExpression.UNRESOLVED) {
+        return value;
+      }
+    }
+
     ELContext elContext = expressionManager.getElContext(variableScope);
     try {
       ExpressionGetInvocation invocation = new ExpressionGetInvocation(valueExpression, elContext);
@@ -62,6 +76,15 @@ public class JuelExpression implements Expression {
     }
   }
 
+  protected Object evaluateCompiled(CoreVariableScope<?> variableScope) {
+    try {
+      return compiledExpression.evaluate(variableScope);
+    } catch (RuntimeException e) {
+      // let JUEL evaluate the expression and report the error
+      return CompiledExpression.UNRESOLVED;
+    }
+  }
+
   public void setValue(Object value, VariableScope<?> variableScope) {
     ELContext elContext = expressionManager.getElContext(variableScope);
     try {
@@ -0,0 +1,167 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Bounded (thread-safe) LRU cache of filter result counts, shared across commands of a
+ * process engine.</p>
+ *
+ * <p>Entries are keyed by the filter id, the user id, its group ids and the maximum count, since
+ * filter queries may depend on the current user. Each entry expires after the configured time to
+ * live. Changes of tasks and filters {@link #invalidate() invalidate} the whole cache.</p>
+ *
+ * <p>Like the {@link org.camunda.bpm.engine.impl.db.AuthorizationCache}, invalidation increments
+ * a generation counter: counts which were executed while an invalidation happened are not
+ * {@link #put(String, String, List, long, long, long) put} into the cache.</p>
+ */
+public class FilterCountCache {
+
+  public static final int DEFAULT_CAPACITY = 10000;
+  public static final long DEFAULT_TIME_TO_LIVE = 10000;
+
+  protected final Map<String, CachedCount> cache;
+  protected final long timeToLive;
+
+  protected final AtomicLong generation = new AtomicLong();
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+
+  public FilterCountCache() {
+    this(DEFAULT_CAPACITY, DEFAULT_TIME_TO_LIVE);
+  }
+
+  /**
+   * @param capacity the maximum number of cached counts
+   * @param timeToLive the time in milliseconds after which a cached count expires
+   */
+  @SuppressWarnings("serial")
+  public FilterCountCache(final int capacity, long timeToLive) {
+    this.timeToLive = timeToLive;
+    this.cache = Collections.synchronizedMap(new LinkedHashMap<String, CachedCount>(16, 0.75f, true) {
+      protected boolean removeEldestEntry(Entry<String, CachedCount> eldest) {
+        return size() > capacity;
+      }
+    });
+  }
+
+  /**
+   * Returns the cached count or null if there is none or it is expired.
+   *
+   * @param maxCount the maximum count of an approximate count or 0 for an exact count
+   */
+  public Long get(String filterId, String userId, List<String> groupIds, long maxCount) {
+    String key = getKey(filterId, userId, groupIds, maxCount);
+    CachedCount cachedCount = cache.get(key);
+
+    if (cachedCount != null && cachedCount.expirationTime <= ClockUtil.getCurrentTime().getTime()) {
+      cache.remove(key);
+      cachedCount = null;
+    }
+
+    if (cachedCount != null) {
+      hitCount.incrementAndGet();
+      return cachedCount.count;
+    } else {
+      missCount.incrementAndGet();
+      return null;
+    }
+  }
+
+  /**
+   * @return the current generation which must be passed to
+   *  {@link #put(String, String, List, long, long, long)} after the count was executed
+   */
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  /**
+   * Caches the count unless the cache was invalidated since the given generation.
+   */
+  public void put(String filterId, String userId, List<String> groupIds, long maxCount, long generation, long count) {
+    String key = getKey(filterId, userId, groupIds, maxCount);
+    CachedCount cachedCount = new CachedCount(count, ClockUtil.getCurrentTime().getTime() + timeToLive);
+    synchronized (cache) {
+      if (this.generation.get() == generation) {
+        cache.put(key, cachedCount);
+      }
+    }
+  }
+
+  /**
+   * Removes all cached counts. Must be called whenever a task is created, assigned,
+   * suspended, activated or deleted, its candidates change or a filter is changed.
+   */
+  public void invalidate() {
+    synchronized (cache) {
+      generation.incrementAndGet();
+      cache.clear();
+    }
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  protected String getKey(String filterId, String userId, List<String> groupIds, long maxCount) {
+    StringBuilder key = new StringBuilder()
+      .append(filterId).append(':')
+      .append(maxCount).append(':')
+      .append(userId);
+
+    if (groupIds != null && !groupIds.isEmpty()) {
+      List<String> sortedGroupIds = new ArrayList<String>(groupIds);
+      Collections.sort(sortedGroupIds);
+      for (String groupId : sortedGroupIds) {
+        key.append('\u0000').append(groupId);
+      }
+    }
+
+    return key.toString();
+  }
+
+  protected static class CachedCount {
+
+    protected final long count;
+    protected final long expirationTime;
+
+    public CachedCount(long count, long expirationTime) {
+      this.count = count;
+      this.expirationTime = expirationTime;
+    }
+
+  }
+
+}
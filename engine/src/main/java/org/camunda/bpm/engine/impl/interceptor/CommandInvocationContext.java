@@ -12,17 +12,32 @@
  */
 package org.camunda.bpm.engine.impl.interceptor;
 
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.ibatis.exceptions.PersistenceException;
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.pvm.PvmException;
+import org.camunda.bpm.engine.impl.pvm.runtime.AtomicOperation;
 
 /**
  * In contrast to {@link CommandContext}, this context holds resources that are only valid
  * during execution of a single command (i.e. the current command or an exception that was thrown
  * during its execution).
  *
+ * <p>If the atomic operation queue is enabled, it also holds the atomic operations that are
+ * yet to be performed by the current command. They are executed one after the other by a single
+ * loop in the outermost invocation instead of recursively, so that the stack depth does not grow
+ * with the number of activities executed by the command. The operations triggered by an operation
+ * are performed right after it, before any operation queued earlier, so that the order is the same
+ * as if they were performed recursively.</p>
+ *
  * @author Thorben Lindhauer
  */
 public class CommandInvocationContext {
@@ -32,6 +47,10 @@ public class CommandInvocationContext {
   protected Throwable throwable;
   protected Command< ? > command;
 
+  protected LinkedList<AtomicOperationInvocation> queuedInvocations = new LinkedList<AtomicOperationInvocation>();
+  /** the invocations triggered by the invocation being performed, or null if none is performed */
+  protected List<AtomicOperationInvocation> triggeredInvocations;
+
   public CommandInvocationContext(Command<?> command) {
     this.command = command;
   }
@@ -65,4 +84,81 @@ public class CommandInvocationContext {
       }
     }
   }
+
+  /**
+   * Queues the operation. If no queued operations are being executed yet, all queued
+   * operations are executed before the method returns.
+   */
+  public void performOperation(AtomicOperation executionOperation, ExecutionEntity execution) {
+    queue(new AtomicOperationInvocation(executionOperation, execution));
+  }
+
+  /**
+   * Queues the continuation, so that it is invoked once the operations triggered so far by the
+   * current operation have been performed, including the ones triggered by them.
+   */
+  public void performContinuation(Callable<Void> continuation) {
+    queue(new AtomicOperationInvocation(continuation));
+  }
+
+  protected void queue(AtomicOperationInvocation invocation) {
+    if (triggeredInvocations != null) {
+      triggeredInvocations.add(invocation);
+    } else {
+      queuedInvocations.add(invocation);
+      executeOperations();
+    }
+  }
+
+  protected void executeOperations() {
+    try {
+      while (!queuedInvocations.isEmpty()) {
+        AtomicOperationInvocation invocation = queuedInvocations.removeFirst();
+        triggeredInvocations = new ArrayList<AtomicOperationInvocation>();
+        invocation.perform();
+        queuedInvocations.addAll(0, triggeredInvocations);
+      }
+    } catch (RuntimeException e) {
+      // as with recursive invocation, the operations which are not performed yet are
+      // abandoned, since the exception propagates past the operations that triggered them
+      queuedInvocations.clear();
+      throw e;
+    } finally {
+      triggeredInvocations = null;
+    }
+  }
+
+  protected static class AtomicOperationInvocation {
+
+    protected final AtomicOperation operation;
+    protected final ExecutionEntity execution;
+    protected final Callable<Void> continuation;
+
+    public AtomicOperationInvocation(AtomicOperation operation, ExecutionEntity execution) {
+      this.operation = operation;
+      this.execution = execution;
+      this.continuation = null;
+    }
+
+    public AtomicOperationInvocation(Callable<Void> continuation) {
+      this.operation = null;
+      this.execution = null;
+      this.continuation = continuation;
+    }
+
+    public void perform() {
+      if (continuation == null) {
+        Context.getCommandContext().performOperation(operation, execution);
+      } else {
+        try {
+          continuation.call();
+        } catch (RuntimeException e) {
+          throw e;
+        } catch (Exception e) {
+          throw new PvmException("couldn't continue execution: " + e.getMessage(), e);
+        }
+      }
+    }
+  }
+
 }
@@ -0,0 +1,68 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.interceptor;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.impl.metrics.CommandMetricsCounter;
+import org.camunda.bpm.engine.impl.metrics.CommandMetricsRegistry;
+
+/**
+ * <p>Records the invocation count, the error count and the duration of each
+ * command in the {@link CommandMetricsRegistry}.</p>
+ *
+ * <p>Commands executed by another command are recorded as well, so their
+ * duration is also part of the duration of the outer command.</p>
+ */
+public class CommandMetricsInterceptor extends CommandInterceptor {
+
+  protected CommandMetricsRegistry commandMetricsRegistry;
+
+  public CommandMetricsInterceptor(CommandMetricsRegistry commandMetricsRegistry) {
+    this.commandMetricsRegistry = commandMetricsRegistry;
+  }
+
+  public <T> T execute(Command<T> command) {
+    CommandMetricsCounter counter = commandMetricsRegistry.getCounter(command.getClass());
+
+    long start = System.nanoTime();
+    try {
+      T result = next.execute(command);
+      counter.recordSuccess(System.nanoTime() - start);
+      return result;
+
+    } catch (RuntimeException e) {
+      counter.recordError(System.nanoTime() - start, isOptimisticLockingFailure(e));
+      throw e;
+
+    } catch (Error e) {
+      counter.recordError(System.nanoTime() - start, false);
+      throw e;
+    }
+  }
+
+  protected boolean isOptimisticLockingFailure(Throwable exception) {
+    Throwable cause = exception;
+    while (cause != null) {
+      if (cause instanceof OptimisticLockingException) {
+        return true;
+      }
+      cause = cause.getCause();
+    }
+    return false;
+  }
+
+  public CommandMetricsRegistry getCommandMetricsRegistry() {
+    return commandMetricsRegistry;
+  }
+
+}
@@ -22,11 +22,14 @@ import java.beans.PropertyDescriptor;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Defines property resolution behavior on objects using the JavaBeans component architecture. This
@@ -67,9 +70,14 @@ public class BeanELResolver extends ELResolver {
 
 	protected static final class BeanProperty {
 		private final PropertyDescriptor descriptor;
+		// accessible accessors, resolved once
+		private final Method readMethod;
+		private final Method writeMethod;
 
 		public BeanProperty(PropertyDescriptor descriptor) {
 			this.descriptor = descriptor;
+			this.readMethod = findAccessibleMethod(descriptor.getReadMethod());
+			this.writeMethod = findAccessibleMethod(descriptor.getWriteMethod());
 		}
 
 		public Class<?> getPropertyType() {
@@ -77,15 +85,54 @@ public class BeanELResolver extends ELResolver {
 		}
 
 		public Method getReadMethod() {
-			return findAccessibleMethod(descriptor.getReadMethod());
+			return readMethod;
 		}
 
 		public Method getWriteMethod() {
-			return findAccessibleMethod(descriptor.getWriteMethod());
+			return writeMethod;
 		}
 
 		public boolean isReadOnly() {
-			return findAccessibleMethod(descriptor.getWriteMethod()) == null;
+			return writeMethod == null;
+		}
+	}
+
+	/**
+	 * Identifies a method of a bean class. Parameter types are kept by name, so that a key never
+	 * holds on to a class, and thereby to its class loader.
+	 */
+	protected static final class MethodKey {
+		private final String name;
+		private final String[] paramTypeNames;
+		private final int paramCount;
+
+		public MethodKey(String name, Class<?>[] paramTypes, int paramCount) {
+			this.name = name;
+			this.paramTypeNames = paramTypes != null ? toNames(paramTypes) : null;
+			this.paramCount = paramCount;
+		}
+
+		private static String[] toNames(Class<?>[] types) {
+			String[] names = new String[types.length];
+			for (int i = 0; i < types.length; i++) {
+				names[i] = types[i] != null ? types[i].getName() : null;
+			}
+			return names;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * name.hashCode() + (paramTypeNames != null ? Arrays.hashCode(paramTypeNames) : paramCount);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof MethodKey)) {
+				return false;
+			}
+			MethodKey other = (MethodKey) obj;
+			return name.equals(other.name) && paramCount == other.paramCount
+				&& Arrays.equals(paramTypeNames, other.paramTypeNames);
 		}
 	}
 
@@ -127,7 +174,10 @@ public class BeanELResolver extends ELResolver {
 	}
 
 	private final boolean readOnly;
-	private final ConcurrentHashMap<Class<?>, BeanProperties> cache;
+	// the metadata is kept per class loader of the bean class, so that it can be purged when a process
+	// application is undeployed; the maps of the class loaders are only locked to find the map of a loader
+	private final Map<ClassLoader, ConcurrentMap<Class<?>, BeanProperties>> cache;
+	private final Map<ClassLoader, ConcurrentMap<Class<?>, ConcurrentMap<MethodKey, Method>>> methodCache;
 	
 	private ExpressionFactory defaultFactory;
 
@@ -143,7 +193,8 @@ public class BeanELResolver extends ELResolver {
 	 */
 	public BeanELResolver(boolean readOnly) {
 		this.readOnly = readOnly;
-		this.cache = new ConcurrentHashMap<Class<?>, BeanProperties>();
+		this.cache = new WeakHashMap<ClassLoader, ConcurrentMap<Class<?>, BeanProperties>>();
+		this.methodCache = new WeakHashMap<ClassLoader, ConcurrentMap<Class<?>, ConcurrentMap<MethodKey, Method>>>();
 	}
 
 	/**
@@ -487,7 +538,30 @@ public class BeanELResolver extends ELResolver {
 		return result;
 	}
 
-  private Method findMethod(Object base, String name, Class<?>[] types, int paramCount) {
+	private Method findMethod(Object base, String name, Class<?>[] types, int paramCount) {
+		Class<?> type = base.getClass();
+		MethodKey key = new MethodKey(name, types, types != null ? types.length : paramCount);
+		ConcurrentMap<Class<?>, ConcurrentMap<MethodKey, Method>> methodsOfLoader = getCacheOf(methodCache, type.getClassLoader());
+		ConcurrentMap<MethodKey, Method> methods = methodsOfLoader.get(type);
+		if (methods == null) {
+			ConcurrentMap<MethodKey, Method> newMethods = new ConcurrentHashMap<MethodKey, Method>();
+			methods = methodsOfLoader.putIfAbsent(type, newMethods);
+			if (methods == null) { // put succeeded, use new value
+				methods = newMethods;
+			}
+		}
+		Method method = methods.get(key);
+		// parameter types are matched by name only, verify the cached method actually takes them
+		if (method == null || (types != null && !Arrays.equals(method.getParameterTypes(), types))) {
+			method = findMethod0(base, name, types, paramCount);
+			if (method != null) {
+				methods.put(key, method);
+			}
+		}
+		return method;
+	}
+
+	private Method findMethod0(Object base, String name, Class<?>[] types, int paramCount) {
 		if (types != null) {
 			try {
 				return findAccessibleMethod(base.getClass().getMethod(name, types));
@@ -608,10 +682,11 @@ public class BeanELResolver extends ELResolver {
 	 *             if no BeanProperty can be found.
 	 */
 	private final BeanProperty toBeanProperty(Object base, Object property) {
-		BeanProperties beanProperties = cache.get(base.getClass());
+		ConcurrentMap<Class<?>, BeanProperties> beanPropertiesOfLoader = getCacheOf(cache, base.getClass().getClassLoader());
+		BeanProperties beanProperties = beanPropertiesOfLoader.get(base.getClass());
 		if (beanProperties == null) {
 			BeanProperties newBeanProperties = new BeanProperties(base.getClass());
-			beanProperties = cache.putIfAbsent(base.getClass(), newBeanProperties);
+			beanProperties = beanPropertiesOfLoader.putIfAbsent(base.getClass(), newBeanProperties);
 			if (beanProperties == null) { // put succeeded, use new value
 				beanProperties = newBeanProperties;
 			}
@@ -624,8 +699,9 @@ public class BeanELResolver extends ELResolver {
 	}
 
 	/**
-	 * This method is not part of the API, though it can be used (reflectively) by clients of this
-	 * class to remove entries from the cache when the beans are being unloaded.
+	 * Remove entries from the cache when the beans are being unloaded, e.g. when a process
+	 * application is undeployed. Also removes the classes loaded by descendants of the given
+	 * class loader.
 	 * 
 	 * Note: this method is present in the reference implementation, so we're adding it here to ease
 	 * migration.
@@ -633,13 +709,39 @@ public class BeanELResolver extends ELResolver {
 	 * @param classloader
 	 *            The classLoader used to load the beans.
 	 */
-	@SuppressWarnings("unused")
-	private final void purgeBeanClasses(ClassLoader loader) {
-		Iterator<Class<?>> classes = cache.keySet().iterator();
-		while (classes.hasNext()) {
-			if (loader == classes.next().getClassLoader()) {
-				classes.remove();
+	public final void purgeBeanClasses(ClassLoader loader) {
+		purgeBeanClasses(cache, loader);
+		purgeBeanClasses(methodCache, loader);
+	}
+
+	private static void purgeBeanClasses(Map<ClassLoader, ?> cache, ClassLoader loader) {
+		synchronized (cache) {
+			Iterator<ClassLoader> loaders = cache.keySet().iterator();
+			while (loaders.hasNext()) {
+				if (isDescendant(loaders.next(), loader)) {
+					loaders.remove();
+				}
+			}
+		}
+	}
+
+	private static <K, V> ConcurrentMap<K, V> getCacheOf(Map<ClassLoader, ConcurrentMap<K, V>> cache, ClassLoader loader) {
+		synchronized (cache) {
+			ConcurrentMap<K, V> cacheOfLoader = cache.get(loader);
+			if (cacheOfLoader == null) {
+				cacheOfLoader = new ConcurrentHashMap<K, V>();
+				cache.put(loader, cacheOfLoader);
+			}
+			return cacheOfLoader;
+		}
+	}
+
+	private static boolean isDescendant(ClassLoader candidate, ClassLoader loader) {
+		for (; candidate != null; candidate = candidate.getParent()) {
+			if (candidate == loader) {
+				return true;
 			}
 		}
+		return false;
 	}
 }
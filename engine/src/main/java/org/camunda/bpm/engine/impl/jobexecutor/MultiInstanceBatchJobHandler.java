@@ -0,0 +1,86 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.bpmn.behavior.ParallelMultiInstanceBehavior;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.util.json.JSONObject;
+
+/**
+ * <p>Creates the next batch of instances of a parallel multi-instance activity
+ * which has an async batch size set.</p>
+ *
+ * <p>The job belongs to the execution of the multi-instance scope. If the multi-instance
+ * activity completes before all batches are created, the job is removed together with
+ * that execution.</p>
+ */
+public class MultiInstanceBatchJobHandler implements JobHandler {
+
+  public final static String TYPE = "multi-instance-batch";
+
+  protected static final String JOB_HANDLER_CFG_ACTIVITY_ID = "activityId";
+  protected static final String JOB_HANDLER_CFG_LOOP_COUNTER = "loopCounter";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    JSONObject config = new JSONObject(configuration);
+    String activityId = config.getString(JOB_HANDLER_CFG_ACTIVITY_ID);
+
+    ActivityImpl activity = execution.getProcessDefinition().findActivity(activityId);
+    ensureNotNull("Cannot create multi-instance batch: activity " + activityId + " not found", "activity", activity);
+
+    if (!(activity.getActivityBehavior() instanceof ParallelMultiInstanceBehavior)) {
+      throw new ProcessEngineException("Cannot create multi-instance batch: activity " + activityId + " is not a parallel multi-instance activity");
+    }
+
+    try {
+      ParallelMultiInstanceBehavior behavior = (ParallelMultiInstanceBehavior) activity.getActivityBehavior();
+      behavior.createInstanceBatch(execution, config.getInt(JOB_HANDLER_CFG_LOOP_COUNTER));
+
+    } catch (RuntimeException e) {
+      throw e;
+
+    } catch (Exception e) {
+      throw new ProcessEngineException("Couldn't create multi-instance batch: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Schedules a job creating the batch of instances which starts with the given loop counter.
+   */
+  public static void scheduleBatch(ExecutionEntity execution, int loopCounter) {
+    JSONObject config = new JSONObject();
+    config.put(JOB_HANDLER_CFG_ACTIVITY_ID, execution.getActivityId());
+    config.put(JOB_HANDLER_CFG_LOOP_COUNTER, loopCounter);
+
+    MessageEntity message = new MessageEntity();
+    message.setExecution(execution);
+    message.setJobHandlerType(TYPE);
+    message.setJobHandlerConfiguration(config.toString());
+
+    Context.getCommandContext()
+      .getJobManager()
+      .send(message);
+  }
+
+}
@@ -0,0 +1,169 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.SignalEventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.util.ClassloaderAwareObjectInputStream;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.util.json.JSONObject;
+
+/**
+ * <p>Delivers a signal to the subscriptions waiting for it in chunks, one job per chunk.</p>
+ *
+ * <p>Each job selects the next page of subscriptions ordered by id, triggers them and
+ * schedules a job for the following page until a page is not full. Only subscriptions
+ * which existed when the broadcast was started receive the signal. The variables passed
+ * with the signal are stored in a byte array which is removed by the last job.</p>
+ */
+public class SignalBroadcastJobHandler implements JobHandler {
+
+  public final static String TYPE = "signal-broadcast";
+
+  public final static int DEFAULT_CHUNK_SIZE = 100;
+
+  protected static final String JOB_HANDLER_CFG_BROADCAST_ID = "broadcastId";
+  protected static final String JOB_HANDLER_CFG_SIGNAL_NAME = "signalName";
+  protected static final String JOB_HANDLER_CFG_CREATED_BEFORE = "createdBefore";
+  protected static final String JOB_HANDLER_CFG_LAST_SUBSCRIPTION_ID = "lastSubscriptionId";
+  protected static final String JOB_HANDLER_CFG_DELIVERED = "delivered";
+  protected static final String JOB_HANDLER_CFG_PAYLOAD_ID = "payloadId";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    JSONObject config = new JSONObject(configuration);
+    String signalName = getSignalName(config);
+    String lastSubscriptionId = config.has(JOB_HANDLER_CFG_LAST_SUBSCRIPTION_ID) ? config.getString(JOB_HANDLER_CFG_LAST_SUBSCRIPTION_ID) : null;
+    int chunkSize = Context.getProcessEngineConfiguration().getSignalBroadcastChunkSize();
+
+    List<SignalEventSubscriptionEntity> signalEvents = commandContext.getEventSubscriptionManager()
+      .findSignalEventSubscriptionsByEventNameAfterId(signalName, new Date(config.getLong(JOB_HANDLER_CFG_CREATED_BEFORE)), lastSubscriptionId, chunkSize);
+
+    HashMap<String, Object> payload = readPayload(config, commandContext);
+    for (SignalEventSubscriptionEntity signalEventSubscriptionEntity : signalEvents) {
+      signalEventSubscriptionEntity.eventReceived(payload, false);
+    }
+
+    config.put(JOB_HANDLER_CFG_DELIVERED, getDelivered(config) + signalEvents.size());
+
+    if (signalEvents.size() < chunkSize) {
+      // this was the last chunk
+      if (config.has(JOB_HANDLER_CFG_PAYLOAD_ID)) {
+        commandContext.getByteArrayManager().deleteByteArrayById(config.getString(JOB_HANDLER_CFG_PAYLOAD_ID));
+      }
+
+    } else {
+      config.put(JOB_HANDLER_CFG_LAST_SUBSCRIPTION_ID, signalEvents.get(signalEvents.size() - 1).getId());
+      scheduleChunk(config.toString(), commandContext);
+    }
+  }
+
+  /**
+   * Starts a broadcast of the given signal by scheduling the job for the first chunk.
+   *
+   * @return the id of the broadcast
+   */
+  public static String startBroadcast(String signalName, Map<String, Object> variables, CommandContext commandContext) {
+    String broadcastId = Context.getProcessEngineConfiguration().getIdGenerator().getNextId();
+
+    JSONObject config = new JSONObject();
+    config.put(JOB_HANDLER_CFG_BROADCAST_ID, broadcastId);
+    config.put(JOB_HANDLER_CFG_SIGNAL_NAME, signalName);
+    config.put(JOB_HANDLER_CFG_CREATED_BEFORE, ClockUtil.getCurrentTime().getTime());
+    config.put(JOB_HANDLER_CFG_DELIVERED, 0L);
+
+    if (variables != null && !variables.isEmpty()) {
+      ByteArrayEntity payload = new ByteArrayEntity("signal-broadcast.payload", serialize(new HashMap<String, Object>(variables)));
+      commandContext.getDbEntityManager().insert(payload);
+      config.put(JOB_HANDLER_CFG_PAYLOAD_ID, payload.getId());
+    }
+
+    scheduleChunk(config.toString(), commandContext);
+    return broadcastId;
+  }
+
+  protected static void scheduleChunk(String configuration, CommandContext commandContext) {
+    MessageEntity message = new MessageEntity();
+    message.setJobHandlerType(TYPE);
+    message.setJobHandlerConfiguration(configuration);
+    commandContext.getJobManager().send(message);
+  }
+
+  public static String getBroadcastId(JSONObject config) {
+    return config.getString(JOB_HANDLER_CFG_BROADCAST_ID);
+  }
+
+  public static String getSignalName(JSONObject config) {
+    return config.getString(JOB_HANDLER_CFG_SIGNAL_NAME);
+  }
+
+  public static long getDelivered(JSONObject config) {
+    return config.getLong(JOB_HANDLER_CFG_DELIVERED);
+  }
+
+  @SuppressWarnings("unchecked")
+  protected HashMap<String, Object> readPayload(JSONObject config, CommandContext commandContext) {
+    if (!config.has(JOB_HANDLER_CFG_PAYLOAD_ID)) {
+      return null;
+    }
+    String payloadId = config.getString(JOB_HANDLER_CFG_PAYLOAD_ID);
+    ByteArrayEntity payload = commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, payloadId);
+    if (payload == null) {
+      throw new ProcessEngineException("Cannot find variables of signal broadcast with id " + payloadId);
+    }
+
+    ByteArrayInputStream bais = new ByteArrayInputStream(payload.getBytes());
+    try {
+      ObjectInputStream ois = new ClassloaderAwareObjectInputStream(bais);
+      return (HashMap<String, Object>) ois.readObject();
+    } catch (Exception e) {
+      throw new ProcessEngineException("Couldn't deserialize variables of signal broadcast", e);
+    } finally {
+      IoUtil.closeSilently(bais);
+    }
+  }
+
+  protected static byte[] serialize(HashMap<String, Object> variables) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    ObjectOutputStream oos = null;
+    try {
+      oos = new ObjectOutputStream(baos);
+      oos.writeObject(variables);
+    } catch (IOException e) {
+      throw new ProcessEngineException("Couldn't serialize variables of signal broadcast", e);
+    } finally {
+      IoUtil.closeSilently(oos);
+    }
+    return baos.toByteArray();
+  }
+
+}
@@ -218,6 +218,23 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 		this.converter = converter;
 	}
 
+	/**
+	 * Create a new expression factory using the default builder implementation and the specified
+	 * cache. The builder and the type converter are configured from the specified profile and
+	 * <code>el.properties</code> like {@link #ExpressionFactoryImpl(Profile)}, only the cache
+	 * is replaced.
+	 * 
+	 * @param profile
+	 *            builder profile (features may be overridden in <code>el.properties</code>)
+	 * @param cache
+	 *            the cache of parse trees
+	 */
+	public ExpressionFactoryImpl(Profile profile, TreeCache cache) {
+		Properties properties = loadProperties("el.properties");
+		this.store = new TreeStore(createTreeBuilder(profile, properties), cache);
+		this.converter = createTypeConverter(properties);
+	}
+
 	/**
 	 * Create a new expression factory.
 	 * 
@@ -241,6 +258,13 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 		this.converter = converter;
 	}
 
+	/**
+	 * @return the tree store used to parse and cache parse trees
+	 */
+	public TreeStore getTreeStore() {
+		return store;
+	}
+
 	private Properties loadDefaultProperties() {
 		String home = System.getProperty("java.home");
 		String path = home + File.separator + "lib" + File.separator + "el.properties";
@@ -308,22 +332,7 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 	 */
 	protected TreeStore createTreeStore(int defaultCacheSize, Profile profile, Properties properties) {
 		// create builder
-		TreeBuilder builder = null;
-		if (properties == null) {
-			builder = createTreeBuilder(null, profile.features());
-		} else {
-			EnumSet<Builder.Feature> features = EnumSet.noneOf(Builder.Feature.class);
-			if (getFeatureProperty(profile, properties, Feature.METHOD_INVOCATIONS, PROP_METHOD_INVOCATIONS)) {
-				features.add(Builder.Feature.METHOD_INVOCATIONS);
-			}
-			if (getFeatureProperty(profile, properties, Feature.VARARGS, PROP_VAR_ARGS)) {
-				features.add(Builder.Feature.VARARGS);
-			}
-			if (getFeatureProperty(profile, properties, Feature.NULL_PROPERTIES, PROP_NULL_PROPERTIES)) {
-				features.add(Builder.Feature.NULL_PROPERTIES);
-			}
-			builder = createTreeBuilder(properties, features.toArray(new Builder.Feature[0]));
-		}
+		TreeBuilder builder = createTreeBuilder(profile, properties);
 
 		// create cache
 		int cacheSize = defaultCacheSize;
@@ -339,6 +348,28 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 		return new TreeStore(builder, cache);
 	}
 
+	/**
+	 * Create the factory's builder with the features of the specified profile, which may be
+	 * overridden by the specified properties.
+	 */
+	private TreeBuilder createTreeBuilder(Profile profile, Properties properties) {
+		if (properties == null) {
+			return createTreeBuilder(null, profile.features());
+		} else {
+			EnumSet<Builder.Feature> features = EnumSet.noneOf(Builder.Feature.class);
+			if (getFeatureProperty(profile, properties, Feature.METHOD_INVOCATIONS, PROP_METHOD_INVOCATIONS)) {
+				features.add(Builder.Feature.METHOD_INVOCATIONS);
+			}
+			if (getFeatureProperty(profile, properties, Feature.VARARGS, PROP_VAR_ARGS)) {
+				features.add(Builder.Feature.VARARGS);
+			}
+			if (getFeatureProperty(profile, properties, Feature.NULL_PROPERTIES, PROP_NULL_PROPERTIES)) {
+				features.add(Builder.Feature.NULL_PROPERTIES);
+			}
+			return createTreeBuilder(properties, features.toArray(new Builder.Feature[0]));
+		}
+	}
+
 	/**
 	 * Create the factory's type converter. This implementation takes the
 	 * <code>de.odysseus.el.misc.TypeConverter</code> property as the name of a class implementing
@@ -160,6 +160,13 @@ public final class TreeValueExpression extends org.camunda.bpm.engine.impl.javax
 		return node.isLeftValue();
 	}
 	
+	/**
+	 * Answer the root node of the parse tree this expression evaluates.
+	 */
+	public ExpressionNode getRoot() {
+		return node;
+	}
+
 	/**
 	 * Answer <code>true</code> if this is a deferred expression (containing
 	 * sub-expressions starting with <code>#{</code>)
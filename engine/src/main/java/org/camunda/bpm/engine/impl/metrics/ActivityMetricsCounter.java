@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.persistence.entity.ActivityMetricsEntity;
+
+/**
+ * Counts the starts, ends and execution times of a single activity since the
+ * counter was last {@link #drain() drained}. The counter only uses atomic
+ * operations and never blocks.
+ */
+public class ActivityMetricsCounter {
+
+  protected final String processDefinitionId;
+  protected final String activityId;
+
+  protected final AtomicLong startCount = new AtomicLong();
+  protected final AtomicLong endCount = new AtomicLong();
+  protected final AtomicLong executionCount = new AtomicLong();
+  protected final AtomicLong executionTimeNanos = new AtomicLong();
+  protected final AtomicLong maxExecutionTimeNanos = new AtomicLong();
+
+  public ActivityMetricsCounter(String processDefinitionId, String activityId) {
+    this.processDefinitionId = processDefinitionId;
+    this.activityId = activityId;
+  }
+
+  public void recordStart() {
+    startCount.incrementAndGet();
+  }
+
+  public void recordEnd() {
+    endCount.incrementAndGet();
+  }
+
+  public void recordExecutionTime(long durationNanos) {
+    executionCount.incrementAndGet();
+    executionTimeNanos.addAndGet(durationNanos);
+    updateMaxExecutionTime(durationNanos);
+  }
+
+  protected void updateMaxExecutionTime(long durationNanos) {
+    long max = maxExecutionTimeNanos.get();
+    while (durationNanos > max && !maxExecutionTimeNanos.compareAndSet(max, durationNanos)) {
+      max = maxExecutionTimeNanos.get();
+    }
+  }
+
+  /**
+   * Resets the counter and returns the values counted since the last reset,
+   * or <code>null</code> if nothing was counted.
+   */
+  public ActivityMetricsEntity drain() {
+    long starts = startCount.getAndSet(0);
+    long ends = endCount.getAndSet(0);
+    long executions = executionCount.getAndSet(0);
+    long executionTime = TimeUnit.NANOSECONDS.toMillis(executionTimeNanos.getAndSet(0));
+    long maxExecutionTime = TimeUnit.NANOSECONDS.toMillis(maxExecutionTimeNanos.getAndSet(0));
+
+    if (starts == 0 && ends == 0 && executions == 0) {
+      return null;
+    }
+
+    ActivityMetricsEntity activityMetrics = new ActivityMetricsEntity();
+    activityMetrics.setProcessDefinitionId(processDefinitionId);
+    activityMetrics.setActivityId(activityId);
+    activityMetrics.setStartCount(starts);
+    activityMetrics.setEndCount(ends);
+    activityMetrics.setExecutionCount(executions);
+    activityMetrics.setExecutionTime(executionTime);
+    activityMetrics.setMaxExecutionTime(maxExecutionTime);
+    return activityMetrics;
+  }
+
+  /**
+   * Adds the values of a previous {@link #drain()} back to the counter,
+   * e.g. because they could not be written to the database.
+   */
+  public void restore(ActivityMetricsEntity activityMetrics) {
+    startCount.addAndGet(activityMetrics.getStartCount());
+    endCount.addAndGet(activityMetrics.getEndCount());
+    executionCount.addAndGet(activityMetrics.getExecutionCount());
+    executionTimeNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(activityMetrics.getExecutionTime()));
+    updateMaxExecutionTime(TimeUnit.MILLISECONDS.toNanos(activityMetrics.getMaxExecutionTime()));
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public String getActivityId() {
+    return activityId;
+  }
+
+}
@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.io.Serializable;
+
+import org.camunda.bpm.engine.management.ActivityMetrics;
+
+public class ActivityMetricsImpl implements ActivityMetrics, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String processDefinitionId;
+  protected String activityId;
+  protected long startCount;
+  protected long endCount;
+  protected long executionCount;
+  protected long totalExecutionTime;
+  protected long maxExecutionTime;
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public void setProcessDefinitionId(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+  }
+
+  public String getActivityId() {
+    return activityId;
+  }
+
+  public void setActivityId(String activityId) {
+    this.activityId = activityId;
+  }
+
+  public long getStartCount() {
+    return startCount;
+  }
+
+  public void setStartCount(long startCount) {
+    this.startCount = startCount;
+  }
+
+  public long getEndCount() {
+    return endCount;
+  }
+
+  public void setEndCount(long endCount) {
+    this.endCount = endCount;
+  }
+
+  public long getExecutionCount() {
+    return executionCount;
+  }
+
+  public void setExecutionCount(long executionCount) {
+    this.executionCount = executionCount;
+  }
+
+  public long getTotalExecutionTime() {
+    return totalExecutionTime;
+  }
+
+  public void setTotalExecutionTime(long totalExecutionTime) {
+    this.totalExecutionTime = totalExecutionTime;
+  }
+
+  public long getMaxExecutionTime() {
+    return maxExecutionTime;
+  }
+
+  public void setMaxExecutionTime(long maxExecutionTime) {
+    this.maxExecutionTime = maxExecutionTime;
+  }
+
+  public long getAverageExecutionTime() {
+    if (executionCount == 0) {
+      return 0;
+    }
+    return totalExecutionTime / executionCount;
+  }
+
+  public String toString() {
+    return "ActivityMetricsImpl [processDefinitionId=" + processDefinitionId
+        + ", activityId=" + activityId
+        + ", startCount=" + startCount
+        + ", endCount=" + endCount
+        + ", executionCount=" + executionCount
+        + ", totalExecutionTime=" + totalExecutionTime
+        + ", maxExecutionTime=" + maxExecutionTime + "]";
+  }
+
+}
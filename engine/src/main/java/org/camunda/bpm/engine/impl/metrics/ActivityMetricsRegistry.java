@@ -0,0 +1,86 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.camunda.bpm.engine.impl.persistence.entity.ActivityMetricsEntity;
+
+/**
+ * Holds the {@link ActivityMetricsCounter} of each activity in memory until
+ * the counters are drained by the {@link ActivityMetricsReporter}.
+ */
+public class ActivityMetricsRegistry {
+
+  protected ConcurrentMap<String, ConcurrentMap<String, ActivityMetricsCounter>> counters =
+      new ConcurrentHashMap<String, ConcurrentMap<String, ActivityMetricsCounter>>();
+
+  public ActivityMetricsCounter getCounter(String processDefinitionId, String activityId) {
+    ConcurrentMap<String, ActivityMetricsCounter> processDefinitionCounters = counters.get(processDefinitionId);
+    if (processDefinitionCounters == null) {
+      ConcurrentMap<String, ActivityMetricsCounter> newProcessDefinitionCounters = new ConcurrentHashMap<String, ActivityMetricsCounter>();
+      processDefinitionCounters = counters.putIfAbsent(processDefinitionId, newProcessDefinitionCounters);
+      if (processDefinitionCounters == null) {
+        processDefinitionCounters = newProcessDefinitionCounters;
+      }
+    }
+
+    ActivityMetricsCounter counter = processDefinitionCounters.get(activityId);
+    if (counter == null) {
+      ActivityMetricsCounter newCounter = new ActivityMetricsCounter(processDefinitionId, activityId);
+      counter = processDefinitionCounters.putIfAbsent(activityId, newCounter);
+      if (counter == null) {
+        counter = newCounter;
+      }
+    }
+    return counter;
+  }
+
+  /**
+   * Resets all counters and returns the metrics of the activities which were
+   * started, ended or executed since the last reset.
+   */
+  public List<ActivityMetricsEntity> drain() {
+    List<ActivityMetricsEntity> activityMetrics = new ArrayList<ActivityMetricsEntity>();
+    for (ConcurrentMap<String, ActivityMetricsCounter> processDefinitionCounters : counters.values()) {
+      for (ActivityMetricsCounter counter : processDefinitionCounters.values()) {
+        ActivityMetricsEntity metrics = counter.drain();
+        if (metrics != null) {
+          activityMetrics.add(metrics);
+        }
+      }
+    }
+    return activityMetrics;
+  }
+
+  /**
+   * Adds the metrics returned by a previous {@link #drain()} back to the counters,
+   * so that they are included in the next report.
+   */
+  public void restore(List<ActivityMetricsEntity> activityMetrics) {
+    for (ActivityMetricsEntity metrics : activityMetrics) {
+      getCounter(metrics.getProcessDefinitionId(), metrics.getActivityId()).restore(metrics);
+    }
+  }
+
+  /**
+   * Discards the counters of a process definition, e.g. because it was deleted.
+   */
+  public void removeCounters(String processDefinitionId) {
+    counters.remove(processDefinitionId);
+  }
+
+}
@@ -0,0 +1,96 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.camunda.bpm.engine.impl.cmd.ReportActivityMetricsCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.ActivityMetricsEntity;
+
+/**
+ * Periodically writes the metrics collected in the {@link ActivityMetricsRegistry}
+ * to the database, using a daemon {@link Timer} thread.
+ */
+public class ActivityMetricsReporter {
+
+  private static Logger log = Logger.getLogger(ActivityMetricsReporter.class.getName());
+
+  protected ActivityMetricsRegistry activityMetricsRegistry;
+  protected CommandExecutor commandExecutor;
+
+  /** the interval between two reports in milliseconds */
+  protected long reportInterval;
+
+  /** the time in milliseconds after which reported metrics are deleted, or 0 to keep them forever */
+  protected long timeToLive;
+
+  protected Timer timer;
+
+  public ActivityMetricsReporter(ActivityMetricsRegistry activityMetricsRegistry, CommandExecutor commandExecutor, long reportInterval, long timeToLive) {
+    this.activityMetricsRegistry = activityMetricsRegistry;
+    this.commandExecutor = commandExecutor;
+    this.reportInterval = reportInterval;
+    this.timeToLive = timeToLive;
+  }
+
+  public synchronized void start() {
+    if (timer == null) {
+      timer = new Timer("camunda-activity-metrics-reporter", true);
+      timer.schedule(new TimerTask() {
+        public void run() {
+          reportNow();
+        }
+      }, reportInterval, reportInterval);
+    }
+  }
+
+  /**
+   * Stops the timer and reports the metrics collected since the last report.
+   */
+  public synchronized void stop() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+      reportNow();
+    }
+  }
+
+  /**
+   * Writes the metrics collected since the last report to the database and deletes
+   * the metrics which are older than the {@link #getTimeToLive() time to live}. If the
+   * report fails, the metrics are kept and included in the next report.
+   */
+  public void reportNow() {
+    List<ActivityMetricsEntity> activityMetrics = activityMetricsRegistry.drain();
+    try {
+      commandExecutor.execute(new ReportActivityMetricsCmd(activityMetrics, timeToLive));
+    } catch (Exception e) {
+      activityMetricsRegistry.restore(activityMetrics);
+      log.log(Level.WARNING, "Could not report activity metrics", e);
+    }
+  }
+
+  public long getReportInterval() {
+    return reportInterval;
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+}
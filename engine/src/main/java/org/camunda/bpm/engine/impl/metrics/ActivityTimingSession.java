@@ -0,0 +1,53 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+
+/**
+ * Remembers when the timed activities of a command were started, so the
+ * execution time can be measured when they end. Activities which end in a
+ * later command, e.g. after an asynchronous continuation, are not timed.
+ */
+public class ActivityTimingSession implements Session {
+
+  protected Map<DelegateExecution, Long> startTimes = new IdentityHashMap<DelegateExecution, Long>();
+
+  public void activityStarted(DelegateExecution execution) {
+    startTimes.put(execution, System.nanoTime());
+  }
+
+  /**
+   * @return the time since the current activity of the execution was started in
+   * nanoseconds or -1 if the activity was not started in this command
+   */
+  public long activityEnded(DelegateExecution execution) {
+    Long startTime = startTimes.remove(execution);
+    if (startTime == null) {
+      return -1;
+    }
+    return System.nanoTime() - startTime;
+  }
+
+  public void flush() {
+  }
+
+  public void close() {
+    startTimes.clear();
+  }
+
+}
@@ -0,0 +1,102 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts the executions of a single command class. The counter is updated
+ * concurrently by all threads executing the command, so it only uses atomic
+ * operations and never blocks.
+ */
+public class CommandMetricsCounter {
+
+  /** the exclusive upper bounds of the duration buckets in milliseconds */
+  protected static final long[] DURATION_HISTOGRAM_BOUNDS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000 };
+
+  protected final String commandName;
+
+  protected final AtomicLong invocationCount = new AtomicLong();
+  protected final AtomicLong errorCount = new AtomicLong();
+  protected final AtomicLong optimisticLockingFailureCount = new AtomicLong();
+  protected final AtomicLong totalDurationNanos = new AtomicLong();
+  protected final AtomicLong maxDurationNanos = new AtomicLong();
+  protected final AtomicLongArray durationHistogram = new AtomicLongArray(DURATION_HISTOGRAM_BOUNDS.length + 1);
+
+  public CommandMetricsCounter(String commandName) {
+    this.commandName = commandName;
+  }
+
+  public void recordSuccess(long durationNanos) {
+    record(durationNanos);
+  }
+
+  public void recordError(long durationNanos, boolean optimisticLockingFailure) {
+    errorCount.incrementAndGet();
+    if (optimisticLockingFailure) {
+      optimisticLockingFailureCount.incrementAndGet();
+    }
+    record(durationNanos);
+  }
+
+  protected void record(long durationNanos) {
+    invocationCount.incrementAndGet();
+    totalDurationNanos.addAndGet(durationNanos);
+
+    long max = maxDurationNanos.get();
+    while (durationNanos > max && !maxDurationNanos.compareAndSet(max, durationNanos)) {
+      max = maxDurationNanos.get();
+    }
+
+    durationHistogram.incrementAndGet(getBucket(TimeUnit.NANOSECONDS.toMillis(durationNanos)));
+  }
+
+  protected int getBucket(long durationMillis) {
+    int bucket = 0;
+    while (bucket < DURATION_HISTOGRAM_BOUNDS.length && durationMillis >= DURATION_HISTOGRAM_BOUNDS[bucket]) {
+      bucket++;
+    }
+    return bucket;
+  }
+
+  /**
+   * Returns a snapshot of the counter. Since the counter is not locked, the
+   * values of the snapshot may be off by the executions which finished while
+   * the snapshot was taken.
+   */
+  public CommandMetricsImpl getSnapshot() {
+    CommandMetricsImpl snapshot = new CommandMetricsImpl();
+    snapshot.setCommandName(commandName);
+    snapshot.setInvocationCount(invocationCount.get());
+    snapshot.setErrorCount(errorCount.get());
+    snapshot.setOptimisticLockingFailureCount(optimisticLockingFailureCount.get());
+    snapshot.setTotalDuration(TimeUnit.NANOSECONDS.toMillis(totalDurationNanos.get()));
+    snapshot.setMaxDuration(TimeUnit.NANOSECONDS.toMillis(maxDurationNanos.get()));
+    snapshot.setDurationHistogramBounds(DURATION_HISTOGRAM_BOUNDS.clone());
+
+    long[] histogram = new long[durationHistogram.length()];
+    for (int i = 0; i < histogram.length; i++) {
+      histogram[i] = durationHistogram.get(i);
+    }
+    snapshot.setDurationHistogram(histogram);
+
+    return snapshot;
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+}
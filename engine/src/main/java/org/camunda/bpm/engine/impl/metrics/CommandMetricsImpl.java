@@ -0,0 +1,115 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.io.Serializable;
+
+import org.camunda.bpm.engine.management.CommandMetrics;
+
+/**
+ * A snapshot of the {@link CommandMetricsCounter} of a command class.
+ */
+public class CommandMetricsImpl implements CommandMetrics, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String commandName;
+  protected long invocationCount;
+  protected long errorCount;
+  protected long optimisticLockingFailureCount;
+  protected long totalDuration;
+  protected long maxDuration;
+  protected long[] durationHistogramBounds;
+  protected long[] durationHistogram;
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public void setCommandName(String commandName) {
+    this.commandName = commandName;
+  }
+
+  public long getInvocationCount() {
+    return invocationCount;
+  }
+
+  public void setInvocationCount(long invocationCount) {
+    this.invocationCount = invocationCount;
+  }
+
+  public long getErrorCount() {
+    return errorCount;
+  }
+
+  public void setErrorCount(long errorCount) {
+    this.errorCount = errorCount;
+  }
+
+  public long getOptimisticLockingFailureCount() {
+    return optimisticLockingFailureCount;
+  }
+
+  public void setOptimisticLockingFailureCount(long optimisticLockingFailureCount) {
+    this.optimisticLockingFailureCount = optimisticLockingFailureCount;
+  }
+
+  public long getTotalDuration() {
+    return totalDuration;
+  }
+
+  public void setTotalDuration(long totalDuration) {
+    this.totalDuration = totalDuration;
+  }
+
+  public long getMaxDuration() {
+    return maxDuration;
+  }
+
+  public void setMaxDuration(long maxDuration) {
+    this.maxDuration = maxDuration;
+  }
+
+  public long getAverageDuration() {
+    if (invocationCount == 0) {
+      return 0;
+    }
+    return totalDuration / invocationCount;
+  }
+
+  public long[] getDurationHistogramBounds() {
+    return durationHistogramBounds;
+  }
+
+  public void setDurationHistogramBounds(long[] durationHistogramBounds) {
+    this.durationHistogramBounds = durationHistogramBounds;
+  }
+
+  public long[] getDurationHistogram() {
+    return durationHistogram;
+  }
+
+  public void setDurationHistogram(long[] durationHistogram) {
+    this.durationHistogram = durationHistogram;
+  }
+
+  public String toString() {
+    return "CommandMetricsImpl [commandName=" + commandName
+        + ", invocationCount=" + invocationCount
+        + ", errorCount=" + errorCount
+        + ", optimisticLockingFailureCount=" + optimisticLockingFailureCount
+        + ", totalDuration=" + totalDuration
+        + ", maxDuration=" + maxDuration + "]";
+  }
+
+}
@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.camunda.bpm.engine.management.CommandMetrics;
+
+/**
+ * Holds the {@link CommandMetricsCounter} of each command class executed by a process engine.
+ *
+ * <p>The counters are keyed by class name rather than by class, so that the registry does not
+ * keep the class loader of an undeployed application alive. Command classes of the same name
+ * loaded by different class loaders share a counter.</p>
+ */
+public class CommandMetricsRegistry {
+
+  protected ConcurrentMap<String, CommandMetricsCounter> counters = new ConcurrentHashMap<String, CommandMetricsCounter>();
+
+  public CommandMetricsCounter getCounter(Class<?> commandClass) {
+    String commandName = commandClass.getName();
+    CommandMetricsCounter counter = counters.get(commandName);
+    if (counter == null) {
+      CommandMetricsCounter newCounter = new CommandMetricsCounter(commandName);
+      counter = counters.putIfAbsent(commandName, newCounter);
+      if (counter == null) {
+        counter = newCounter;
+      }
+    }
+    return counter;
+  }
+
+  /**
+   * Returns a snapshot of the metrics of all executed commands ordered by command name.
+   */
+  public List<CommandMetrics> getCommandMetrics() {
+    List<CommandMetrics> commandMetrics = new ArrayList<CommandMetrics>();
+    for (CommandMetricsCounter counter : counters.values()) {
+      commandMetrics.add(counter.getSnapshot());
+    }
+
+    Collections.sort(commandMetrics, new Comparator<CommandMetrics>() {
+      public int compare(CommandMetrics metrics1, CommandMetrics metrics2) {
+        return metrics1.getCommandName().compareTo(metrics2.getCommandName());
+      }
+    });
+
+    return commandMetrics;
+  }
+
+  /**
+   * Discards the metrics of all commands. Executions which are in progress while
+   * the metrics are reset may still be counted in the discarded counters.
+   */
+  public void reset() {
+    counters.clear();
+  }
+
+}
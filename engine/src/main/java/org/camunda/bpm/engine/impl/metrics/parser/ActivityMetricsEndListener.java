@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.parser;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.ActivityMetricsCounter;
+import org.camunda.bpm.engine.impl.metrics.ActivityMetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.ActivityTimingSession;
+
+public class ActivityMetricsEndListener implements ExecutionListener {
+
+  protected ActivityMetricsRegistry activityMetricsRegistry;
+  protected boolean timed;
+
+  public ActivityMetricsEndListener(ActivityMetricsRegistry activityMetricsRegistry, boolean timed) {
+    this.activityMetricsRegistry = activityMetricsRegistry;
+    this.timed = timed;
+  }
+
+  public void notify(DelegateExecution execution) throws Exception {
+    ActivityMetricsCounter counter = activityMetricsRegistry
+      .getCounter(execution.getProcessDefinitionId(), execution.getCurrentActivityId());
+
+    counter.recordEnd();
+
+    if (timed) {
+      long executionTime = Context.getCommandContext()
+        .getSession(ActivityTimingSession.class)
+        .activityEnded(execution);
+
+      if (executionTime >= 0) {
+        counter.recordExecutionTime(executionTime);
+      }
+    }
+  }
+
+}
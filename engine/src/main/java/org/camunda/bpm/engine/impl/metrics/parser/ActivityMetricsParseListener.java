@@ -0,0 +1,147 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.parser;
+
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.metrics.ActivityMetricsRegistry;
+import org.camunda.bpm.engine.impl.pvm.PvmEvent;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+
+/**
+ * <p>Wires the {@link ActivityMetricsRegistry} as built-in execution listeners into
+ * process execution, like the history is wired by the
+ * {@link org.camunda.bpm.engine.impl.history.parser.HistoryParseListener}.</p>
+ *
+ * <p>The starts and ends of all activities are counted. The execution time is
+ * additionally measured for the activities which invoke user code or external
+ * systems synchronously: service, script, business rule and send tasks.</p>
+ */
+public class ActivityMetricsParseListener extends AbstractBpmnParseListener {
+
+  // listeners can be reused for a given process engine instance
+  protected ExecutionListener ACTIVITY_START_LISTENER;
+  protected ExecutionListener ACTIVITY_END_LISTENER;
+
+  protected ExecutionListener TIMED_ACTIVITY_START_LISTENER;
+  protected ExecutionListener TIMED_ACTIVITY_END_LISTENER;
+
+  public ActivityMetricsParseListener(ActivityMetricsRegistry activityMetricsRegistry) {
+    ACTIVITY_START_LISTENER = new ActivityMetricsStartListener(activityMetricsRegistry, false);
+    ACTIVITY_END_LISTENER = new ActivityMetricsEndListener(activityMetricsRegistry, false);
+
+    TIMED_ACTIVITY_START_LISTENER = new ActivityMetricsStartListener(activityMetricsRegistry, true);
+    TIMED_ACTIVITY_END_LISTENER = new ActivityMetricsEndListener(activityMetricsRegistry, true);
+  }
+
+  public void parseStartEvent(Element startEventElement, ScopeImpl scope, ActivityImpl startEventActivity) {
+    addActivityListeners(startEventActivity);
+  }
+
+  public void parseExclusiveGateway(Element exclusiveGwElement, ScopeImpl scope, ActivityImpl activity) {
+    addActivityListeners(activity);
+  }
+
+  public void parseInclusiveGateway(Element inclusiveGwElement, ScopeImpl scope, ActivityImpl activity) {
+    addActivityListeners(activity);
+  }
+
+  public void parseParallelGateway(Element parallelGwElement, ScopeImpl scope, ActivityImpl activity) {
+    addActivityListeners(activity);
+  }
+
+  public void parseEventBasedGateway(Element eventBasedGwElement, ScopeImpl scope, ActivityImpl activity) {
+    addActivityListeners(activity);
+  }
+
+  public void parseScriptTask(Element scriptTaskElement, ScopeImpl scope, ActivityImpl activity) {
+    addTimedActivityListeners(activity);
+  }
+
+  public void parseServiceTask(Element serviceTaskElement, ScopeImpl scope, ActivityImpl activity) {
+    addTimedActivityListeners(activity);
+  }
+
+  public void parseBusinessRuleTask(Element businessRuleTaskElement, ScopeImpl scope, ActivityImpl activity) {
+    addTimedActivityListeners(activity);
+  }
+
+  public void parseSendTask(Element sendTaskElement, ScopeImpl scope, ActivityImpl activity) {
+    addTimedActivityListeners(activity);
+  }
+
+  public void parseTask(Element taskElement, ScopeImpl scope, ActivityImpl activity) {
+    addActivityListeners(activity);
+  }
+
+  public void parseManualTask(Element manualTaskElement, ScopeImpl scope, ActivityImpl activity) {
+    addActivityListeners(activity);
+  }
+
+  public void parseUserTask(Element userTaskElement, ScopeImpl scope, ActivityImpl activity) {
+    addActivityListeners(activity);
+  }
+
+  public void parseReceiveTask(Element receiveTaskElement, ScopeImpl scope, ActivityImpl activity) {
+    addActivityListeners(activity);
+  }
+
+  public void parseCallActivity(Element callActivityElement, ScopeImpl scope, ActivityImpl activity) {
+    addActivityListeners(activity);
+  }
+
+  public void parseSubProcess(Element subProcessElement, ScopeImpl scope, ActivityImpl activity) {
+    Object property = activity.getProperty(BpmnParse.PROPERTYNAME_TRIGGERED_BY_EVENT);
+    if (property == null || !(Boolean) property) {
+      addActivityListeners(activity);
+    }
+  }
+
+  public void parseTransaction(Element transactionElement, ScopeImpl scope, ActivityImpl activity) {
+    addActivityListeners(activity);
+  }
+
+  public void parseIntermediateThrowEvent(Element intermediateEventElement, ScopeImpl scope, ActivityImpl activity) {
+    addActivityListeners(activity);
+  }
+
+  public void parseIntermediateCatchEvent(Element intermediateEventElement, ScopeImpl scope, ActivityImpl activity) {
+    if (!"intermediateLinkCatch".equals(activity.getProperty("type"))) {
+      addActivityListeners(activity);
+    }
+  }
+
+  public void parseBoundaryEvent(Element boundaryEventElement, ScopeImpl scopeElement, ActivityImpl activity) {
+    addActivityListeners(activity);
+  }
+
+  public void parseEndEvent(Element endEventElement, ScopeImpl scope, ActivityImpl activity) {
+    addActivityListeners(activity);
+  }
+
+  // helper methods ///////////////////////////////////////////////////////////
+
+  protected void addActivityListeners(ActivityImpl activity) {
+    activity.addBuiltInListener(PvmEvent.EVENTNAME_START, ACTIVITY_START_LISTENER, 0);
+    activity.addBuiltInListener(PvmEvent.EVENTNAME_END, ACTIVITY_END_LISTENER);
+  }
+
+  protected void addTimedActivityListeners(ActivityImpl activity) {
+    activity.addBuiltInListener(PvmEvent.EVENTNAME_START, TIMED_ACTIVITY_START_LISTENER, 0);
+    activity.addBuiltInListener(PvmEvent.EVENTNAME_END, TIMED_ACTIVITY_END_LISTENER);
+  }
+
+}
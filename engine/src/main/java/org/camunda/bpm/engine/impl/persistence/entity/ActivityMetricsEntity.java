@@ -0,0 +1,116 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * The activity metrics of a single activity reported for a single interval.
+ * The entity is only inserted, the metrics of all intervals are aggregated
+ * when they are read.
+ */
+public class ActivityMetricsEntity implements DbEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+  protected String processDefinitionId;
+  protected String activityId;
+  protected long startCount;
+  protected long endCount;
+  protected long executionCount;
+  protected long executionTime;
+  protected long maxExecutionTime;
+  protected Date timestamp;
+
+  public Object getPersistentState() {
+    // the entity is never updated
+    return ActivityMetricsEntity.class;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public void setProcessDefinitionId(String processDefinitionId) {
+    this.processDefinitionId = processDefinitionId;
+  }
+
+  public String getActivityId() {
+    return activityId;
+  }
+
+  public void setActivityId(String activityId) {
+    this.activityId = activityId;
+  }
+
+  public long getStartCount() {
+    return startCount;
+  }
+
+  public void setStartCount(long startCount) {
+    this.startCount = startCount;
+  }
+
+  public long getEndCount() {
+    return endCount;
+  }
+
+  public void setEndCount(long endCount) {
+    this.endCount = endCount;
+  }
+
+  public long getExecutionCount() {
+    return executionCount;
+  }
+
+  public void setExecutionCount(long executionCount) {
+    this.executionCount = executionCount;
+  }
+
+  public long getExecutionTime() {
+    return executionTime;
+  }
+
+  public void setExecutionTime(long executionTime) {
+    this.executionTime = executionTime;
+  }
+
+  public long getMaxExecutionTime() {
+    return maxExecutionTime;
+  }
+
+  public void setMaxExecutionTime(long maxExecutionTime) {
+    this.maxExecutionTime = maxExecutionTime;
+  }
+
+  public Date getTimestamp() {
+    return timestamp;
+  }
+
+  public void setTimestamp(Date timestamp) {
+    this.timestamp = timestamp;
+  }
+
+}
@@ -0,0 +1,40 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.management.ActivityMetrics;
+
+public class ActivityMetricsManager extends AbstractManager {
+
+  public void insertActivityMetrics(ActivityMetricsEntity activityMetrics) {
+    getDbEntityManager().insert(activityMetrics);
+  }
+
+  public void deleteActivityMetricsBefore(Date timestamp) {
+    getDbEntityManager().delete(ActivityMetricsEntity.class, "deleteActivityMetricsBefore", timestamp);
+  }
+
+  public void deleteActivityMetricsByProcessDefinitionId(String processDefinitionId) {
+    getDbEntityManager().delete(ActivityMetricsEntity.class, "deleteActivityMetricsByProcessDefinitionId", processDefinitionId);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<ActivityMetrics> findActivityMetricsByProcessDefinitionId(String processDefinitionId) {
+    return getDbEntityManager().selectList("selectActivityMetricsByProcessDefinitionId", processDefinitionId);
+  }
+
+}
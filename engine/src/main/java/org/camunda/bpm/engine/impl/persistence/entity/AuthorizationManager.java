@@ -14,6 +14,7 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import static org.camunda.bpm.engine.authorization.Permissions.CREATE;
 import static org.camunda.bpm.engine.authorization.Permissions.DELETE;
+import static org.camunda.bpm.engine.authorization.Permissions.READ;
 import static org.camunda.bpm.engine.authorization.Permissions.UPDATE;
 import static org.camunda.bpm.engine.authorization.Resources.AUTHORIZATION;
 
@@ -24,15 +25,20 @@ import java.util.Map;
 import org.camunda.bpm.engine.AuthorizationException;
 import org.camunda.bpm.engine.authorization.Authorization;
 import org.camunda.bpm.engine.authorization.Permission;
-import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resource;
 import org.camunda.bpm.engine.impl.AbstractQuery;
 import org.camunda.bpm.engine.impl.AuthorizationQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.AuthorizationCache;
 import org.camunda.bpm.engine.impl.db.AuthorizationCheck;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.ResourcePermissions;
 import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
 /**
@@ -42,6 +48,12 @@ import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 @SuppressWarnings({"unchecked", "rawtypes"})
 public class AuthorizationManager extends AbstractManager {
 
+  /**
+   * the maximum number of resource ids of evaluated {@link ResourcePermissions} which are
+   * injected into a query. Larger sets are checked by the SQL authorization check.
+   */
+  public static final int MAX_QUERY_RESOURCE_IDS = 1000;
+
   public Authorization createNewAuthorization(int type) {
     checkAuthorization(CREATE, AUTHORIZATION, null);
     return new AuthorizationEntity(type);
@@ -50,6 +62,7 @@ public class AuthorizationManager extends AbstractManager {
   public void insert(DbEntity authorization) {
     checkAuthorization(CREATE, AUTHORIZATION, null);
     getDbEntityManager().insert(authorization);
+    invalidateAuthorizationCache();
   }
 
   public List<Authorization> selectAuthorizationByQueryCriteria(AuthorizationQueryImpl authorizationQuery) {
@@ -65,12 +78,14 @@ public class AuthorizationManager extends AbstractManager {
   public void update(AuthorizationEntity authorization) {
     checkAuthorization(UPDATE, AUTHORIZATION, authorization.getId());
     getDbEntityManager().merge(authorization);
+    invalidateAuthorizationCache();
   }
 
   public void delete(DbEntity authorization) {
     checkAuthorization(DELETE, AUTHORIZATION, authorization.getId());
     deleteAuthorizationsByResourceId(AUTHORIZATION, authorization.getId());
     super.delete(authorization);
+    invalidateAuthorizationCache();
   }
 
   // authorization checks ///////////////////////////////////////////
@@ -85,7 +100,14 @@ public class AuthorizationManager extends AbstractManager {
       query.setAuthGroupIds(currentAuthentication.getGroupIds());
       query.setAuthResourceType(resource.resourceType());
       query.setAuthResourceIdQueryParam("RES.ID_");
-      query.setAuthPerms(Permissions.READ.getValue());
+      query.setAuthPerms(READ.getValue());
+
+      if (processEngineConfiguration.getAuthorizationCache() != null) {
+        ResourcePermissions permissions = getResourcePermissions(currentAuthentication.getUserId(), currentAuthentication.getGroupIds(), READ, resource);
+        if (permissions.getResourceIds().size() <= MAX_QUERY_RESOURCE_IDS) {
+          permissions.applyTo(query);
+        }
+      }
     }
 
   }
@@ -107,6 +129,10 @@ public class AuthorizationManager extends AbstractManager {
 
   public boolean isAuthorized(String userId, List<String> groupIds, Permission permission, Resource resource, String resourceId) {
 
+    if (Context.getProcessEngineConfiguration().getAuthorizationCache() != null) {
+      return getResourcePermissions(userId, groupIds, permission, resource).isAuthorized(resourceId);
+    }
+
     AuthorizationCheck authCheck = new AuthorizationCheck();
     authCheck.setAuthUserId(userId);
     authCheck.setAuthGroupIds(groupIds);
@@ -131,6 +157,58 @@ public class AuthorizationManager extends AbstractManager {
     }
   }
 
+  /**
+   * Returns the effective permission of the user on all resources of the given type. The
+   * permissions are served from the {@link AuthorizationCache} if it is enabled.
+   */
+  public ResourcePermissions getResourcePermissions(String userId, List<String> groupIds, Permission permission, Resource resource) {
+    AuthorizationCache authorizationCache = Context.getProcessEngineConfiguration().getAuthorizationCache();
+
+    if (authorizationCache != null && userId != null) {
+      ResourcePermissions permissions = authorizationCache.get(userId, groupIds, resource.resourceType(), permission.getValue());
+      if (permissions == null) {
+        long generation = authorizationCache.getGeneration();
+        permissions = evaluateResourcePermissions(userId, groupIds, permission, resource);
+        authorizationCache.put(userId, groupIds, resource.resourceType(), permission.getValue(), generation, permissions);
+      }
+      return permissions;
+
+    } else {
+      return evaluateResourcePermissions(userId, groupIds, permission, resource);
+
+    }
+  }
+
+  protected ResourcePermissions evaluateResourcePermissions(String userId, List<String> groupIds, Permission permission, Resource resource) {
+    ListQueryParameterObject parameter = new ListQueryParameterObject();
+    parameter.setAuthUserId(userId);
+    parameter.setAuthGroupIds(groupIds);
+    parameter.setAuthResourceType(resource.resourceType());
+
+    List<AuthorizationEntity> authorizations = getDbEntityManager().selectList("selectAuthorizationsForPermissionEvaluation", parameter);
+    return ResourcePermissions.evaluate(authorizations, permission.getValue());
+  }
+
+  /**
+   * Invalidates the cached permissions immediately and once more after the
+   * transaction committed, so that permissions evaluated concurrently from the
+   * previous state of the authorizations are not served afterwards.
+   */
+  protected void invalidateAuthorizationCache() {
+    final AuthorizationCache authorizationCache = Context.getProcessEngineConfiguration().getAuthorizationCache();
+
+    if (authorizationCache != null) {
+      authorizationCache.invalidate();
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          public void execute(CommandContext commandContext) {
+            authorizationCache.invalidate();
+          }
+        });
+    }
+  }
+
   public void deleteAuthorizationsByResourceId(Resource resource, String resourceId) {
 
     if(resourceId == null) {
@@ -143,6 +221,7 @@ public class AuthorizationManager extends AbstractManager {
       deleteParams.put("resourceType", resource.resourceType());
       deleteParams.put("resourceId", resourceId);
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceId", deleteParams);
+      invalidateAuthorizationCache();
     }
 
   }
@@ -13,6 +13,10 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
 /**
@@ -30,4 +34,19 @@ public class ByteArrayManager extends AbstractManager {
     getDbEntityManager().delete(ByteArrayEntity.class, "deleteByteArrayNoRevisionCheck", byteArrayEntityId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<String> findByteArrayIdsByProcessInstanceIds(List<String> processInstanceIds) {
+    return getDbEntityManager().selectList("selectByteArrayIdsByProcessInstanceIds", processInstanceIds);
+  }
+
+  /**
+   * Deletes the {@link ByteArrayEntity ByteArrayEntities} with the given ids without
+   * optimistic locking, see {@link #deleteByteArrayById(String)}.
+   */
+  public void deleteByteArraysByIds(List<String> byteArrayIds) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("byteArrayIds", byteArrayIds);
+    getDbEntityManager().delete(ByteArrayEntity.class, "deleteByteArraysNoRevisionCheck", parameters);
+  }
+
 }
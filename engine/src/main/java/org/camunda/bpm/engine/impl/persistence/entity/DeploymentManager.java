@@ -21,6 +21,7 @@ import org.camunda.bpm.engine.impl.ProcessDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.event.MessageEventHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
+import org.camunda.bpm.engine.impl.metrics.ActivityMetricsRegistry;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.Deployment;
@@ -99,6 +100,19 @@ public class DeploymentManager extends AbstractManager {
           .getCommandContext()
           .getOperationLogManager()
           .deleteOperationLogEntriesByProcessDefinitionId(processDefinitionId);
+
+        // remove reported and not yet reported activity metrics
+        Context
+          .getCommandContext()
+          .getActivityMetricsManager()
+          .deleteActivityMetricsByProcessDefinitionId(processDefinitionId);
+
+        ActivityMetricsRegistry activityMetricsRegistry = Context
+          .getProcessEngineConfiguration()
+          .getActivityMetricsRegistry();
+        if (activityMetricsRegistry != null) {
+          activityMetricsRegistry.removeCounters(processDefinitionId);
+        }
       }
     }
 
@@ -18,6 +18,7 @@ import java.util.Date;
 import java.util.HashMap;
 
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.DbEntity;
@@ -26,6 +27,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
+import org.camunda.bpm.engine.impl.runtime.CorrelationKeyHash;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.runtime.EventSubscription;
 
@@ -48,6 +50,7 @@ public abstract class EventSubscriptionEntity implements EventSubscription, DbEn
   protected String activityId;
   protected String configuration;
   protected Date created;
+  protected String correlationKeyHash;
   
   // runtime state /////////////////////////////
   protected ExecutionEntity execution;
@@ -136,6 +139,7 @@ public abstract class EventSubscriptionEntity implements EventSubscription, DbEn
     HashMap<String, Object> persistentState = new HashMap<String, Object>();
     persistentState.put("executionId", executionId);
     persistentState.put("configuration", configuration);
+    persistentState.put("correlationKeyHash", correlationKeyHash);
     return persistentState;
   }
   
@@ -251,6 +255,53 @@ public abstract class EventSubscriptionEntity implements EventSubscription, DbEn
     this.created = created;
   }
 
+  /**
+   * @return the hash of the correlation key values for message event subscriptions
+   * of executions, see {@link CorrelationKeyHash}
+   */
+  public String getCorrelationKeyHash() {
+    return correlationKeyHash;
+  }
+
+  public void setCorrelationKeyHash(String correlationKeyHash) {
+    this.correlationKeyHash = correlationKeyHash;
+  }
+
+  /**
+   * Recomputes the correlation key hash from the current values of the correlation keys
+   * declared by the message of this subscription.
+   */
+  public void updateCorrelationKeyHash() {
+    EventSubscriptionDeclaration declaration = findDeclaration();
+    if (declaration != null && declaration.getCorrelationKeys() != null && !declaration.getCorrelationKeys().isEmpty()) {
+      correlationKeyHash = declaration.hashCorrelationKeys(getExecution());
+    }
+  }
+
+  /**
+   * @return the declaration this subscription was created from; it is declared either on the
+   * activity itself or, e.g. for boundary events, on its parent scope
+   */
+  protected EventSubscriptionDeclaration findDeclaration() {
+    ActivityImpl activity = getActivity();
+    if (activity == null) {
+      return null;
+    }
+    for (EventSubscriptionDeclaration declaration : EventSubscriptionDeclaration.getDeclarationsForScope(activity)) {
+      if (eventName.equals(declaration.getEventName()) && (declaration.getActivityId() == null || activityId.equals(declaration.getActivityId()))) {
+        return declaration;
+      }
+    }
+    if (activity.getParent() != null) {
+      for (EventSubscriptionDeclaration declaration : EventSubscriptionDeclaration.getDeclarationsForScope(activity.getParent())) {
+        if (eventName.equals(declaration.getEventName()) && activityId.equals(declaration.getActivityId())) {
+          return declaration;
+        }
+      }
+    }
+    return null;
+  }
+
   @Override
   public int hashCode() {
     final int prime = 31;
@@ -288,6 +339,7 @@ public abstract class EventSubscriptionEntity implements EventSubscription, DbEn
            + ", configuration=" + configuration
            + ", revision=" + revision
            + ", created=" + created
+           + ", correlationKeyHash=" + correlationKeyHash
            + "]";
   }
 
@@ -14,6 +14,7 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -23,6 +24,7 @@ import java.util.Set;
 import org.camunda.bpm.engine.impl.EventSubscriptionQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.runtime.CorrelationKeyHash;
 import org.camunda.bpm.engine.runtime.EventSubscription;
 
 
@@ -33,6 +35,12 @@ public class EventSubscriptionManager extends AbstractManager {
   
   /** keep track of subscriptions created in the current command */
   protected List<SignalEventSubscriptionEntity> createdSignalSubscriptions = new ArrayList<SignalEventSubscriptionEntity>();
+
+  /** message event subscriptions prefetched in the current command, by message name and correlation key hash */
+  protected Map<String, List<MessageEventSubscriptionEntity>> prefetchedMessageSubscriptions = new HashMap<String, List<MessageEventSubscriptionEntity>>();
+
+  /** whether all message event subscriptions of a message name are hashed by a key set, determined in the current command */
+  protected Map<String, Boolean> hashedByKeySet = new HashMap<String, Boolean>();
   
   public void insert(EventSubscriptionEntity persistentObject) {
     super.insert(persistentObject);
@@ -78,6 +86,23 @@ public class EventSubscriptionManager extends AbstractManager {
     return new ArrayList<SignalEventSubscriptionEntity>(selectList);
   }
   
+  /**
+   * Selects a page of the signal event subscriptions of active executions, ordered by id.
+   * Subscriptions created in the current command are not included.
+   *
+   * @param createdBefore only subscriptions created before or at this time are selected
+   * @param lastId only subscriptions with an id greater than this id are selected, may be <code>null</code>
+   */
+  @SuppressWarnings("unchecked")
+  public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByEventNameAfterId(String eventName, Date createdBefore, String lastId, int maxResults) {
+    final String query = "selectSignalEventSubscriptionsByEventNameAfterId";
+    Map<String,Object> params = new HashMap<String, Object>();
+    params.put("eventName", eventName);
+    params.put("createdBefore", createdBefore);
+    params.put("lastId", lastId);
+    return getDbEntityManager().selectList(query, params, 0, maxResults);
+  }
+
   @SuppressWarnings("unchecked")
   public List<SignalEventSubscriptionEntity> findSignalEventSubscriptionsByExecution(String executionId) {
     final String query = "selectSignalEventSubscriptionsByExecution";    
@@ -124,6 +149,12 @@ public class EventSubscriptionManager extends AbstractManager {
     final String query = "selectEventSubscriptionsByExecution";    
     return getDbEntityManager().selectList(query, executionId);
   }
+
+  @SuppressWarnings("unchecked")
+  public List<EventSubscriptionEntity> findEventSubscriptionsByProcessInstanceId(String processInstanceId) {
+    final String query = "selectEventSubscriptionsByProcessInstanceId";
+    return getDbEntityManager().selectList(query, processInstanceId);
+  }
   
   public List<EventSubscriptionEntity> findEventSubscriptions(String executionId, String type, String activityId) {
     final String query = "selectEventSubscriptionsByExecutionTypeAndActivity";    
@@ -159,9 +190,107 @@ public class EventSubscriptionManager extends AbstractManager {
     return getDbEntityManager().selectList(query, params);
   }
 
+  /**
+   * Finds the message event subscriptions of executions whose correlation key values match
+   * the given hash, see {@link org.camunda.bpm.engine.impl.runtime.CorrelationKeyHash}.
+   */
+  @SuppressWarnings("unchecked")
+  public List<MessageEventSubscriptionEntity> findMessageEventSubscriptionsByNameAndCorrelationKeyHash(String messageName, String correlationKeyHash) {
+    List<MessageEventSubscriptionEntity> prefetchedSubscriptions = prefetchedMessageSubscriptions.get(prefetchKey(messageName, correlationKeyHash));
+    if (prefetchedSubscriptions != null) {
+      return getDbEntityManager().pruneDeletedEntities(prefetchedSubscriptions);
+    }
+
+    final String query = "selectMessageEventSubscriptionsByNameAndCorrelationKeyHash";
+    Map<String,String> params = new HashMap<String, String>();
+    params.put("eventName", messageName);
+    params.put("correlationKeyHash", correlationKeyHash);
+    List<MessageEventSubscriptionEntity> eventSubscriptions = getDbEntityManager().selectList(query, params);
+    return getDbEntityManager().pruneDeletedEntities(eventSubscriptions);
+  }
+
+  /**
+   * Selects the message event subscriptions for all given correlation key hashes with a single query.
+   * Subsequent calls of {@link #findMessageEventSubscriptionsByNameAndCorrelationKeyHash(String, String)}
+   * for these hashes are answered from the result for the rest of the command.
+   */
+  @SuppressWarnings("unchecked")
+  public void prefetchMessageEventSubscriptionsByCorrelationKeyHashes(String messageName, List<String> correlationKeyHashes) {
+    List<String> hashesToFetch = new ArrayList<String>();
+    for (String correlationKeyHash : new HashSet<String>(correlationKeyHashes)) {
+      String key = prefetchKey(messageName, correlationKeyHash);
+      if (!prefetchedMessageSubscriptions.containsKey(key)) {
+        prefetchedMessageSubscriptions.put(key, new ArrayList<MessageEventSubscriptionEntity>());
+        hashesToFetch.add(correlationKeyHash);
+      }
+    }
+
+    if (!hashesToFetch.isEmpty()) {
+      final String query = "selectMessageEventSubscriptionsByNameAndCorrelationKeyHashes";
+      Map<String,Object> params = new HashMap<String, Object>();
+      params.put("eventName", messageName);
+      params.put("correlationKeyHashes", hashesToFetch);
+      List<MessageEventSubscriptionEntity> eventSubscriptions = getDbEntityManager().selectList(query, params);
+
+      for (MessageEventSubscriptionEntity eventSubscription : eventSubscriptions) {
+        prefetchedMessageSubscriptions.get(prefetchKey(messageName, eventSubscription.getCorrelationKeyHash())).add(eventSubscription);
+      }
+    }
+  }
+
+  /**
+   * @return true if every message event subscription of an execution for the given message
+   * carries a correlation key hash of the given key set, i.e. a lookup by
+   * {@link #findMessageEventSubscriptionsByNameAndCorrelationKeyHash(String, String)}
+   * finds all subscriptions whose correlation key values match.
+   */
+  public boolean isEveryMessageEventSubscriptionHashedByKeySet(String messageName, String keySetHash) {
+    String key = prefetchKey(messageName, keySetHash);
+    Boolean hashed = hashedByKeySet.get(key);
+    if (hashed == null) {
+      // every subscription of an execution carries the prefix of its key set and the hashes of a
+      // key set are ordered next to each other, so it suffices to check the lowest and highest hash;
+      // both are read from the index on (EVENT_NAME_, CORRELATION_KEY_HASH_) without a scan
+      String prefix = CorrelationKeyHash.prefix(keySetHash);
+      String minHash = (String) getDbEntityManager().selectOne("selectMinCorrelationKeyHashByEventName", messageName);
+      String maxHash = (String) getDbEntityManager().selectOne("selectMaxCorrelationKeyHashByEventName", messageName);
+      hashed = (minHash == null || minHash.startsWith(prefix)) && (maxHash == null || maxHash.startsWith(prefix));
+      hashedByKeySet.put(key, hashed);
+    }
+    return hashed;
+  }
+
+  /**
+   * @return the message event subscriptions of the given process instance, including those created in the current command
+   */
+  @SuppressWarnings("unchecked")
+  public List<MessageEventSubscriptionEntity> findMessageEventSubscriptionsByProcessInstanceId(String processInstanceId) {
+    // loads the persistent subscriptions into the cache which also holds the ones created in this command
+    getDbEntityManager().selectList("selectMessageEventSubscriptionsByProcessInstanceId", processInstanceId);
+
+    List<MessageEventSubscriptionEntity> result = new ArrayList<MessageEventSubscriptionEntity>();
+    for (MessageEventSubscriptionEntity eventSubscription : getDbEntityManager().getCachedEntitiesByType(MessageEventSubscriptionEntity.class)) {
+      if (processInstanceId.equals(eventSubscription.getProcessInstanceId())) {
+        result.add(eventSubscription);
+      }
+    }
+    return getDbEntityManager().pruneDeletedEntities(result);
+  }
+
+  protected String prefetchKey(String messageName, String correlationKeyHash) {
+    return messageName + '\u0000' + correlationKeyHash;
+  }
+
   public MessageEventSubscriptionEntity findMessageStartEventSubscriptionByName(String messageName) {
     MessageEventSubscriptionEntity entity = (MessageEventSubscriptionEntity) getDbEntityManager().selectOne("selectMessageStartEventSubscriptionByName", messageName);
     return entity;
   }
    
+
+  public void deleteEventSubscriptionsByProcessInstanceIds(List<String> processInstanceIds) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    getDbEntityManager().delete(EventSubscriptionEntity.class, "deleteEventSubscriptionsByProcessInstanceIds", parameters);
+  }
+
 }
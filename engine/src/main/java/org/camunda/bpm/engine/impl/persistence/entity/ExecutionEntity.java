@@ -18,6 +18,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -435,11 +437,37 @@ public class ExecutionEntity extends PvmExecutionImpl implements
   public void performOperation(AtomicOperation executionOperation) {
     if(executionOperation.isAsync(this)) {
       scheduleAtomicOperationAsync(executionOperation);
+    } else if (isAtomicOperationQueueEnabled()) {
+      performOperationQueued(executionOperation);
     } else {
       performOperationSync(executionOperation);
     }
   }
 
+  @SuppressWarnings("deprecation")
+  protected void performOperationQueued(AtomicOperation executionOperation) {
+    if (requiresUnsuspendedExecution(executionOperation)) {
+      ensureNotSuspended();
+    }
+
+    Context
+      .getCommandInvocationContext()
+      .performOperation(executionOperation, this);
+  }
+
+  protected boolean isAtomicOperationQueueEnabled() {
+    return Context.getProcessEngineConfiguration().isEnableAtomicOperationQueue()
+        && Context.getCommandInvocationContext() != null;
+  }
+
+  public void continueAfterQueuedOperations(Callable<Void> continuation) throws Exception {
+    if (isAtomicOperationQueueEnabled()) {
+      Context.getCommandInvocationContext().performContinuation(continuation);
+    } else {
+      continuation.call();
+    }
+  }
+
   @SuppressWarnings("deprecation")
   public void performOperationSync(AtomicOperation executionOperation) {
     if (requiresUnsuspendedExecution(executionOperation)) {
@@ -981,6 +1009,29 @@ public class ExecutionEntity extends PvmExecutionImpl implements
       .findVariableInstancesByExecutionId(id);
   }
 
+  /**
+   * Keeps the correlation key hashes of the message event subscriptions in this process instance
+   * up to date if the given variable is declared as correlation key of a message.
+   */
+  @SuppressWarnings("unchecked")
+  protected void updateCorrelationKeyHashes(String variableName) {
+    if (!isProcessInstanceExecution() || getProcessDefinition() == null) {
+      return;
+    }
+    Set<String> correlationKeys = (Set<String>) getProcessDefinition().getProperty(BpmnParse.PROPERTYNAME_CORRELATION_KEYS);
+    if (correlationKeys == null || !correlationKeys.contains(variableName)) {
+      return;
+    }
+
+    List<MessageEventSubscriptionEntity> eventSubscriptions = Context
+      .getCommandContext()
+      .getEventSubscriptionManager()
+      .findMessageEventSubscriptionsByProcessInstanceId(id);
+    for (MessageEventSubscriptionEntity eventSubscription : eventSubscriptions) {
+      eventSubscription.updateCorrelationKeyHash();
+    }
+  }
+
   protected boolean isAutoFireHistoryEvents() {
     // as long as the process instance is starting (ie. before activity instance of
     // the selected initial (start event) is created), the variable scope should not
@@ -1047,6 +1098,108 @@ public class ExecutionEntity extends PvmExecutionImpl implements
         execution.processInstance = execution;
       }
     }
+
+    if(isExecutionTreeRelatedEntitiesPrefetchEnabled()) {
+      prefetchExecutionTreeRelatedEntities(executionMap);
+    }
+  }
+
+  /**
+   * @return true if the entities referenced by the executions of a prefetched
+   * execution tree are prefetched as well
+   */
+  protected boolean isExecutionTreeRelatedEntitiesPrefetchEnabled() {
+    return Context.getProcessEngineConfiguration()
+      .isExecutionTreeRelatedEntitiesPrefetchEnabled();
+  }
+
+  /**
+   * Fetch the variables, event subscriptions and tasks of all executions of the
+   * process instance with one query per entity type and initialize the
+   * corresponding collections of the executions.
+   *
+   * Only collections which have not been initialized yet are set, so that
+   * changes made to an already initialized collection in the current command
+   * are not lost. The collections of executions whose cached entity state
+   * shows that they reference no entity of a type are initialized as empty, and
+   * the query for that type is skipped altogether if this applies to all of
+   * them. This way the number of queries needed to load a process instance
+   * does not depend on the number of executions it consists of.
+   */
+  protected void prefetchExecutionTreeRelatedEntities(Map<String, ExecutionEntity> executionMap) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    Map<String, ExecutionEntity> withoutVariables = new HashMap<String, ExecutionEntity>();
+    Map<String, ExecutionEntity> withoutEventSubscriptions = new HashMap<String, ExecutionEntity>();
+    Map<String, ExecutionEntity> withoutTasks = new HashMap<String, ExecutionEntity>();
+    for (ExecutionEntity execution : executionMap.values()) {
+      if (execution.variableStore.getVariableInstancesWithoutInitialization() == null) {
+        if (BitMaskUtil.isBitOn(execution.cachedEntityState, VARIABLES_STATE_BIT)) {
+          withoutVariables.put(execution.getId(), execution);
+        } else {
+          execution.variableStore.setVariableInstances(new HashMap<String, VariableInstanceEntity>());
+        }
+      }
+      if (execution.eventSubscriptions == null) {
+        if (BitMaskUtil.isBitOn(execution.cachedEntityState, EVENT_SUBSCRIPTIONS_STATE_BIT)) {
+          withoutEventSubscriptions.put(execution.getId(), execution);
+        } else {
+          execution.eventSubscriptions = new ArrayList<EventSubscriptionEntity>();
+        }
+      }
+      if (execution.tasks == null) {
+        if (BitMaskUtil.isBitOn(execution.cachedEntityState, TASKS_STATE_BIT)) {
+          withoutTasks.put(execution.getId(), execution);
+        } else {
+          execution.tasks = new ArrayList<TaskEntity>();
+        }
+      }
+    }
+
+    if (!withoutVariables.isEmpty()) {
+      for (ExecutionEntity execution : withoutVariables.values()) {
+        execution.variableStore.setVariableInstances(new HashMap<String, VariableInstanceEntity>());
+      }
+      List<VariableInstanceEntity> variableInstances = commandContext
+        .getVariableInstanceManager()
+        .findVariableInstancesByProcessInstanceId(processInstanceId);
+      for (VariableInstanceEntity variableInstance : variableInstances) {
+        ExecutionEntity execution = withoutVariables.get(variableInstance.getExecutionId());
+        if (execution != null) {
+          execution.variableStore.getVariableInstancesWithoutInitialization().put(variableInstance.getName(), variableInstance);
+        }
+      }
+    }
+
+    if (!withoutEventSubscriptions.isEmpty()) {
+      for (ExecutionEntity execution : withoutEventSubscriptions.values()) {
+        execution.eventSubscriptions = new ArrayList<EventSubscriptionEntity>();
+      }
+      List<EventSubscriptionEntity> eventSubscriptions = commandContext
+        .getEventSubscriptionManager()
+        .findEventSubscriptionsByProcessInstanceId(processInstanceId);
+      for (EventSubscriptionEntity eventSubscription : eventSubscriptions) {
+        ExecutionEntity execution = withoutEventSubscriptions.get(eventSubscription.getExecutionId());
+        if (execution != null) {
+          execution.eventSubscriptions.add(eventSubscription);
+        }
+      }
+    }
+
+    if (!withoutTasks.isEmpty()) {
+      for (ExecutionEntity execution : withoutTasks.values()) {
+        execution.tasks = new ArrayList<TaskEntity>();
+      }
+      List<TaskEntity> tasks = commandContext
+        .getTaskManager()
+        .findTasksByProcessInstanceId(processInstanceId);
+      for (TaskEntity task : tasks) {
+        ExecutionEntity execution = withoutTasks.get(task.getExecutionId());
+        if (execution != null) {
+          execution.tasks.add(task);
+        }
+      }
+    }
   }
 
   // persistent state /////////////////////////////////////////////////////////
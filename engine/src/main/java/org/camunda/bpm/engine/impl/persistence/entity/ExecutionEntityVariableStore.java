@@ -12,6 +12,8 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import org.camunda.bpm.engine.delegate.PersistentVariableInstance;
+import org.camunda.bpm.engine.impl.core.variable.CoreVariableScope;
 import org.camunda.bpm.engine.impl.variable.AbstractPersistentVariableStore;
 
 import java.util.List;
@@ -45,6 +47,36 @@ public class ExecutionEntityVariableStore extends AbstractPersistentVariableStor
     return executionEntity.isAutoFireHistoryEvents();
   }
 
+  public PersistentVariableInstance createVariableInstance(String variableName, Object value, CoreVariableScope<PersistentVariableInstance> sourceActivityExecution) {
+    PersistentVariableInstance variableInstance = super.createVariableInstance(variableName, value, sourceActivityExecution);
+    executionEntity.updateCorrelationKeyHashes(variableName);
+    return variableInstance;
+  }
+
+  public PersistentVariableInstance createVariableInstanceFromSerialized(String variableName, Object value, String variableTypeName,
+      Map<String, Object> configuration, CoreVariableScope<PersistentVariableInstance> sourceActivityExecution) {
+    PersistentVariableInstance variableInstance = super.createVariableInstanceFromSerialized(variableName, value, variableTypeName, configuration, sourceActivityExecution);
+    executionEntity.updateCorrelationKeyHashes(variableName);
+    return variableInstance;
+  }
+
+  public void setVariableInstanceValue(PersistentVariableInstance variableInstance, Object value, CoreVariableScope<PersistentVariableInstance> sourceActivityExecution) {
+    super.setVariableInstanceValue(variableInstance, value, sourceActivityExecution);
+    executionEntity.updateCorrelationKeyHashes(variableInstance.getName());
+  }
+
+  public void setVariableInstanceValueFromSerialized(PersistentVariableInstance variableInstance, Object value, String variableTypeName,
+      Map<String, Object> configuration, CoreVariableScope<PersistentVariableInstance> sourceActivityExecution) {
+    super.setVariableInstanceValueFromSerialized(variableInstance, value, variableTypeName, configuration, sourceActivityExecution);
+    executionEntity.updateCorrelationKeyHashes(variableInstance.getName());
+  }
+
+  public PersistentVariableInstance removeVariableInstance(String variableName, CoreVariableScope<PersistentVariableInstance> sourceActivityExecution) {
+    PersistentVariableInstance variableInstance = super.removeVariableInstance(variableName, sourceActivityExecution);
+    executionEntity.updateCorrelationKeyHashes(variableName);
+    return variableInstance;
+  }
+
   public Map<String, VariableInstanceEntity> getVariableInstancesWithoutInitialization() {
     return variableInstances;
   }
@@ -162,4 +162,34 @@ public class ExecutionManager extends AbstractManager {
     getDbEntityManager().update(ExecutionEntity.class, "updateExecutionSuspensionStateByParameters", parameters);
   }
 
+  public void updateExecutionSuspensionStateByProcessInstanceIds(List<String> processInstanceIds, SuspensionState suspensionState) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("suspensionState", suspensionState.getStateCode());
+    getDbEntityManager().update(ExecutionEntity.class, "updateExecutionSuspensionStateByParameters", parameters);
+  }
+
+  /**
+   * Returns the ids of the given process instances which are called by or call
+   * another process or case instance.
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findProcessInstanceIdsWithSuperOrSubInstance(List<String> processInstanceIds) {
+    return getDbEntityManager().selectList("selectProcessInstanceIdsWithSuperOrSubInstance", processInstanceIds);
+  }
+
+  /**
+   * Deletes all executions of the given process instances without loading them.
+   * No listeners are invoked and no history is produced, so this must only be used
+   * for process instances which have no super or sub process instances.
+   */
+  public void deleteExecutionsByProcessInstanceIds(List<String> processInstanceIds) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    // the bulk operations of one entity type are flushed ordered by statement name
+    getDbEntityManager().update(ExecutionEntity.class, "clearExecutionReferencesByProcessInstanceIds", parameters);
+    getDbEntityManager().delete(ExecutionEntity.class, "deleteExecutionsByProcessInstanceIds", parameters);
+    getDbEntityManager().delete(ExecutionEntity.class, "deleteProcessInstancesByIds", parameters);
+  }
+
 }
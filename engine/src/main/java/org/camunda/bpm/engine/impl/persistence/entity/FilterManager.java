@@ -24,8 +24,12 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 import java.util.List;
 
 import org.camunda.bpm.engine.filter.Filter;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.filter.FilterQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
 /**
@@ -48,6 +52,7 @@ public class FilterManager extends AbstractManager {
     else {
       checkAuthorization(UPDATE, FILTER, filter.getId());
       getDbEntityManager().merge((FilterEntity) filter);
+      invalidateFilterCounts();
     }
 
     return filter;
@@ -63,6 +68,7 @@ public class FilterManager extends AbstractManager {
     deleteAuthorizations(FILTER, filterId);
     // delete the filter itself
     getDbEntityManager().delete(filter);
+    invalidateFilterCounts();
   }
 
   public Filter findFilterById(String filterId) {
@@ -86,6 +92,27 @@ public class FilterManager extends AbstractManager {
     return (Long) getDbEntityManager().selectOne("selectFilterCountByQueryCriteria", filterQuery);
   }
 
+  // filter count cache ////////////////////////////////
+
+  /**
+   * Invalidates the cached filter counts, once immediately and once after the
+   * current transaction is committed.
+   */
+  public void invalidateFilterCounts() {
+    final FilterCountCache filterCountCache = Context.getProcessEngineConfiguration().getFilterCountCache();
+
+    if (filterCountCache != null) {
+      filterCountCache.invalidate();
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          public void execute(CommandContext commandContext) {
+            filterCountCache.invalidate();
+          }
+        });
+    }
+  }
+
   // authorization utils /////////////////////////////////
 
   protected void createDefaultAuthorizations(Filter filter) {
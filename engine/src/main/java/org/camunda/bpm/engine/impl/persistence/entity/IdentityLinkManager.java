@@ -35,6 +35,11 @@ public class IdentityLinkManager extends AbstractManager {
     return getDbEntityManager().selectList("selectIdentityLinksByTask", taskId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<IdentityLinkEntity> findIdentityLinksByTaskIds(List<String> taskIds) {
+    return getDbEntityManager().selectList("selectIdentityLinksByTasks", taskIds);
+  }
+
   @SuppressWarnings("unchecked")
   public List<IdentityLinkEntity> findIdentityLinksByProcessDefinitionId(String processDefinitionId) {
     return getDbEntityManager().selectList("selectIdentityLinksByProcessDefinition", processDefinitionId);
@@ -70,4 +75,10 @@ public class IdentityLinkManager extends AbstractManager {
     getDbEntityManager().delete(IdentityLinkEntity.class, "deleteIdentityLinkByProcDef", processDefId);
   }
 
+  public void deleteIdentityLinksByTaskProcessInstanceIds(List<String> processInstanceIds) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    getDbEntityManager().delete(IdentityLinkEntity.class, "deleteIdentityLinksByTaskProcessInstanceIds", parameters);
+  }
+
 }
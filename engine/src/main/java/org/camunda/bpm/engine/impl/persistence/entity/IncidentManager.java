@@ -52,4 +52,12 @@ public class IncidentManager extends AbstractManager {
     return getDbEntityManager().selectList("selectIncidentByQueryCriteria", jobQuery, page);
   }
 
+  public void deleteIncidentsByProcessInstanceIds(List<String> processInstanceIds) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    // the bulk operations of one entity type are flushed ordered by statement name
+    getDbEntityManager().update(IncidentEntity.class, "clearIncidentCausesByProcessInstanceIds", parameters);
+    getDbEntityManager().delete(IncidentEntity.class, "deleteIncidentsByProcessInstanceIds", parameters);
+  }
+
 }
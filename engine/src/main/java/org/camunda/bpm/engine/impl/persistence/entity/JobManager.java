@@ -140,6 +140,11 @@ public class JobManager extends AbstractManager {
     return getDbEntityManager().selectList(query, jobQuery, page);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findJobsByHandlerType(String jobHandlerType) {
+    return getDbEntityManager().selectList("selectJobsByHandlerType", jobHandlerType);
+  }
+
   @SuppressWarnings("unchecked")
   public List<Job> findJobsByConfiguration(String jobHandlerType, String jobHandlerConfiguration) {
     Map<String, String> params = new HashMap<String, String>();
@@ -210,4 +215,17 @@ public class JobManager extends AbstractManager {
     getDbEntityManager().update(JobEntity.class, "updateFailedJobRetriesByParameters", parameters);
   }
 
+  public void updateJobSuspensionStateByProcessInstanceIds(List<String> processInstanceIds, SuspensionState suspensionState) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("suspensionState", suspensionState.getStateCode());
+    getDbEntityManager().update(JobEntity.class, "updateJobSuspensionStateByParameters", parameters);
+  }
+
+  public void deleteJobsByProcessInstanceIds(List<String> processInstanceIds) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    getDbEntityManager().delete(JobEntity.class, "deleteJobsByProcessInstanceIds", parameters);
+  }
+
 }
@@ -13,6 +13,7 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
 
@@ -32,4 +33,20 @@ public class PropertyManager extends AbstractManager {
 
   }
 
+  /**
+   * Locks the task change sequence property until the transaction is committed, which serializes
+   * the task change log, and returns the property as read with the lock.
+   */
+  public PropertyEntity findTaskChangeSequencePropertyForUpdate() {
+    DbEntityManager dbEntityManager = getDbEntityManager();
+
+    // a property read before in this command may be outdated
+    PropertyEntity cachedProperty = dbEntityManager.getCachedEntity(PropertyEntity.class, TaskChangeManager.TASK_CHANGE_SEQUENCE_PROPERTY);
+    if (cachedProperty != null) {
+      dbEntityManager.getDbEntityCache().remove(cachedProperty);
+    }
+
+    return (PropertyEntity) dbEntityManager.selectOne("selectTaskChangeSequencePropertyForUpdate", null);
+  }
+
 }
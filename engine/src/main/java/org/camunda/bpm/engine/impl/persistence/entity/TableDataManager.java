@@ -78,6 +78,8 @@ public class TableDataManager extends AbstractManager {
     persistentObjectToTableNameMap.put(SignalEventSubscriptionEntity.class, "ACT_RU_EVENT_SUBSCRIPTION");
 
     persistentObjectToTableNameMap.put(FilterEntity.class, "ACT_RU_FILTER");
+    persistentObjectToTableNameMap.put(ActivityMetricsEntity.class, "ACT_RU_ACT_METRICS");
+    persistentObjectToTableNameMap.put(TaskChangeEntity.class, "ACT_RU_TASK_CHANGE");
 
     // repository
     persistentObjectToTableNameMap.put(DeploymentEntity.class, "ACT_RE_DEPLOYMENT");
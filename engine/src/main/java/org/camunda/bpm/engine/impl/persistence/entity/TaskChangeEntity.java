@@ -0,0 +1,88 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * A single entry of the task change log. Each entry records that a task was
+ * created, updated or deleted and carries a consecutive sequence number
+ * which is used as the token of the task change feed.
+ */
+public class TaskChangeEntity implements DbEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final String TYPE_CREATE = "create";
+  public static final String TYPE_UPDATE = "update";
+  public static final String TYPE_DELETE = "delete";
+
+  protected String id;
+  protected long sequence;
+  protected String taskId;
+  protected String type;
+  protected Date timestamp;
+
+  public Object getPersistentState() {
+    // the entity is never updated
+    return TaskChangeEntity.class;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public void setSequence(long sequence) {
+    this.sequence = sequence;
+  }
+
+  public String getTaskId() {
+    return taskId;
+  }
+
+  public void setTaskId(String taskId) {
+    this.taskId = taskId;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public Date getTimestamp() {
+    return timestamp;
+  }
+
+  public void setTimestamp(Date timestamp) {
+    this.timestamp = timestamp;
+  }
+
+  public String toString() {
+    return "TaskChangeEntity[sequence=" + sequence + ", taskId=" + taskId + ", type=" + type + "]";
+  }
+
+}
@@ -0,0 +1,260 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandContextListener;
+import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Records the tasks which are created, updated or deleted by a command in the
+ * task change log if it is enabled (see
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#isTaskChangeLogEnabled()}).</p>
+ *
+ * <p>The changes are written when the command context is closed. Every change gets
+ * the next value of the <code>task.change.sequence</code> property, which is locked
+ * until the transaction is committed. This way the sequence numbers are gapless and
+ * ordered by commit, so a client which has seen all changes up to a sequence number
+ * will never miss a change with a lower number.</p>
+ */
+public class TaskChangeManager extends AbstractManager implements CommandContextListener {
+
+  public static final String TASK_CHANGE_SEQUENCE_PROPERTY = "task.change.sequence";
+
+  public static final long DEFAULT_LOG_SIZE = 100000;
+
+  /** old changes are only deleted when the sequence passes a multiple of this interval */
+  public static final long CLEANUP_INTERVAL = 1000;
+
+  protected Map<TaskEntity, TaskChangeRecord> changedTasks = new LinkedHashMap<TaskEntity, TaskChangeRecord>();
+
+  /** the change types of tasks which are updated or deleted by set-based statements, by task id */
+  protected Map<String, String> bulkChangedTasks = new LinkedHashMap<String, String>();
+
+  public void taskCreated(TaskEntity task) {
+    if (isTaskChangeLogEnabled()) {
+      getTaskChangeRecord(task).created = true;
+    }
+  }
+
+  /**
+   * Records a possible update of the task. The update is only logged if the task
+   * is dirty when the command context is closed or if the update is forced, e.g.
+   * because an identity link of the task was changed. Tasks without an id are
+   * ignored since they are not inserted yet.
+   */
+  public void taskUpdated(TaskEntity task, boolean forced) {
+    if (task.getId() != null && isTaskChangeLogEnabled()) {
+      TaskChangeRecord record = getTaskChangeRecord(task);
+      record.forced |= forced;
+    }
+  }
+
+  public void taskDeleted(TaskEntity task) {
+    if (isTaskChangeLogEnabled()) {
+      getTaskChangeRecord(task).deleted = true;
+    }
+  }
+
+  /**
+   * Records an update of the tasks matching the given parameters of a set-based
+   * statement (see <code>selectTaskIdsByParameters</code>). Has to be called before
+   * the statement is flushed since the affected tasks are selected from the database.
+   */
+  public void tasksUpdated(Map<String, Object> parameters) {
+    if (isTaskChangeLogEnabled()) {
+      for (String taskId : findTaskIdsByParameters(parameters)) {
+        if (!bulkChangedTasks.containsKey(taskId)) {
+          registerListener();
+          bulkChangedTasks.put(taskId, TaskChangeEntity.TYPE_UPDATE);
+        }
+      }
+    }
+  }
+
+  /**
+   * Records the deletion of the tasks matching the given parameters of a set-based
+   * statement, see {@link #tasksUpdated(Map)}.
+   */
+  public void tasksDeleted(Map<String, Object> parameters) {
+    if (isTaskChangeLogEnabled()) {
+      for (String taskId : findTaskIdsByParameters(parameters)) {
+        registerListener();
+        bulkChangedTasks.put(taskId, TaskChangeEntity.TYPE_DELETE);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<String> findTaskIdsByParameters(Map<String, Object> parameters) {
+    return getDbEntityManager().selectList("selectTaskIdsByParameters", parameters);
+  }
+
+  protected TaskChangeRecord getTaskChangeRecord(TaskEntity task) {
+    TaskChangeRecord record = changedTasks.get(task);
+    if (record == null) {
+      registerListener();
+      record = new TaskChangeRecord();
+      changedTasks.put(task, record);
+    }
+    return record;
+  }
+
+  protected void registerListener() {
+    if (changedTasks.isEmpty() && bulkChangedTasks.isEmpty()) {
+      Context.getCommandContext().registerCommandContextListener(this);
+    }
+  }
+
+  protected boolean isTaskChangeLogEnabled() {
+    return Context.getProcessEngineConfiguration().isTaskChangeLogEnabled();
+  }
+
+  // writing the log //////////////////////////////////////////////////////////
+
+  public void onCommandContextClose(CommandContext commandContext) {
+    List<TaskChangeEntity> taskChanges = createTaskChanges(commandContext);
+    if (taskChanges.isEmpty()) {
+      return;
+    }
+
+    PropertyEntity sequenceProperty = acquireTaskChangeSequence(commandContext);
+    long previousSequence = Long.parseLong(sequenceProperty.getValue());
+    long sequence = previousSequence;
+
+    for (TaskChangeEntity taskChange : taskChanges) {
+      taskChange.setSequence(++sequence);
+      getDbEntityManager().insert(taskChange);
+    }
+    sequenceProperty.setValue(Long.toString(sequence));
+
+    long logSize = Context.getProcessEngineConfiguration().getTaskChangeLogSize();
+    if (logSize > 0 && previousSequence / CLEANUP_INTERVAL != sequence / CLEANUP_INTERVAL) {
+      deleteTaskChangesUpToSequence(sequence - logSize);
+    }
+  }
+
+  /**
+   * Deletes the changes with a sequence number lower than or equal to the given one.
+   */
+  public void deleteTaskChangesUpToSequence(long sequence) {
+    getDbEntityManager().delete(TaskChangeEntity.class, "deleteTaskChangesUpToSequence", sequence);
+  }
+
+  protected List<TaskChangeEntity> createTaskChanges(CommandContext commandContext) {
+    Map<String, String> changeTypes = new LinkedHashMap<String, String>();
+
+    for (Map.Entry<TaskEntity, TaskChangeRecord> changedTask : changedTasks.entrySet()) {
+      TaskEntity task = changedTask.getKey();
+      TaskChangeRecord record = changedTask.getValue();
+
+      String type = null;
+      if (record.deleted) {
+        // a task which only existed in this command was never visible to anybody
+        if (!record.created) {
+          type = TaskChangeEntity.TYPE_DELETE;
+        }
+      }
+      else if (record.created) {
+        type = TaskChangeEntity.TYPE_CREATE;
+      }
+      else if (record.forced || commandContext.getDbEntityManager().isDirty(task)) {
+        type = TaskChangeEntity.TYPE_UPDATE;
+      }
+
+      if (type != null) {
+        changeTypes.put(task.getId(), type);
+      }
+    }
+
+    for (Map.Entry<String, String> bulkChangedTask : bulkChangedTasks.entrySet()) {
+      String taskId = bulkChangedTask.getKey();
+      String type = bulkChangedTask.getValue();
+
+      // a deletion supersedes any other change, a task created in this command stays a creation
+      if (TaskChangeEntity.TYPE_DELETE.equals(type) || !changeTypes.containsKey(taskId)) {
+        changeTypes.put(taskId, type);
+      }
+    }
+
+    changedTasks.clear();
+    bulkChangedTasks.clear();
+
+    List<TaskChangeEntity> taskChanges = new ArrayList<TaskChangeEntity>();
+    Date now = ClockUtil.getCurrentTime();
+
+    for (Map.Entry<String, String> changeType : changeTypes.entrySet()) {
+      TaskChangeEntity taskChange = new TaskChangeEntity();
+      taskChange.setTaskId(changeType.getKey());
+      taskChange.setType(changeType.getValue());
+      taskChange.setTimestamp(now);
+      taskChanges.add(taskChange);
+    }
+    return taskChanges;
+  }
+
+  protected PropertyEntity acquireTaskChangeSequence(CommandContext commandContext) {
+    PropertyEntity sequenceProperty = commandContext.getPropertyManager().findTaskChangeSequencePropertyForUpdate();
+    if (sequenceProperty == null) {
+      throw new ProcessEngineException("Property '" + TASK_CHANGE_SEQUENCE_PROPERTY + "' not found, "
+          + "the database schema has to be updated to use the task change log");
+    }
+    return sequenceProperty;
+  }
+
+  public void onCommandFailed(CommandContext commandContext, Throwable t) {
+    // nothing is written
+  }
+
+  // reading the log //////////////////////////////////////////////////////////
+
+  public long findCurrentTaskChangeSequence() {
+    PropertyEntity sequenceProperty = getSession(PropertyManager.class).findPropertyById(TASK_CHANGE_SEQUENCE_PROPERTY);
+    if (sequenceProperty == null) {
+      return 0;
+    }
+    return Long.parseLong(sequenceProperty.getValue());
+  }
+
+  /**
+   * @return the lowest sequence number which is still contained in the log
+   * or <code>null</code> if the log is empty
+   */
+  public Long findMinTaskChangeSequence() {
+    return (Long) getDbEntityManager().selectOne("selectMinTaskChangeSequence", null);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<TaskChangeEntity> findTaskChangesAfterSequence(long afterSequence, int maxResults) {
+    ListQueryParameterObject parameter = new ListQueryParameterObject(afterSequence, 0, maxResults);
+    parameter.setOrderBy("RES.SEQ_ asc");
+    return getDbEntityManager().selectList("selectTaskChangesAfterSequence", parameter);
+  }
+
+  protected static class TaskChangeRecord {
+    protected boolean created;
+    protected boolean forced;
+    protected boolean deleted;
+  }
+
+}
@@ -163,6 +163,8 @@ public class TaskEntity extends CorePersistentVariableScope implements Task, Del
     CommandContext commandContext = Context.getCommandContext();
     DbEntityManager dbEntityManger = commandContext.getDbEntityManager();
     dbEntityManger.insert(this);
+    commandContext.getFilterManager().invalidateFilterCounts();
+    commandContext.getTaskChangeManager().taskCreated(this);
 
     if(execution != null) {
       execution.addTask(this);
@@ -509,6 +511,9 @@ public class TaskEntity extends CorePersistentVariableScope implements Task, Del
     identityLinkEntity.setUserId(userId);
     identityLinkEntity.setGroupId(groupId);
     identityLinkEntity.setType(type);
+
+    Context.getCommandContext().getTaskChangeManager().taskUpdated(this, true);
+    Context.getCommandContext().getFilterManager().invalidateFilterCounts();
     return identityLinkEntity;
   }
 
@@ -526,6 +531,9 @@ public class TaskEntity extends CorePersistentVariableScope implements Task, Del
         .getDbEntityManager()
         .delete(identityLink);
     }
+
+    Context.getCommandContext().getTaskChangeManager().taskUpdated(this, true);
+    Context.getCommandContext().getFilterManager().invalidateFilterCounts();
   }
 
   public Set<IdentityLink> getCandidates() {
@@ -655,6 +663,7 @@ public class TaskEntity extends CorePersistentVariableScope implements Task, Del
     // if there is no command context, then it means that the user is calling the
     // setAssignee outside a service method.  E.g. while creating a new task.
     if (commandContext!=null) {
+      commandContext.getFilterManager().invalidateFilterCounts();
       fireEvent(TaskListener.EVENTNAME_ASSIGNMENT);
     }
   }
@@ -999,6 +1008,7 @@ public class TaskEntity extends CorePersistentVariableScope implements Task, Del
     CommandContext commandContext = Context.getCommandContext();
     if (commandContext!=null) {
       commandContext.registerCommandContextListener(this);
+      commandContext.getTaskChangeManager().taskUpdated(this, false);
     }
   }
 
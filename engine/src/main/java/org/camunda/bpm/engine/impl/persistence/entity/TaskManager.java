@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.task.Task;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
@@ -65,6 +66,8 @@ public class TaskManager extends AbstractManager {
       task.setDeleted(true);
 
       CommandContext commandContext = Context.getCommandContext();
+      commandContext.getFilterManager().invalidateFilterCounts();
+      commandContext.getTaskChangeManager().taskDeleted(task);
       String taskId = task.getId();
 
       List<Task> subTasks = findTasksByParentTaskId(taskId);
@@ -133,10 +136,21 @@ public class TaskManager extends AbstractManager {
     return getDbEntityManager().selectList(query, taskQuery);
   }
 
+  public void iterateTasksByQueryCriteria(TaskQueryImpl taskQuery, QueryResultHandler<Task> resultHandler) {
+    getDbEntityManager().selectStream("selectTaskByQueryCriteria", taskQuery, resultHandler);
+  }
+
   public long findTaskCountByQueryCriteria(TaskQueryImpl taskQuery) {
     return (Long) getDbEntityManager().selectOne("selectTaskCountByQueryCriteria", taskQuery);
   }
 
+  /**
+   * Counts the tasks matching the query, but at most {@link TaskQueryImpl#getMaxResults()} tasks.
+   */
+  public long findTaskCountUpToByQueryCriteria(TaskQueryImpl taskQuery) {
+    return (Long) getDbEntityManager().selectOne("selectTaskCountUpToByQueryCriteria", taskQuery);
+  }
+
   @SuppressWarnings("unchecked")
   public List<Task> findTasksByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
     return getDbEntityManager().selectListWithRawParameter("selectTaskByNativeQuery", parameterMap, firstResult, maxResults);
@@ -155,29 +169,53 @@ public class TaskManager extends AbstractManager {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("processDefinitionId", processDefinitionId);
     parameters.put("suspensionState", suspensionState.getStateCode());
+    Context.getCommandContext().getTaskChangeManager().tasksUpdated(parameters);
     getDbEntityManager().update(TaskEntity.class, "updateTaskSuspensionStateByParameters", parameters);
+    Context.getCommandContext().getFilterManager().invalidateFilterCounts();
   }
 
   public void updateTaskSuspensionStateByProcessInstanceId(String processInstanceId, SuspensionState suspensionState) {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("processInstanceId", processInstanceId);
     parameters.put("suspensionState", suspensionState.getStateCode());
+    Context.getCommandContext().getTaskChangeManager().tasksUpdated(parameters);
     getDbEntityManager().update(TaskEntity.class, "updateTaskSuspensionStateByParameters", parameters);
+    Context.getCommandContext().getFilterManager().invalidateFilterCounts();
   }
 
   public void updateTaskSuspensionStateByProcessDefinitionKey(String processDefinitionKey, SuspensionState suspensionState) {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("processDefinitionKey", processDefinitionKey);
     parameters.put("suspensionState", suspensionState.getStateCode());
+    Context.getCommandContext().getTaskChangeManager().tasksUpdated(parameters);
     getDbEntityManager().update(TaskEntity.class, "updateTaskSuspensionStateByParameters", parameters);
+    Context.getCommandContext().getFilterManager().invalidateFilterCounts();
   }
 
   public void updateTaskSuspensionStateByCaseExecutionId(String caseExecutionId, SuspensionState suspensionState) {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("caseExecutionId", caseExecutionId);
     parameters.put("suspensionState", suspensionState.getStateCode());
+    Context.getCommandContext().getTaskChangeManager().tasksUpdated(parameters);
     getDbEntityManager().update(TaskEntity.class, "updateTaskSuspensionStateByParameters", parameters);
+    Context.getCommandContext().getFilterManager().invalidateFilterCounts();
+  }
 
+  public void updateTaskSuspensionStateByProcessInstanceIds(List<String> processInstanceIds, SuspensionState suspensionState) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    parameters.put("suspensionState", suspensionState.getStateCode());
+    Context.getCommandContext().getTaskChangeManager().tasksUpdated(parameters);
+    getDbEntityManager().update(TaskEntity.class, "updateTaskSuspensionStateByParameters", parameters);
+    Context.getCommandContext().getFilterManager().invalidateFilterCounts();
+  }
+
+  public void deleteTasksByProcessInstanceIds(List<String> processInstanceIds) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceIds", processInstanceIds);
+    Context.getCommandContext().getTaskChangeManager().tasksDeleted(parameters);
+    getDbEntityManager().delete(TaskEntity.class, "deleteTasksByProcessInstanceIds", parameters);
+    Context.getCommandContext().getFilterManager().invalidateFilterCounts();
   }
 
 }
@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.pvm.runtime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -170,19 +171,27 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
       childExecution.deleteCascade(reason);
     }
 
-    // set activity instance state to cancel
-    setCanceled(true);
+    continueAfterQueuedOperations(new Runnable() {
+      public void run() {
+        // set activity instance state to cancel
+        setCanceled(true);
 
-    // fire activity end on active activity
-    ActivityImpl activity = getActivity();
-    if(isActive && activity != null) {
-      performOperation(PvmAtomicOperation.FIRE_ACTIVITY_END);
-    }
+        // fire activity end on active activity
+        ActivityImpl activity = getActivity();
+        if(isActive && activity != null) {
+          performOperation(PvmAtomicOperation.FIRE_ACTIVITY_END);
+        }
 
-    // set activity instance state back to 'default'
-    // -> execution will be reused for executing more activities and we want the state to
-    // be default initially.
-    activityInstanceState = ActivityInstanceState.DEFAULT.getStateCode();
+        continueAfterQueuedOperations(new Runnable() {
+          public void run() {
+            // set activity instance state back to 'default'
+            // -> execution will be reused for executing more activities and we want the state to
+            // be default initially.
+            activityInstanceState = ActivityInstanceState.DEFAULT.getStateCode();
+          }
+        });
+      }
+    });
   }
 
   /** removes an execution. if there are nested executions, those will be ended recursively.
@@ -203,7 +212,11 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
   public void endCompensation() {
     remove();
     performOperation(PvmAtomicOperation.FIRE_ACTIVITY_END);
-    getParent().signal("compensationDone", null);
+    continueAfterQueuedOperations(new Runnable() {
+      public void run() {
+        getParent().signal("compensationDone", null);
+      }
+    });
   }
 
   public void remove() {
@@ -347,7 +360,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
       }
     }
 
-    PvmExecutionImpl concurrentRoot = ((isConcurrent && !isScope) ? getParent() : this);
+    final PvmExecutionImpl concurrentRoot = ((isConcurrent && !isScope) ? getParent() : this);
     List<PvmExecutionImpl> concurrentActiveExecutions = new ArrayList<PvmExecutionImpl>();
     List<PvmExecutionImpl> concurrentInActiveExecutions = new ArrayList<PvmExecutionImpl>();
     for (PvmExecutionImpl execution: concurrentRoot.getExecutions()) {
@@ -380,11 +393,17 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
         }
       }
 
-      log.fine("activating the concurrent root "+concurrentRoot+" as the single path of execution going forward");
-      concurrentRoot.setActive(true);
-      concurrentRoot.setActivity(activity);
-      concurrentRoot.setConcurrent(hasConcurrentSiblings(concurrentRoot));
-      concurrentRoot.take(transitions.get(0));
+      // the pruned executions must have ended before the concurrent root continues
+      final TransitionImpl transitionToTake = transitions.get(0);
+      continueAfterQueuedOperations(new Runnable() {
+        public void run() {
+          log.fine("activating the concurrent root "+concurrentRoot+" as the single path of execution going forward");
+          concurrentRoot.setActive(true);
+          concurrentRoot.setActivity(activity);
+          concurrentRoot.setConcurrent(hasConcurrentSiblings(concurrentRoot));
+          concurrentRoot.take(transitionToTake);
+        }
+      });
 
     } else {
 
@@ -425,18 +444,56 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
         prunedExecution.end(isConcurrentEnd);
       }
 
-      // then launch all the concurrent executions
-      for (OutgoingExecution outgoingExecution: outgoingExecutions) {
-        outgoingExecution.take();
+      // then launch all the concurrent executions; each one checks whether
+      // it has been ended by the executions launched before it
+      for (final OutgoingExecution outgoingExecution: outgoingExecutions) {
+        continueAfterQueuedOperations(new Runnable() {
+          public void run() {
+            outgoingExecution.take();
+          }
+        });
       }
 
       // if no outgoing executions, the concurrent root execution ends
       if (isConcurrentEnd) {
-        concurrentRoot.end(true);
+        continueAfterQueuedOperations(new Runnable() {
+          public void run() {
+            concurrentRoot.end(true);
+          }
+        });
       }
     }
   }
 
+  /**
+   * Invokes the continuation once the atomic operations triggered so far have been performed.
+   * Code that triggers an operation and then inspects its outcome must do so in a continuation,
+   * since operations may be performed from a queue rather than synchronously. Operations are
+   * performed synchronously by default, so the continuation is invoked right away.
+   */
+  public void continueAfterQueuedOperations(Callable<Void> continuation) throws Exception {
+    continuation.call();
+  }
+
+  /**
+   * Like {@link #continueAfterQueuedOperations(Callable)}, for continuations which
+   * do not throw checked exceptions.
+   */
+  public void continueAfterQueuedOperations(final Runnable continuation) {
+    try {
+      continueAfterQueuedOperations(new Callable<Void>() {
+        public Void call() {
+          continuation.run();
+          return null;
+        }
+      });
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new PvmException("couldn't continue execution "+this+": "+e.getMessage(), e);
+    }
+  }
+
   protected boolean hasConcurrentSiblings(PvmExecutionImpl concurrentRoot) {
     if(concurrentRoot.isProcessInstanceExecution()) {
       return false;
@@ -48,7 +48,7 @@ import org.camunda.bpm.engine.impl.pvm.runtime.PvmExecutionImpl;
 public abstract class PvmAtomicOperationCancelScope implements PvmAtomicOperation {
 
   public void execute(PvmExecutionImpl execution) {
-    ActivityImpl activity = getCancellingActivity(execution);
+    final ActivityImpl activity = getCancellingActivity(execution);
 
     // find scope execution:
     PvmExecutionImpl scopeExecution = execution.isScope() ? execution : execution.getParent();
@@ -66,13 +66,19 @@ public abstract class PvmAtomicOperationCancelScope implements PvmAtomicOperatio
     }
 
     // cancel the current scope (removes all child executions)
-    scopeExecution.cancelScope("Cancel scope activity " + activity + " executed.");
+    final PvmExecutionImpl cancelledScopeExecution = scopeExecution;
+    cancelledScopeExecution.cancelScope("Cancel scope activity " + activity + " executed.");
 
-    // set new activity
-    scopeExecution.setActivity(activity);
-    scopeExecution.setActive(true);
+    // the scope must have been cancelled before it executes the new activity
+    cancelledScopeExecution.continueAfterQueuedOperations(new Runnable() {
+      public void run() {
+        // set new activity
+        cancelledScopeExecution.setActivity(activity);
+        cancelledScopeExecution.setActive(true);
 
-    scopeCancelled(scopeExecution);
+        scopeCancelled(cancelledScopeExecution);
+      }
+    });
   }
 
   protected abstract void scopeCancelled(PvmExecutionImpl execution);
@@ -0,0 +1,129 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * <p>Computes the hash of a set of correlation keys which is stored with a message event
+ * subscription if its message declares correlation keys (<code>camunda:correlationKeys</code>).
+ * Correlating a message with exactly the declared keys then becomes a lookup of the hash
+ * instead of a join with one variable table per key.</p>
+ *
+ * <p>The hash covers the names, types and values of the keys, so that it matches if and only
+ * if a query for the same variable values would match (barring hash collisions, which are ruled
+ * out by comparing the actual variable values of the candidates). Only values of simple types
+ * (strings, numbers, booleans, dates and <code>null</code>) can be hashed.</p>
+ *
+ * <p>The hash is prefixed with a {@link #keySetHash(Collection) hash of the key names}, so that
+ * it can be determined whether all subscriptions of a message were hashed with the same keys.
+ * Subscriptions whose key values cannot be hashed (and subscriptions of messages without declared
+ * keys) store the {@link #unhashed(Collection) prefix alone}, so that every message event
+ * subscription of an execution carries the prefix of its key set.</p>
+ */
+public class CorrelationKeyHash {
+
+  protected static final char SEPARATOR = '\u0000';
+
+  protected static final char KEY_SET_SEPARATOR = ':';
+
+  protected static final int KEY_SET_HASH_LENGTH = 16;
+
+  /**
+   * @return the hash of the given correlation keys or <code>null</code> if there are no keys
+   * or one of the values is not of a simple type.
+   */
+  public static String hash(Map<String, Object> correlationKeys) {
+    if (correlationKeys == null || correlationKeys.isEmpty()) {
+      return null;
+    }
+
+    StringBuilder builder = new StringBuilder();
+    builder.append(keySetHash(correlationKeys.keySet())).append(KEY_SET_SEPARATOR);
+
+    StringBuilder values = new StringBuilder();
+    for (Map.Entry<String, Object> correlationKey : new TreeMap<String, Object>(correlationKeys).entrySet()) {
+      String value = toString(correlationKey.getValue());
+      if (value == null) {
+        return null;
+      }
+      values.append(correlationKey.getKey()).append(SEPARATOR).append(value).append(SEPARATOR);
+    }
+
+    return builder.append(digest(values.toString())).toString();
+  }
+
+  /**
+   * @return the hash of the given correlation key names which prefixes the hashes of their values
+   */
+  public static String keySetHash(Collection<String> correlationKeyNames) {
+    StringBuilder builder = new StringBuilder();
+    for (String correlationKeyName : new TreeSet<String>(correlationKeyNames)) {
+      builder.append(correlationKeyName).append(SEPARATOR);
+    }
+    return digest(builder.toString()).substring(0, KEY_SET_HASH_LENGTH);
+  }
+
+  /**
+   * @return the value stored instead of a hash if the values of the given correlation keys
+   * cannot be hashed; it never equals the hash of any values, but has the prefix of the key set
+   */
+  public static String unhashed(Collection<String> correlationKeyNames) {
+    return prefix(keySetHash(correlationKeyNames));
+  }
+
+  /**
+   * @return the prefix of all hashes of values for the given key set hash
+   */
+  public static String prefix(String keySetHash) {
+    return keySetHash + KEY_SET_SEPARATOR;
+  }
+
+  protected static String toString(Object value) {
+    if (value == null) {
+      return "null";
+    } else if (value instanceof String || value instanceof Boolean || value instanceof Short
+        || value instanceof Integer || value instanceof Long || value instanceof Double) {
+      return value.getClass().getSimpleName() + ":" + value;
+    } else if (value instanceof Date) {
+      return "Date:" + ((Date) value).getTime();
+    } else {
+      return null;
+    }
+  }
+
+  protected static String digest(String value) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes("UTF-8"));
+      StringBuilder hex = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("Cannot compute hash of correlation keys", e);
+    } catch (UnsupportedEncodingException e) {
+      throw new ProcessEngineException("Cannot compute hash of correlation keys", e);
+    }
+  }
+
+}
@@ -74,6 +74,11 @@ public class DefaultCorrelationHandler implements CorrelationHandler {
   protected List<MessageCorrelationResult> correlateMessageToExecutions(CommandContext commandContext, String messageName,
       CorrelationSet correlationSet) {
 
+    String correlationKeyHash = CorrelationKeyHash.hash(correlationSet.getCorrelationKeys());
+    if (correlationKeyHash != null && isHashedByCorrelationKeys(commandContext, messageName, correlationSet)) {
+      return correlateMessageToExecutionsByCorrelationKeyHash(commandContext, messageName, correlationSet, correlationKeyHash);
+    }
+
     ExecutionQueryImpl query = new ExecutionQueryImpl();
 
     Map<String, Object> correlationKeys = correlationSet.getCorrelationKeys();
@@ -105,6 +110,65 @@ public class DefaultCorrelationHandler implements CorrelationHandler {
     return result;
   }
 
+  /**
+   * The hash lookup is only complete if every subscription of the message carries a hash of exactly
+   * the given correlation keys. Otherwise subscriptions of messages which declare other or no
+   * correlation keys may still match the variable query.
+   */
+  protected boolean isHashedByCorrelationKeys(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
+    String keySetHash = CorrelationKeyHash.keySetHash(correlationSet.getCorrelationKeys().keySet());
+    return commandContext.getEventSubscriptionManager().isEveryMessageEventSubscriptionHashedByKeySet(messageName, keySetHash);
+  }
+
+  /**
+   * Correlates the message to the executions whose message event subscriptions were created with
+   * the hash of the given correlation keys. Only messages which declare exactly these correlation keys
+   * have such subscriptions. The hashes are kept up to date when the correlation key variables change.
+   */
+  protected List<MessageCorrelationResult> correlateMessageToExecutionsByCorrelationKeyHash(CommandContext commandContext, String messageName,
+      CorrelationSet correlationSet, String correlationKeyHash) {
+
+    List<MessageEventSubscriptionEntity> eventSubscriptions = commandContext.getEventSubscriptionManager()
+      .findMessageEventSubscriptionsByNameAndCorrelationKeyHash(messageName, correlationKeyHash);
+
+    List<MessageCorrelationResult> result = new ArrayList<MessageCorrelationResult>(eventSubscriptions.size());
+    for (MessageEventSubscriptionEntity eventSubscription : eventSubscriptions) {
+      ExecutionEntity execution = eventSubscription.getExecution();
+      if (execution != null && matches(execution.getProcessInstance(), correlationSet)) {
+        result.add(MessageCorrelationResult.matchedExecution(execution));
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Guards against hash collisions and checks the business key and process instance id.
+   */
+  protected boolean matches(ExecutionEntity processInstance, CorrelationSet correlationSet) {
+    String businessKey = correlationSet.getBusinessKey();
+    if (businessKey != null && !businessKey.equals(processInstance.getBusinessKey())) {
+      return false;
+    }
+
+    String processInstanceId = correlationSet.getProcessInstanceId();
+    if (processInstanceId != null && !processInstanceId.equals(processInstance.getId())) {
+      return false;
+    }
+
+    for (Map.Entry<String, Object> correlationKey : correlationSet.getCorrelationKeys().entrySet()) {
+      if (!processInstance.hasVariableLocal(correlationKey.getKey())) {
+        return false;
+      }
+      Object value = processInstance.getVariableLocal(correlationKey.getKey());
+      if (value == null ? correlationKey.getValue() != null : !value.equals(correlationKey.getValue())) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
   protected MessageCorrelationResult tryCorrelateMessageToProcessDefinition(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
 
     MessageEventSubscriptionEntity messageEventSubscription = commandContext.getEventSubscriptionManager()
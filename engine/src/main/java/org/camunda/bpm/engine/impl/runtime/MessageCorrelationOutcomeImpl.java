@@ -0,0 +1,68 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import org.camunda.bpm.engine.impl.cmd.CorrelateMessageCmd;
+import org.camunda.bpm.engine.runtime.MessageCorrelationOutcome;
+
+public class MessageCorrelationOutcomeImpl implements MessageCorrelationOutcome {
+
+  protected String messageName;
+  protected String businessKey;
+  protected Status status;
+  protected String errorMessage;
+
+  public MessageCorrelationOutcomeImpl(CorrelateMessageCmd message, Status status, String errorMessage) {
+    this.messageName = message.getMessageName();
+    this.businessKey = message.getBusinessKey();
+    this.status = status;
+    this.errorMessage = errorMessage;
+  }
+
+  public static MessageCorrelationOutcomeImpl correlated(CorrelateMessageCmd message) {
+    return new MessageCorrelationOutcomeImpl(message, Status.CORRELATED, null);
+  }
+
+  public static MessageCorrelationOutcomeImpl mismatched(CorrelateMessageCmd message, String errorMessage) {
+    return new MessageCorrelationOutcomeImpl(message, Status.MISMATCHED, errorMessage);
+  }
+
+  public static MessageCorrelationOutcomeImpl failed(CorrelateMessageCmd message, String errorMessage) {
+    return new MessageCorrelationOutcomeImpl(message, Status.FAILED, errorMessage);
+  }
+
+  public String getMessageName() {
+    return messageName;
+  }
+
+  public String getBusinessKey() {
+    return businessKey;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public String toString() {
+    return "MessageCorrelationOutcome[messageName=" + messageName
+        + ", businessKey=" + businessKey
+        + ", status=" + status
+        + ", errorMessage=" + errorMessage
+        + "]";
+  }
+
+}
@@ -0,0 +1,71 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceCmd;
+import org.camunda.bpm.engine.runtime.ProcessInstantiationOutcome;
+
+public class ProcessInstantiationOutcomeImpl implements ProcessInstantiationOutcome {
+
+  protected String processDefinitionKey;
+  protected String businessKey;
+  protected Status status;
+  protected String processInstanceId;
+  protected String errorMessage;
+
+  public ProcessInstantiationOutcomeImpl(StartProcessInstanceCmd request, Status status, String processInstanceId, String errorMessage) {
+    this.processDefinitionKey = request.getProcessDefinitionKey();
+    this.businessKey = request.getBusinessKey();
+    this.status = status;
+    this.processInstanceId = processInstanceId;
+    this.errorMessage = errorMessage;
+  }
+
+  public static ProcessInstantiationOutcomeImpl started(StartProcessInstanceCmd request, String processInstanceId) {
+    return new ProcessInstantiationOutcomeImpl(request, Status.STARTED, processInstanceId, null);
+  }
+
+  public static ProcessInstantiationOutcomeImpl failed(StartProcessInstanceCmd request, String errorMessage) {
+    return new ProcessInstantiationOutcomeImpl(request, Status.FAILED, null, errorMessage);
+  }
+
+  public String getProcessDefinitionKey() {
+    return processDefinitionKey;
+  }
+
+  public String getBusinessKey() {
+    return businessKey;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public String toString() {
+    return "ProcessInstantiationOutcome[processDefinitionKey=" + processDefinitionKey
+        + ", businessKey=" + businessKey
+        + ", status=" + status
+        + ", processInstanceId=" + processInstanceId
+        + ", errorMessage=" + errorMessage
+        + "]";
+  }
+
+}
@@ -0,0 +1,62 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import org.camunda.bpm.engine.runtime.SignalBroadcastProgress;
+
+public class SignalBroadcastProgressImpl implements SignalBroadcastProgress {
+
+  protected String broadcastId;
+  protected String signalName;
+  protected long deliveredCount;
+  protected String currentJobId;
+  protected int currentJobRetries;
+
+  public SignalBroadcastProgressImpl(String broadcastId, String signalName, long deliveredCount, String currentJobId, int currentJobRetries) {
+    this.broadcastId = broadcastId;
+    this.signalName = signalName;
+    this.deliveredCount = deliveredCount;
+    this.currentJobId = currentJobId;
+    this.currentJobRetries = currentJobRetries;
+  }
+
+  public String getBroadcastId() {
+    return broadcastId;
+  }
+
+  public String getSignalName() {
+    return signalName;
+  }
+
+  public long getDeliveredCount() {
+    return deliveredCount;
+  }
+
+  public String getCurrentJobId() {
+    return currentJobId;
+  }
+
+  public int getCurrentJobRetries() {
+    return currentJobRetries;
+  }
+
+  public String toString() {
+    return "SignalBroadcastProgress[broadcastId=" + broadcastId
+        + ", signalName=" + signalName
+        + ", deliveredCount=" + deliveredCount
+        + ", currentJobId=" + currentJobId
+        + ", currentJobRetries=" + currentJobRetries
+        + "]";
+  }
+
+}
@@ -0,0 +1,60 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.task;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.task.TaskChanges;
+
+public class TaskChangesImpl implements TaskChanges, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected long sequence;
+  protected boolean resetRequired;
+  protected List<Task> tasks = new ArrayList<Task>();
+  protected List<String> removedTaskIds = new ArrayList<String>();
+
+  public TaskChangesImpl(long sequence, boolean resetRequired) {
+    this.sequence = sequence;
+    this.resetRequired = resetRequired;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public boolean isResetRequired() {
+    return resetRequired;
+  }
+
+  public List<Task> getTasks() {
+    return tasks;
+  }
+
+  public void setTasks(List<Task> tasks) {
+    this.tasks = tasks;
+  }
+
+  public List<String> getRemovedTaskIds() {
+    return removedTaskIds;
+  }
+
+  public void setRemovedTaskIds(List<String> removedTaskIds) {
+    this.removedTaskIds = removedTaskIds;
+  }
+
+}
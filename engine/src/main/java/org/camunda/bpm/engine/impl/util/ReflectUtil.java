@@ -62,8 +62,19 @@ public abstract class ReflectUtil {
   }
 
   public static Class<?> loadClass(String className) {
+    ClassLoader customClassLoader = getCustomClassLoader();
+    ClassLoader contextClassLoader = ClassLoaderUtil.getContextClassloader();
+
+    Class<?> clazz = ReflectionCache.getClass(className, customClassLoader, contextClassLoader);
+    if (clazz == null) {
+      clazz = loadClass(className, customClassLoader);
+      ReflectionCache.putClass(className, customClassLoader, contextClassLoader, clazz);
+    }
+    return clazz;
+  }
+
+  protected static Class<?> loadClass(String className, ClassLoader classLoader) {
    Class<?> clazz = null;
-   ClassLoader classLoader = getCustomClassLoader();
 
    // First exception in chain of classloaders will be used as cause when no class is found in any of them
    Throwable throwable = null;
@@ -240,6 +251,10 @@ public abstract class ReflectUtil {
    * Returns the setter-method for the given field name or null if no setter exists.
    */
   public static Method getSetter(String fieldName, Class<?> clazz, Class<?> fieldType) {
+    return ReflectionCache.getSetter(fieldName, clazz, fieldType);
+  }
+
+  protected static Method findSetter(String fieldName, Class<?> clazz, Class<?> fieldType) {
     String setterName = buildSetterName(fieldName);
     try {
       // Using getMathods(), getMathod(...) expects exact parameter type
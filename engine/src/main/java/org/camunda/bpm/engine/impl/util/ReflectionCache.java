@@ -0,0 +1,318 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>Caches the results of reflective lookups performed by {@link ReflectUtil} and
+ * {@link ClassDelegateUtil}: classes resolved by name, no-argument constructors
+ * and setter methods.</p>
+ *
+ * <p>Classes are cached per combination of class loaders used to resolve them,
+ * so that the same class name may resolve to different classes in different
+ * process applications. Entries belonging to a class loader are removed through
+ * {@link #purge(ClassLoader)} when the corresponding process application is undeployed.</p>
+ *
+ * <p>Classes resolved by name are referenced weakly. Constructors and setters are kept
+ * in a concurrent map per class loader of the declaring class, so that lookups do not
+ * contend on a lock except for finding the map of a class loader. These maps reference
+ * the classes of their class loader strongly and are only released by
+ * {@link #purge(ClassLoader)}.</p>
+ */
+public class ReflectionCache {
+
+  /** marker for a lookup which did not find a method */
+  protected static final Method NO_METHOD;
+
+  static {
+    try {
+      NO_METHOD = Object.class.getMethod("toString");
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  protected static final ReferenceQueue<ClassLoader> collectedClassLoaders = new ReferenceQueue<ClassLoader>();
+
+  protected static final Map<ClassKey, WeakReference<Class<?>>> classes = new ConcurrentHashMap<ClassKey, WeakReference<Class<?>>>();
+  /** no-argument constructors by class loader and declaring class */
+  protected static final Map<ClassLoader, ConcurrentMap<Class<?>, Constructor<?>>> constructors = new WeakHashMap<ClassLoader, ConcurrentMap<Class<?>, Constructor<?>>>();
+
+  /** setters by class loader of the declaring class */
+  protected static final Map<ClassLoader, ConcurrentMap<SetterKey, Method>> setters = new WeakHashMap<ClassLoader, ConcurrentMap<SetterKey, Method>>();
+
+  public static Class<?> getClass(String className, ClassLoader customClassLoader, ClassLoader contextClassLoader) {
+    WeakReference<Class<?>> reference = classes.get(new ClassKey(className, customClassLoader, contextClassLoader));
+    return reference != null ? reference.get() : null;
+  }
+
+  public static void putClass(String className, ClassLoader customClassLoader, ClassLoader contextClassLoader, Class<?> clazz) {
+    expungeCollectedClassLoaders();
+    ClassKey key = new ClassKey(className, customClassLoader, contextClassLoader, collectedClassLoaders);
+    classes.put(key, new WeakReference<Class<?>>(clazz));
+  }
+
+  /**
+   * @return the no-argument constructor of the given class
+   * @throws NoSuchMethodException if the class has no such constructor
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> Constructor<T> getConstructor(Class<T> clazz) throws NoSuchMethodException {
+    ConcurrentMap<Class<?>, Constructor<?>> constructorsOfClassLoader = getCacheOf(constructors, clazz.getClassLoader());
+    Constructor<T> constructor = (Constructor<T>) constructorsOfClassLoader.get(clazz);
+    if (constructor == null) {
+      constructor = clazz.getDeclaredConstructor();
+      constructorsOfClassLoader.put(clazz, constructor);
+    }
+    return constructor;
+  }
+
+  /**
+   * @return the setter found by {@link ReflectUtil#getSetter(String, Class, Class)} or <code>null</code>
+   */
+  public static Method getSetter(String fieldName, Class<?> clazz, Class<?> fieldType) {
+    ConcurrentMap<SetterKey, Method> settersOfClassLoader = getCacheOf(setters, clazz.getClassLoader());
+    SetterKey key = new SetterKey(fieldName, clazz, fieldType);
+
+    Method setter = settersOfClassLoader.get(key);
+    if (setter == null) {
+      setter = ReflectUtil.findSetter(fieldName, clazz, fieldType);
+      if (setter == null) {
+        setter = NO_METHOD;
+      }
+      settersOfClassLoader.put(key, setter);
+    }
+    return setter != NO_METHOD ? setter : null;
+  }
+
+  /**
+   * Removes all entries which refer to classes or class loaders that are the given class loader or one of its descendants.
+   */
+  public static void purge(ClassLoader classLoader) {
+    Iterator<Map.Entry<ClassKey, WeakReference<Class<?>>>> classIterator = classes.entrySet().iterator();
+    while (classIterator.hasNext()) {
+      Map.Entry<ClassKey, WeakReference<Class<?>>> entry = classIterator.next();
+      ClassKey key = entry.getKey();
+      Class<?> clazz = entry.getValue().get();
+      if (key.isCollected()
+          || isDescendant(key.getCustomClassLoader(), classLoader)
+          || isDescendant(key.getContextClassLoader(), classLoader)
+          || clazz == null
+          || isLoadedBy(clazz, classLoader)) {
+        classIterator.remove();
+      }
+    }
+
+    purgeCaches(constructors, classLoader);
+
+    // a setter of a class of another class loader may still take a parameter of the purged class loader
+    for (ConcurrentMap<SetterKey, Method> settersOfClassLoader : purgeCaches(setters, classLoader)) {
+      Iterator<SetterKey> setterIterator = settersOfClassLoader.keySet().iterator();
+      while (setterIterator.hasNext()) {
+        if (isLoadedBy(setterIterator.next().fieldType, classLoader)) {
+          setterIterator.remove();
+        }
+      }
+    }
+  }
+
+  public static void clear() {
+    classes.clear();
+    synchronized (constructors) {
+      constructors.clear();
+    }
+    synchronized (setters) {
+      setters.clear();
+    }
+  }
+
+  /**
+   * @return the map of the given class loader, which is created if absent
+   */
+  protected static <K, V> ConcurrentMap<K, V> getCacheOf(Map<ClassLoader, ConcurrentMap<K, V>> caches, ClassLoader classLoader) {
+    synchronized (caches) {
+      ConcurrentMap<K, V> cache = caches.get(classLoader);
+      if (cache == null) {
+        cache = new ConcurrentHashMap<K, V>();
+        caches.put(classLoader, cache);
+      }
+      return cache;
+    }
+  }
+
+  /**
+   * Removes the maps of the given class loader and its descendants.
+   *
+   * @return the remaining maps
+   */
+  protected static <V> List<V> purgeCaches(Map<ClassLoader, V> caches, ClassLoader classLoader) {
+    List<V> remainingCaches = new ArrayList<V>();
+    synchronized (caches) {
+      Iterator<Map.Entry<ClassLoader, V>> cacheIterator = caches.entrySet().iterator();
+      while (cacheIterator.hasNext()) {
+        Map.Entry<ClassLoader, V> entry = cacheIterator.next();
+        if (isDescendant(entry.getKey(), classLoader)) {
+          cacheIterator.remove();
+        } else {
+          remainingCaches.add(entry.getValue());
+        }
+      }
+    }
+    return remainingCaches;
+  }
+
+  public static boolean isLoadedBy(Class<?> clazz, ClassLoader classLoader) {
+    return isDescendant(clazz.getClassLoader(), classLoader);
+  }
+
+  protected static boolean isDescendant(ClassLoader candidate, ClassLoader classLoader) {
+    while (candidate != null) {
+      if (candidate == classLoader) {
+        return true;
+      }
+      candidate = candidate.getParent();
+    }
+    return false;
+  }
+
+  /**
+   * Removes the class entries whose class loaders have been garbage collected.
+   */
+  protected static void expungeCollectedClassLoaders() {
+    Reference<? extends ClassLoader> reference;
+    while ((reference = collectedClassLoaders.poll()) != null) {
+      classes.remove(((ClassLoaderReference) reference).key);
+    }
+  }
+
+  protected static class SetterKey {
+
+    protected final String fieldName;
+    protected final Class<?> clazz;
+    protected final Class<?> fieldType;
+
+    public SetterKey(String fieldName, Class<?> clazz, Class<?> fieldType) {
+      this.fieldName = fieldName;
+      this.clazz = clazz;
+      this.fieldType = fieldType;
+    }
+
+    public int hashCode() {
+      int result = fieldName.hashCode();
+      result = 31 * result + clazz.hashCode();
+      result = 31 * result + fieldType.hashCode();
+      return result;
+    }
+
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof SetterKey)) {
+        return false;
+      }
+      SetterKey other = (SetterKey) obj;
+      return fieldName.equals(other.fieldName)
+          && clazz == other.clazz
+          && fieldType == other.fieldType;
+    }
+  }
+
+  protected static class ClassLoaderReference extends WeakReference<ClassLoader> {
+
+    protected final ClassKey key;
+
+    public ClassLoaderReference(ClassLoader classLoader, ClassKey key, ReferenceQueue<ClassLoader> queue) {
+      super(classLoader, queue);
+      this.key = key;
+    }
+  }
+
+  protected static class ClassKey {
+
+    protected final String className;
+    protected final Reference<ClassLoader> customClassLoader;
+    protected final Reference<ClassLoader> contextClassLoader;
+    protected final int hashCode;
+
+    /** creates a key for lookups */
+    public ClassKey(String className, ClassLoader customClassLoader, ClassLoader contextClassLoader) {
+      this(className, customClassLoader, contextClassLoader, null);
+    }
+
+    /** creates a key for storing an entry, which is expunged once one of its class loaders is collected */
+    public ClassKey(String className, ClassLoader customClassLoader, ClassLoader contextClassLoader, ReferenceQueue<ClassLoader> queue) {
+      this.className = className;
+      this.customClassLoader = referenceTo(customClassLoader, queue);
+      this.contextClassLoader = referenceTo(contextClassLoader, queue);
+      this.hashCode = 31 * className.hashCode() + System.identityHashCode(customClassLoader) + System.identityHashCode(contextClassLoader);
+    }
+
+    protected Reference<ClassLoader> referenceTo(ClassLoader classLoader, ReferenceQueue<ClassLoader> queue) {
+      if (classLoader == null) {
+        return null;
+      }
+      if (queue == null) {
+        return new WeakReference<ClassLoader>(classLoader);
+      }
+      return new ClassLoaderReference(classLoader, this, queue);
+    }
+
+    public ClassLoader getCustomClassLoader() {
+      return customClassLoader != null ? customClassLoader.get() : null;
+    }
+
+    public ClassLoader getContextClassLoader() {
+      return contextClassLoader != null ? contextClassLoader.get() : null;
+    }
+
+    public boolean isCollected() {
+      return (customClassLoader != null && customClassLoader.get() == null)
+          || (contextClassLoader != null && contextClassLoader.get() == null);
+    }
+
+    public int hashCode() {
+      return hashCode;
+    }
+
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof ClassKey)) {
+        return false;
+      }
+      ClassKey other = (ClassKey) obj;
+      return className.equals(other.className)
+          && !isCollected()
+          && !other.isCollected()
+          && (customClassLoader == null) == (other.customClassLoader == null)
+          && (contextClassLoader == null) == (other.contextClassLoader == null)
+          && getCustomClassLoader() == other.getCustomClassLoader()
+          && getContextClassLoader() == other.getContextClassLoader();
+    }
+  }
+
+}
@@ -0,0 +1,823 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+
+/**
+ * <p>Compact, schema-less binary encoding of object graphs.</p>
+ *
+ * <p>Every value is prefixed with a one byte tag. Integral numbers are written as
+ * zig-zag encoded variable length integers, strings as UTF-8. Class names and the field
+ * names of an object's class are only written on their first occurrence in a stream and
+ * referenced by index afterwards. Objects are read back by field name, so fields which
+ * were added to or removed from a class in the meantime are tolerated.
+ * Shared references and cycles are preserved.</p>
+ *
+ * <p>Objects which are neither a collection, a map nor an array must provide a
+ * no-argument constructor. Static and transient fields are not written. The comparator
+ * of a sorted set or map is written like any other object, so it must provide a
+ * no-argument constructor as well.</p>
+ *
+ * <p>The encoded form is deflated if it exceeds a configurable size. The first byte of
+ * the serialized form indicates whether it is compressed.</p>
+ */
+public class CompactBinaryFormat {
+
+  public static final int COMPRESSION_DISABLED = -1;
+
+  protected static final byte HEADER_PLAIN = 0;
+  protected static final byte HEADER_DEFLATED = 1;
+
+  protected static final byte NULL = 0;
+  protected static final byte TRUE = 1;
+  protected static final byte FALSE = 2;
+  protected static final byte BYTE = 3;
+  protected static final byte SHORT = 4;
+  protected static final byte INT = 5;
+  protected static final byte LONG = 6;
+  protected static final byte FLOAT = 7;
+  protected static final byte DOUBLE = 8;
+  protected static final byte CHAR = 9;
+  protected static final byte STRING = 10;
+  protected static final byte DATE = 11;
+  protected static final byte BIG_INTEGER = 12;
+  protected static final byte BIG_DECIMAL = 13;
+  protected static final byte ENUM = 14;
+  protected static final byte BYTES = 15;
+  protected static final byte ARRAY = 16;
+  protected static final byte COLLECTION = 17;
+  protected static final byte MAP = 18;
+  protected static final byte OBJECT = 19;
+  protected static final byte REFERENCE = 20;
+  protected static final byte SORTED_COLLECTION = 21;
+  protected static final byte SORTED_MAP = 22;
+
+  protected final int compressionThreshold;
+
+  /**
+   * @param compressionThreshold the size in bytes above which the encoded form is deflated
+   * or {@link #COMPRESSION_DISABLED}
+   */
+  public CompactBinaryFormat(int compressionThreshold) {
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  /**
+   * @return true if the value and all values it references are of types this format can write,
+   *  i.e. simple values, enums, arrays, collections, maps or objects of classes providing a
+   *  no-argument constructor. Sorted sets and maps are only accepted if their comparators can
+   *  be written as well.
+   */
+  public boolean isAbleToSerialize(Object value) {
+    if (value == null) {
+      return false;
+    }
+    return new Inspector().isAbleToWrite(value);
+  }
+
+  public byte[] serialize(Object value) {
+    ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    try {
+      DataOutputStream out = new DataOutputStream(encoded);
+      out.writeByte(HEADER_PLAIN);
+      new Writer(out).writeValue(value);
+      out.flush();
+    } catch (IOException e) {
+      throw new ProcessEngineException("Couldn't serialize value '" + value + "'", e);
+    }
+
+    byte[] bytes = encoded.toByteArray();
+    if (compressionThreshold != COMPRESSION_DISABLED && bytes.length - 1 > compressionThreshold) {
+      bytes = deflate(bytes);
+    }
+    return bytes;
+  }
+
+  public Object deserialize(byte[] bytes) {
+    InputStream in = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+    if (bytes[0] == HEADER_DEFLATED) {
+      in = new InflaterInputStream(in);
+    }
+    try {
+      return new Reader(new DataInputStream(in)).readValue();
+    } catch (IOException e) {
+      throw new ProcessEngineException("Couldn't deserialize value", e);
+    } finally {
+      IoUtil.closeSilently(in);
+    }
+  }
+
+  protected byte[] deflate(byte[] encoded) {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    compressed.write(HEADER_DEFLATED);
+    DeflaterOutputStream out = new DeflaterOutputStream(compressed);
+    try {
+      out.write(encoded, 1, encoded.length - 1);
+      out.finish();
+    } catch (IOException e) {
+      throw new ProcessEngineException("Couldn't compress serialized value", e);
+    } finally {
+      IoUtil.closeSilently(out);
+    }
+    return compressed.toByteArray();
+  }
+
+  /**
+   * @return the comparator of a sorted set or map or null if the value is none or
+   *  is sorted by the natural ordering of its elements
+   */
+  protected static Comparator<?> getComparator(Object value) {
+    if (value instanceof SortedSet) {
+      return ((SortedSet<?>) value).comparator();
+    } else if (value instanceof SortedMap) {
+      return ((SortedMap<?, ?>) value).comparator();
+    } else {
+      return null;
+    }
+  }
+
+  // fields ////////////////////////////////////////////////////////////////////
+
+  /**
+   * Returns the persistent fields of the class and its superclasses, keyed by their name.
+   * A field hidden by a field of the same name in a subclass is keyed by its qualified name.
+   */
+  protected static Map<String, Field> getPersistentFields(Class<?> type) {
+    List<Class<?>> hierarchy = new ArrayList<Class<?>>();
+    for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+      hierarchy.add(0, current);
+    }
+
+    Map<String, Field> fields = new LinkedHashMap<String, Field>();
+    for (Class<?> current : hierarchy) {
+      for (Field field : current.getDeclaredFields()) {
+        if (isPersistent(field)) {
+          field.setAccessible(true);
+          fields.put(field.getName(), field);
+        }
+      }
+    }
+
+    // re-key hidden fields
+    Map<String, Field> result = new LinkedHashMap<String, Field>();
+    for (Class<?> current : hierarchy) {
+      for (Field field : current.getDeclaredFields()) {
+        Field visibleField = fields.get(field.getName());
+        if (visibleField == field) {
+          result.put(field.getName(), field);
+        } else if (visibleField != null && isPersistent(field)) {
+          field.setAccessible(true);
+          result.put(current.getName() + "." + field.getName(), field);
+        }
+      }
+    }
+    return result;
+  }
+
+  protected static boolean isPersistent(Field field) {
+    int modifiers = field.getModifiers();
+    return !Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic();
+  }
+
+  protected static boolean isSimpleValue(Class<?> type) {
+    return type == String.class || type == Integer.class || type == Long.class || type == Boolean.class
+        || type == Double.class || type == Float.class || type == Short.class || type == Byte.class
+        || type == Character.class || type == Date.class || type == BigInteger.class || type == BigDecimal.class
+        || type == byte[].class;
+  }
+
+  // inspector /////////////////////////////////////////////////////////////////
+
+  /**
+   * Walks the object graph of a value the way the {@link Writer} does, without writing it,
+   * to find values which cannot be written.
+   */
+  protected static class Inspector {
+
+    protected final Map<Class<?>, Collection<Field>> fields = new HashMap<Class<?>, Collection<Field>>();
+    protected final Map<Object, Object> visited = new IdentityHashMap<Object, Object>();
+
+    public boolean isAbleToWrite(Object value) {
+      if (value == null || value instanceof Enum) {
+        return true;
+      }
+
+      Class<?> type = value.getClass();
+      if (isSimpleValue(type) || visited.put(value, value) != null) {
+        return true;
+      }
+
+      Comparator<?> comparator = getComparator(value);
+      if (comparator != null && !isAbleToWrite(comparator)) {
+        return false;
+      }
+
+      if (type.isArray()) {
+        if (!type.getComponentType().isPrimitive()) {
+          for (Object element : (Object[]) value) {
+            if (!isAbleToWrite(element)) {
+              return false;
+            }
+          }
+        }
+        return true;
+
+      } else if (value instanceof Collection) {
+        for (Object element : (Collection<?>) value) {
+          if (!isAbleToWrite(element)) {
+            return false;
+          }
+        }
+        return true;
+
+      } else if (value instanceof Map) {
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+          if (!isAbleToWrite(entry.getKey()) || !isAbleToWrite(entry.getValue())) {
+            return false;
+          }
+        }
+        return true;
+
+      } else {
+        Collection<Field> fieldsOfType = getFields(type);
+        if (fieldsOfType == null) {
+          return false;
+        }
+        try {
+          for (Field field : fieldsOfType) {
+            if (!isAbleToWrite(field.get(value))) {
+              return false;
+            }
+          }
+        } catch (IllegalAccessException e) {
+          return false;
+        }
+        return true;
+      }
+    }
+
+    /**
+     * @return the persistent fields of the type or null if it has no constructor without arguments
+     */
+    protected Collection<Field> getFields(Class<?> type) {
+      if (!fields.containsKey(type)) {
+        try {
+          type.getDeclaredConstructor();
+          fields.put(type, getPersistentFields(type).values());
+        } catch (NoSuchMethodException e) {
+          fields.put(type, null);
+        }
+      }
+      return fields.get(type);
+    }
+  }
+
+  // writer ////////////////////////////////////////////////////////////////////
+
+  protected static class Writer {
+
+    protected final DataOutputStream out;
+    protected final Map<Class<?>, Integer> classNames = new HashMap<Class<?>, Integer>();
+    protected final Map<Class<?>, ObjectDescriptor> objectDescriptors = new HashMap<Class<?>, ObjectDescriptor>();
+    protected final Map<Object, Integer> references = new IdentityHashMap<Object, Integer>();
+
+    public Writer(DataOutputStream out) {
+      this.out = out;
+    }
+
+    public void writeValue(Object value) throws IOException {
+      if (value == null) {
+        out.writeByte(NULL);
+        return;
+      }
+
+      Class<?> type = value.getClass();
+      if (type == String.class) {
+        out.writeByte(STRING);
+        writeString((String) value);
+      } else if (type == Integer.class) {
+        out.writeByte(INT);
+        writeVarLong(zigZag((Integer) value));
+      } else if (type == Long.class) {
+        out.writeByte(LONG);
+        writeVarLong(zigZag((Long) value));
+      } else if (type == Boolean.class) {
+        out.writeByte(((Boolean) value) ? TRUE : FALSE);
+      } else if (type == Double.class) {
+        out.writeByte(DOUBLE);
+        out.writeDouble((Double) value);
+      } else if (type == Float.class) {
+        out.writeByte(FLOAT);
+        out.writeFloat((Float) value);
+      } else if (type == Short.class) {
+        out.writeByte(SHORT);
+        writeVarLong(zigZag((Short) value));
+      } else if (type == Byte.class) {
+        out.writeByte(BYTE);
+        out.writeByte((Byte) value);
+      } else if (type == Character.class) {
+        out.writeByte(CHAR);
+        out.writeChar((Character) value);
+      } else if (type == Date.class) {
+        out.writeByte(DATE);
+        writeVarLong(zigZag(((Date) value).getTime()));
+      } else if (type == BigInteger.class) {
+        out.writeByte(BIG_INTEGER);
+        writeBytes(((BigInteger) value).toByteArray());
+      } else if (type == BigDecimal.class) {
+        out.writeByte(BIG_DECIMAL);
+        writeString(value.toString());
+      } else if (value instanceof Enum) {
+        out.writeByte(ENUM);
+        writeClassName(((Enum<?>) value).getDeclaringClass());
+        writeString(((Enum<?>) value).name());
+      } else if (type == byte[].class) {
+        out.writeByte(BYTES);
+        writeBytes((byte[]) value);
+      } else {
+        writeReferenceable(value, type);
+      }
+    }
+
+    protected void writeReferenceable(Object value, Class<?> type) throws IOException {
+      Integer reference = references.get(value);
+      if (reference != null) {
+        out.writeByte(REFERENCE);
+        writeVarLong(reference);
+        return;
+      }
+      references.put(value, references.size());
+
+      if (type.isArray()) {
+        out.writeByte(ARRAY);
+        writeClassName(type.getComponentType());
+        int length = Array.getLength(value);
+        writeVarLong(length);
+        for (int i = 0; i < length; i++) {
+          writeValue(Array.get(value, i));
+        }
+
+      } else if (value instanceof Collection) {
+        Collection<?> collection = (Collection<?>) value;
+        writeContainerHeader(value, type, COLLECTION, SORTED_COLLECTION);
+        writeVarLong(collection.size());
+        for (Object element : collection) {
+          writeValue(element);
+        }
+
+      } else if (value instanceof Map) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        writeContainerHeader(value, type, MAP, SORTED_MAP);
+        writeVarLong(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          writeValue(entry.getKey());
+          writeValue(entry.getValue());
+        }
+
+      } else {
+        out.writeByte(OBJECT);
+        ObjectDescriptor descriptor = writeObjectDescriptor(type);
+        try {
+          for (Field field : descriptor.fields) {
+            writeValue(field.get(value));
+          }
+        } catch (IllegalAccessException e) {
+          throw new ProcessEngineException("Cannot read fields of " + type.getName(), e);
+        }
+      }
+    }
+
+    /**
+     * Writes the tag and the class name of a collection or map, followed by the comparator
+     * if it is sorted by one.
+     */
+    protected void writeContainerHeader(Object value, Class<?> type, byte tag, byte sortedTag) throws IOException {
+      Comparator<?> comparator = getComparator(value);
+      out.writeByte(comparator != null ? sortedTag : tag);
+      writeClassName(type);
+      if (comparator != null) {
+        writeValue(comparator);
+      }
+    }
+
+    protected ObjectDescriptor writeObjectDescriptor(Class<?> type) throws IOException {
+      ObjectDescriptor descriptor = objectDescriptors.get(type);
+      if (descriptor != null) {
+        writeVarLong(descriptor.index + 1);
+        return descriptor;
+      }
+
+      try {
+        type.getDeclaredConstructor();
+      } catch (NoSuchMethodException e) {
+        throw new ProcessEngineException("Cannot serialize " + type.getName() + ", a constructor without arguments is required");
+      }
+
+      Map<String, Field> fields = getPersistentFields(type);
+      descriptor = new ObjectDescriptor(objectDescriptors.size(), new ArrayList<Field>(fields.values()));
+      objectDescriptors.put(type, descriptor);
+
+      writeVarLong(0);
+      writeString(type.getName());
+      writeVarLong(fields.size());
+      for (String fieldName : fields.keySet()) {
+        writeString(fieldName);
+      }
+      return descriptor;
+    }
+
+    protected void writeClassName(Class<?> type) throws IOException {
+      Integer index = classNames.get(type);
+      if (index != null) {
+        writeVarLong(index + 1);
+      } else {
+        classNames.put(type, classNames.size());
+        writeVarLong(0);
+        writeString(type.getName());
+      }
+    }
+
+    protected void writeString(String value) throws IOException {
+      writeBytes(value.getBytes("UTF-8"));
+    }
+
+    protected void writeBytes(byte[] bytes) throws IOException {
+      writeVarLong(bytes.length);
+      out.write(bytes);
+    }
+
+    protected void writeVarLong(long value) throws IOException {
+      while ((value & ~0x7FL) != 0) {
+        out.writeByte((int) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      out.writeByte((int) value);
+    }
+
+    protected long zigZag(long value) {
+      return (value << 1) ^ (value >> 63);
+    }
+  }
+
+  protected static class ObjectDescriptor {
+
+    protected final int index;
+    protected final List<Field> fields;
+
+    public ObjectDescriptor(int index, List<Field> fields) {
+      this.index = index;
+      this.fields = fields;
+    }
+  }
+
+  // reader ////////////////////////////////////////////////////////////////////
+
+  protected static class Reader {
+
+    protected final DataInputStream in;
+    protected final List<Class<?>> classNames = new ArrayList<Class<?>>();
+    protected final List<ReadObjectDescriptor> objectDescriptors = new ArrayList<ReadObjectDescriptor>();
+    protected final List<Object> references = new ArrayList<Object>();
+
+    public Reader(DataInputStream in) {
+      this.in = in;
+    }
+
+    public Object readValue() throws IOException {
+      byte tag = in.readByte();
+      switch (tag) {
+      case NULL:
+        return null;
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      case BYTE:
+        return in.readByte();
+      case SHORT:
+        return (short) unZigZag(readVarLong());
+      case INT:
+        return (int) unZigZag(readVarLong());
+      case LONG:
+        return unZigZag(readVarLong());
+      case FLOAT:
+        return in.readFloat();
+      case DOUBLE:
+        return in.readDouble();
+      case CHAR:
+        return in.readChar();
+      case STRING:
+        return readString();
+      case DATE:
+        return new Date(unZigZag(readVarLong()));
+      case BIG_INTEGER:
+        return new BigInteger(readBytes());
+      case BIG_DECIMAL:
+        return new BigDecimal(readString());
+      case ENUM:
+        return readEnum();
+      case BYTES:
+        return readBytes();
+      case ARRAY:
+        return readArray();
+      case COLLECTION:
+        return readCollection(false);
+      case SORTED_COLLECTION:
+        return readCollection(true);
+      case MAP:
+        return readMap(false);
+      case SORTED_MAP:
+        return readMap(true);
+      case OBJECT:
+        return readObject();
+      case REFERENCE:
+        return references.get((int) readVarLong());
+      default:
+        throw new ProcessEngineException("Unknown tag " + tag + " in serialized value");
+      }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected Object readEnum() throws IOException {
+      Class enumType = readClassName();
+      return Enum.valueOf(enumType, readString());
+    }
+
+    protected Object readArray() throws IOException {
+      Class<?> componentType = readClassName();
+      int length = (int) readVarLong();
+      Object array = Array.newInstance(componentType, length);
+      references.add(array);
+      for (int i = 0; i < length; i++) {
+        Array.set(array, i, readValue());
+      }
+      return array;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Object readCollection(boolean hasComparator) throws IOException {
+      Class<?> type = readClassName();
+      Collection<Object> collection;
+      if (hasComparator) {
+        // the collection precedes its comparator in the references
+        int reference = reserveReference();
+        Comparator<Object> comparator = (Comparator<Object>) readValue();
+        collection = (Collection<Object>) newInstance(type, comparator);
+        if (collection == null) {
+          collection = new TreeSet<Object>(comparator);
+        }
+        references.set(reference, collection);
+
+      } else {
+        collection = (Collection<Object>) newInstance(type);
+        if (collection == null) {
+          if (SortedSet.class.isAssignableFrom(type)) {
+            collection = new TreeSet<Object>();
+          } else if (Set.class.isAssignableFrom(type)) {
+            collection = new LinkedHashSet<Object>();
+          } else {
+            collection = new ArrayList<Object>();
+          }
+        }
+        references.add(collection);
+      }
+
+      int size = (int) readVarLong();
+      for (int i = 0; i < size; i++) {
+        collection.add(readValue());
+      }
+      return collection;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Object readMap(boolean hasComparator) throws IOException {
+      Class<?> type = readClassName();
+      Map<Object, Object> map;
+      if (hasComparator) {
+        // the map precedes its comparator in the references
+        int reference = reserveReference();
+        Comparator<Object> comparator = (Comparator<Object>) readValue();
+        map = (Map<Object, Object>) newInstance(type, comparator);
+        if (map == null) {
+          map = new TreeMap<Object, Object>(comparator);
+        }
+        references.set(reference, map);
+
+      } else {
+        map = (Map<Object, Object>) newInstance(type);
+        if (map == null) {
+          if (SortedMap.class.isAssignableFrom(type)) {
+            map = new TreeMap<Object, Object>();
+          } else {
+            map = new LinkedHashMap<Object, Object>();
+          }
+        }
+        references.add(map);
+      }
+
+      int size = (int) readVarLong();
+      for (int i = 0; i < size; i++) {
+        Object key = readValue();
+        map.put(key, readValue());
+      }
+      return map;
+    }
+
+    protected Object readObject() throws IOException {
+      ReadObjectDescriptor descriptor = readObjectDescriptor();
+      Object object = newInstance(descriptor.type);
+      if (object == null) {
+        throw new ProcessEngineException("Cannot instantiate " + descriptor.type.getName()
+            + ", a constructor without arguments is required");
+      }
+      references.add(object);
+
+      for (Field field : descriptor.fields) {
+        Object value = readValue();
+        if (field != null) {
+          try {
+            field.set(object, value);
+          } catch (Exception e) {
+            throw new ProcessEngineException("Cannot set field '" + field.getName() + "' of " + descriptor.type.getName(), e);
+          }
+        }
+      }
+      return object;
+    }
+
+    protected ReadObjectDescriptor readObjectDescriptor() throws IOException {
+      int index = (int) readVarLong();
+      if (index > 0) {
+        return objectDescriptors.get(index - 1);
+      }
+
+      Class<?> type = ReflectUtil.loadClass(readString());
+      Map<String, Field> persistentFields = getPersistentFields(type);
+
+      int fieldCount = (int) readVarLong();
+      List<Field> fields = new ArrayList<Field>(fieldCount);
+      for (int i = 0; i < fieldCount; i++) {
+        // fields which no longer exist are skipped
+        fields.add(persistentFields.get(readString()));
+      }
+
+      ReadObjectDescriptor descriptor = new ReadObjectDescriptor(type, fields);
+      objectDescriptors.add(descriptor);
+      return descriptor;
+    }
+
+    protected Class<?> readClassName() throws IOException {
+      int index = (int) readVarLong();
+      if (index > 0) {
+        return classNames.get(index - 1);
+      }
+      Class<?> type = loadClass(readString());
+      classNames.add(type);
+      return type;
+    }
+
+    protected Class<?> loadClass(String className) {
+      if (className.equals(int.class.getName())) {
+        return int.class;
+      } else if (className.equals(long.class.getName())) {
+        return long.class;
+      } else if (className.equals(boolean.class.getName())) {
+        return boolean.class;
+      } else if (className.equals(double.class.getName())) {
+        return double.class;
+      } else if (className.equals(float.class.getName())) {
+        return float.class;
+      } else if (className.equals(short.class.getName())) {
+        return short.class;
+      } else if (className.equals(byte.class.getName())) {
+        return byte.class;
+      } else if (className.equals(char.class.getName())) {
+        return char.class;
+      } else {
+        return ReflectUtil.loadClass(className);
+      }
+    }
+
+    /**
+     * Adds a placeholder for a value which can only be created after the values it
+     * references have been read.
+     *
+     * @return the index of the placeholder
+     */
+    protected int reserveReference() {
+      references.add(null);
+      return references.size() - 1;
+    }
+
+    /**
+     * @return a new instance created by the constructor taking a comparator or null if there is no such constructor
+     */
+    protected Object newInstance(Class<?> type, Comparator<?> comparator) {
+      try {
+        Constructor<?> constructor = type.getDeclaredConstructor(Comparator.class);
+        constructor.setAccessible(true);
+        return constructor.newInstance(comparator);
+      } catch (NoSuchMethodException e) {
+        return null;
+      } catch (Exception e) {
+        throw new ProcessEngineException("Cannot instantiate " + type.getName(), e);
+      }
+    }
+
+    /**
+     * @return a new instance created by the no-argument constructor or null if there is no such constructor
+     */
+    protected Object newInstance(Class<?> type) {
+      try {
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+      } catch (NoSuchMethodException e) {
+        return null;
+      } catch (Exception e) {
+        throw new ProcessEngineException("Cannot instantiate " + type.getName(), e);
+      }
+    }
+
+    protected String readString() throws IOException {
+      return new String(readBytes(), "UTF-8");
+    }
+
+    protected byte[] readBytes() throws IOException {
+      byte[] bytes = new byte[(int) readVarLong()];
+      in.readFully(bytes);
+      return bytes;
+    }
+
+    protected long readVarLong() throws IOException {
+      long value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = in.readByte();
+        value |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      return value;
+    }
+
+    protected long unZigZag(long value) {
+      return (value >>> 1) ^ -(value & 1);
+    }
+  }
+
+  protected static class ReadObjectDescriptor {
+
+    protected final Class<?> type;
+    protected final List<Field> fields;
+
+    public ReadObjectDescriptor(Class<?> type, List<Field> fields) {
+      this.type = type;
+      this.fields = fields;
+    }
+  }
+
+}
@@ -0,0 +1,156 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.delegate.ProcessEngineVariableType;
+import org.camunda.bpm.engine.delegate.SerializedVariableValue;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.core.variable.SerializedVariableValueImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * Persists objects in the {@link CompactBinaryFormat}.
+ *
+ * @see CompactBinarySerializationTypeResolver
+ */
+public class CompactBinarySerializationType extends ByteArrayType {
+
+  public static final String SERIALIZATION_FORMAT = "compact binary";
+
+  protected CompactBinaryFormat format;
+
+  /** false if the type is only registered for reading values, see {@link #isAbleToStore(Object)} */
+  protected boolean isStoringValues;
+
+  public CompactBinarySerializationType(int compressionThreshold) {
+    this(compressionThreshold, true);
+  }
+
+  /**
+   * @param isStoringValues if false, the type reads values in the compact binary format
+   *  but is never chosen for storing new values
+   */
+  public CompactBinarySerializationType(int compressionThreshold, boolean isStoringValues) {
+    this.format = new CompactBinaryFormat(compressionThreshold);
+    this.isStoringValues = isStoringValues;
+  }
+
+  public String getTypeName() {
+    return ProcessEngineVariableType.COMPACT_BINARY.getName();
+  }
+
+  public Object getValue(ValueFields valueFields) {
+    Object cachedObject = valueFields.getCachedValue();
+    if (cachedObject != null) {
+      return cachedObject;
+    }
+
+    byte[] bytes = (byte[]) super.getValue(valueFields);
+    if (bytes == null) {
+      return null;
+    }
+
+    Object deserializedObject;
+    try {
+      deserializedObject = format.deserialize(bytes);
+    } catch (ProcessEngineException e) {
+      throw new ProcessEngineException("Couldn't deserialize object in variable '"+valueFields.getName()+"'", e);
+    }
+    valueFields.setCachedValue(deserializedObject);
+
+    if (valueFields instanceof VariableInstanceEntity) {
+      if (Context.getCommandContext() == null) {
+        throw new ProcessEngineException("Unable to deserialize variable instance outside of a command context");
+      }
+
+      Context
+        .getCommandContext()
+        .getSession(DeserializedObjectsSession.class)
+        .addDeserializedObject(new CompactBinaryDeserializedObject(deserializedObject, bytes, (VariableInstanceEntity) valueFields));
+    }
+
+    return deserializedObject;
+  }
+
+  public void setValue(Object value, ValueFields valueFields) {
+    byte[] bytes = serialize(value, valueFields);
+    valueFields.setCachedValue(value);
+
+    if (valueFields.getByteArrayValue() == null && valueFields instanceof VariableInstanceEntity) {
+      Context
+        .getCommandContext()
+        .getSession(DeserializedObjectsSession.class)
+        .addDeserializedObject(new CompactBinaryDeserializedObject(value, bytes, (VariableInstanceEntity) valueFields));
+    }
+
+    super.setValue(bytes, valueFields);
+  }
+
+  protected byte[] serialize(Object value, ValueFields valueFields) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return format.serialize(value);
+    } catch (ProcessEngineException e) {
+      throw new ProcessEngineException("Couldn't serialize value '"+value+"' in variable '"+valueFields.getName()+"'", e);
+    }
+  }
+
+  public boolean isAbleToStore(Object value) {
+    return isStoringValues && format.isAbleToSerialize(value);
+  }
+
+  public String getTypeNameForValue(ValueFields valueFields) {
+    return Object.class.getSimpleName();
+  }
+
+  public SerializedVariableValue getSerializedValue(ValueFields valueFields) {
+    SerializedVariableValueImpl result = new SerializedVariableValueImpl();
+    result.setValue(super.getValue(valueFields));
+    return result;
+  }
+
+  /**
+   * Expects the value in its serialized form, i.e. as byte array in the compact binary format.
+   */
+  public void setValueFromSerialized(Object serializedValue, Map<String, Object> configuration, ValueFields valueFields) {
+    super.setValue(serializedValue, valueFields);
+  }
+
+  public boolean isAbleToStoreSerializedValue(Object value, Map<String, Object> configuration) {
+    return super.isAbleToStoreSerializedValue(value, configuration);
+  }
+
+  public boolean storesCustomObjects() {
+    return true;
+  }
+
+  /**
+   * Writes back modifications of a deserialized object in the compact binary format.
+   */
+  protected class CompactBinaryDeserializedObject extends DeserializedObject {
+
+    public CompactBinaryDeserializedObject(Object deserializedObject, byte[] serializedBytes, VariableInstanceEntity variableInstanceEntity) {
+      super(deserializedObject, serializedBytes, variableInstanceEntity);
+    }
+
+    protected byte[] serialize() {
+      return CompactBinarySerializationType.this.serialize(deserializedObject, variableInstanceEntity);
+    }
+  }
+
+}
@@ -35,7 +35,7 @@ public class DeserializedObject {
   public void flush() {
     // this first check verifies if the variable value was not overwritten with another object
     if (deserializedObject==variableInstanceEntity.getCachedValue()) {
-      byte[] bytes = SerializableType.serialize(deserializedObject, variableInstanceEntity);
+      byte[] bytes = serialize();
       if (!Arrays.equals(originalBytes, bytes)) {
         variableInstanceEntity
           .getByteArrayValue()
@@ -43,4 +43,8 @@ public class DeserializedObject {
       }
     }
   }
+
+  protected byte[] serialize() {
+    return SerializableType.serialize(deserializedObject, variableInstanceEntity);
+  }
 }
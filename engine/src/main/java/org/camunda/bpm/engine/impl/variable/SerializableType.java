@@ -14,11 +14,8 @@ package org.camunda.bpm.engine.impl.variable;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.io.ObjectStreamClass;
 import java.io.Serializable;
 import java.util.Map;
 
@@ -28,8 +25,8 @@ import org.camunda.bpm.engine.delegate.SerializedVariableValue;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.variable.SerializedVariableValueImpl;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.util.ClassloaderAwareObjectInputStream;
 import org.camunda.bpm.engine.impl.util.IoUtil;
-import org.camunda.bpm.engine.impl.util.ReflectUtil;
 
 /**
  * @author Tom Baeyens
@@ -136,16 +133,4 @@ public class SerializableType extends ByteArrayType {
   public boolean storesCustomObjects() {
     return true;
   }
-
-  protected static class ClassloaderAwareObjectInputStream extends ObjectInputStream {
-
-    public ClassloaderAwareObjectInputStream(InputStream in) throws IOException {
-      super(in);
-    }
-
-    protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
-      return ReflectUtil.loadClass(desc.getName());
-    }
-
-  }
 }
@@ -0,0 +1,67 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+/**
+ * <p>How often an activity of a process definition was started and ended and how
+ * long its behavior took, aggregated over all reported intervals.</p>
+ *
+ * <p>The execution time is only measured for activities which invoke user code or
+ * external systems synchronously, i.e. service, script, business rule and send tasks.
+ * All times are in milliseconds.</p>
+ *
+ * @see org.camunda.bpm.engine.ManagementService#getActivityMetrics(String)
+ */
+public interface ActivityMetrics {
+
+  /**
+   * The id of the process definition.
+   */
+  String getProcessDefinitionId();
+
+  /**
+   * The id of the activity.
+   */
+  String getActivityId();
+
+  /**
+   * The number of times the activity was started.
+   */
+  long getStartCount();
+
+  /**
+   * The number of times the activity was ended.
+   */
+  long getEndCount();
+
+  /**
+   * The number of times the execution time of the activity was measured.
+   */
+  long getExecutionCount();
+
+  /**
+   * The sum of all measured execution times.
+   */
+  long getTotalExecutionTime();
+
+  /**
+   * The longest measured execution time.
+   */
+  long getMaxExecutionTime();
+
+  /**
+   * The average measured execution time.
+   */
+  long getAverageExecutionTime();
+
+}
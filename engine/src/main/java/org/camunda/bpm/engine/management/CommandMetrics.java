@@ -0,0 +1,76 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+/**
+ * <p>The invocation count, error count and latency of all executions of a
+ * command class since the process engine was started or the metrics were
+ * reset.</p>
+ *
+ * <p>All durations are in milliseconds and include the flush and commit of
+ * the transaction of the command.</p>
+ *
+ * @see org.camunda.bpm.engine.ManagementService#getCommandMetrics()
+ */
+public interface CommandMetrics {
+
+  /**
+   * The fully qualified class name of the command.
+   */
+  String getCommandName();
+
+  /**
+   * The number of executions of the command, including the failed ones.
+   */
+  long getInvocationCount();
+
+  /**
+   * The number of executions of the command which failed with an exception.
+   */
+  long getErrorCount();
+
+  /**
+   * The number of executions of the command which failed with an
+   * {@link org.camunda.bpm.engine.OptimisticLockingException}. These are
+   * included in the {@link #getErrorCount() error count}.
+   */
+  long getOptimisticLockingFailureCount();
+
+  /**
+   * The sum of the durations of all executions.
+   */
+  long getTotalDuration();
+
+  /**
+   * The duration of the slowest execution.
+   */
+  long getMaxDuration();
+
+  /**
+   * The average duration of an execution.
+   */
+  long getAverageDuration();
+
+  /**
+   * The exclusive upper bounds of the buckets of the {@link #getDurationHistogram() duration histogram}.
+   * The last bucket of the histogram has no upper bound.
+   */
+  long[] getDurationHistogramBounds();
+
+  /**
+   * The number of executions per duration bucket. An execution is counted in the first
+   * bucket whose {@link #getDurationHistogramBounds() bound} is greater than its duration.
+   */
+  long[] getDurationHistogram();
+
+}
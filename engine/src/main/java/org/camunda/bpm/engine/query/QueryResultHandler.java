@@ -0,0 +1,37 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.query;
+
+/**
+ * Callback which receives the results of a query one by one while they are read
+ * from the database (see for example {@link org.camunda.bpm.engine.task.TaskQuery#iterate(QueryResultHandler)}).
+ *
+ * <p>The handler is invoked inside the transaction of the query. Results passed to the
+ * handler are not retained by the engine, so a handler which does not keep references
+ * to them processes arbitrarily large result sets in constant memory.</p>
+ *
+ * @param <U> the type of the query results
+ */
+public interface QueryResultHandler<U> {
+
+  /**
+   * Handles a single query result.
+   *
+   * A runtime exception thrown by this method stops reading further results and is rethrown
+   * unchanged to the caller of the query.
+   *
+   * @return true to continue with the next result, false to stop reading further results
+   */
+  boolean handleResult(U result);
+
+}
@@ -0,0 +1,61 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A fluent builder for correlating a large number of messages at once.</p>
+ *
+ * <p>The messages are correlated in chunks, each chunk in a single transaction. Within a chunk,
+ * subscriptions of messages with correlation keys are resolved with one query per message name.
+ * The outcome of each message is reported individually: a message which cannot be correlated or
+ * whose correlation fails does not prevent the other messages from being correlated.</p>
+ *
+ * @see org.camunda.bpm.engine.RuntimeService#createMessageCorrelationBatch()
+ */
+public interface MessageCorrelationBatchBuilder {
+
+  /**
+   * <p>Adds a message to the batch. The message is correlated like
+   * {@link org.camunda.bpm.engine.RuntimeService#correlateMessage(String, String, Map, Map)}.</p>
+   *
+   * @param messageName the name of the message
+   * @param businessKey the business key of process instances to correlate against, may be <code>null</code>
+   * @param correlationKeys the process instance variables to correlate against, may be <code>null</code>
+   * @param processVariables the variables to pass with the message, may be <code>null</code>
+   * @return the builder
+   */
+  MessageCorrelationBatchBuilder message(String messageName, String businessKey, Map<String, Object> correlationKeys, Map<String, Object> processVariables);
+
+  /**
+   * <p>Sets the maximum number of messages correlated in a single transaction.</p>
+   *
+   * @param chunkSize a positive number of messages
+   * @return the builder
+   */
+  MessageCorrelationBatchBuilder chunkSize(int chunkSize);
+
+  /**
+   * <p>Correlates all messages of the batch.</p>
+   *
+   * <p>Messages are correlated in the order they were added. A message is only reported as
+   * mismatched if no execution or process definition matches it once all previous messages
+   * are committed.</p>
+   *
+   * @return the outcome of each message, in the order the messages were added
+   */
+  List<MessageCorrelationOutcome> correlate();
+
+}
@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+/**
+ * <p>The outcome of correlating a single message of a {@link MessageCorrelationBatchBuilder batch}.</p>
+ */
+public interface MessageCorrelationOutcome {
+
+  public enum Status {
+
+    /** the message triggered an execution or started a process instance */
+    CORRELATED,
+
+    /** no or more than one execution matched the message */
+    MISMATCHED,
+
+    /** the correlation failed with an exception, its transaction was rolled back */
+    FAILED
+  }
+
+  String getMessageName();
+
+  String getBusinessKey();
+
+  Status getStatus();
+
+  /**
+   * @return the reason of a mismatch or failure, <code>null</code> if the message was correlated
+   */
+  String getErrorMessage();
+
+}
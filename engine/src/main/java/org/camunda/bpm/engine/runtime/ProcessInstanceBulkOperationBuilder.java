@@ -0,0 +1,80 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+/**
+ * <p>A fluent builder for deleting, suspending or activating all process instances
+ * matching a {@link ProcessInstanceQuery}.</p>
+ *
+ * <p>The process instances are processed in chunks, each chunk in a single transaction.
+ * The executions, tasks, variables, event subscriptions and jobs of a chunk are changed
+ * using set-based statements instead of being loaded and changed one by one where possible.</p>
+ *
+ * @see org.camunda.bpm.engine.RuntimeService#createProcessInstanceBulkOperation(ProcessInstanceQuery)
+ */
+public interface ProcessInstanceBulkOperationBuilder {
+
+  /**
+   * <p>Sets the maximum number of process instances processed in a single transaction.</p>
+   *
+   * @param chunkSize a number of process instances between 1 and 1000
+   * @return the builder
+   */
+  ProcessInstanceBulkOperationBuilder chunkSize(int chunkSize);
+
+  /**
+   * <p>Skips the custom listeners when deleting the process instances. Only the built-in
+   * {@link org.camunda.bpm.engine.delegate.ExecutionListener}s are notified.</p>
+   *
+   * @return the builder
+   */
+  ProcessInstanceBulkOperationBuilder skipCustomListeners();
+
+  /**
+   * <p>Does not produce history when deleting the process instances. The historic process
+   * instances of the deleted process instances are not ended.</p>
+   *
+   * <p>Can only be used together with {@link #skipCustomListeners()}, which allows to delete
+   * the process instances without loading their execution trees. Process instances which call
+   * or are called by other process or case instances are still deleted one by one, since the
+   * deletion cascades to them, and produce history.</p>
+   *
+   * @return the builder
+   */
+  ProcessInstanceBulkOperationBuilder skipHistory();
+
+  /**
+   * <p>Deletes all process instances matching the query.</p>
+   *
+   * @param deleteReason the reason for deleting, may be <code>null</code>
+   * @return the number of deleted process instances
+   * @throws org.camunda.bpm.engine.ProcessEngineException if {@link #skipHistory()} is used
+   *   without {@link #skipCustomListeners()}
+   */
+  int delete(String deleteReason);
+
+  /**
+   * <p>Suspends all active process instances matching the query.</p>
+   *
+   * @return the number of suspended process instances
+   */
+  int suspend();
+
+  /**
+   * <p>Activates all suspended process instances matching the query.</p>
+   *
+   * @return the number of activated process instances
+   */
+  int activate();
+
+}
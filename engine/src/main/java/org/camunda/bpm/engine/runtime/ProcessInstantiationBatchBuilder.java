@@ -0,0 +1,56 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A fluent builder for starting a large number of process instances at once.</p>
+ *
+ * <p>The process instances are started in chunks, each chunk in a single transaction.
+ * Within a chunk, the process definition of a key is only resolved once. The outcome
+ * of each start request is reported individually: a process instance which fails to
+ * start does not prevent the others from being started.</p>
+ *
+ * @see org.camunda.bpm.engine.RuntimeService#createProcessInstantiationBatch()
+ */
+public interface ProcessInstantiationBatchBuilder {
+
+  /**
+   * <p>Adds a process instance to the batch. The process instance is started like
+   * {@link org.camunda.bpm.engine.RuntimeService#startProcessInstanceByKey(String, String, Map)}.</p>
+   *
+   * @param processDefinitionKey the key of the process definition, the latest version is used
+   * @param businessKey the business key of the process instance, may be <code>null</code>
+   * @param variables the variables to pass, may be <code>null</code>
+   * @return the builder
+   */
+  ProcessInstantiationBatchBuilder processInstance(String processDefinitionKey, String businessKey, Map<String, Object> variables);
+
+  /**
+   * <p>Sets the maximum number of process instances started in a single transaction.</p>
+   *
+   * @param chunkSize a positive number of process instances
+   * @return the builder
+   */
+  ProcessInstantiationBatchBuilder chunkSize(int chunkSize);
+
+  /**
+   * <p>Starts all process instances of the batch, in the order they were added.</p>
+   *
+   * @return the outcome of each start request, in the order the requests were added
+   */
+  List<ProcessInstantiationOutcome> start();
+
+}
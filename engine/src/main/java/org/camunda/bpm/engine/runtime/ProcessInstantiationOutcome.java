@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+/**
+ * <p>The outcome of starting a single process instance of a {@link ProcessInstantiationBatchBuilder batch}.</p>
+ */
+public interface ProcessInstantiationOutcome {
+
+  public enum Status {
+
+    /** the process instance was started */
+    STARTED,
+
+    /** starting the process instance failed with an exception, its transaction was rolled back */
+    FAILED
+  }
+
+  String getProcessDefinitionKey();
+
+  String getBusinessKey();
+
+  Status getStatus();
+
+  /**
+   * @return the id of the started process instance, <code>null</code> if starting it failed
+   */
+  String getProcessInstanceId();
+
+  /**
+   * @return the reason of a failure, <code>null</code> if the process instance was started
+   */
+  String getErrorMessage();
+
+}
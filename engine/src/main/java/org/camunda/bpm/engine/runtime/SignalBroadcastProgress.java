@@ -0,0 +1,42 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+/**
+ * <p>The progress of an asynchronous signal broadcast which has not completed yet.</p>
+ *
+ * @see org.camunda.bpm.engine.RuntimeService#signalEventReceivedAsync(String, java.util.Map)
+ */
+public interface SignalBroadcastProgress {
+
+  String getBroadcastId();
+
+  String getSignalName();
+
+  /**
+   * @return the number of subscriptions the signal has been delivered to so far
+   */
+  long getDeliveredCount();
+
+  /**
+   * @return the id of the job which delivers the signal to the next chunk of subscriptions
+   */
+  String getCurrentJobId();
+
+  /**
+   * @return the remaining retries of the current job; zero means the broadcast is stuck
+   * and requires the job to be retried manually
+   */
+  int getCurrentJobRetries();
+
+}
@@ -0,0 +1,56 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.task;
+
+import java.util.List;
+
+/**
+ * <p>A page of the task change feed. It contains the tasks which were created or
+ * updated and the ids of the tasks which were removed since a sequence number the
+ * client has seen before. This allows to refresh a task list incrementally instead
+ * of querying the whole list again.</p>
+ *
+ * <p>A client starts with a sequence number lower than 0, loads the full task list
+ * and afterwards polls with the sequence returned by {@link #getSequence()}.</p>
+ *
+ * @see org.camunda.bpm.engine.TaskService#getTaskChanges(long, int)
+ * @see org.camunda.bpm.engine.FilterService#getTaskChanges(String, long, int)
+ */
+public interface TaskChanges {
+
+  /**
+   * The sequence number to pass with the next request to get the following changes.
+   */
+  long getSequence();
+
+  /**
+   * Returns true if the changes after the requested sequence number are not available
+   * anymore, i.e. they were already removed from the task change log, or if no valid
+   * sequence number was given. In this case the client has to reload the whole task
+   * list and continue with {@link #getSequence()}.
+   */
+  boolean isResetRequired();
+
+  /**
+   * The tasks which were created or updated and are still visible, i.e. which exist
+   * and match the filter if the changes were requested for a filter.
+   */
+  List<Task> getTasks();
+
+  /**
+   * The ids of the tasks which were deleted or are not visible anymore, e.g. because
+   * they do not match the filter after an update.
+   */
+  List<String> getRemovedTaskIds();
+
+}
@@ -18,7 +18,9 @@ import java.util.List;
 
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 
 /**
  * Allows programmatic querying of {@link Task}s;
@@ -527,4 +529,42 @@ public interface TaskQuery extends Query<TaskQuery, Task>{
   /** Order by follow-up date (needs to be followed by {@link #asc()} or {@link #desc()}). */
   TaskQuery orderByFollowUpDate();
 
+  // keyset pagination ///////////////////////////////////////////////////
+
+  /**
+   * Executes the query and returns at most <code>maxResults</code> tasks which follow
+   * the given task in the ordering of the query. In contrast to {@link #listPage(int, int)},
+   * the database does not have to skip all preceding tasks, so iterating over a large
+   * result set costs the same for every page.
+   *
+   * <p>Keyset pagination requires the query to be ordered by at most one of
+   * {@link #orderByTaskId()}, {@link #orderByTaskCreateTime()} or {@link #orderByTaskPriority()}.
+   * Tasks with the same sort key are ordered by their id.</p>
+   *
+   * @param lastResult the last task of the previous page or <code>null</code> to fetch the first page
+   * @throws NotValidException if the query is ordered differently
+   */
+  List<Task> listPageAfter(Task lastResult, int maxResults);
+
+  /**
+   * Executes the query and returns at most <code>maxResults</code> tasks which follow the given
+   * sort key and id in the ordering of the query (see {@link #listPageAfter(Task, int)}). In contrast
+   * to passing the last task, the last task of the previous page does not have to exist anymore,
+   * e.g. because it was completed in the meantime.
+   *
+   * @param lastId the id of the last task of the previous page or <code>null</code> to fetch the first page
+   * @param lastSortValue the create time ({@link java.util.Date}) or the priority ({@link Integer}) of the last
+   *  task, depending on the ordering of the query; ignored if the query is ordered by id
+   * @throws NotValidException if the query is ordered differently or the sort value is missing
+   */
+  List<Task> listPageAfter(String lastId, Object lastSortValue, int maxResults);
+
+  /**
+   * Executes the query and passes the tasks one by one to the given handler while they
+   * are read from the database. The tasks are not collected in a list and not retained
+   * by the engine, which allows exporting or reconciling all tasks in constant memory.
+   * The tasks must be treated as read-only.
+   */
+  void iterate(QueryResultHandler<Task> resultHandler);
+
 }
@@ -17,6 +17,9 @@ values ('next.dbid', '1', 1);
 insert into ACT_GE_PROPERTY
 values ('deployment.lock', '0', 1);
 
+insert into ACT_GE_PROPERTY
+values ('task.change.sequence', '0', 1);
+
 create table ACT_GE_BYTEARRAY (
     ID_ nvarchar(64),
     REV_ int,
@@ -171,6 +174,7 @@ create table ACT_RU_EVENT_SUBSCR (
     ACTIVITY_ID_ nvarchar(64),
     CONFIGURATION_ nvarchar(255),
     CREATED_ datetime2 not null,
+    CORRELATION_KEY_HASH_ nvarchar(64),
     primary key (ID_)
 );
 
@@ -213,11 +217,36 @@ create table ACT_RU_FILTER (
   primary key (ID_)
 );
 
+create table ACT_RU_ACT_METRICS (
+  ID_ nvarchar(64) not null,
+  PROC_DEF_ID_ nvarchar(64),
+  ACT_ID_ nvarchar(255),
+  START_COUNT_ numeric(19,0),
+  END_COUNT_ numeric(19,0),
+  EXEC_COUNT_ numeric(19,0),
+  EXEC_TIME_ numeric(19,0),
+  MAX_EXEC_TIME_ numeric(19,0),
+  TIMESTAMP_ datetime2,
+  primary key (ID_)
+);
+
+create table ACT_RU_TASK_CHANGE (
+  ID_ nvarchar(64) not null,
+  SEQ_ numeric(19,0) not null,
+  TASK_ID_ nvarchar(64),
+  TYPE_ nvarchar(32),
+  TIMESTAMP_ datetime2,
+  primary key (ID_)
+);
+
 create index ACT_IDX_EXEC_BUSKEY on ACT_RU_EXECUTION(BUSINESS_KEY_);
 create index ACT_IDX_TASK_CREATE on ACT_RU_TASK(CREATE_TIME_);
 create index ACT_IDX_IDENT_LNK_USER on ACT_RU_IDENTITYLINK(USER_ID_);
 create index ACT_IDX_IDENT_LNK_GROUP on ACT_RU_IDENTITYLINK(GROUP_ID_);
 create index ACT_IDX_EVENT_SUBSCR_CONFIG_ on ACT_RU_EVENT_SUBSCR(CONFIGURATION_);
+create index ACT_IDX_EVENT_SUBSCR_CORR_KEY on ACT_RU_EVENT_SUBSCR(EVENT_NAME_, CORRELATION_KEY_HASH_);
+create index ACT_IDX_ACT_METRICS_PROCDEF on ACT_RU_ACT_METRICS(PROC_DEF_ID_);
+create index ACT_IDX_TASK_CHANGE_SEQ on ACT_RU_TASK_CHANGE(SEQ_);
 create index ACT_IDX_VARIABLE_TASK_ID on ACT_RU_VARIABLE(TASK_ID_);
 create index ACT_IDX_ATHRZ_PROCEDEF on ACT_RU_IDENTITYLINK(PROC_DEF_ID_);
 create index ACT_IDX_INC_CONFIGURATION on ACT_RU_INCIDENT(CONFIGURATION_);
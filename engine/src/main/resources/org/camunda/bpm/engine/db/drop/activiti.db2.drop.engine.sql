@@ -69,6 +69,9 @@ alter table ACT_RU_INCIDENT
     drop foreign key ACT_FK_INC_RCAUSE;
 
 drop index ACT_IDX_EVENT_SUBSCR_CONFIG_;
+drop index ACT_IDX_EVENT_SUBSCR_CORR_KEY;
+drop index ACT_IDX_ACT_METRICS_PROCDEF;
+drop index ACT_IDX_TASK_CHANGE_SEQ;
 drop index ACT_IDX_ATHRZ_PROCEDEF;
 
 -- indexes for concurrency problems - https://app.camunda.com/jira/browse/CAM-1646 --
@@ -105,3 +108,5 @@ drop table ACT_RU_EVENT_SUBSCR;
 drop table ACT_RU_INCIDENT;
 drop table ACT_RU_AUTHORIZATION;
 drop table ACT_RU_FILTER;
+drop table ACT_RU_ACT_METRICS;
+drop table ACT_RU_TASK_CHANGE;
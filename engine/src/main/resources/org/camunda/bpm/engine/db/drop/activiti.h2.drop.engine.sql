@@ -78,6 +78,9 @@ alter table ACT_RU_VARIABLE
     drop constraint ACT_UNIQ_VARIABLE;
 
 drop index ACT_IDX_EVENT_SUBSCR_CONFIG_;
+drop index ACT_IDX_EVENT_SUBSCR_CORR_KEY;
+drop index ACT_IDX_ACT_METRICS_PROCDEF;
+drop index ACT_IDX_TASK_CHANGE_SEQ;
 drop index ACT_IDX_ATHRZ_PROCEDEF;
 
 -- indexes for deadlock problems - https://app.camunda.com/jira/browse/CAM-2567
@@ -101,3 +104,5 @@ drop table ACT_RU_EVENT_SUBSCR if exists;
 drop table ACT_RU_INCIDENT if exists;
 drop table ACT_RU_AUTHORIZATION if exists;
 drop table ACT_RU_FILTER if exists;
+drop table ACT_RU_ACT_METRICS if exists;
+drop table ACT_RU_TASK_CHANGE if exists;
@@ -67,6 +67,9 @@ alter table ACT_RU_INCIDENT
     
 drop index ACT_IDX_ATHRZ_PROCEDEF on ACT_RU_IDENTITYLINK;
 drop index ACT_IDX_EVENT_SUBSCR_CONFIG_ on ACT_RU_EVENT_SUBSCR;
+drop index ACT_IDX_EVENT_SUBSCR_CORR_KEY on ACT_RU_EVENT_SUBSCR;
+drop index ACT_IDX_ACT_METRICS_PROCDEF on ACT_RU_ACT_METRICS;
+drop index ACT_IDX_TASK_CHANGE_SEQ on ACT_RU_TASK_CHANGE;
 
 -- indexes for deadlock problems - https://app.camunda.com/jira/browse/CAM-2567
 drop index ACT_IDX_INC_CAUSEINCID on ACT_RU_INCIDENT;
@@ -89,3 +92,5 @@ drop table if exists ACT_RU_EVENT_SUBSCR;
 drop table if exists ACT_RU_INCIDENT;
 drop table if exists ACT_RU_AUTHORIZATION;
 drop table if exists ACT_RU_FILTER;
+drop table if exists ACT_RU_ACT_METRICS;
+drop table if exists ACT_RU_TASK_CHANGE;
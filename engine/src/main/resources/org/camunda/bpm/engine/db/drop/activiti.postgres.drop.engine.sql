@@ -91,6 +91,9 @@ alter table ACT_RU_VARIABLE
     drop constraint ACT_UNIQ_VARIABLE;
 
 drop index ACT_IDX_EVENT_SUBSCR_CONFIG_;
+drop index ACT_IDX_EVENT_SUBSCR_CORR_KEY;
+drop index ACT_IDX_ACT_METRICS_PROCDEF;
+drop index ACT_IDX_TASK_CHANGE_SEQ;
 drop index ACT_IDX_EVENT_SUBSCR;
 drop index ACT_IDX_ATHRZ_PROCEDEF;
 
@@ -115,3 +118,5 @@ drop table ACT_RU_EVENT_SUBSCR;
 drop table ACT_RU_INCIDENT;
 drop table ACT_RU_AUTHORIZATION;
 drop table ACT_RU_FILTER;
+drop table ACT_RU_ACT_METRICS;
+drop table ACT_RU_TASK_CHANGE;
@@ -14,11 +14,13 @@
 package org.camunda.bpm.engine.test.api.filter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.filter.Filter;
 import org.camunda.bpm.engine.identity.Group;
 import org.camunda.bpm.engine.identity.User;
@@ -28,10 +30,12 @@ import org.camunda.bpm.engine.impl.QueryOperator;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.TaskQueryProperty;
 import org.camunda.bpm.engine.impl.TaskQueryVariableValue;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.json.JsonTaskQueryConverter;
 import org.camunda.bpm.engine.impl.persistence.entity.FilterEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.DelegationState;
@@ -454,6 +458,139 @@ public class FilterTaskQueryTest extends PluggableProcessEngineTestCase {
     assertEquals(1, count);
   }
 
+  public void testExecuteTaskQueryCountUpTo() {
+    TaskQuery query = taskService.createTaskQuery();
+
+    saveQuery(query);
+
+    assertEquals(2, (long) filterService.countUpTo(filter.getId(), 2));
+    assertEquals(3, (long) filterService.countUpTo(filter.getId(), 3));
+    assertEquals(3, (long) filterService.countUpTo(filter.getId(), 1000));
+
+    saveQuery(taskService.createTaskQuery().taskCandidateGroupIn(testCandidateGroups).orderByTaskName().asc());
+    long count = taskService.createTaskQuery().taskCandidateGroupIn(testCandidateGroups).count();
+    assertEquals(count, (long) filterService.countUpTo(filter.getId(), 1000));
+    assertEquals(Math.min(count, 1), (long) filterService.countUpTo(filter.getId(), 1));
+
+    try {
+      filterService.countUpTo(filter.getId(), 0);
+      fail("Exception expected");
+    }
+    catch (NotValidException e) {
+      // expected
+    }
+  }
+
+  public void testCachedTaskQueryCount() {
+    FilterCountCache filterCountCache = new FilterCountCache(100, 1000);
+    processEngineConfiguration.setFilterCountCache(filterCountCache);
+    try {
+      saveQuery(taskService.createTaskQuery());
+
+      assertEquals(3, (long) filterService.count(filter.getId()));
+      assertEquals(0, filterCountCache.getHitCount());
+      assertEquals(3, (long) filterService.count(filter.getId()));
+      assertEquals(1, filterCountCache.getHitCount());
+
+      // counts of extended queries are not cached
+      assertEquals(1, (long) filterService.count(filter.getId(), taskService.createTaskQuery().taskId("task3")));
+      assertEquals(1, filterCountCache.size());
+
+      // creating a task invalidates the cached counts
+      taskService.saveTask(taskService.newTask("task4"));
+      assertEquals(0, filterCountCache.size());
+      assertEquals(4, (long) filterService.count(filter.getId()));
+
+      // assigning a task invalidates the cached counts
+      saveQuery(taskService.createTaskQuery().taskUnassigned());
+      assertEquals(4, (long) filterService.count(filter.getId()));
+      taskService.setAssignee("task4", "kermit");
+      assertEquals(3, (long) filterService.count(filter.getId()));
+
+      // deleting a task invalidates the cached counts
+      saveQuery(taskService.createTaskQuery());
+      assertEquals(4, (long) filterService.count(filter.getId()));
+      taskService.deleteTask("task4", true);
+      assertEquals(3, (long) filterService.count(filter.getId()));
+
+      // cached counts expire after the time to live
+      long hitCount = filterCountCache.getHitCount();
+      assertEquals(3, (long) filterService.count(filter.getId()));
+      assertEquals(hitCount + 1, filterCountCache.getHitCount());
+
+      ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + 1000));
+      assertEquals(3, (long) filterService.count(filter.getId()));
+      assertEquals(hitCount + 1, filterCountCache.getHitCount());
+
+    } finally {
+      processEngineConfiguration.setFilterCountCache(null);
+      ClockUtil.reset();
+    }
+  }
+
+  public void testCachedTaskQueryCountInvalidatedByCandidateChanges() {
+    FilterCountCache filterCountCache = new FilterCountCache();
+    processEngineConfiguration.setFilterCountCache(filterCountCache);
+    try {
+      String taskId = taskService.createTaskQuery().list().get(0).getId();
+      saveQuery(taskService.createTaskQuery().taskCandidateGroup("newGroup"));
+
+      assertEquals(0, (long) filterService.count(filter.getId()));
+
+      taskService.addCandidateGroup(taskId, "newGroup");
+      assertEquals(1, (long) filterService.count(filter.getId()));
+
+      taskService.deleteCandidateGroup(taskId, "newGroup");
+      assertEquals(0, (long) filterService.count(filter.getId()));
+
+    } finally {
+      processEngineConfiguration.setFilterCountCache(null);
+    }
+  }
+
+  @Deployment(resources={"org/camunda/bpm/engine/test/api/task/oneTaskWithFormKeyProcess.bpmn20.xml"})
+  public void testCachedTaskQueryCountInvalidatedBySuspension() {
+    FilterCountCache filterCountCache = new FilterCountCache();
+    processEngineConfiguration.setFilterCountCache(filterCountCache);
+    try {
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("testProcess");
+      saveQuery(taskService.createTaskQuery().processInstanceId(processInstance.getId()).active());
+
+      assertEquals(1, (long) filterService.count(filter.getId()));
+
+      runtimeService.suspendProcessInstanceById(processInstance.getId());
+      assertEquals(0, (long) filterService.count(filter.getId()));
+
+      runtimeService.activateProcessInstanceById(processInstance.getId());
+      assertEquals(1, (long) filterService.count(filter.getId()));
+
+      runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+
+    } finally {
+      processEngineConfiguration.setFilterCountCache(null);
+    }
+  }
+
+  public void testCachedTaskQueryCountPerUser() {
+    FilterCountCache filterCountCache = new FilterCountCache();
+    processEngineConfiguration.setFilterCountCache(filterCountCache);
+    try {
+      saveQuery(taskService.createTaskQuery());
+      assertEquals(3, (long) filterService.count(filter.getId()));
+
+      identityService.setAuthentication(testUser.getId(), Collections.singletonList(testGroup.getId()));
+      assertEquals(3, (long) filterService.count(filter.getId()));
+      assertEquals(2, (long) filterService.countUpTo(filter.getId(), 2));
+
+      assertEquals(0, filterCountCache.getHitCount());
+      assertEquals(3, filterCountCache.size());
+
+    } finally {
+      identityService.clearAuthentication();
+      processEngineConfiguration.setFilterCountCache(null);
+    }
+  }
+
   public void testSpecialExtendingQuery() {
     TaskQuery query = taskService.createTaskQuery();
 
@@ -0,0 +1,233 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.identity;
+
+import static org.camunda.bpm.engine.authorization.Authorization.ANY;
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_GLOBAL;
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_GRANT;
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_REVOKE;
+import static org.camunda.bpm.engine.authorization.Permissions.ALL;
+import static org.camunda.bpm.engine.authorization.Permissions.DELETE;
+import static org.camunda.bpm.engine.authorization.Permissions.READ;
+import static org.camunda.bpm.engine.authorization.Permissions.UPDATE;
+import static org.camunda.bpm.engine.authorization.Resources.USER;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.authorization.Permission;
+import org.camunda.bpm.engine.identity.User;
+import org.camunda.bpm.engine.impl.db.AuthorizationCache;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+public class AuthorizationCacheTest extends ResourceProcessEngineTestCase {
+
+  protected TestResource resource = new TestResource("resource1", 100);
+
+  public AuthorizationCacheTest() {
+    super("org/camunda/bpm/engine/test/api/identity/authorization.cache.camunda.cfg.xml");
+  }
+
+  @Override
+  protected void closeDownProcessEngine() {
+    processEngine.close();
+    super.closeDownProcessEngine();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    ClockUtil.reset();
+    processEngineConfiguration.setAuthorizationEnabled(false);
+    identityService.clearAuthentication();
+    for (User user : identityService.createUserQuery().list()) {
+      identityService.deleteUser(user.getId());
+    }
+    for (Authorization authorization : authorizationService.createAuthorizationQuery().list()) {
+      authorizationService.deleteAuthorization(authorization.getId());
+    }
+    super.tearDown();
+  }
+
+  public void testCachedPermissionsMatchAuthorizationCheck() {
+    createAuthorization(AUTH_TYPE_GLOBAL, ANY, ANY, null, READ);
+    createAuthorization(AUTH_TYPE_GLOBAL, ANY, "r1", null, UPDATE);
+    createAuthorization(AUTH_TYPE_REVOKE, null, "r2", "sales", READ);
+    createAuthorization(AUTH_TYPE_REVOKE, null, ANY, "management", DELETE);
+    createAuthorization(AUTH_TYPE_GRANT, null, "r3", "management", DELETE);
+    createAuthorization(AUTH_TYPE_GRANT, null, ANY, "accounting", UPDATE);
+    createAuthorization(AUTH_TYPE_GRANT, "jonny", "r2", null, READ);
+    createAuthorization(AUTH_TYPE_REVOKE, "jonny", "r1", null, UPDATE);
+    createAuthorization(AUTH_TYPE_GRANT, "mary", ANY, null, DELETE);
+    createAuthorization(AUTH_TYPE_REVOKE, "mary", "r3", null, DELETE);
+
+    List<String> userIds = Arrays.asList("jonny", "mary", "peter");
+    List<List<String>> groupIds = Arrays.asList(
+        Arrays.<String>asList(),
+        Arrays.asList("sales"),
+        Arrays.asList("management", "accounting"),
+        Arrays.asList("sales", "management", "accounting"));
+    List<Permission> permissions = Arrays.<Permission>asList(READ, UPDATE, DELETE, ALL);
+    List<String> resourceIds = Arrays.asList(null, ANY, "r1", "r2", "r3", "r4");
+
+    AuthorizationCache authorizationCache = processEngineConfiguration.getAuthorizationCache();
+    assertNotNull(authorizationCache);
+
+    for (String userId : userIds) {
+      for (List<String> groups : groupIds) {
+        for (Permission permission : permissions) {
+          for (String resourceId : resourceIds) {
+            boolean isAuthorized;
+            boolean isAuthorizedBySqlCheck;
+            try {
+              isAuthorized = isUserAuthorized(userId, groups, permission, resourceId);
+              processEngineConfiguration.setAuthorizationCache(null);
+              isAuthorizedBySqlCheck = isUserAuthorized(userId, groups, permission, resourceId);
+            } finally {
+              processEngineConfiguration.setAuthorizationCache(authorizationCache);
+            }
+
+            assertEquals("user " + userId + ", groups " + groups + ", permission " + permission.getName() + ", resource " + resourceId,
+                isAuthorizedBySqlCheck, isAuthorized);
+          }
+        }
+      }
+    }
+  }
+
+  public void testCacheInvalidatedOnAuthorizationChange() {
+    AuthorizationCache authorizationCache = processEngineConfiguration.getAuthorizationCache();
+
+    assertFalse(authorizationService.isUserAuthorized("jonny", null, READ, resource, "r1"));
+
+    long hitCount = authorizationCache.getHitCount();
+    assertFalse(authorizationService.isUserAuthorized("jonny", null, READ, resource, "r2"));
+    assertEquals(hitCount + 1, authorizationCache.getHitCount());
+
+    Authorization authorization = createAuthorization(AUTH_TYPE_GRANT, "jonny", "r1", null, READ);
+    assertTrue(authorizationService.isUserAuthorized("jonny", null, READ, resource, "r1"));
+    assertFalse(authorizationService.isUserAuthorized("jonny", null, READ, resource, "r2"));
+
+    authorization.setResourceId("r2");
+    authorizationService.saveAuthorization(authorization);
+    assertFalse(authorizationService.isUserAuthorized("jonny", null, READ, resource, "r1"));
+    assertTrue(authorizationService.isUserAuthorized("jonny", null, READ, resource, "r2"));
+
+    authorizationService.deleteAuthorization(authorization.getId());
+    assertFalse(authorizationService.isUserAuthorized("jonny", null, READ, resource, "r2"));
+  }
+
+  public void testCachedPermissionsExpire() {
+    AuthorizationCache authorizationCache = processEngineConfiguration.getAuthorizationCache();
+
+    assertFalse(authorizationService.isUserAuthorized("jonny", null, READ, resource, "r1"));
+
+    long missCount = authorizationCache.getMissCount();
+    assertFalse(authorizationService.isUserAuthorized("jonny", null, READ, resource, "r1"));
+    assertEquals(missCount, authorizationCache.getMissCount());
+
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + authorizationCache.getTimeToLive()));
+
+    // the permissions are evaluated again, e.g. to see a change made by another process engine
+    assertFalse(authorizationService.isUserAuthorized("jonny", null, READ, resource, "r1"));
+    assertEquals(missCount + 1, authorizationCache.getMissCount());
+  }
+
+  public void testQueryWithGrantedResources() {
+    identityService.saveUser(identityService.newUser("jonny"));
+    identityService.saveUser(identityService.newUser("mary"));
+    identityService.saveUser(identityService.newUser("peter"));
+
+    // delete the default authorizations of the users
+    for (Authorization authorization : authorizationService.createAuthorizationQuery().list()) {
+      authorizationService.deleteAuthorization(authorization.getId());
+    }
+
+    createUserReadAuthorization(AUTH_TYPE_GRANT, "jonny", "mary", null);
+    createUserReadAuthorization(AUTH_TYPE_GRANT, null, "peter", "sales");
+
+    processEngineConfiguration.setAuthorizationEnabled(true);
+
+    identityService.setAuthenticatedUserId("jonny");
+    assertEquals(1, identityService.createUserQuery().count());
+    assertEquals("mary", identityService.createUserQuery().singleResult().getId());
+
+    identityService.setAuthentication("jonny", Arrays.asList("sales"));
+    assertEquals(2, identityService.createUserQuery().count());
+
+    identityService.setAuthenticatedUserId("peter");
+    assertEquals(0, identityService.createUserQuery().count());
+  }
+
+  public void testQueryWithRevokedResources() {
+    identityService.saveUser(identityService.newUser("jonny"));
+    identityService.saveUser(identityService.newUser("mary"));
+    identityService.saveUser(identityService.newUser("peter"));
+
+    for (Authorization authorization : authorizationService.createAuthorizationQuery().list()) {
+      authorizationService.deleteAuthorization(authorization.getId());
+    }
+
+    createUserReadAuthorization(AUTH_TYPE_GRANT, null, ANY, "sales");
+    createUserReadAuthorization(AUTH_TYPE_REVOKE, "jonny", "mary", null);
+
+    processEngineConfiguration.setAuthorizationEnabled(true);
+
+    identityService.setAuthentication("jonny", Arrays.asList("sales"));
+    assertEquals(2, identityService.createUserQuery().count());
+    assertEquals(0, identityService.createUserQuery().userId("mary").count());
+
+    identityService.setAuthentication("peter", Arrays.asList("sales"));
+    assertEquals(3, identityService.createUserQuery().count());
+  }
+
+  protected boolean isUserAuthorized(String userId, List<String> groupIds, Permission permission, String resourceId) {
+    if (resourceId == null) {
+      return authorizationService.isUserAuthorized(userId, groupIds, permission, resource);
+    } else {
+      return authorizationService.isUserAuthorized(userId, groupIds, permission, resource, resourceId);
+    }
+  }
+
+  protected Authorization createAuthorization(int type, String userId, String resourceId, String groupId, Permission permission) {
+    Authorization authorization = authorizationService.createNewAuthorization(type);
+    authorization.setUserId(userId);
+    authorization.setGroupId(groupId);
+    authorization.setResource(resource);
+    authorization.setResourceId(resourceId);
+    if (type == AUTH_TYPE_REVOKE) {
+      authorization.removePermission(permission);
+    } else {
+      authorization.addPermission(permission);
+    }
+    authorizationService.saveAuthorization(authorization);
+    return authorization;
+  }
+
+  protected void createUserReadAuthorization(int type, String userId, String resourceId, String groupId) {
+    Authorization authorization = authorizationService.createNewAuthorization(type);
+    authorization.setUserId(userId);
+    authorization.setGroupId(groupId);
+    authorization.setResource(USER);
+    authorization.setResourceId(resourceId);
+    if (type == AUTH_TYPE_REVOKE) {
+      authorization.removePermission(READ);
+    } else {
+      authorization.addPermission(READ);
+    }
+    authorizationService.saveAuthorization(authorization);
+  }
+
+}
@@ -0,0 +1,141 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt;
+
+import java.util.List;
+
+import javax.management.openmbean.CompositeData;
+
+import org.camunda.bpm.container.impl.jmx.services.JmxManagedProcessEngine;
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cmd.CompleteTaskCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.management.CommandMetrics;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class CommandMetricsTest extends ResourceProcessEngineTestCase {
+
+  public CommandMetricsTest() {
+    super("org/camunda/bpm/engine/test/api/mgmt/command.metrics.camunda.cfg.xml");
+  }
+
+  @Override
+  protected void closeDownProcessEngine() {
+    processEngine.close();
+    super.closeDownProcessEngine();
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    managementService.resetCommandMetrics();
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testRecordInvocations() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.complete(task.getId());
+    }
+
+    CommandMetrics metrics = getCommandMetrics(CompleteTaskCmd.class.getName());
+    assertNotNull(metrics);
+    assertEquals(3, metrics.getInvocationCount());
+    assertEquals(0, metrics.getErrorCount());
+    assertEquals(0, metrics.getOptimisticLockingFailureCount());
+    assertTrue(metrics.getMaxDuration() <= metrics.getTotalDuration());
+    assertEquals(metrics.getDurationHistogramBounds().length + 1, metrics.getDurationHistogram().length);
+
+    long histogramCount = 0;
+    for (long count : metrics.getDurationHistogram()) {
+      histogramCount += count;
+    }
+    assertEquals(3, histogramCount);
+  }
+
+  public void testRecordErrors() {
+    try {
+      taskService.complete("unexistingTaskId");
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new FailingCommand());
+      fail("exception expected");
+    } catch (OptimisticLockingException e) {
+      // expected
+    }
+
+    CommandMetrics completeTaskMetrics = getCommandMetrics(CompleteTaskCmd.class.getName());
+    assertEquals(1, completeTaskMetrics.getInvocationCount());
+    assertEquals(1, completeTaskMetrics.getErrorCount());
+    assertEquals(0, completeTaskMetrics.getOptimisticLockingFailureCount());
+
+    CommandMetrics failingCommandMetrics = getCommandMetrics(FailingCommand.class.getName());
+    assertEquals(1, failingCommandMetrics.getInvocationCount());
+    assertEquals(1, failingCommandMetrics.getErrorCount());
+    assertEquals(1, failingCommandMetrics.getOptimisticLockingFailureCount());
+  }
+
+  public void testResetMetrics() {
+    taskService.createTaskQuery().list();
+    assertFalse(managementService.getCommandMetrics().isEmpty());
+
+    managementService.resetCommandMetrics();
+
+    List<CommandMetrics> commandMetrics = managementService.getCommandMetrics();
+    for (CommandMetrics metrics : commandMetrics) {
+      // only the commands of the reset itself may be recorded
+      assertFalse(metrics.getCommandName().endsWith("TaskQueryImpl"));
+    }
+  }
+
+  public void testExposeMetricsAsOpenType() {
+    taskService.createTaskQuery().list();
+
+    CompositeData[] commandMetrics = new JmxManagedProcessEngine(processEngine).getCommandMetrics();
+    assertEquals(managementService.getCommandMetrics().size(), commandMetrics.length);
+
+    for (CompositeData metrics : commandMetrics) {
+      assertEquals(JmxManagedProcessEngine.COMMAND_METRICS_TYPE, metrics.getCompositeType());
+      assertTrue(metrics.get("commandName") instanceof String);
+      assertTrue(metrics.get("invocationCount") instanceof Long);
+      assertTrue(metrics.get("durationHistogram") instanceof long[]);
+    }
+  }
+
+  protected CommandMetrics getCommandMetrics(String commandName) {
+    for (CommandMetrics metrics : managementService.getCommandMetrics()) {
+      if (metrics.getCommandName().equals(commandName)) {
+        return metrics;
+      }
+    }
+    return null;
+  }
+
+  public static class FailingCommand implements Command<Void> {
+
+    public Void execute(CommandContext commandContext) {
+      throw new OptimisticLockingException("concurrent modification");
+    }
+
+  }
+
+}
@@ -17,6 +17,7 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import junit.framework.Assert;
 
@@ -40,6 +41,7 @@ import org.camunda.bpm.engine.management.TableMetaData;
 import org.camunda.bpm.engine.runtime.Job;
 import org.camunda.bpm.engine.runtime.JobQuery;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.test.Deployment;
 
 
@@ -578,4 +580,70 @@ public class ManagementServiceTest extends PluggableProcessEngineTestCase {
     assertEquals(processEngineConfiguration.getHistoryLevel(), historyLevel);
   }
 
+  @Deployment(resources = {"org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml"})
+  public void testExecuteInTransaction() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    final List<Task> tasks = taskService.createTaskQuery().list();
+
+    int completedTasks = managementService.executeInTransaction(new Callable<Integer>() {
+      public Integer call() {
+        for (Task task : tasks) {
+          taskService.complete(task.getId());
+        }
+        return tasks.size();
+      }
+    });
+
+    assertEquals(2, completedTasks);
+    assertEquals(0, taskService.createTaskQuery().count());
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml"})
+  public void testExecuteInTransactionRollsBackOnException() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    final List<Task> tasks = taskService.createTaskQuery().list();
+
+    try {
+      managementService.executeInTransaction(new Callable<Void>() {
+        public Void call() {
+          taskService.complete(tasks.get(0).getId());
+          taskService.complete("nonExistingTaskId");
+          return null;
+        }
+      });
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+
+    assertEquals(2, taskService.createTaskQuery().count());
+  }
+
+  public void testExecuteInTransactionWrapsCheckedException() {
+    try {
+      managementService.executeInTransaction(new Callable<Void>() {
+        public Void call() throws Exception {
+          throw new Exception("checked");
+        }
+      });
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("checked", e.getMessage());
+    }
+  }
+
+  public void testExecuteInTransactionNullCallable() {
+    try {
+      managementService.executeInTransaction(null);
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("callable is null", e.getMessage());
+    }
+  }
+
 }
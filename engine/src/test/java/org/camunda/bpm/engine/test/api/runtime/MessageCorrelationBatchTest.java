@@ -0,0 +1,115 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationOutcome;
+import org.camunda.bpm.engine.runtime.MessageCorrelationOutcome.Status;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class MessageCorrelationBatchTest extends PluggableProcessEngineTestCase {
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationByDeclaredCorrelationKeys.bpmn20.xml")
+  public void testCorrelateBatchByCorrelationKeys() {
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("process", correlationKeys(i));
+    }
+
+    MessageCorrelationBatchBuilder batch = runtimeService.createMessageCorrelationBatch().chunkSize(2);
+    for (int i = 0; i < 5; i++) {
+      batch.message("newInvoiceMessage", null, correlationKeys(i), null);
+    }
+    batch.message("newInvoiceMessage", null, correlationKeys(99), null);
+
+    List<MessageCorrelationOutcome> outcomes = batch.correlate();
+
+    assertEquals(6, outcomes.size());
+    for (int i = 0; i < 5; i++) {
+      assertEquals(Status.CORRELATED, outcomes.get(i).getStatus());
+      assertNull(outcomes.get(i).getErrorMessage());
+    }
+    assertEquals(Status.MISMATCHED, outcomes.get(5).getStatus());
+    assertNotNull(outcomes.get(5).getErrorMessage());
+
+    assertEquals(5, taskService.createTaskQuery().count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCatchingMessageEventCorrelation.bpmn20.xml")
+  public void testMessageIsOnlyMismatchedAgainstCommittedState() {
+    runtimeService.startProcessInstanceByKey("process", "aBusinessKey");
+    runtimeService.startProcessInstanceByKey("process", "anotherBusinessKey");
+
+    List<MessageCorrelationOutcome> outcomes = runtimeService.createMessageCorrelationBatch()
+      .message("newInvoiceMessage", "aBusinessKey", null, null)
+      .message("newInvoiceMessage", "aBusinessKey", null, null)
+      .message("newInvoiceMessage", "anotherBusinessKey", null, null)
+      .correlate();
+
+    assertEquals(3, outcomes.size());
+    assertEquals(Status.CORRELATED, outcomes.get(0).getStatus());
+    // the process instance has already been triggered by the first message
+    assertEquals(Status.MISMATCHED, outcomes.get(1).getStatus());
+    assertEquals("aBusinessKey", outcomes.get(1).getBusinessKey());
+    assertEquals(Status.CORRELATED, outcomes.get(2).getStatus());
+
+    assertEquals(2, taskService.createTaskQuery().count());
+  }
+
+  @Deployment
+  public void testFailingCorrelationIsIsolated() {
+    runtimeService.startProcessInstanceByKey("process", "aBusinessKey");
+    runtimeService.startProcessInstanceByKey("process", "anotherBusinessKey");
+    runtimeService.startProcessInstanceByKey("process", "yetAnotherBusinessKey");
+
+    Map<String, Object> valid = Collections.<String, Object>singletonMap("valid", true);
+    Map<String, Object> invalid = Collections.<String, Object>singletonMap("valid", false);
+
+    List<MessageCorrelationOutcome> outcomes = runtimeService.createMessageCorrelationBatch()
+      .message("newInvoiceMessage", "aBusinessKey", null, valid)
+      .message("newInvoiceMessage", "anotherBusinessKey", null, invalid)
+      .message("newInvoiceMessage", "yetAnotherBusinessKey", null, valid)
+      .correlate();
+
+    assertEquals(Status.CORRELATED, outcomes.get(0).getStatus());
+    assertEquals(Status.FAILED, outcomes.get(1).getStatus());
+    assertNotNull(outcomes.get(1).getErrorMessage());
+    assertEquals(Status.CORRELATED, outcomes.get(2).getStatus());
+
+    assertEquals(2, taskService.createTaskQuery().count());
+    assertEquals(1, runtimeService.createExecutionQuery().processInstanceBusinessKey("anotherBusinessKey").activityId("messageCatch").count());
+  }
+
+  public void testInvalidChunkSize() {
+    try {
+      runtimeService.createMessageCorrelationBatch().chunkSize(0);
+      fail("expected exception");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+  protected Map<String, Object> correlationKeys(int orderNumber) {
+    Map<String, Object> correlationKeys = new HashMap<String, Object>();
+    correlationKeys.put("customerId", "aCustomer");
+    correlationKeys.put("orderNumber", orderNumber);
+    return correlationKeys;
+  }
+
+}
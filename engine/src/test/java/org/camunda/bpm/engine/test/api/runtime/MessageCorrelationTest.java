@@ -13,12 +13,16 @@
 
 package org.camunda.bpm.engine.test.api.runtime;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.runtime.CorrelationKeyHash;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
@@ -744,4 +748,150 @@ public class MessageCorrelationTest extends PluggableProcessEngineTestCase {
     assertFalse(correlatedExecutions.isEmpty());
   }
 
+  @Deployment
+  public void testCorrelationByDeclaredCorrelationKeys() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("customerId", "aCustomer");
+    variables.put("orderNumber", 42);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", variables);
+
+    variables.put("orderNumber", 43);
+    runtimeService.startProcessInstanceByKey("process", variables);
+
+    // the subscriptions carry the hash of the declared correlation keys
+    EventSubscriptionEntity eventSubscription = (EventSubscriptionEntity) runtimeService.createEventSubscriptionQuery()
+      .processInstanceId(processInstance.getId())
+      .singleResult();
+    assertNotNull(eventSubscription.getCorrelationKeyHash());
+
+    Map<String, Object> correlationKeys = new HashMap<String, Object>();
+    correlationKeys.put("customerId", "aCustomer");
+    correlationKeys.put("orderNumber", 42);
+    runtimeService.correlateMessage("newInvoiceMessage", correlationKeys);
+
+    Execution correlatedExecution = runtimeService.createExecutionQuery().activityId("task").singleResult();
+    assertNotNull(correlatedExecution);
+    assertEquals(processInstance.getId(), correlatedExecution.getProcessInstanceId());
+
+    // the type of the correlation key values matters, as for the variable query
+    correlationKeys.put("orderNumber", 43L);
+    try {
+      runtimeService.correlateMessage("newInvoiceMessage", correlationKeys);
+      fail("expected exception");
+    } catch (MismatchingMessageCorrelationException e) {
+      // expected
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationByDeclaredCorrelationKeys.bpmn20.xml")
+  public void testCorrelationBySubsetOfDeclaredCorrelationKeys() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("customerId", "aCustomer");
+    variables.put("orderNumber", 42);
+    runtimeService.startProcessInstanceByKey("process", variables);
+
+    // falls back to querying the variables
+    runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("customerId", "aCustomer")
+      .correlate();
+
+    assertEquals(1, runtimeService.createExecutionQuery().activityId("task").count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationByDeclaredCorrelationKeys.bpmn20.xml")
+  public void testCorrelationByDeclaredCorrelationKeysChecksBusinessKey() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("customerId", "aCustomer");
+    variables.put("orderNumber", 42);
+    runtimeService.startProcessInstanceByKey("process", "aBusinessKey", variables);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", "anotherBusinessKey", variables);
+
+    runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceBusinessKey("anotherBusinessKey")
+      .processInstanceVariableEquals("customerId", "aCustomer")
+      .processInstanceVariableEquals("orderNumber", 42)
+      .correlate();
+
+    Execution correlatedExecution = runtimeService.createExecutionQuery().activityId("task").singleResult();
+    assertEquals(processInstance.getId(), correlatedExecution.getProcessInstanceId());
+  }
+
+  @Deployment(resources = {
+      "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationByDeclaredCorrelationKeys.bpmn20.xml",
+      "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationWithHashedAndUnhashedSubscriptions.bpmn20.xml"})
+  public void testCorrelationWithHashedAndUnhashedSubscriptions() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("customerId", "aCustomer");
+    variables.put("orderNumber", 42);
+    ProcessInstance hashedInstance = runtimeService.startProcessInstanceByKey("process", variables);
+    ProcessInstance unhashedInstance = runtimeService.startProcessInstanceByKey("processWithoutCorrelationKeys", variables);
+
+    EventSubscriptionEntity unhashedSubscription = (EventSubscriptionEntity) runtimeService.createEventSubscriptionQuery()
+      .processInstanceId(unhashedInstance.getId())
+      .singleResult();
+    // the subscription only carries the prefix of the empty key set
+    assertEquals(CorrelationKeyHash.unhashed(Collections.<String>emptyList()), unhashedSubscription.getCorrelationKeyHash());
+
+    runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("customerId", "aCustomer")
+      .processInstanceVariableEquals("orderNumber", 42)
+      .correlateAll();
+
+    // both the execution found by hash and the one without hash are correlated
+    assertEquals(1, runtimeService.createExecutionQuery().processInstanceId(hashedInstance.getId()).activityId("task").count());
+    assertEquals(1, runtimeService.createExecutionQuery().processInstanceId(unhashedInstance.getId()).activityId("task").count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationByDeclaredCorrelationKeys.bpmn20.xml")
+  public void testCorrelationWithUnsetDeclaredCorrelationKey() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("customerId", "aCustomer");
+    ProcessInstance unsetInstance = runtimeService.startProcessInstanceByKey("process", variables);
+
+    variables.put("orderNumber", 42);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", variables);
+
+    // the subscription carries the prefix of the declared key set without a hash of the values
+    EventSubscriptionEntity eventSubscription = (EventSubscriptionEntity) runtimeService.createEventSubscriptionQuery()
+      .processInstanceId(unsetInstance.getId())
+      .singleResult();
+    assertEquals(CorrelationKeyHash.unhashed(Arrays.asList("customerId", "orderNumber")), eventSubscription.getCorrelationKeyHash());
+
+    runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("customerId", "aCustomer")
+      .processInstanceVariableEquals("orderNumber", 42)
+      .correlate();
+
+    Execution correlatedExecution = runtimeService.createExecutionQuery().activityId("task").singleResult();
+    assertEquals(processInstance.getId(), correlatedExecution.getProcessInstanceId());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCorrelationByDeclaredCorrelationKeys.bpmn20.xml")
+  public void testCorrelationKeyHashIsUpdatedWhenVariableChanges() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("customerId", "aCustomer");
+    variables.put("orderNumber", 42);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", variables);
+
+    EventSubscriptionEntity eventSubscription = (EventSubscriptionEntity) runtimeService.createEventSubscriptionQuery()
+      .processInstanceId(processInstance.getId())
+      .singleResult();
+    String correlationKeyHash = eventSubscription.getCorrelationKeyHash();
+
+    runtimeService.setVariable(processInstance.getId(), "orderNumber", 43);
+
+    eventSubscription = (EventSubscriptionEntity) runtimeService.createEventSubscriptionQuery()
+      .processInstanceId(processInstance.getId())
+      .singleResult();
+    assertNotNull(eventSubscription.getCorrelationKeyHash());
+    assertFalse(correlationKeyHash.equals(eventSubscription.getCorrelationKeyHash()));
+
+    runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("customerId", "aCustomer")
+      .processInstanceVariableEquals("orderNumber", 43)
+      .correlate();
+
+    assertEquals(1, runtimeService.createExecutionQuery().activityId("task").count());
+  }
+
 }
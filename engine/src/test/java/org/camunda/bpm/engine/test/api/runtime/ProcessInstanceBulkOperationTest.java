@@ -0,0 +1,188 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class ProcessInstanceBulkOperationTest extends PluggableProcessEngineTestCase {
+
+  @Deployment
+  public void testDeleteSetBased() {
+    startProcessInstances("process", 7);
+    ProcessInstance remaining = runtimeService.startProcessInstanceByKey("process", "remaining");
+
+    ProcessInstanceQuery query = runtimeService.createProcessInstanceQuery().processDefinitionKey("process");
+    query.processInstanceBusinessKey("aBusinessKey");
+
+    int deleted = runtimeService.createProcessInstanceBulkOperation(query)
+      .chunkSize(3)
+      .skipCustomListeners()
+      .skipHistory()
+      .delete("cleanup");
+
+    assertEquals(7, deleted);
+    assertEquals(0, query.count());
+    assertRuntimeDataOnlyExistsFor(remaining.getId());
+  }
+
+  @Deployment
+  public void testDeleteSetBasedNestedScopes() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("process", "aBusinessKey");
+    }
+    ProcessInstance remaining = runtimeService.startProcessInstanceByKey("process", "remaining");
+
+    // the executions form trees deeper than the process instance and its children
+    assertEquals(4, taskService.createTaskQuery().processInstanceId(remaining.getId()).count());
+    assertTrue(runtimeService.createExecutionQuery().processInstanceId(remaining.getId()).count() > 4);
+
+    ProcessInstanceQuery query = runtimeService.createProcessInstanceQuery().processInstanceBusinessKey("aBusinessKey");
+
+    int deleted = runtimeService.createProcessInstanceBulkOperation(query)
+      .chunkSize(2)
+      .skipCustomListeners()
+      .skipHistory()
+      .delete("cleanup");
+
+    assertEquals(3, deleted);
+    assertEquals(0, query.count());
+    assertEquals(1, runtimeService.createProcessInstanceQuery().count());
+    assertEquals(runtimeService.createExecutionQuery().count(), runtimeService.createExecutionQuery().processInstanceId(remaining.getId()).count());
+    assertEquals(4, taskService.createTaskQuery().count());
+    assertEquals(1, managementService.createJobQuery().count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/ProcessInstanceBulkOperationTest.testDeleteSetBased.bpmn20.xml")
+  public void testDeleteOneByOne() {
+    startProcessInstances("process", 5);
+    ProcessInstance remaining = runtimeService.startProcessInstanceByKey("process", "remaining");
+
+    ProcessInstanceQuery query = runtimeService.createProcessInstanceQuery().processInstanceBusinessKey("aBusinessKey");
+
+    int deleted = runtimeService.createProcessInstanceBulkOperation(query)
+      .chunkSize(2)
+      .delete("cleanup");
+
+    assertEquals(5, deleted);
+    assertEquals(0, query.count());
+    assertRuntimeDataOnlyExistsFor(remaining.getId());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/ProcessInstanceBulkOperationTest.testDeleteSetBased.bpmn20.xml")
+  public void testSkipHistoryRequiresSkipCustomListeners() {
+    startProcessInstances("process", 2);
+
+    ProcessInstanceQuery query = runtimeService.createProcessInstanceQuery().processDefinitionKey("process");
+
+    try {
+      runtimeService.createProcessInstanceBulkOperation(query)
+        .skipHistory()
+        .delete("cleanup");
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTextPresent("skipCustomListeners()", e.getMessage());
+    }
+
+    assertEquals(2, query.count());
+  }
+
+  @Deployment(resources = {
+      "org/camunda/bpm/engine/test/api/runtime/superProcess.bpmn20.xml",
+      "org/camunda/bpm/engine/test/api/runtime/subProcess.bpmn20.xml"
+  })
+  public void testDeleteCascadesToSubProcessInstances() {
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("subProcessQueryTest");
+    }
+    assertEquals(6, runtimeService.createProcessInstanceQuery().count());
+
+    int deleted = runtimeService.createProcessInstanceBulkOperation(runtimeService.createProcessInstanceQuery().processDefinitionKey("subProcessQueryTest"))
+      .skipCustomListeners()
+      .skipHistory()
+      .delete(null);
+
+    assertEquals(3, deleted);
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+    assertEquals(0, taskService.createTaskQuery().count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/ProcessInstanceBulkOperationTest.testDeleteSetBased.bpmn20.xml")
+  public void testSuspendAndActivate() {
+    startProcessInstances("process", 5);
+
+    ProcessInstanceQuery query = runtimeService.createProcessInstanceQuery().processDefinitionKey("process");
+
+    assertEquals(5, runtimeService.createProcessInstanceBulkOperation(query).chunkSize(2).suspend());
+    assertEquals(5, runtimeService.createProcessInstanceQuery().suspended().count());
+    assertEquals(5, taskService.createTaskQuery().suspended().count());
+    assertEquals(5, managementService.createJobQuery().suspended().count());
+
+    // the process instances are already suspended
+    assertEquals(0, runtimeService.createProcessInstanceBulkOperation(query).suspend());
+
+    assertEquals(5, runtimeService.createProcessInstanceBulkOperation(query).chunkSize(2).activate());
+    assertEquals(5, runtimeService.createProcessInstanceQuery().active().count());
+    assertEquals(5, taskService.createTaskQuery().active().count());
+    assertEquals(5, managementService.createJobQuery().active().count());
+  }
+
+  public void testInvalidChunkSize() {
+    ProcessInstanceQuery query = runtimeService.createProcessInstanceQuery();
+
+    try {
+      runtimeService.createProcessInstanceBulkOperation(query).chunkSize(0);
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+
+    try {
+      runtimeService.createProcessInstanceBulkOperation(query).chunkSize(1001);
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+  protected void startProcessInstances(String processDefinitionKey, int count) {
+    for (int i = 0; i < count; i++) {
+      Map<String, Object> variables = new HashMap<String, Object>();
+      variables.put("aString", "aValue" + i);
+      variables.put("someBytes", "someBytes".getBytes());
+
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(processDefinitionKey, "aBusinessKey", variables);
+
+      Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+      taskService.setVariableLocal(task.getId(), "aTaskVariable", "someBytes".getBytes());
+    }
+  }
+
+  protected void assertRuntimeDataOnlyExistsFor(String processInstanceId) {
+    assertEquals(1, runtimeService.createProcessInstanceQuery().count());
+    assertEquals(runtimeService.createExecutionQuery().count(), runtimeService.createExecutionQuery().processInstanceId(processInstanceId).count());
+    assertEquals(1, taskService.createTaskQuery().count());
+    assertEquals(1, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+    assertEquals(1, managementService.createJobQuery().count());
+    assertEquals(1, runtimeService.createEventSubscriptionQuery().count());
+    assertEquals(0, runtimeService.createVariableInstanceQuery().count());
+  }
+
+}
@@ -0,0 +1,89 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstantiationBatchBuilder;
+import org.camunda.bpm.engine.runtime.ProcessInstantiationOutcome;
+import org.camunda.bpm.engine.runtime.ProcessInstantiationOutcome.Status;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class ProcessInstantiationBatchTest extends PluggableProcessEngineTestCase {
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testStartBatch() {
+    ProcessInstantiationBatchBuilder batch = runtimeService.createProcessInstantiationBatch().chunkSize(3);
+    for (int i = 0; i < 10; i++) {
+      batch.processInstance("oneTaskProcess", "businessKey" + i, Collections.<String, Object>singletonMap("index", i));
+    }
+
+    List<ProcessInstantiationOutcome> outcomes = batch.start();
+
+    assertEquals(10, outcomes.size());
+    for (int i = 0; i < 10; i++) {
+      ProcessInstantiationOutcome outcome = outcomes.get(i);
+      assertEquals(Status.STARTED, outcome.getStatus());
+      assertEquals("oneTaskProcess", outcome.getProcessDefinitionKey());
+      assertEquals("businessKey" + i, outcome.getBusinessKey());
+      assertNull(outcome.getErrorMessage());
+
+      ProcessInstance processInstance = runtimeService.createProcessInstanceQuery()
+        .processInstanceId(outcome.getProcessInstanceId())
+        .singleResult();
+      assertEquals("businessKey" + i, processInstance.getBusinessKey());
+      assertEquals(i, runtimeService.getVariable(processInstance.getId(), "index"));
+    }
+
+    assertEquals(10, taskService.createTaskQuery().count());
+  }
+
+  @Deployment
+  public void testFailingStartIsIsolated() {
+    Map<String, Object> valid = Collections.<String, Object>singletonMap("valid", true);
+
+    List<ProcessInstantiationOutcome> outcomes = runtimeService.createProcessInstantiationBatch()
+      .processInstance("process", "aBusinessKey", valid)
+      .processInstance("process", "anotherBusinessKey", null)
+      .processInstance("process", "yetAnotherBusinessKey", valid)
+      .processInstance("unknownProcess", "unknownBusinessKey", null)
+      .start();
+
+    assertEquals(4, outcomes.size());
+    assertEquals(Status.STARTED, outcomes.get(0).getStatus());
+    assertEquals(Status.FAILED, outcomes.get(1).getStatus());
+    assertEquals("anotherBusinessKey", outcomes.get(1).getBusinessKey());
+    assertNull(outcomes.get(1).getProcessInstanceId());
+    assertNotNull(outcomes.get(1).getErrorMessage());
+    assertEquals(Status.STARTED, outcomes.get(2).getStatus());
+    assertEquals(Status.FAILED, outcomes.get(3).getStatus());
+
+    assertEquals(2, runtimeService.createProcessInstanceQuery().count());
+    assertEquals(2, taskService.createTaskQuery().count());
+  }
+
+  public void testInvalidChunkSize() {
+    try {
+      runtimeService.createProcessInstantiationBatch().chunkSize(0);
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+  }
+
+}
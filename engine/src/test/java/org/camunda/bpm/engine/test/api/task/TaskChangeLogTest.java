@@ -0,0 +1,273 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.filter.Filter;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.task.TaskChanges;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class TaskChangeLogTest extends PluggableProcessEngineTestCase {
+
+  protected List<String> taskIds = new ArrayList<String>();
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.setTaskChangeLogEnabled(true);
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setTaskChangeLogEnabled(false);
+    for (String taskId : taskIds) {
+      taskService.deleteTask(taskId, true);
+    }
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getTaskChangeManager().deleteTaskChangesUpToSequence(Long.MAX_VALUE);
+        return null;
+      }
+    });
+    super.tearDown();
+  }
+
+  public void testInitialRequestReturnsCurrentSequence() {
+    TaskChanges initialChanges = taskService.getTaskChanges(-1, 10);
+    assertTrue(initialChanges.isResetRequired());
+    assertTrue(initialChanges.getTasks().isEmpty());
+
+    createTask("task", null);
+
+    TaskChanges changes = taskService.getTaskChanges(-1, 10);
+    assertTrue(changes.isResetRequired());
+    assertEquals(initialChanges.getSequence() + 1, changes.getSequence());
+  }
+
+  public void testCreateUpdateAndDeleteTask() {
+    long sequence = getCurrentSequence();
+
+    Task task = createTask("task", null);
+    TaskChanges changes = taskService.getTaskChanges(sequence, 10);
+    assertFalse(changes.isResetRequired());
+    assertEquals(sequence + 1, changes.getSequence());
+    assertEquals(1, changes.getTasks().size());
+    assertEquals(task.getId(), changes.getTasks().get(0).getId());
+    assertTrue(changes.getRemovedTaskIds().isEmpty());
+
+    sequence = changes.getSequence();
+    taskService.setAssignee(task.getId(), "kermit");
+    changes = taskService.getTaskChanges(sequence, 10);
+    assertEquals(sequence + 1, changes.getSequence());
+    assertEquals(1, changes.getTasks().size());
+    assertEquals("kermit", changes.getTasks().get(0).getAssignee());
+
+    sequence = changes.getSequence();
+    taskService.deleteTask(task.getId(), true);
+    taskIds.remove(task.getId());
+    changes = taskService.getTaskChanges(sequence, 10);
+    assertEquals(sequence + 1, changes.getSequence());
+    assertTrue(changes.getTasks().isEmpty());
+    assertEquals(1, changes.getRemovedTaskIds().size());
+    assertEquals(task.getId(), changes.getRemovedTaskIds().get(0));
+  }
+
+  public void testOnlyLastChangeOfTaskIsReturned() {
+    long sequence = getCurrentSequence();
+
+    Task task = createTask("task", null);
+    taskService.setAssignee(task.getId(), "kermit");
+    taskService.setAssignee(task.getId(), "gonzo");
+
+    TaskChanges changes = taskService.getTaskChanges(sequence, 10);
+    assertEquals(sequence + 3, changes.getSequence());
+    assertEquals(1, changes.getTasks().size());
+    assertEquals("gonzo", changes.getTasks().get(0).getAssignee());
+  }
+
+  public void testReadingTasksIsNotLogged() {
+    Task task = createTask("task", null);
+    long sequence = getCurrentSequence();
+
+    taskService.createTaskQuery().list();
+    taskService.createTaskQuery().taskId(task.getId()).singleResult();
+
+    TaskChanges changes = taskService.getTaskChanges(sequence, 10);
+    assertEquals(sequence, changes.getSequence());
+    assertFalse(changes.isResetRequired());
+    assertTrue(changes.getTasks().isEmpty());
+  }
+
+  public void testIdentityLinkChangeIsLogged() {
+    Task task = createTask("task", null);
+    long sequence = getCurrentSequence();
+
+    taskService.addCandidateUser(task.getId(), "kermit");
+    TaskChanges changes = taskService.getTaskChanges(sequence, 10);
+    assertEquals(sequence + 1, changes.getSequence());
+    assertEquals(1, changes.getTasks().size());
+
+    sequence = changes.getSequence();
+    taskService.deleteCandidateUser(task.getId(), "kermit");
+    changes = taskService.getTaskChanges(sequence, 10);
+    assertEquals(sequence + 1, changes.getSequence());
+    assertEquals(1, changes.getTasks().size());
+  }
+
+  public void testMaxResults() {
+    long sequence = getCurrentSequence();
+
+    createTask("task1", null);
+    createTask("task2", null);
+    createTask("task3", null);
+
+    TaskChanges changes = taskService.getTaskChanges(sequence, 2);
+    assertEquals(sequence + 2, changes.getSequence());
+    assertEquals(2, changes.getTasks().size());
+
+    changes = taskService.getTaskChanges(changes.getSequence(), 2);
+    assertEquals(sequence + 3, changes.getSequence());
+    assertEquals(1, changes.getTasks().size());
+    assertEquals("task3", changes.getTasks().get(0).getName());
+  }
+
+  public void testInvalidMaxResults() {
+    try {
+      taskService.getTaskChanges(0, 0);
+      fail("Exception expected");
+    }
+    catch (NotValidException e) {
+      // expected
+    }
+
+    try {
+      taskService.getTaskChanges(0, 1001);
+      fail("Exception expected");
+    }
+    catch (NotValidException e) {
+      // expected
+    }
+  }
+
+  public void testUnknownSequenceRequiresReset() {
+    long sequence = getCurrentSequence();
+
+    TaskChanges changes = taskService.getTaskChanges(sequence + 10, 10);
+    assertTrue(changes.isResetRequired());
+    assertEquals(sequence, changes.getSequence());
+  }
+
+  public void testChangesAreNotLoggedIfDisabled() {
+    long sequence = getCurrentSequence();
+
+    processEngineConfiguration.setTaskChangeLogEnabled(false);
+    createTask("task", null);
+    processEngineConfiguration.setTaskChangeLogEnabled(true);
+
+    assertEquals(sequence, getCurrentSequence());
+  }
+
+  public void testFilterChanges() {
+    Filter filter = filterService.newTaskFilter("kermit's tasks");
+    filter.setQuery(taskService.createTaskQuery().taskAssignee("kermit"));
+    filterService.saveFilter(filter);
+
+    try {
+      long sequence = getCurrentSequence();
+
+      Task kermitsTask = createTask("task1", "kermit");
+      Task gonzosTask = createTask("task2", "gonzo");
+
+      TaskChanges changes = filterService.getTaskChanges(filter.getId(), sequence, 10);
+      assertEquals(sequence + 2, changes.getSequence());
+      assertEquals(1, changes.getTasks().size());
+      assertEquals(kermitsTask.getId(), changes.getTasks().get(0).getId());
+      assertEquals(1, changes.getRemovedTaskIds().size());
+      assertEquals(gonzosTask.getId(), changes.getRemovedTaskIds().get(0));
+
+      // the task does not match the filter anymore
+      sequence = changes.getSequence();
+      taskService.setAssignee(kermitsTask.getId(), "gonzo");
+      changes = filterService.getTaskChanges(filter.getId(), sequence, 10);
+      assertTrue(changes.getTasks().isEmpty());
+      assertEquals(1, changes.getRemovedTaskIds().size());
+      assertEquals(kermitsTask.getId(), changes.getRemovedTaskIds().get(0));
+    }
+    finally {
+      filterService.deleteFilter(filter.getId());
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testSuspensionOfProcessDefinitionIsLogged() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    long sequence = getCurrentSequence();
+
+    repositoryService.suspendProcessDefinitionByKey("oneTaskProcess", true, null);
+
+    TaskChanges changes = taskService.getTaskChanges(sequence, 10);
+    assertEquals(sequence + 2, changes.getSequence());
+    assertEquals(2, changes.getTasks().size());
+    assertTrue(changes.getTasks().get(0).isSuspended());
+    assertTrue(changes.getTasks().get(1).isSuspended());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testBulkSuspensionAndDeletionIsLogged() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    List<Task> tasks = taskService.createTaskQuery().list();
+    long sequence = getCurrentSequence();
+
+    ProcessInstanceQuery query = runtimeService.createProcessInstanceQuery().processDefinitionKey("oneTaskProcess");
+    runtimeService.createProcessInstanceBulkOperation(query).suspend();
+
+    TaskChanges changes = taskService.getTaskChanges(sequence, 10);
+    assertEquals(sequence + 2, changes.getSequence());
+    assertEquals(2, changes.getTasks().size());
+
+    sequence = changes.getSequence();
+    runtimeService.createProcessInstanceBulkOperation(query)
+      .skipCustomListeners()
+      .skipHistory()
+      .delete("cleanup");
+
+    changes = taskService.getTaskChanges(sequence, 10);
+    assertEquals(sequence + 2, changes.getSequence());
+    assertTrue(changes.getTasks().isEmpty());
+    assertEquals(2, changes.getRemovedTaskIds().size());
+    assertTrue(changes.getRemovedTaskIds().contains(tasks.get(0).getId()));
+    assertTrue(changes.getRemovedTaskIds().contains(tasks.get(1).getId()));
+  }
+
+  protected long getCurrentSequence() {
+    return taskService.getTaskChanges(-1, 1).getSequence();
+  }
+
+  protected Task createTask(String name, String assignee) {
+    Task task = taskService.newTask();
+    task.setName(name);
+    task.setAssignee(assignee);
+    taskService.saveTask(task);
+    taskIds.add(task.getId());
+    return task;
+  }
+
+}
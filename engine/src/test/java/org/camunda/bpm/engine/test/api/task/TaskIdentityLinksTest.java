@@ -13,6 +13,8 @@
 
 package org.camunda.bpm.engine.test.api.task;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import junit.framework.AssertionFailedError;
@@ -197,4 +199,42 @@ public class TaskIdentityLinksTest extends PluggableProcessEngineTestCase {
     taskService.deleteTask(task.getId(), true);
   }
 
+  public void testGetIdentityLinksForTasks() {
+    Task task1 = taskService.newTask();
+    task1.setAssignee("kermit");
+    taskService.saveTask(task1);
+    taskService.addCandidateUser(task1.getId(), "fozzie");
+    taskService.addCandidateGroup(task1.getId(), "management");
+
+    Task task2 = taskService.newTask();
+    taskService.saveTask(task2);
+    taskService.addCandidateGroup(task2.getId(), "accountancy");
+
+    Task task3 = taskService.newTask();
+    taskService.saveTask(task3);
+    taskService.addCandidateUser(task3.getId(), "gonzo");
+
+    List<IdentityLink> identityLinks = taskService.getIdentityLinksForTasks(Arrays.asList(task1.getId(), task2.getId()));
+
+    // the assignee is not returned as identity link
+    assertEquals(3, identityLinks.size());
+    for (IdentityLink identityLink : identityLinks) {
+      assertEquals(IdentityLinkType.CANDIDATE, identityLink.getType());
+      if (task1.getId().equals(identityLink.getTaskId())) {
+        assertTrue("fozzie".equals(identityLink.getUserId()) || "management".equals(identityLink.getGroupId()));
+      }
+      else {
+        assertEquals(task2.getId(), identityLink.getTaskId());
+        assertEquals("accountancy", identityLink.getGroupId());
+      }
+    }
+
+    assertTrue(taskService.getIdentityLinksForTasks(Collections.<String>emptyList()).isEmpty());
+
+    // cleanup
+    taskService.deleteTask(task1.getId(), true);
+    taskService.deleteTask(task2.getId(), true);
+    taskService.deleteTask(task3.getId(), true);
+  }
+
 }
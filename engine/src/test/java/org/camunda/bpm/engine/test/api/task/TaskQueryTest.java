@@ -16,19 +16,28 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.DelegationState;
@@ -3624,6 +3633,237 @@ public class TaskQueryTest extends PluggableProcessEngineTestCase {
     }
   }
 
+  public void testKeysetPaginationOrderedById() {
+    assertKeysetPagination(taskService.createTaskQuery().orderByTaskId().asc(), null, false);
+    assertKeysetPagination(taskService.createTaskQuery().orderByTaskId().desc(), null, true);
+    // ordered by id by default
+    assertKeysetPagination(taskService.createTaskQuery(), null, false);
+  }
+
+  public void testKeysetPaginationOrderedByCreateTime() {
+    assertKeysetPagination(taskService.createTaskQuery().orderByTaskCreateTime().asc(), TASK_CREATE_TIME, false);
+    assertKeysetPagination(taskService.createTaskQuery().orderByTaskCreateTime().desc(), TASK_CREATE_TIME, true);
+  }
+
+  public void testKeysetPaginationOrderedByPriority() {
+    assertKeysetPagination(taskService.createTaskQuery().orderByTaskPriority().asc(), TASK_PRIORITY, false);
+    assertKeysetPagination(taskService.createTaskQuery().orderByTaskPriority().desc(), TASK_PRIORITY, true);
+  }
+
+  public void testKeysetPaginationWithCriteria() {
+    TaskQuery query = taskService.createTaskQuery().taskCandidateUser("kermit").orderByTaskCreateTime().asc();
+
+    List<Task> firstPage = query.listPageAfter(null, 4);
+    assertEquals(4, firstPage.size());
+    List<Task> secondPage = query.listPageAfter(firstPage.get(3), 4);
+    assertEquals(4, secondPage.size());
+    List<Task> lastPage = query.listPageAfter(secondPage.get(3), 4);
+    assertEquals(3, lastPage.size());
+    assertTrue(query.listPageAfter(lastPage.get(2), 4).isEmpty());
+
+    // the query can be reused after a keyset page
+    assertEquals(11, query.count());
+    assertEquals(11, query.list().size());
+  }
+
+  public void testKeysetPaginationAfterDeletedTask() {
+    TaskQuery query = taskService.createTaskQuery().taskCandidateUser("kermit").orderByTaskPriority().asc();
+
+    List<Task> firstPage = query.listPageAfter(null, 4);
+    Task lastResult = firstPage.get(3);
+    List<Task> secondPage = query.listPageAfter(lastResult, 4);
+
+    taskService.deleteTask(lastResult.getId(), true);
+    taskIds.remove(lastResult.getId());
+
+    // the page continues after the sort key and id of the deleted task
+    List<Task> page = query.listPageAfter(lastResult.getId(), lastResult.getPriority(), 4);
+    assertEquals(secondPage.size(), page.size());
+    for (int i = 0; i < page.size(); i++) {
+      assertEquals(secondPage.get(i).getId(), page.get(i).getId());
+    }
+
+    try {
+      query.listPageAfter(lastResult.getId(), null, 4);
+      fail("exception expected");
+    } catch (NotValidException e) {
+      assertTextPresent("Last result has no value for sort key", e.getMessage());
+    }
+  }
+
+  public void testKeysetPaginationInvalidOrdering() {
+    try {
+      taskService.createTaskQuery().orderByTaskName().asc().listPageAfter(null, 5);
+      fail("exception expected");
+    } catch (NotValidException e) {
+      assertTextPresent("Keyset pagination is not supported when ordering by 'RES.NAME_'", e.getMessage());
+    }
+
+    try {
+      taskService.createTaskQuery().orderByTaskPriority().asc().orderByTaskCreateTime().asc().listPageAfter(null, 5);
+      fail("exception expected");
+    } catch (NotValidException e) {
+      assertTextPresent("Keyset pagination requires the query to be ordered by at most one property", e.getMessage());
+    }
+  }
+
+  public void testIterate() {
+    final List<String> iteratedIds = new ArrayList<String>();
+    taskService.createTaskQuery().taskCandidateUser("kermit").orderByTaskId().asc().iterate(new QueryResultHandler<Task>() {
+      public boolean handleResult(Task task) {
+        iteratedIds.add(task.getId());
+        return true;
+      }
+    });
+
+    List<String> expectedIds = new ArrayList<String>();
+    for (Task task : taskService.createTaskQuery().taskCandidateUser("kermit").orderByTaskId().asc().list()) {
+      expectedIds.add(task.getId());
+    }
+    assertEquals(11, iteratedIds.size());
+    assertEquals(expectedIds, iteratedIds);
+  }
+
+  public void testIterateStopsWhenHandlerReturnsFalse() {
+    final List<Task> handledTasks = new ArrayList<Task>();
+    taskService.createTaskQuery().iterate(new QueryResultHandler<Task>() {
+      public boolean handleResult(Task task) {
+        handledTasks.add(task);
+        return handledTasks.size() < 3;
+      }
+    });
+
+    assertEquals(3, handledTasks.size());
+  }
+
+  public void testIterateWithFormKeysInBatches() {
+    int batchSize = processEngineConfiguration.getStreamingQueryBatchSize();
+    processEngineConfiguration.setStreamingQueryBatchSize(5);
+    try {
+      final List<String> iteratedIds = new ArrayList<String>();
+      taskService.createTaskQuery().initializeFormKeys().orderByTaskPriority().asc().iterate(new QueryResultHandler<Task>() {
+        public boolean handleResult(Task task) {
+          iteratedIds.add(task.getId());
+          return true;
+        }
+      });
+
+      assertEquals(12, iteratedIds.size());
+      assertEquals(12, new HashSet<String>(iteratedIds).size());
+
+    } finally {
+      processEngineConfiguration.setStreamingQueryBatchSize(batchSize);
+    }
+  }
+
+  public void testIterateDoesNotCacheTasks() {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        final DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+        final List<String> taskIds = new ArrayList<String>();
+
+        new TaskQueryImpl().iterate(new QueryResultHandler<Task>() {
+          public boolean handleResult(Task task) {
+            taskIds.add(task.getId());
+            return true;
+          }
+        });
+
+        assertEquals(12, taskIds.size());
+        for (String taskId : taskIds) {
+          assertNull(dbEntityManager.getCachedEntity(TaskEntity.class, taskId));
+        }
+        return null;
+      }
+    });
+  }
+
+  public void testIterateReturnsCachedTasks() {
+    final String taskId = taskIds.get(0);
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        TaskEntity cachedTask = commandContext.getTaskManager().findTaskById(taskId);
+        cachedTask.setName("changed name");
+
+        final List<Task> tasks = new ArrayList<Task>();
+        new TaskQueryImpl().taskId(taskId).iterate(new QueryResultHandler<Task>() {
+          public boolean handleResult(Task task) {
+            tasks.add(task);
+            return true;
+          }
+        });
+
+        assertEquals(1, tasks.size());
+        assertSame(cachedTask, tasks.get(0));
+        return null;
+      }
+    });
+  }
+
+  public void testListAfterIterateWithSameQuery() {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        TaskQueryImpl query = new TaskQueryImpl();
+        query.iterate(new QueryResultHandler<Task>() {
+          public boolean handleResult(Task task) {
+            return true;
+          }
+        });
+
+        // the streamed select must not leave an empty result in the local cache of the session
+        assertEquals(12, query.list().size());
+        return null;
+      }
+    });
+  }
+
+  protected static final Comparator<Task> TASK_CREATE_TIME = new Comparator<Task>() {
+    public int compare(Task task1, Task task2) {
+      return task1.getCreateTime().compareTo(task2.getCreateTime());
+    }
+  };
+
+  protected static final Comparator<Task> TASK_PRIORITY = new Comparator<Task>() {
+    public int compare(Task task1, Task task2) {
+      return task1.getPriority() < task2.getPriority() ? -1 : (task1.getPriority() == task2.getPriority() ? 0 : 1);
+    }
+  };
+
+  /**
+   * Iterates over all tasks in pages of 5 and asserts that they are returned
+   * ordered by the sort key and the id.
+   */
+  protected void assertKeysetPagination(TaskQuery query, final Comparator<Task> sortKey, final boolean descending) {
+    List<Task> expected = new ArrayList<Task>(taskService.createTaskQuery().list());
+    Collections.sort(expected, new Comparator<Task>() {
+      public int compare(Task task1, Task task2) {
+        int result = sortKey != null ? sortKey.compare(task1, task2) : 0;
+        if (result == 0) {
+          result = task1.getId().compareTo(task2.getId());
+        }
+        return descending ? -result : result;
+      }
+    });
+
+    List<String> actualIds = new ArrayList<String>();
+    Task lastResult = null;
+    List<Task> page;
+    do {
+      page = query.listPageAfter(lastResult, 5);
+      assertTrue(page.size() <= 5);
+      for (Task task : page) {
+        actualIds.add(task.getId());
+        lastResult = task;
+      }
+    } while (page.size() == 5);
+
+    List<String> expectedIds = new ArrayList<String>();
+    for (Task task : expected) {
+      expectedIds.add(task.getId());
+    }
+    assertEquals(expectedIds, actualIds);
+  }
+
   /**
    * Generates some test tasks. - 6 tasks where kermit is a candidate - 1 tasks
    * where gonzo is assignee - 2 tasks assigned to management group - 2 tasks
@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.runtime.ExecutionQuery;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.SignalBroadcastProgress;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
 import org.camunda.bpm.engine.test.Deployment;
@@ -326,4 +327,50 @@ public class SignalEventTest extends PluggableProcessEngineTestCase {
     assertEquals(1, executionQuery.count());
   }
 
+  @Deployment(resources={"org/camunda/bpm/engine/test/bpmn/event/signal/SignalEventTests.catchAlertSignal.bpmn20.xml"})
+  public void testAsyncSignalBroadcastInChunks() {
+    int chunkSize = processEngineConfiguration.getSignalBroadcastChunkSize();
+    processEngineConfiguration.setSignalBroadcastChunkSize(2);
+    try {
+      for (int i = 0; i < 5; i++) {
+        runtimeService.startProcessInstanceByKey("catchSignal");
+      }
+
+      HashMap<String, Object> variables = new HashMap<String, Object>();
+      variables.put("alertLevel", "high");
+      String broadcastId = runtimeService.signalEventReceivedAsync("alert", variables);
+
+      // instances started after the broadcast do not receive the signal
+      ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + 1000));
+      runtimeService.startProcessInstanceByKey("catchSignal");
+
+      assertEquals(6, createEventSubscriptionQuery().count());
+
+      SignalBroadcastProgress progress = runtimeService.getSignalBroadcastProgress(broadcastId);
+      assertEquals("alert", progress.getSignalName());
+      assertEquals(0, progress.getDeliveredCount());
+
+      managementService.executeJob(progress.getCurrentJobId());
+
+      progress = runtimeService.getSignalBroadcastProgress(broadcastId);
+      assertEquals(2, progress.getDeliveredCount());
+      assertEquals(4, createEventSubscriptionQuery().count());
+
+      managementService.executeJob(progress.getCurrentJobId());
+      progress = runtimeService.getSignalBroadcastProgress(broadcastId);
+      assertEquals(4, progress.getDeliveredCount());
+
+      managementService.executeJob(progress.getCurrentJobId());
+      assertNull(runtimeService.getSignalBroadcastProgress(broadcastId));
+
+      assertEquals(1, createEventSubscriptionQuery().count());
+      assertEquals(1, runtimeService.createProcessInstanceQuery().count());
+      assertEquals(0, managementService.createJobQuery().count());
+
+    } finally {
+      processEngineConfiguration.setSignalBroadcastChunkSize(chunkSize);
+      ClockUtil.reset();
+    }
+  }
+
 }
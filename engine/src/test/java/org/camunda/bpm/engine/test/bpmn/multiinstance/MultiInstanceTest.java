@@ -1174,4 +1174,55 @@ public class MultiInstanceTest extends PluggableProcessEngineTestCase {
       }
     }
   }
+
+  @Deployment
+  public void testParallelUserTasksInAsyncBatches() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("assigneeList", Arrays.asList("kermit", "gonzo", "fozzie", "mispiggy", "animal", "beaker", "bunsen"));
+    String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasksInAsyncBatches", variables).getId();
+
+    // only the first batch is created right away
+    TaskQuery taskQuery = taskService.createTaskQuery().orderByTaskName().asc();
+    assertEquals(3, taskQuery.count());
+    assertEquals(1, managementService.createJobQuery().count());
+
+    Job job = managementService.createJobQuery().singleResult();
+    managementService.executeJob(job.getId());
+    assertEquals(6, taskQuery.count());
+
+    job = managementService.createJobQuery().singleResult();
+    managementService.executeJob(job.getId());
+    assertEquals(0, managementService.createJobQuery().count());
+
+    List<Task> tasks = taskQuery.list();
+    assertEquals(7, tasks.size());
+    for (int i = 0; i < tasks.size(); i++) {
+      assertEquals("My Task " + i, tasks.get(i).getName());
+    }
+    assertEquals("kermit", tasks.get(0).getAssignee());
+    assertEquals("bunsen", tasks.get(6).getAssignee());
+
+    for (Task task : tasks) {
+      taskService.complete(task.getId());
+    }
+    assertProcessEnded(procId);
+  }
+
+  @Deployment
+  public void testParallelAsyncBatchesWithCompletionCondition() {
+    runtimeService.startProcessInstanceByKey("miParallelAsyncBatchesWithCompletionCondition");
+
+    assertEquals(2, taskService.createTaskQuery().count());
+    assertEquals(1, managementService.createJobQuery().count());
+
+    // completing one instance completes the multi-instance activity
+    Task task = taskService.createTaskQuery().listPage(0, 1).get(0);
+    taskService.complete(task.getId());
+
+    // the job creating the next batch is removed
+    assertEquals(0, managementService.createJobQuery().count());
+    task = taskService.createTaskQuery().singleResult();
+    assertEquals("After multi-instance", task.getName());
+  }
+
 }
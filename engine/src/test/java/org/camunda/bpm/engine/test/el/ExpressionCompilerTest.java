@@ -0,0 +1,109 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.el;
+
+import junit.framework.TestCase;
+
+import org.camunda.bpm.engine.impl.connector.ConnectorVariableScope;
+import org.camunda.bpm.engine.impl.el.CompiledExpression;
+import org.camunda.bpm.engine.impl.el.ExpressionCompiler;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+
+public class ExpressionCompilerTest extends TestCase {
+
+  protected ExpressionCompiler compiler;
+  protected ConnectorVariableScope variableScope;
+
+  protected void setUp() throws Exception {
+    compiler = new ExpressionCompiler();
+    variableScope = new ConnectorVariableScope(null);
+    variableScope.setVariable("amount", 1500);
+    variableScope.setVariable("price", 9.99d);
+    variableScope.setVariable("approved", true);
+    variableScope.setVariable("status", "open");
+    variableScope.setVariable("nothing", null);
+  }
+
+  public void testCompiledExpressionsEvaluateLikeJuel() {
+    assertEvaluatesLikeJuel("${amount > 1000}", true);
+    assertEvaluatesLikeJuel("${amount <= 1000}", false);
+    assertEvaluatesLikeJuel("${amount == 1500}", true);
+    assertEvaluatesLikeJuel("${amount != 1500.0}", false);
+    assertEvaluatesLikeJuel("${price < 10}", true);
+    assertEvaluatesLikeJuel("${price >= amount}", false);
+    assertEvaluatesLikeJuel("${status == 'open'}", true);
+    assertEvaluatesLikeJuel("${status != 'closed' && approved}", true);
+    assertEvaluatesLikeJuel("${!approved || amount < 0}", false);
+    assertEvaluatesLikeJuel("${(amount > 1000) and not (status eq 'closed')}", true);
+    assertEvaluatesLikeJuel("${nothing == null}", true);
+    assertEvaluatesLikeJuel("${'1500' == amount}", true);
+  }
+
+  public void testUnknownVariableIsUnresolved() {
+    CompiledExpression compiledExpression = compile("${unknown > 1}");
+
+    assertSame(CompiledExpression.UNRESOLVED, compiledExpression.evaluate(variableScope));
+  }
+
+  public void testShortCircuitSkipsUnknownVariable() {
+    CompiledExpression compiledExpression = compile("${approved || unknown}");
+
+    assertEquals(Boolean.TRUE, compiledExpression.evaluate(variableScope));
+  }
+
+  public void testComplexExpressionsAreNotCompiled() {
+    assertNull(compile("${amount + 1 > 1000}"));
+    assertNull(compile("${bean.property == 1}"));
+    assertNull(compile("${list[0] == 1}"));
+    assertNull(compile("${empty status}"));
+    assertNull(compile("${now() == null}"));
+    assertNull(compile("${execution.id == null}"));
+    assertNull(compile("${task == null}"));
+    assertNull(compile("a text ${amount > 1000}"));
+    assertNull(compile("${amount}"));
+    assertNull(compile("${true}"));
+  }
+
+  public void testExpressionManagerCompilesIfEnabled() {
+    ExpressionManager expressionManager = new ExpressionManager();
+    assertFalse(expressionManager.isExpressionCompilationEnabled());
+
+    expressionManager.setExpressionCompilationEnabled(true);
+    assertTrue(expressionManager.isExpressionCompilationEnabled());
+    // expression trees are still shared through the cache
+    expressionManager.createExpression("${amount > 1000}");
+    expressionManager.createExpression("${amount > 1000}");
+    assertEquals(1, expressionManager.getExpressionTreeCache().size());
+  }
+
+  protected CompiledExpression compile(String expression) {
+    return compiler.compile(new Builder().build(expression));
+  }
+
+  protected void assertEvaluatesLikeJuel(String expression, Object expectedValue) {
+    CompiledExpression compiledExpression = compile(expression);
+    assertNotNull("expected to be compiled: " + expression, compiledExpression);
+
+    ELContext elContext = new ExpressionManager().getElContext(variableScope);
+    Object juelValue = new ExpressionFactoryImpl()
+      .createValueExpression(elContext, expression, Object.class)
+      .getValue(elContext);
+
+    assertEquals(expression, expectedValue, juelValue);
+    assertEquals(expression, expectedValue, compiledExpression.evaluate(variableScope));
+  }
+
+}
@@ -0,0 +1,86 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.el;
+
+import junit.framework.TestCase;
+
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.el.ExpressionTreeCache;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.Tree;
+
+public class ExpressionTreeCacheTest extends TestCase {
+
+  public void testIdenticalExpressionsShareTree() {
+    ExpressionManager expressionManager = new ExpressionManager();
+    ExpressionTreeCache cache = expressionManager.getExpressionTreeCache();
+
+    expressionManager.createExpression("${amount > 1000}");
+    expressionManager.createExpression("${amount > 1000}");
+    expressionManager.createExpression("${approved}");
+
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+  }
+
+  public void testCompilationDoesNotLookUpTreeAgain() {
+    ExpressionManager expressionManager = new ExpressionManager();
+    expressionManager.setExpressionCompilationEnabled(true);
+    ExpressionTreeCache cache = expressionManager.getExpressionTreeCache();
+
+    expressionManager.createExpression("${amount > 1000}");
+    expressionManager.createExpression("${amount > 1000}");
+
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  public void testLeastRecentlyUsedTreesAreEvicted() {
+    ExpressionTreeCache cache = new ExpressionTreeCache(10);
+    Builder builder = new Builder();
+
+    Tree hotTree = builder.build("${hot}");
+    cache.put("${hot}", hotTree);
+
+    for (int i = 0; i < 20; i++) {
+      String expression = "${var" + i + "}";
+      cache.put(expression, builder.build(expression));
+      assertSame(hotTree, cache.get("${hot}"));
+    }
+
+    assertTrue(cache.size() <= 10);
+    assertTrue(cache.getEvictionCount() > 0);
+    assertSame(hotTree, cache.get("${hot}"));
+    assertNull(cache.get("${var0}"));
+  }
+
+  public void testCacheSizeIsConfigurable() {
+    ExpressionManager expressionManager = new ExpressionManager(null, 42);
+
+    assertEquals(42, expressionManager.getExpressionTreeCache().getCapacity());
+  }
+
+  public void testCachingFactoryIsConfiguredLikeDefaultFactory() {
+    ExpressionTreeCache cache = new ExpressionTreeCache(10);
+    ExpressionFactoryImpl cachingFactory = new ExpressionFactoryImpl(ExpressionFactoryImpl.Profile.JEE6, cache);
+    ExpressionFactoryImpl defaultFactory = new ExpressionFactoryImpl();
+
+    assertEquals(defaultFactory.getTreeStore().getBuilder(), cachingFactory.getTreeStore().getBuilder());
+
+    cachingFactory.getTreeStore().get("${bean.method(a, b)}");
+    assertNotNull(cache.get("${bean.method(a, b)}"));
+  }
+
+}
@@ -13,6 +13,7 @@
 
 package org.camunda.bpm.engine.test.history;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -27,6 +28,7 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.runtime.EventSubscriptionQuery;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.Job;
@@ -934,4 +936,62 @@ public class HistoricActivityInstanceTest extends PluggableProcessEngineTestCase
 
     assertEquals("errorStartEvent", historicActivity.getActivityType());
   }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testIterate() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    final List<String> handledIds = new ArrayList<String>();
+    historyService.createHistoricActivityInstanceQuery().iterate(new QueryResultHandler<HistoricActivityInstance>() {
+      public boolean handleResult(HistoricActivityInstance activityInstance) {
+        handledIds.add(activityInstance.getId());
+        return true;
+      }
+    });
+
+    List<HistoricActivityInstance> expected = historyService.createHistoricActivityInstanceQuery().list();
+    assertEquals(4, expected.size());
+    assertEquals(expected.size(), handledIds.size());
+    for (HistoricActivityInstance activityInstance : expected) {
+      assertTrue(handledIds.contains(activityInstance.getId()));
+    }
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testIterateStopsWhenHandlerReturnsFalse() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    final List<HistoricActivityInstance> handled = new ArrayList<HistoricActivityInstance>();
+    historyService.createHistoricActivityInstanceQuery().iterate(new QueryResultHandler<HistoricActivityInstance>() {
+      public boolean handleResult(HistoricActivityInstance activityInstance) {
+        handled.add(activityInstance);
+        return false;
+      }
+    });
+
+    assertEquals(1, handled.size());
+  }
+
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testIteratePropagatesHandlerException() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    final RuntimeException handlerException = new IllegalStateException("stream closed");
+    final List<HistoricActivityInstance> handled = new ArrayList<HistoricActivityInstance>();
+    try {
+      historyService.createHistoricActivityInstanceQuery().iterate(new QueryResultHandler<HistoricActivityInstance>() {
+        public boolean handleResult(HistoricActivityInstance activityInstance) {
+          handled.add(activityInstance);
+          throw handlerException;
+        }
+      });
+      fail("exception expected");
+    } catch (RuntimeException e) {
+      // not wrapped by the persistence layer
+      assertSame(handlerException, e);
+    }
+
+    assertEquals(1, handled.size());
+  }
 }
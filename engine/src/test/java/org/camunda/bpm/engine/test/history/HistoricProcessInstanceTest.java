@@ -331,6 +331,43 @@ public class HistoricProcessInstanceTest extends PluggableProcessEngineTestCase
     assertEquals(historicProcessInstance.getId(), superPi.getId());
   }
 
+  @Deployment(resources = {"org/camunda/bpm/engine/test/history/oneTaskProcess.bpmn20.xml"})
+  public void testKeysetPagination() {
+    Date startTime = new Date();
+    for (int i = 0; i < 7; i++) {
+      // two instances are started at the same time each
+      ClockUtil.setCurrentTime(new Date(startTime.getTime() + (i / 2) * 1000));
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+    ClockUtil.reset();
+
+    HistoricProcessInstanceQuery query = historyService.createHistoricProcessInstanceQuery().orderByProcessInstanceStartTime().desc();
+    List<HistoricProcessInstance> expected = query.list();
+
+    List<HistoricProcessInstance> actual = new ArrayList<HistoricProcessInstance>();
+    List<HistoricProcessInstance> page = query.listPageAfter(null, 3);
+    while (!page.isEmpty()) {
+      actual.addAll(page);
+      page = query.listPageAfter(page.get(page.size() - 1), 3);
+    }
+
+    assertEquals(7, actual.size());
+    for (int i = 0; i < actual.size(); i++) {
+      assertEquals(expected.get(i).getStartTime(), actual.get(i).getStartTime());
+      if (i > 0 && actual.get(i).getStartTime().equals(actual.get(i - 1).getStartTime())) {
+        // instances with the same start time are ordered by id
+        assertTrue(actual.get(i).getId().compareTo(actual.get(i - 1).getId()) < 0);
+      }
+    }
+
+    try {
+      historyService.createHistoricProcessInstanceQuery().orderByProcessInstanceEndTime().asc().listPageAfter(null, 3);
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // end time is nullable
+    }
+  }
+
   public void testInvalidSorting() {
     try {
       historyService.createHistoricProcessInstanceQuery().asc();
@@ -13,9 +13,12 @@
 
 package org.camunda.bpm.engine.test.history;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -27,9 +30,14 @@ import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstanceQuery;
 import org.camunda.bpm.engine.history.HistoricVariableUpdate;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
 import org.camunda.bpm.engine.impl.test.AbstractProcessEngineTestCase;
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
+import org.camunda.bpm.engine.query.QueryResultHandler;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
@@ -624,4 +632,131 @@ public class HistoricVariableInstanceTest extends AbstractProcessEngineTestCase
 
   }
 
+  @Deployment(resources={"org/camunda/bpm/engine/test/api/runtime/oneTaskProcess.bpmn20.xml"})
+  public void testIterate() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("stringVar", "test");
+    variables.put("bytesVar", "someBytes".getBytes());
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    final Map<String, Object> values = new HashMap<String, Object>();
+    historyService.createHistoricVariableInstanceQuery().iterate(new QueryResultHandler<HistoricVariableInstance>() {
+      public boolean handleResult(HistoricVariableInstance variable) {
+        values.put(variable.getId(), variable.getValue());
+        return true;
+      }
+    });
+
+    List<HistoricVariableInstance> expected = historyService.createHistoricVariableInstanceQuery().list();
+    assertEquals(4, values.size());
+    for (HistoricVariableInstance variable : expected) {
+      assertTrue(values.containsKey(variable.getId()));
+      if ("bytesVar".equals(variable.getName())) {
+        assertEquals("someBytes", new String((byte[]) values.get(variable.getId())));
+      } else {
+        assertEquals(variable.getValue(), values.get(variable.getId()));
+      }
+    }
+  }
+
+  @Deployment(resources={"org/camunda/bpm/engine/test/api/runtime/oneTaskProcess.bpmn20.xml"})
+  public void testIterateBinaryVariables() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    for (int i = 0; i < 5; i++) {
+      variables.put("bytesVar" + i, ("someBytes" + i).getBytes());
+    }
+    variables.put("serializableVar", new CustomSerializable());
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    int batchSize = processEngineConfiguration.getStreamingQueryBatchSize();
+    processEngineConfiguration.setStreamingQueryBatchSize(2);
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          final Set<String> names = new HashSet<String>();
+          final List<String> byteArrayIds = new ArrayList<String>();
+
+          historyService.createHistoricVariableInstanceQuery().orderByVariableName().asc().iterate(new QueryResultHandler<HistoricVariableInstance>() {
+            public boolean handleResult(HistoricVariableInstance variable) {
+              names.add(variable.getName());
+              byteArrayIds.add(((HistoricVariableInstanceEntity) variable).getByteArrayId());
+
+              if (variable.getName().startsWith("bytesVar")) {
+                assertEquals("someBytes" + variable.getName().substring(8), new String((byte[]) variable.getValue()));
+              } else {
+                assertTrue(variable.getValue() instanceof CustomSerializable);
+              }
+              return true;
+            }
+          });
+
+          assertEquals(6, names.size());
+
+          // the byte arrays loaded by the iteration are not kept in the entity cache
+          DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+          for (String byteArrayId : byteArrayIds) {
+            assertNull(dbEntityManager.getCachedEntity(ByteArrayEntity.class, byteArrayId));
+          }
+          return null;
+        }
+      });
+
+    } finally {
+      processEngineConfiguration.setStreamingQueryBatchSize(batchSize);
+    }
+  }
+
+  @Deployment(resources={"org/camunda/bpm/engine/test/api/runtime/oneTaskProcess.bpmn20.xml"})
+  public void testIterateInBatchesWithEqualSortKeys() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("aVar", "a".getBytes());
+    variables.put("bVar", "b".getBytes());
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    int batchSize = processEngineConfiguration.getStreamingQueryBatchSize();
+    processEngineConfiguration.setStreamingQueryBatchSize(1);
+    try {
+      final List<HistoricVariableInstance> iterated = new ArrayList<HistoricVariableInstance>();
+      historyService.createHistoricVariableInstanceQuery().orderByVariableName().desc().iterate(new QueryResultHandler<HistoricVariableInstance>() {
+        public boolean handleResult(HistoricVariableInstance variable) {
+          iterated.add(variable);
+          return true;
+        }
+      });
+
+      // each batch continues after the name and the id of the last variable of the previous batch
+      List<HistoricVariableInstance> expected = historyService.createHistoricVariableInstanceQuery().orderByVariableName().desc().list();
+      assertEquals(4, iterated.size());
+      Set<String> ids = new HashSet<String>();
+      for (int i = 0; i < iterated.size(); i++) {
+        assertEquals(expected.get(i).getName(), iterated.get(i).getName());
+        ids.add(iterated.get(i).getId());
+      }
+      assertEquals(4, ids.size());
+
+    } finally {
+      processEngineConfiguration.setStreamingQueryBatchSize(batchSize);
+    }
+  }
+
+  @Deployment(resources={"org/camunda/bpm/engine/test/api/runtime/oneTaskProcess.bpmn20.xml"})
+  public void testIterateStopsWhenHandlerReturnsFalse() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("stringVar", "test");
+    variables.put("myVar", "test123");
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    final List<HistoricVariableInstance> handled = new ArrayList<HistoricVariableInstance>();
+    historyService.createHistoricVariableInstanceQuery().iterate(new QueryResultHandler<HistoricVariableInstance>() {
+      public boolean handleResult(HistoricVariableInstance variable) {
+        handled.add(variable);
+        return false;
+      }
+    });
+
+    assertEquals(1, handled.size());
+  }
+
 }
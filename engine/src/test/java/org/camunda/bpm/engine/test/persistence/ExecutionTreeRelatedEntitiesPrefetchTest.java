@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.persistence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class ExecutionTreeRelatedEntitiesPrefetchTest extends PluggableProcessEngineTestCase {
+
+  protected boolean prefetchRelatedEntities;
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    prefetchRelatedEntities = processEngineConfiguration.isExecutionTreeRelatedEntitiesPrefetchEnabled();
+    processEngineConfiguration.setExecutionTreeRelatedEntitiesPrefetchEnabled(true);
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setExecutionTreeRelatedEntitiesPrefetchEnabled(prefetchRelatedEntities);
+    super.tearDown();
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/persistence/ExecutionCachedEntityStateTest.testExecutionTasksMi.bpmn")
+  public void testPrefetchTasksAndVariables() {
+    final ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("testProcess",
+        Collections.<String, Object>singletonMap("aVariable", "aValue"));
+
+    processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          ExecutionEntity execution = commandContext.getExecutionManager()
+            .findExecutionById(processInstance.getId());
+
+          // initializes the execution tree
+          List<ExecutionEntity> executions = collectExecutions(execution, new ArrayList<ExecutionEntity>());
+
+          // all tasks and variables have been fetched together with the tree
+          DbEntityCache dbEntityCache = commandContext.getDbEntityManager().getDbEntityCache();
+          assertEquals(5, dbEntityCache.getEntitiesByType(TaskEntity.class).size());
+          assertFalse(dbEntityCache.getEntitiesByType(VariableInstanceEntity.class).isEmpty());
+
+          int tasks = 0;
+          for (ExecutionEntity child : executions) {
+            if ("userTask".equals(child.getActivityId()) && !child.isScope()) {
+              assertEquals(1, child.getTasks().size());
+              assertNotNull(child.getVariableLocal("loopCounter"));
+              tasks++;
+            }
+            assertEquals(0, child.getEventSubscriptions().size());
+          }
+          assertEquals(5, tasks);
+          assertEquals("aValue", execution.getVariableLocal("aVariable"));
+
+          return null;
+        }
+      });
+
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.complete(task.getId());
+    }
+    assertProcessEnded(processInstance.getId());
+  }
+
+  protected List<ExecutionEntity> collectExecutions(ExecutionEntity execution, List<ExecutionEntity> executions) {
+    executions.add(execution);
+    for (ExecutionEntity child : execution.getExecutions()) {
+      collectExecutions(child, executions);
+    }
+    return executions;
+  }
+
+}
@@ -0,0 +1,170 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.metrics;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.ActivityMetricsReporter;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.ActivityMetrics;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class ActivityMetricsTest extends ResourceProcessEngineTestCase {
+
+  public ActivityMetricsTest() {
+    super("org/camunda/bpm/engine/test/standalone/metrics/activitymetrics.camunda.cfg.xml");
+  }
+
+  protected static final String METRICS_PROCESS = "org/camunda/bpm/engine/test/standalone/metrics/ActivityMetricsTest.testActivityMetrics.bpmn20.xml";
+
+  protected void tearDown() throws Exception {
+    ClockUtil.reset();
+    super.tearDown();
+  }
+
+  @Deployment
+  public void testActivityMetrics() {
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+
+    runtimeService.startProcessInstanceByKey("metricsProcess");
+    runtimeService.startProcessInstanceByKey("metricsProcess");
+    runtimeService.startProcessInstanceByKey("metricsProcess");
+
+    // nothing is reported before the first interval elapsed
+    assertTrue(managementService.getActivityMetrics(processDefinition.getId()).isEmpty());
+
+    processEngineConfiguration.getActivityMetricsReporter().reportNow();
+
+    Map<String, ActivityMetrics> metrics = getActivityMetrics(processDefinition.getId());
+    assertEquals(3, metrics.size());
+
+    ActivityMetrics serviceTaskMetrics = metrics.get("serviceTask");
+    assertEquals(processDefinition.getId(), serviceTaskMetrics.getProcessDefinitionId());
+    assertEquals(3, serviceTaskMetrics.getStartCount());
+    assertEquals(3, serviceTaskMetrics.getEndCount());
+    assertEquals(3, serviceTaskMetrics.getExecutionCount());
+    assertTrue(serviceTaskMetrics.getMaxExecutionTime() <= serviceTaskMetrics.getTotalExecutionTime());
+
+    ActivityMetrics userTaskMetrics = metrics.get("userTask");
+    assertEquals(3, userTaskMetrics.getStartCount());
+    assertEquals(0, userTaskMetrics.getEndCount());
+    assertEquals(0, userTaskMetrics.getExecutionCount());
+
+    // complete two of the user tasks and report a second interval
+    List<Task> tasks = taskService.createTaskQuery().list();
+    taskService.complete(tasks.get(0).getId());
+    taskService.complete(tasks.get(1).getId());
+
+    processEngineConfiguration.getActivityMetricsReporter().reportNow();
+
+    metrics = getActivityMetrics(processDefinition.getId());
+    assertEquals(4, metrics.size());
+
+    userTaskMetrics = metrics.get("userTask");
+    assertEquals(3, userTaskMetrics.getStartCount());
+    assertEquals(2, userTaskMetrics.getEndCount());
+
+    ActivityMetrics endEventMetrics = metrics.get("end");
+    assertEquals(2, endEventMetrics.getStartCount());
+    assertEquals(2, endEventMetrics.getEndCount());
+
+    // metrics of the first interval are not reported again
+    assertEquals(3, metrics.get("serviceTask").getStartCount());
+
+    taskService.complete(tasks.get(2).getId());
+  }
+
+  @Deployment(resources = METRICS_PROCESS)
+  public void testKeepMetricsOfFailedReport() {
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+    runtimeService.startProcessInstanceByKey("metricsProcess");
+
+    ActivityMetricsReporter failingReporter = new ActivityMetricsReporter(processEngineConfiguration.getActivityMetricsRegistry(),
+        new FailingCommandExecutor(), 1000, 0);
+    failingReporter.reportNow();
+
+    assertTrue(managementService.getActivityMetrics(processDefinition.getId()).isEmpty());
+
+    // the metrics of the failed report are included in the next one
+    processEngineConfiguration.getActivityMetricsReporter().reportNow();
+
+    Map<String, ActivityMetrics> metrics = getActivityMetrics(processDefinition.getId());
+    assertEquals(1, metrics.get("serviceTask").getStartCount());
+    assertEquals(1, metrics.get("serviceTask").getExecutionCount());
+    assertEquals(1, metrics.get("userTask").getStartCount());
+  }
+
+  @Deployment(resources = METRICS_PROCESS)
+  public void testDeleteExpiredMetrics() {
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+
+    runtimeService.startProcessInstanceByKey("metricsProcess");
+    processEngineConfiguration.getActivityMetricsReporter().reportNow();
+
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + TimeUnit.DAYS.toMillis(processEngineConfiguration.getActivityMetricsTimeToLive() + 1)));
+
+    runtimeService.startProcessInstanceByKey("metricsProcess");
+    processEngineConfiguration.getActivityMetricsReporter().reportNow();
+
+    // only the metrics of the second report are left
+    Map<String, ActivityMetrics> metrics = getActivityMetrics(processDefinition.getId());
+    assertEquals(1, metrics.get("serviceTask").getStartCount());
+    assertEquals(1, metrics.get("userTask").getStartCount());
+  }
+
+  public void testDeleteMetricsWithDeployment() {
+    String deploymentId = repositoryService.createDeployment()
+      .addClasspathResource(METRICS_PROCESS)
+      .deploy()
+      .getId();
+
+    runtimeService.startProcessInstanceByKey("metricsProcess");
+    processEngineConfiguration.getActivityMetricsReporter().reportNow();
+
+    // these metrics are not reported yet
+    runtimeService.startProcessInstanceByKey("metricsProcess");
+
+    repositoryService.deleteDeployment(deploymentId, true);
+    assertEquals(0L, (long) managementService.getTableCount().get("ACT_RU_ACT_METRICS"));
+
+    processEngineConfiguration.getActivityMetricsReporter().reportNow();
+    assertEquals(0L, (long) managementService.getTableCount().get("ACT_RU_ACT_METRICS"));
+  }
+
+  protected Map<String, ActivityMetrics> getActivityMetrics(String processDefinitionId) {
+    Map<String, ActivityMetrics> result = new HashMap<String, ActivityMetrics>();
+    for (ActivityMetrics activityMetrics : managementService.getActivityMetrics(processDefinitionId)) {
+      result.put(activityMetrics.getActivityId(), activityMetrics);
+    }
+    return result;
+  }
+
+  public static class FailingCommandExecutor implements CommandExecutor {
+
+    public <T> T execute(Command<T> command) {
+      throw new ProcessEngineException("database not available");
+    }
+
+  }
+
+}
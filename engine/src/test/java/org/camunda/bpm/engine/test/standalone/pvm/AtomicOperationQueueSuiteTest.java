@@ -0,0 +1,84 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.pvm;
+
+import junit.extensions.TestSetup;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.test.bpmn.callactivity.CallActivityAdvancedTest;
+import org.camunda.bpm.engine.test.bpmn.event.compensate.CompensateEventTest;
+import org.camunda.bpm.engine.test.bpmn.event.end.TerminateEndEventTest;
+import org.camunda.bpm.engine.test.bpmn.event.error.BoundaryErrorEventTest;
+import org.camunda.bpm.engine.test.bpmn.event.error.ErrorEventSubProcessTest;
+import org.camunda.bpm.engine.test.bpmn.event.timer.BoundaryTimerEventTest;
+import org.camunda.bpm.engine.test.bpmn.gateway.InclusiveGatewayTest;
+import org.camunda.bpm.engine.test.bpmn.gateway.ParallelGatewayTest;
+import org.camunda.bpm.engine.test.bpmn.multiinstance.MultiInstanceTest;
+import org.camunda.bpm.engine.test.bpmn.subprocess.InterruptingEventSubProcessTest;
+import org.camunda.bpm.engine.test.bpmn.subprocess.SubProcessTest;
+import org.camunda.bpm.engine.test.bpmn.subprocess.transaction.TransactionSubProcessTest;
+
+/**
+ * Runs the tests of the constructs which depend on the order of atomic operations
+ * (concurrency, multi instance, compensation, cancellation and interruption) with the
+ * atomic operation queue enabled on the shared process engine.
+ *
+ * <p>Since the suite changes the configuration of the shared process engine, it is
+ * excluded from the default build and has to be run explicitly with
+ * <code>-Dtest=AtomicOperationQueueSuiteTest</code>. The whole test suite can be run
+ * with the queue enabled by activating the <code>cfgatomicoperationqueue</code>
+ * profile.</p>
+ */
+public class AtomicOperationQueueSuiteTest {
+
+  public static Test suite() {
+    TestSuite suite = new TestSuite(AtomicOperationQueueSuiteTest.class.getName());
+
+    suite.addTestSuite(ParallelGatewayTest.class);
+    suite.addTestSuite(InclusiveGatewayTest.class);
+    suite.addTestSuite(MultiInstanceTest.class);
+    suite.addTestSuite(CompensateEventTest.class);
+    suite.addTestSuite(TransactionSubProcessTest.class);
+    suite.addTestSuite(TerminateEndEventTest.class);
+    suite.addTestSuite(BoundaryErrorEventTest.class);
+    suite.addTestSuite(BoundaryTimerEventTest.class);
+    suite.addTestSuite(ErrorEventSubProcessTest.class);
+    suite.addTestSuite(InterruptingEventSubProcessTest.class);
+    suite.addTestSuite(SubProcessTest.class);
+    suite.addTestSuite(CallActivityAdvancedTest.class);
+
+    return new TestSetup(suite) {
+
+      protected boolean enableAtomicOperationQueue;
+
+      protected void setUp() throws Exception {
+        ProcessEngineConfigurationImpl configuration = getProcessEngineConfiguration();
+        enableAtomicOperationQueue = configuration.isEnableAtomicOperationQueue();
+        configuration.setEnableAtomicOperationQueue(true);
+      }
+
+      protected void tearDown() throws Exception {
+        getProcessEngineConfiguration().setEnableAtomicOperationQueue(enableAtomicOperationQueue);
+      }
+
+      protected ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
+        return ((ProcessEngineImpl) PluggableProcessEngineTestCase.getProcessEngine()).getProcessEngineConfiguration();
+      }
+    };
+  }
+
+}
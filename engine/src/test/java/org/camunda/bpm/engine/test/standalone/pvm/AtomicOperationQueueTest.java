@@ -0,0 +1,73 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.pvm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class AtomicOperationQueueTest extends ResourceProcessEngineTestCase {
+
+  public AtomicOperationQueueTest() {
+    super("org/camunda/bpm/engine/test/standalone/pvm/camunda.cfg.xml");
+  }
+
+  @Override
+  protected void closeDownProcessEngine() {
+    processEngine.close();
+    super.closeDownProcessEngine();
+  }
+
+  @Deployment
+  public void testLongLoop() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("counter", 0);
+    // deep enough to overflow the stack if the activities were executed recursively
+    variables.put("iterations", 5000);
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("loop", variables);
+
+    assertEquals(5000, runtimeService.getVariable(processInstance.getId(), "counter"));
+    assertNotNull(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult());
+  }
+
+  @Deployment
+  public void testParallelGateway() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("parallel");
+
+    assertEquals(true, runtimeService.getVariable(processInstance.getId(), "serviceTask1"));
+    assertEquals(true, runtimeService.getVariable(processInstance.getId(), "serviceTask2"));
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.complete(task.getId());
+
+    assertProcessEnded(processInstance.getId());
+  }
+
+  @Deployment
+  public void testParallelMultiInstanceCompletionCondition() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("counter", 0);
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("multiInstance", variables);
+
+    // the first instance completes the activity before the others are started, as without the queue
+    assertEquals(1, runtimeService.getVariable(processInstance.getId(), "counter"));
+    assertNotNull(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult());
+  }
+
+}
@@ -0,0 +1,111 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.util;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import junit.framework.TestCase;
+
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.bpm.engine.impl.util.ReflectionCache;
+
+public class ReflectionCacheTest extends TestCase {
+
+  protected void tearDown() throws Exception {
+    ReflectionCache.clear();
+  }
+
+  public void testClassIsCachedPerClassLoader() {
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    ClassLoader otherClassLoader = new URLClassLoader(new URL[0], contextClassLoader);
+    String className = ReflectionCacheTest.class.getName();
+
+    Class<?> clazz = ReflectUtil.loadClass(className);
+
+    assertSame(ReflectionCacheTest.class, clazz);
+    assertSame(clazz, ReflectionCache.getClass(className, null, contextClassLoader));
+    assertNull(ReflectionCache.getClass(className, null, otherClassLoader));
+  }
+
+  public void testPurgeRemovesEntriesOfClassLoader() {
+    ClassLoader applicationClassLoader = new URLClassLoader(new URL[0], ReflectionCacheTest.class.getClassLoader());
+    ClassLoader childClassLoader = new URLClassLoader(new URL[0], applicationClassLoader);
+    ClassLoader otherClassLoader = new URLClassLoader(new URL[0], ReflectionCacheTest.class.getClassLoader());
+
+    ReflectionCache.putClass("a", null, applicationClassLoader, String.class);
+    ReflectionCache.putClass("b", null, childClassLoader, String.class);
+    ReflectionCache.putClass("c", null, otherClassLoader, String.class);
+
+    ReflectionCache.purge(applicationClassLoader);
+
+    assertNull(ReflectionCache.getClass("a", null, applicationClassLoader));
+    assertNull(ReflectionCache.getClass("b", null, childClassLoader));
+    assertSame(String.class, ReflectionCache.getClass("c", null, otherClassLoader));
+  }
+
+  public void testCacheDoesNotPreventCollectionOfClassLoader() throws Exception {
+    ClassLoader applicationClassLoader = new URLClassLoader(new URL[0], ReflectionCacheTest.class.getClassLoader());
+    ReflectionCache.putClass("a", applicationClassLoader, applicationClassLoader, String.class);
+    assertSame(String.class, ReflectionCache.getClass("a", applicationClassLoader, applicationClassLoader));
+
+    WeakReference<ClassLoader> reference = new WeakReference<ClassLoader>(applicationClassLoader);
+    applicationClassLoader = null;
+
+    for (int i = 0; i < 10 && reference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(50);
+    }
+
+    assertNull(reference.get());
+  }
+
+  public void testSetterLookupIsCached() {
+    Method setter = ReflectUtil.getSetter("name", Bean.class, String.class);
+
+    assertNotNull(setter);
+    assertSame(setter, ReflectUtil.getSetter("name", Bean.class, String.class));
+    assertNull(ReflectUtil.getSetter("unknown", Bean.class, String.class));
+    assertNull(ReflectUtil.getSetter("unknown", Bean.class, String.class));
+  }
+
+  public void testConstructorIsCached() throws Exception {
+    assertSame(ReflectionCache.getConstructor(Bean.class), ReflectionCache.getConstructor(Bean.class));
+    assertNotNull(ReflectionCache.getConstructor(Bean.class).newInstance());
+  }
+
+  public void testPurgeRemovesMembersOfClassLoader() throws Exception {
+    Constructor<Bean> constructor = ReflectionCache.getConstructor(Bean.class);
+    Method setter = ReflectUtil.getSetter("name", Bean.class, String.class);
+
+    ReflectionCache.purge(Bean.class.getClassLoader());
+
+    // the members are looked up again, which returns new copies
+    assertNotSame(constructor, ReflectionCache.getConstructor(Bean.class));
+    assertNotSame(setter, ReflectUtil.getSetter("name", Bean.class, String.class));
+    assertEquals(setter, ReflectUtil.getSetter("name", Bean.class, String.class));
+  }
+
+  public static class Bean {
+
+    protected String name;
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+}
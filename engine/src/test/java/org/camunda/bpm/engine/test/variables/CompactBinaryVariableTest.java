@@ -0,0 +1,309 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.variables;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.delegate.ProcessEngineVariableType;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.test.AbstractProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.variable.CompactBinaryFormat;
+import org.camunda.bpm.engine.impl.variable.CompactBinarySerializationType;
+import org.camunda.bpm.engine.impl.variable.StringType;
+import org.camunda.bpm.engine.impl.variable.VariableType;
+import org.camunda.bpm.engine.impl.variable.VariableTypes;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class CompactBinaryVariableTest extends AbstractProcessEngineTestCase {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/variables/oneTaskProcess.bpmn20.xml";
+
+  @Override
+  protected void initializeProcessEngine() {
+    ProcessEngineConfigurationImpl engineConfig =
+        (ProcessEngineConfigurationImpl) ProcessEngineConfiguration.createProcessEngineConfigurationFromResource("camunda.cfg.xml");
+
+    engineConfig.setDefaultSerializationFormat(CompactBinarySerializationType.SERIALIZATION_FORMAT);
+
+    processEngine = engineConfig.buildProcessEngine();
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testSerializationAsCompactBinary() {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    SimpleBean bean = new SimpleBean("a String", 42, true);
+    runtimeService.setVariable(instance.getId(), "simpleBean", bean);
+
+    VariableInstance beanVariable = runtimeService.createVariableInstanceQuery().singleResult();
+    assertNotNull(beanVariable);
+    assertEquals(ProcessEngineVariableType.COMPACT_BINARY.getName(), beanVariable.getTypeName());
+
+    SimpleBean returnedBean = (SimpleBean) beanVariable.getValue();
+    assertBeanEquals(bean, returnedBean);
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testModificationIsWrittenBack() {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    List<SimpleBean> beans = new ArrayList<SimpleBean>();
+    beans.add(new SimpleBean("a String", 42, true));
+    runtimeService.setVariable(instance.getId(), "simpleBeans", beans);
+
+    VariableInstance beansVariable = runtimeService.createVariableInstanceQuery().singleResult();
+    @SuppressWarnings("unchecked")
+    List<SimpleBean> returnedBeans = (List<SimpleBean>) beansVariable.getValue();
+    assertEquals(1, returnedBeans.size());
+    assertBeanEquals(beans.get(0), returnedBeans.get(0));
+
+    final String processInstanceId = instance.getId();
+
+    // modify the deserialized value in place without setting the variable again
+    managementService.executeInTransaction(new Callable<Void>() {
+      @SuppressWarnings("unchecked")
+      public Void call() {
+        List<SimpleBean> beansToModify = (List<SimpleBean>) runtimeService.getVariable(processInstanceId, "simpleBeans");
+        beansToModify.get(0).setIntProperty(43);
+        beansToModify.add(new SimpleBean("another String", 44, false));
+        return null;
+      }
+    });
+
+    @SuppressWarnings("unchecked")
+    List<SimpleBean> updatedBeans = (List<SimpleBean>) runtimeService.getVariable(instance.getId(), "simpleBeans");
+    assertEquals(2, updatedBeans.size());
+    assertEquals(43, updatedBeans.get(0).getIntProperty());
+    assertEquals("another String", updatedBeans.get(1).getStringProperty());
+  }
+
+  public void testValuesWithoutNoArgumentConstructorAreNotStored() {
+    CompactBinarySerializationType type = new CompactBinarySerializationType(CompactBinaryFormat.COMPRESSION_DISABLED);
+
+    assertTrue(type.isAbleToStore(new SimpleBean()));
+    assertTrue(type.isAbleToStore(new ArrayList<Object>()));
+    assertFalse(type.isAbleToStore(null));
+    assertFalse(type.isAbleToStore(new NoDefaultConstructorBean("value")));
+  }
+
+  public void testValuesReferencingUnsupportedValuesAreNotStored() {
+    CompactBinarySerializationType type = new CompactBinarySerializationType(CompactBinaryFormat.COMPRESSION_DISABLED);
+
+    List<Object> list = new ArrayList<Object>();
+    list.add(new SimpleBean());
+    list.add(new Timestamp(0));
+    assertFalse(type.isAbleToStore(list));
+
+    Map<String, Object> map = new HashMap<String, Object>();
+    map.put("id", UUID.randomUUID());
+    assertFalse(type.isAbleToStore(map));
+
+    assertFalse(type.isAbleToStore(new Object[] { new NoDefaultConstructorBean("value") }));
+
+    BeanReferencingValue bean = new BeanReferencingValue();
+    bean.value = new NoDefaultConstructorBean("value");
+    assertFalse(type.isAbleToStore(bean));
+
+    bean.value = bean;
+    assertTrue(type.isAbleToStore(bean));
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testValueReferencingUnsupportedValueFallsBackToJavaSerialization() {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    UUID id = UUID.randomUUID();
+    List<Object> values = new ArrayList<Object>();
+    values.add("a String");
+    values.add(id);
+
+    runtimeService.setVariable(instance.getId(), "values", values);
+
+    VariableInstance variableInstance = runtimeService.createVariableInstanceQuery().singleResult();
+    assertEquals(ProcessEngineVariableType.SERIALIZABLE.getName(), variableInstance.getTypeName());
+    assertEquals(values, variableInstance.getValue());
+  }
+
+  public void testReadingTypeDoesNotStoreValues() {
+    CompactBinarySerializationType type = new CompactBinarySerializationType(CompactBinaryFormat.COMPRESSION_DISABLED, false);
+
+    assertFalse(type.isAbleToStore(new SimpleBean()));
+  }
+
+  public void testCustomPostVariableTypesPrecedeCompactBinaryType() {
+    VariableType customType = new StringType() {
+      public String getTypeName() {
+        return "custom";
+      }
+    };
+
+    VariableTypesConfiguration configuration = new VariableTypesConfiguration();
+    configuration.setCustomPostVariableTypes(Arrays.asList(customType));
+    configuration.initVariableTypes();
+
+    VariableTypes variableTypes = configuration.getVariableTypes();
+    assertTrue(variableTypes.getTypeIndex("custom") < variableTypes.getTypeIndex(ProcessEngineVariableType.COMPACT_BINARY.getName()));
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testSetSerializedVariableValue() {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    SimpleBean bean = new SimpleBean("a String", 42, true);
+    byte[] serializedBean = new CompactBinaryFormat(CompactBinaryFormat.COMPRESSION_DISABLED).serialize(bean);
+
+    runtimeService.setVariableFromSerialized(instance.getId(), "simpleBean", serializedBean,
+        ProcessEngineVariableType.COMPACT_BINARY.getName(), null);
+
+    VariableInstance variableInstance = runtimeService.createVariableInstanceQuery().singleResult();
+    assertBeanEquals(bean, (SimpleBean) variableInstance.getValue());
+  }
+
+  public void testSharedReferencesAndCycles() {
+    CompactBinaryFormat format = new CompactBinaryFormat(CompactBinaryFormat.COMPRESSION_DISABLED);
+
+    SimpleBean bean = new SimpleBean("a String", 42, true);
+    List<Object> list = new ArrayList<Object>();
+    list.add(bean);
+    list.add(bean);
+    list.add(list);
+
+    @SuppressWarnings("unchecked")
+    List<Object> returnedList = (List<Object>) format.deserialize(format.serialize(list));
+
+    assertEquals(3, returnedList.size());
+    assertSame(returnedList.get(0), returnedList.get(1));
+    assertSame(returnedList, returnedList.get(2));
+  }
+
+  public void testCompression() {
+    Map<String, String> values = new HashMap<String, String>();
+    for (int i = 0; i < 100; i++) {
+      values.put("key" + i, "a rather repetitive value");
+    }
+
+    byte[] plain = new CompactBinaryFormat(CompactBinaryFormat.COMPRESSION_DISABLED).serialize(values);
+    CompactBinaryFormat compressingFormat = new CompactBinaryFormat(100);
+    byte[] compressed = compressingFormat.serialize(values);
+
+    assertTrue(compressed.length < plain.length);
+    assertEquals(values, compressingFormat.deserialize(compressed));
+    assertEquals(values, compressingFormat.deserialize(plain));
+  }
+
+  public void testSortedCollectionsKeepTheirComparator() {
+    CompactBinaryFormat format = new CompactBinaryFormat(CompactBinaryFormat.COMPRESSION_DISABLED);
+
+    SortedSet<String> set = new TreeSet<String>(new DescendingComparator());
+    set.addAll(Arrays.asList("a", "c", "b"));
+    SortedMap<String, Integer> map = new TreeMap<String, Integer>(new DescendingComparator());
+    map.put("a", 1);
+    map.put("c", 3);
+    map.put("b", 2);
+
+    @SuppressWarnings("unchecked")
+    SortedSet<String> returnedSet = (SortedSet<String>) format.deserialize(format.serialize(set));
+    assertTrue(returnedSet.comparator() instanceof DescendingComparator);
+    assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<String>(returnedSet));
+
+    @SuppressWarnings("unchecked")
+    SortedMap<String, Integer> returnedMap = (SortedMap<String, Integer>) format.deserialize(format.serialize(map));
+    assertTrue(returnedMap.comparator() instanceof DescendingComparator);
+    assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<String>(returnedMap.keySet()));
+    assertEquals(Arrays.asList(3, 2, 1), new ArrayList<Integer>(returnedMap.values()));
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testSortedCollectionWithUnwritableComparatorFallsBackToJavaSerialization() {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    SortedSet<String> set = new TreeSet<String>(new NamedDescendingComparator("descending"));
+    set.addAll(Arrays.asList("a", "c", "b"));
+    assertFalse(new CompactBinarySerializationType(CompactBinaryFormat.COMPRESSION_DISABLED).isAbleToStore(set));
+
+    runtimeService.setVariable(instance.getId(), "sortedSet", set);
+
+    VariableInstance variableInstance = runtimeService.createVariableInstanceQuery().singleResult();
+    assertEquals(ProcessEngineVariableType.SERIALIZABLE.getName(), variableInstance.getTypeName());
+
+    @SuppressWarnings("unchecked")
+    SortedSet<String> returnedSet = (SortedSet<String>) variableInstance.getValue();
+    assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<String>(returnedSet));
+  }
+
+  public static class DescendingComparator implements Comparator<String> {
+
+    public int compare(String o1, String o2) {
+      return o2.compareTo(o1);
+    }
+  }
+
+  public static class NamedDescendingComparator implements Comparator<String>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected String name;
+
+    public NamedDescendingComparator(String name) {
+      this.name = name;
+    }
+
+    public int compare(String o1, String o2) {
+      return o2.compareTo(o1);
+    }
+  }
+
+  protected static class NoDefaultConstructorBean {
+
+    protected String value;
+
+    public NoDefaultConstructorBean(String value) {
+      this.value = value;
+    }
+  }
+
+  public static class BeanReferencingValue {
+
+    protected Object value;
+  }
+
+  protected static class VariableTypesConfiguration extends StandaloneInMemProcessEngineConfiguration {
+
+    public void initVariableTypes() {
+      super.initVariableTypes();
+    }
+  }
+
+  protected void assertBeanEquals(SimpleBean expected, SimpleBean actual) {
+    assertEquals(expected.getStringProperty(), actual.getStringProperty());
+    assertEquals(expected.getIntProperty(), actual.getIntProperty());
+    assertEquals(expected.getBooleanProperty(), actual.getBooleanProperty());
+  }
+
+}